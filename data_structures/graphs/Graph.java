@@ -44,6 +44,13 @@ public final class Graph {
    */
   private int edges;
 
+  /**
+   * The number of changes made to the vertices and edges of the graph, so that
+   * cached results can tell whether they are stale. Changes made directly to the
+   * array returned by {@link #getAdjacencyMatrix()} are not counted.
+   */
+  private int version;
+
   /**
    * The sentinel value used to represent non-vertices and non-edges.
    */
@@ -369,6 +376,16 @@ public final class Graph {
     return edges;
   }
 
+  /**
+   * Returns the version of the graph, which changes every time a vertex or edge
+   * is added, removed or updated.
+   *
+   * @return the graph version
+   */
+  public int getVersion() {
+    return version;
+  }
+
   /**
    * Returns an array with a length of the number of vertices and each element is
    * the vertex.
@@ -538,6 +555,7 @@ public final class Graph {
       int i, len = rows;
       G[v] = new int[len];
       vertices++;
+      version++;
 
       // Initalize adjacencies to NIL
       for (i = 0; i < len; i++)
@@ -579,6 +597,7 @@ public final class Graph {
     }
 
     edges++;
+    version++;
   }
 
   /**
@@ -634,6 +653,8 @@ public final class Graph {
 
       if (!directed)
         G[v][u] = w;
+
+      version++;
     }
   }
 
@@ -663,6 +684,7 @@ public final class Graph {
 
     G[u] = null;
     vertices--;
+    version++;
   }
 
   /**
@@ -685,6 +707,7 @@ public final class Graph {
       G[v][u] = NIL;
 
     edges--;
+    version++;
   }
 
   /**
@@ -0,0 +1,262 @@
+package data_structures.graphs;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * A read-only, compressed adjacency-list snapshot of a {@link Graph}. The
+ * adjacency lists of all the vertices are packed one after another into
+ * primitive arrays (compressed sparse row format):
+ *
+ * <ul>
+ * <li>{@code offsets[u]} to {@code offsets[u + 1]} is the range of the edges
+ * leaving {@code u}</li>
+ * <li>{@code targets[e]} is the {@code v} vertex of edge {@code e}</li>
+ * <li>{@code weights[e]} is the weight of edge {@code e}, or {@code 1} if the
+ * graph is not weighted</li>
+ * </ul>
+ *
+ * <p>
+ * Scanning the edges of a vertex takes {@code O(deg(u))} time instead of the
+ * {@code O(V)} row scan of {@link Graph#getEdges(int)} and allocates no
+ * {@link Graph.Edge} objects. Because the snapshot is never modified, it can
+ * be shared by any number of threads.
+ * </p>
+ *
+ * <p>
+ * Vertices that are not in the graph have no edges, and can be checked with
+ * {@link #hasVertex(int)}.
+ * </p>
+ */
+public final class SparseGraph {
+  /**
+   * Whether the graph is directed or not. Undirected edges are stored in both
+   * directions.
+   */
+  private final boolean directed;
+
+  /**
+   * The number of rows of the graph the snapshot was taken of.
+   */
+  private final int rows;
+
+  /**
+   * The start of each vertex's edges in {@code targets}, with
+   * {@code offsets[rows]} holding the total number of stored edges.
+   */
+  private final int[] offsets;
+
+  /**
+   * The {@code v} vertex of each edge.
+   */
+  private final int[] targets;
+
+  /**
+   * The weight of each edge.
+   */
+  private final int[] weights;
+
+  /**
+   * Whether each vertex is in the graph.
+   */
+  private final boolean[] vertices;
+
+  /**
+   * Takes a snapshot of the specified {@link Graph}. Later changes to the graph
+   * are not reflected in the snapshot.
+   *
+   * @param graph the graph to take a snapshot of
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public SparseGraph(Graph graph) {
+    if (graph == null)
+      throw new NullPointerException("Graph cannot be null.");
+
+    int[][] G = graph.getAdjacencyMatrix();
+    int u, v, e = 0;
+
+    directed = graph.isDirected();
+    rows = graph.getRows();
+    offsets = new int[rows + 1];
+    vertices = new boolean[rows];
+
+    for (u = 0; u < rows; u++) {
+      offsets[u] = e;
+
+      if (G[u] == null)
+        continue;
+
+      vertices[u] = true;
+
+      for (v = 0; v < rows; v++)
+        if (G[u][v] != Graph.NIL)
+          e++;
+    }
+
+    offsets[rows] = e;
+    targets = new int[e];
+    weights = new int[e];
+
+    for (u = 0, e = 0; u < rows; u++) {
+      if (G[u] == null)
+        continue;
+
+      for (v = 0; v < rows; v++) {
+        if (G[u][v] != Graph.NIL) {
+          targets[e] = v;
+          weights[e++] = G[u][v];
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the graph with the specified edges, where edge {@code i} goes from
+   * {@code tails[i]} to {@code heads[i]} with a weight of {@code 1}, and every
+   * index from {@code 0} to {@code rows - 1} is a vertex. An undirected edge is
+   * stored in both directions. The edges of each vertex keep the order they are
+   * given in, so graphs too large for the matrix of a {@link Graph} can be built
+   * straight from an edge list. An undirected loop is stored once, as in a
+   * {@link Graph}.
+   *
+   * @param rows     the number of vertices
+   * @param directed whether the graph is directed
+   * @param tails    the {@code u} vertex of each edge
+   * @param heads    the {@code v} vertex of each edge
+   *
+   * @throws NullPointerException     if an edge array is {@code null}
+   * @throws IllegalArgumentException if the number of vertices is negative, the
+   *                                  edge arrays have different lengths or a
+   *                                  vertex is invalid
+   */
+  public SparseGraph(int rows, boolean directed, int[] tails, int[] heads) {
+    if (tails == null || heads == null)
+      throw new NullPointerException("Edges cannot be null.");
+    if (rows < 0)
+      throw new IllegalArgumentException("Number of vertices cannot be negative.");
+    if (tails.length != heads.length)
+      throw new IllegalArgumentException("Edge arrays must have the same length.");
+
+    int i, m = tails.length;
+
+    this.directed = directed;
+    this.rows = rows;
+    offsets = new int[rows + 1];
+    vertices = new boolean[rows];
+
+    for (i = 0; i < m; i++) {
+      Graph.checkVertex(rows, tails[i]);
+      Graph.checkVertex(rows, heads[i]);
+      offsets[tails[i] + 1]++;
+
+      if (!directed && tails[i] != heads[i])
+        offsets[heads[i] + 1]++;
+    }
+
+    for (i = 0; i < rows; i++)
+      offsets[i + 1] += offsets[i];
+
+    targets = new int[offsets[rows]];
+    weights = new int[offsets[rows]];
+
+    fill(vertices, true);
+    fill(weights, 1);
+
+    // Place each edge after the ones before it from the same vertex
+    int[] next = copyOf(offsets, rows);
+
+    for (i = 0; i < m; i++) {
+      targets[next[tails[i]]++] = heads[i];
+
+      if (!directed && tails[i] != heads[i])
+        targets[next[heads[i]]++] = tails[i];
+    }
+  }
+
+  /**
+   * Returns the number of rows of the graph.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns whether the graph is directed or not.
+   *
+   * @return if the graph is directed
+   */
+  public boolean isDirected() {
+    return directed;
+  }
+
+  /**
+   * Returns the number of stored edges, which counts undirected edges twice.
+   *
+   * @return the number of stored edges
+   */
+  public int getNumEdges() {
+    return offsets[rows];
+  }
+
+  /**
+   * Returns whether the vertex was in the graph when the snapshot was taken.
+   *
+   * @param v the vertex index
+   * @return whether the vertex is in the graph
+   *
+   * @throws IllegalArgumentException if the vertex is negative or greater than
+   *                                  the graph length
+   */
+  public boolean hasVertex(int v) {
+    Graph.checkVertex(rows, v);
+    return vertices[v];
+  }
+
+  /**
+   * Returns the number of edges leaving the specified vertex.
+   *
+   * @param u the vertex index
+   * @return the out-degree of the vertex
+   *
+   * @throws IllegalArgumentException if the vertex is negative or greater than
+   *                                  the graph length
+   */
+  public int degree(int u) {
+    Graph.checkVertex(rows, u);
+    return offsets[u + 1] - offsets[u];
+  }
+
+  /**
+   * Returns the edge offsets array, where the edges of {@code u} are
+   * {@code [offsets[u], offsets[u + 1])}. The array is shared and must not be
+   * modified.
+   *
+   * @return the edge offsets
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Returns the edge targets array. The array is shared and must not be
+   * modified.
+   *
+   * @return the {@code v} vertex of each edge
+   */
+  public int[] getTargets() {
+    return targets;
+  }
+
+  /**
+   * Returns the edge weights array. The array is shared and must not be
+   * modified.
+   *
+   * @return the weight of each edge
+   */
+  public int[] getWeights() {
+    return weights;
+  }
+}
@@ -37,6 +37,29 @@ public class Graph_Test {
       assertEquals(0, g.getNumEdges());
     }
 
+    @Test
+    void version_changes_on_updates() {
+      int version = g.getVersion();
+
+      g.addVertex(0);
+      assertTrue(g.getVersion() != version);
+
+      version = g.getVersion();
+      g.addVertex(0);
+      assertEquals(version, g.getVersion());
+
+      g.addEdge(0, 1);
+      assertTrue(g.getVersion() != version);
+
+      version = g.getVersion();
+      g.removeEdge(0, 1);
+      assertTrue(g.getVersion() != version);
+
+      version = g.getVersion();
+      g.removeVertex(1);
+      assertTrue(g.getVersion() != version);
+    }
+
     @Test
     void empty_vertices() {
       int[] arr = {};
@@ -0,0 +1,101 @@
+package data_structures.graphs.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class SparseGraph_Test {
+  Graph G = new Graph(6, true, true);
+  SparseGraph S;
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 4);
+    G.addEdge(0, 3, 2);
+    G.addEdge(1, 2, -1);
+    G.addEdge(3, 1, 7);
+    G.addVertex(4);
+    S = new SparseGraph(G);
+  }
+
+  @Test
+  void throws_on_null() {
+    assertThrows(NullPointerException.class, () -> new SparseGraph(null));
+  }
+
+  @Test
+  void number_of_edges() {
+    assertEquals(4, S.getNumEdges());
+  }
+
+  @Test
+  void edges_of_vertex() {
+    int[] offsets = S.getOffsets();
+    int[] targets = { 1, 3 }, weights = { 4, 2 };
+
+    assertEquals(2, S.degree(0));
+    assertArrayEquals(targets, Arrays.copyOfRange(S.getTargets(), offsets[0], offsets[1]));
+    assertArrayEquals(weights, Arrays.copyOfRange(S.getWeights(), offsets[0], offsets[1]));
+  }
+
+  @Test
+  void vertices() {
+    assertTrue(S.hasVertex(4));
+    assertFalse(S.hasVertex(5));
+    assertEquals(0, S.degree(5));
+  }
+
+  @Test
+  void undirected_edges_both_ways() {
+    Graph U = new Graph(3, false, true);
+    U.addEdge(0, 1, 5);
+    SparseGraph T = new SparseGraph(U);
+
+    assertEquals(2, T.getNumEdges());
+    assertEquals(1, T.degree(0));
+    assertEquals(1, T.degree(1));
+  }
+
+  @Test
+  void snapshot_ignores_later_changes() {
+    G.addEdge(2, 5, 1);
+    assertEquals(4, S.getNumEdges());
+  }
+
+  @Test
+  void from_edge_list() {
+    SparseGraph D = new SparseGraph(4, true, new int[] { 0, 2, 0 }, new int[] { 1, 3, 3 });
+    SparseGraph U = new SparseGraph(3, false, new int[] { 0, 1 }, new int[] { 1, 1 });
+
+    assertEquals(3, D.getNumEdges());
+    assertArrayEquals(new int[] { 0, 2, 2, 3, 3 }, D.getOffsets());
+    assertArrayEquals(new int[] { 1, 3, 3 }, D.getTargets());
+    assertTrue(D.hasVertex(3));
+    // The loop on 1 is stored once
+    assertEquals(3, U.getNumEdges());
+    assertArrayEquals(new int[] { 1, 0, 1 }, U.getTargets());
+  }
+
+  @Test
+  void throws_on_invalid_edge_list() {
+    assertThrows(NullPointerException.class, () -> new SparseGraph(2, true, null, new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new SparseGraph(-1, true, new int[0], new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new SparseGraph(2, true, new int[1], new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new SparseGraph(2, true, new int[] { 0 }, new int[] { 2 }));
+  }
+
+  @Test
+  void throws_on_invalid_vertex() {
+    assertThrows(IllegalArgumentException.class, () -> S.degree(6));
+  }
+}
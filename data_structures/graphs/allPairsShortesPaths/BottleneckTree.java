@@ -0,0 +1,373 @@
+package data_structures.graphs.allPairsShortesPaths;
+
+import static java.util.Arrays.fill;
+
+import java.util.stream.IntStream;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.minimumSpanningTrees.Kruskal;
+import static data_structures.graphs.Graph.Edge;
+
+/**
+ * Bottleneck(G, u, v)
+ * 1   if u.root != v.root
+ * 2       return NIL
+ * 3   b = identity
+ * 4   if u.depth < v.depth
+ * 5       exchange u with v
+ * 6   for j = lg n downto 0
+ * 7       if u.depth - 2^j >= v.depth
+ * 8           b = op(b, best[j][u])
+ * 9           u = up[j][u]
+ * 10  if u == v
+ * 11      return b
+ * 12  for j = lg n downto 0
+ * 13      if up[j][u] != up[j][v]
+ * 14          b = op(b, best[j][u], best[j][v])
+ * 15          u = up[j][u]
+ * 16          v = up[j][v]
+ * 17  return op(b, best[0][u], best[0][v])
+ */
+
+/**
+ * The bottleneck paths of an undirected graph are the paths of one of its
+ * spanning trees. The path between two vertices in a minimum spanning tree
+ * minimizes the maximum edge weight along it (the minimax path), and the path in
+ * a maximum spanning tree maximizes the minimum edge weight (the maximin path).
+ * So instead of the {@code O(V^3)} Floyd-Warshall style loops of
+ * {@link Minimax} and {@link Maximin}, the spanning forest is found once with
+ * {@link Kruskal} in {@code O(E lg E)} time and every query walks a tree.
+ *
+ * <p>
+ * Each tree is rooted and its vertices are given a depth and a binary lifting
+ * table, where {@code up[j][v]} is the {@code 2^j}-th ancestor of {@code v} and
+ * {@code best[j][v]} is the bottleneck of the tree path up to it. A single
+ * query lifts both vertices to their lowest common ancestor, combining the
+ * bottlenecks on the way, in {@code O(lg V)} time after {@code O(V lg V)}
+ * preprocessing. The full table of all pairs is instead built with one
+ * traversal of the tree from every source in {@code O(V^2)} total time.
+ * </p>
+ *
+ * <p>
+ * The diagonal holds the better of the empty path, {@code 0}, and the walk out
+ * along one edge and back, which is what the Floyd-Warshall style tables hold
+ * for an undirected graph, so a negative edge still shows up on the diagonal of
+ * a minimax table. Vertices in different trees have no path and are
+ * {@link Graph#NIL}.
+ * </p>
+ *
+ * <p>
+ * The tree is a snapshot, so later changes to the graph are not reflected in
+ * it, and since it is never modified after it is built it can be queried from
+ * any number of threads.
+ * </p>
+ */
+public final class BottleneckTree {
+  /**
+   * Whether the tree is a maximum spanning tree answering maximin queries,
+   * otherwise it is a minimum spanning tree answering minimax queries.
+   */
+  private final boolean maximin;
+
+  /**
+   * The number of rows of the graph and the number of levels of the lifting
+   * table.
+   */
+  private final int n, levels;
+
+  /**
+   * The tree edges in both directions as adjacency lists, where
+   * {@code head[u]} is the first edge of {@code u}, {@code next[e]} the edge
+   * after {@code e}, and {@code to[e]} and {@code weight[e]} its {@code v}
+   * vertex and weight.
+   */
+  private final int[] head, next, to, weight;
+
+  /**
+   * The root of the tree holding each vertex, or {@code -1} if the vertex is not
+   * in the graph, and the depth of each vertex in its tree.
+   */
+  private final int[] root, depth;
+
+  /**
+   * The flat {@code levels * n} lifting tables, {@code up[j * n + v]} and
+   * {@code best[j * n + v]}.
+   */
+  private final int[] up, best;
+
+  /**
+   * The diagonal of the table, {@code D[v][v]}.
+   */
+  private final int[] diag;
+
+  /**
+   * Builds a minimum spanning tree of the undirected graph that answers minimax
+   * queries, the path from {@code u} to {@code v} that minimizes the maximum
+   * edge weight along it.
+   *
+   * @param graph the undirected weighted graph
+   * @return the minimax bottleneck tree of the graph
+   *
+   * @throws IllegalArgumentException if the specified {@code Graph} is not
+   *                                  weighted and undirected
+   */
+  public static BottleneckTree minimax(Graph graph) {
+    checkGraph(graph);
+    return new BottleneckTree(graph, Kruskal.run(graph), false);
+  }
+
+  /**
+   * Builds a maximum spanning tree of the undirected graph that answers maximin
+   * queries, the path from {@code u} to {@code v} that maximizes the minimum edge
+   * weight along it.
+   *
+   * @param graph the undirected weighted graph
+   * @return the maximin bottleneck tree of the graph
+   *
+   * @throws IllegalArgumentException if the specified {@code Graph} is not
+   *                                  weighted and undirected
+   */
+  public static BottleneckTree maximin(Graph graph) {
+    checkGraph(graph);
+    return new BottleneckTree(graph, Kruskal.maximum(graph), true);
+  }
+
+  private static void checkGraph(Graph graph) {
+    if (graph.isDirected() || !graph.isWeighted())
+      throw new IllegalArgumentException("The algorithm can only run on an undirected weighted graph.");
+  }
+
+  private BottleneckTree(Graph G, Edge[] T, boolean maximin) {
+    SparseGraph S = new SparseGraph(G);
+    int[] offsets = S.getOffsets(), weights = S.getWeights();
+    int[] queue;
+    int u, v, w, e, j, r, front, back;
+
+    this.maximin = maximin;
+    n = G.getRows();
+    levels = Math.max(1, 32 - Integer.numberOfLeadingZeros(n - 1));
+    head = new int[n];
+    next = new int[2 * T.length];
+    to = new int[2 * T.length];
+    weight = new int[2 * T.length];
+    root = new int[n];
+    depth = new int[n];
+    up = new int[levels * n];
+    best = new int[levels * n];
+    diag = new int[n];
+
+    fill(head, -1);
+    fill(root, -1);
+
+    for (e = 0; e < T.length; e++) {
+      u = T[e].getVertices()[0];
+      v = T[e].getVertices()[1];
+      w = T[e].getWeight();
+
+      link(2 * e, u, v, w);
+      link(2 * e + 1, v, u, w);
+    }
+
+    // The out-and-back walk along the lightest (heaviest) edge of each vertex
+    for (v = 0; v < n; v++) {
+      diag[v] = 0;
+
+      for (e = offsets[v]; e < offsets[v + 1]; e++)
+        diag[v] = maximin ? Math.max(diag[v], weights[e]) : Math.min(diag[v], weights[e]);
+    }
+
+    // Root each tree with a breadth-first search, filling in the first level
+    queue = new int[n];
+
+    for (r = 0; r < n; r++) {
+      if (root[r] != -1 || !S.hasVertex(r))
+        continue;
+
+      root[r] = r;
+      up[r] = r;
+      best[r] = identity();
+      queue[0] = r;
+
+      for (front = 0, back = 1; front < back; front++) {
+        u = queue[front];
+
+        for (e = head[u]; e != -1; e = next[e]) {
+          v = to[e];
+
+          if (root[v] != -1)
+            continue;
+
+          root[v] = r;
+          depth[v] = depth[u] + 1;
+          up[v] = u;
+          best[v] = weight[e];
+          queue[back++] = v;
+        }
+      }
+    }
+
+    for (j = 1; j < levels; j++) {
+      for (v = 0; v < n; v++) {
+        if (root[v] == -1)
+          continue;
+
+        u = up[(j - 1) * n + v];
+        up[j * n + v] = up[(j - 1) * n + u];
+        best[j * n + v] = op(best[(j - 1) * n + v], best[(j - 1) * n + u]);
+      }
+    }
+  }
+
+  private void link(int e, int u, int v, int w) {
+    to[e] = v;
+    weight[e] = w;
+    next[e] = head[u];
+    head[u] = e;
+  }
+
+  private int op(int a, int b) {
+    return maximin ? Math.min(a, b) : Math.max(a, b);
+  }
+
+  private int identity() {
+    return maximin ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+  }
+
+  /**
+   * Returns the number of rows of the graph the tree was built from.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return n;
+  }
+
+  /**
+   * Returns the bottleneck of the path from {@code u} to {@code v}, the maximum
+   * edge weight along the minimax path or the minimum edge weight along the
+   * maximin path, in {@code O(lg V)} time.
+   *
+   * @param u the start vertex
+   * @param v the end vertex
+   * @return the bottleneck of the path, or {@link Graph#NIL} if there is none
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   */
+  public int query(int u, int v) {
+    Graph.checkVertex(n, u);
+    Graph.checkVertex(n, v);
+
+    if (u == v)
+      return diag[u];
+    if (root[u] == -1 || root[u] != root[v])
+      return Graph.NIL;
+
+    int b = identity(), j, t;
+
+    if (depth[u] < depth[v]) {
+      t = u;
+      u = v;
+      v = t;
+    }
+
+    for (j = levels - 1; j >= 0; j--) {
+      if (depth[u] - (1 << j) >= depth[v]) {
+        b = op(b, best[j * n + u]);
+        u = up[j * n + u];
+      }
+    }
+
+    if (u == v)
+      return b;
+
+    for (j = levels - 1; j >= 0; j--) {
+      if (up[j * n + u] != up[j * n + v]) {
+        b = op(b, op(best[j * n + u], best[j * n + v]));
+        u = up[j * n + u];
+        v = up[j * n + v];
+      }
+    }
+
+    return op(b, op(best[u], best[v]));
+  }
+
+  /**
+   * Returns the table of bottlenecks for every pair of vertices, with the
+   * bottleneck of the path from {@code i} to {@code j} in {@code D[i][j]}. The
+   * rows are filled in parallel, each with one traversal of the tree.
+   *
+   * @return the table of bottlenecks
+   */
+  public int[][] distances() {
+    int[][] D = new int[n][n];
+
+    IntStream.range(0, n).parallel().forEach(s -> traverse(s, D[s], null));
+    return D;
+  }
+
+  /**
+   * Returns the predecessor matrix of the bottleneck paths, where
+   * {@code P[i][j]} is the vertex before {@code j} on the tree path from
+   * {@code i}, or {@link Graph#NIL} if there is none.
+   *
+   * @return the predecessor matrix
+   */
+  public int[][] predecessors() {
+    int[][] P = new int[n][n];
+
+    IntStream.range(0, n).parallel().forEach(s -> traverse(s, null, P[s]));
+    return P;
+  }
+
+  /**
+   * Walks the tree from the source vertex with a depth-first search, filling in
+   * the row of bottlenecks and predecessors for the source, if not
+   * {@code null}.
+   *
+   * @param s the source vertex
+   * @param d the row of bottlenecks, or {@code null}
+   * @param p the row of predecessors, or {@code null}
+   */
+  private void traverse(int s, int[] d, int[] p) {
+    int[] b = d != null ? d : new int[n];
+    int[] stack, from;
+    int u, v, e, top;
+
+    fill(b, Graph.NIL);
+
+    if (p != null)
+      fill(p, Graph.NIL);
+
+    if (root[s] == -1) {
+      b[s] = 0;
+      return;
+    }
+
+    stack = new int[n];
+    from = new int[n];
+    stack[0] = s;
+    from[s] = -1;
+    b[s] = identity();
+
+    for (top = 1; top > 0;) {
+      u = stack[--top];
+
+      for (e = head[u]; e != -1; e = next[e]) {
+        v = to[e];
+
+        if (v == from[u])
+          continue;
+
+        from[v] = u;
+        b[v] = op(b[u], weight[e]);
+        stack[top++] = v;
+
+        if (p != null)
+          p[v] = u;
+      }
+    }
+
+    b[s] = diag[s];
+  }
+}
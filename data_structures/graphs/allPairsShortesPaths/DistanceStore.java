@@ -0,0 +1,492 @@
+package data_structures.graphs.allPairsShortesPaths;
+
+import static java.util.Arrays.copyOf;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import data_structures.graphs.Graph;
+
+/**
+ * An all-pairs distance matrix, and optionally its predecessor matrix, kept in
+ * a memory-mapped file instead of an {@code int[n][n]} on the heap. A
+ * {@code 200,000} vertex table takes {@code 160 GB}, far past any heap, but a
+ * mapped file only costs address space and the operating system pages the
+ * parts that are being read or written in and out of memory on its own.
+ *
+ * <p>
+ * The matrix is split into {@code tile x tile} blocks stored one after another
+ * in row-major order, and each block is row-major as well, so that a tile is
+ * one contiguous run of the file:
+ * </p>
+ *
+ * <pre>
+ * | header | D(0, 0) | D(0, 1) | ... | D(1, 0) | ... | P(0, 0) | P(0, 1) | ...
+ * </pre>
+ *
+ * <p>
+ * The last row and column of tiles are padded out to the full tile size. Every
+ * row of tiles, a band, is mapped as its own buffer, since a single mapping
+ * cannot be larger than {@code 2 GB}.
+ * </p>
+ *
+ * <p>
+ * The blocked algorithms, {@link FloydWarshall#run(Graph, DistanceStore)},
+ * read and write a whole tile at a time, while
+ * {@link Johnsons#run(Graph, DistanceStore)} writes a row at a time. The query
+ * methods only touch the cells they need, so looking up a distance or
+ * reconstructing a path pages in a handful of blocks rather than the whole
+ * table.
+ * </p>
+ *
+ * <p>
+ * Reads and writes use absolute indices only, so different threads can write
+ * different cells of the same store without synchronization. Writes are not
+ * guaranteed to reach the file until {@link #flush()} or {@link #close()}.
+ * </p>
+ */
+public final class DistanceStore implements AutoCloseable {
+  /**
+   * The default tile size, {@code 256 x 256} ints or {@code 256 KB} per tile.
+   */
+  public static final int TILE = 256;
+
+  /**
+   * The file magic number, {@code "APSP"}.
+   */
+  private static final int MAGIC = 0x41505350;
+
+  /**
+   * The header size in bytes, which keeps the tiles aligned.
+   */
+  private static final int HEADER = 64;
+
+  private final FileChannel channel;
+
+  /**
+   * The number of rows, the tile size and the number of tiles per row.
+   */
+  private final int n, tile, tiles;
+
+  /**
+   * Whether the store holds a predecessor matrix.
+   */
+  private final boolean predecessors;
+
+  /**
+   * The mapped bands of the distance and predecessor matrices.
+   */
+  private final MappedByteBuffer[] bands;
+
+  /**
+   * The {@code int} views of the distance and predecessor bands.
+   */
+  private final IntBuffer[] D, P;
+
+  private DistanceStore(FileChannel channel, int rows, int tile, boolean predecessors) throws IOException {
+    this.channel = channel;
+    this.n = rows;
+    this.tile = tile;
+    this.tiles = (rows + tile - 1) / tile;
+    this.predecessors = predecessors;
+
+    long bandBytes = (long) tile * tile * tiles * Integer.BYTES;
+    int count = predecessors ? 2 * tiles : tiles;
+
+    bands = new MappedByteBuffer[count];
+    D = new IntBuffer[tiles];
+    P = new IntBuffer[predecessors ? tiles : 0];
+
+    // Mapping only reserves address space, the pages are read in on first use
+    for (int b = 0; b < count; b++) {
+      bands[b] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER + b * bandBytes, bandBytes);
+      bands[b].order(ByteOrder.nativeOrder());
+
+      if (b < tiles)
+        D[b] = bands[b].asIntBuffer();
+      else
+        P[b - tiles] = bands[b].asIntBuffer();
+    }
+  }
+
+  /**
+   * Creates a new store in the specified file with the default tile size,
+   * replacing the file if it exists. The cells are not initialized, so every
+   * cell has to be written by an algorithm before it is read.
+   *
+   * @param file         the file to map the store to
+   * @param rows         the number of rows of the matrix
+   * @param predecessors whether to store a predecessor matrix as well
+   * @return the new store
+   *
+   * @throws IOException              if the file cannot be created or mapped
+   * @throws IllegalArgumentException if the number of rows is not positive
+   */
+  public static DistanceStore create(Path file, int rows, boolean predecessors) throws IOException {
+    return create(file, rows, predecessors, TILE);
+  }
+
+  /**
+   * Creates a new store in the specified file with the specified tile size,
+   * replacing the file if it exists. Larger tiles mean fewer, longer reads and
+   * writes per tile, while each worker of a blocked algorithm holds a few tiles
+   * in memory at a time.
+   *
+   * @param file         the file to map the store to
+   * @param rows         the number of rows of the matrix
+   * @param predecessors whether to store a predecessor matrix as well
+   * @param tile         the number of rows and columns of each tile
+   * @return the new store
+   *
+   * @throws IOException              if the file cannot be created or mapped
+   * @throws IllegalArgumentException if the number of rows or the tile size is
+   *                                  not positive, or a band of tiles would be
+   *                                  larger than {@code 2 GB}
+   */
+  public static DistanceStore create(Path file, int rows, boolean predecessors, int tile) throws IOException {
+    if (rows <= 0)
+      throw new IllegalArgumentException("Rows must be greater than 0.");
+    if (tile <= 0)
+      throw new IllegalArgumentException("Tile size must be greater than 0.");
+    if ((long) tile * tile * ((rows + tile - 1) / tile) * Integer.BYTES > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("A band of tiles cannot be larger than 2 GB.");
+
+    FileChannel channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+    ByteBuffer header = ByteBuffer.allocate(HEADER);
+
+    header.putInt(MAGIC).putInt(rows).putInt(tile).putInt(predecessors ? 1 : 0).rewind();
+    channel.write(header, 0);
+    return new DistanceStore(channel, rows, tile, predecessors);
+  }
+
+  /**
+   * Opens a store previously created in the specified file.
+   *
+   * @param file the file of the store
+   * @return the store
+   *
+   * @throws IOException              if the file cannot be read or mapped
+   * @throws IllegalArgumentException if the file is not a distance store
+   */
+  public static DistanceStore open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, READ, WRITE);
+    ByteBuffer header = ByteBuffer.allocate(HEADER);
+
+    channel.read(header, 0);
+    header.flip();
+
+    if (header.remaining() < 16 || header.getInt() != MAGIC) {
+      channel.close();
+      throw new IllegalArgumentException("File is not a distance store.");
+    }
+
+    int rows = header.getInt(), tile = header.getInt();
+    return new DistanceStore(channel, rows, tile, header.getInt() == 1);
+  }
+
+  /**
+   * Returns the number of rows of the matrix.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return n;
+  }
+
+  /**
+   * Returns the number of rows and columns of each tile.
+   *
+   * @return the tile size
+   */
+  public int getTile() {
+    return tile;
+  }
+
+  /**
+   * Returns the number of tiles in each row and column of the matrix.
+   *
+   * @return the number of tiles per row
+   */
+  public int getTiles() {
+    return tiles;
+  }
+
+  /**
+   * Returns whether the store holds a predecessor matrix.
+   *
+   * @return if there is a predecessor matrix
+   */
+  public boolean hasPredecessors() {
+    return predecessors;
+  }
+
+  /**
+   * Returns the index of the cell {@code (i, j)} in its band.
+   */
+  private int index(int i, int j) {
+    return ((j / tile) * tile + i % tile) * tile + j % tile;
+  }
+
+  /**
+   * Returns the distance from {@code i} to {@code j}, {@code D[i][j]}.
+   *
+   * @param i the start vertex
+   * @param j the end vertex
+   * @return the distance, or {@link Graph#NIL} if there is no path
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   */
+  public int get(int i, int j) {
+    Graph.checkVertex(n, i);
+    Graph.checkVertex(n, j);
+    return D[i / tile].get(index(i, j));
+  }
+
+  /**
+   * Sets the distance from {@code i} to {@code j}, {@code D[i][j]}.
+   *
+   * @param i the start vertex
+   * @param j the end vertex
+   * @param d the distance
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   */
+  public void set(int i, int j, int d) {
+    Graph.checkVertex(n, i);
+    Graph.checkVertex(n, j);
+    D[i / tile].put(index(i, j), d);
+  }
+
+  /**
+   * Returns the predecessor of {@code j} on the path from {@code i},
+   * {@code P[i][j]}.
+   *
+   * @param i the start vertex
+   * @param j the end vertex
+   * @return the predecessor, or {@link Graph#NIL} if there is none
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   * @throws IllegalCallerException   if the store has no predecessor matrix
+   */
+  public int getPredecessor(int i, int j) {
+    checkPredecessors();
+    Graph.checkVertex(n, i);
+    Graph.checkVertex(n, j);
+    return P[i / tile].get(index(i, j));
+  }
+
+  /**
+   * Sets the predecessor of {@code j} on the path from {@code i},
+   * {@code P[i][j]}.
+   *
+   * @param i the start vertex
+   * @param j the end vertex
+   * @param p the predecessor
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   * @throws IllegalCallerException   if the store has no predecessor matrix
+   */
+  public void setPredecessor(int i, int j, int p) {
+    checkPredecessors();
+    Graph.checkVertex(n, i);
+    Graph.checkVertex(n, j);
+    P[i / tile].put(index(i, j), p);
+  }
+
+  private void checkPredecessors() {
+    if (!predecessors)
+      throw new IllegalCallerException("Store has no predecessor matrix.");
+  }
+
+  /**
+   * Copies row {@code i} of the distance matrix into {@code d} and, if not
+   * {@code null}, row {@code i} of the predecessor matrix into {@code p}.
+   *
+   * @param i the row
+   * @param d the array to hold the distances, of at least {@code n} length
+   * @param p the array to hold the predecessors, or {@code null}
+   *
+   * @throws IllegalArgumentException if the row is invalid
+   * @throws IllegalCallerException   if {@code p} is given but the store has no
+   *                                  predecessor matrix
+   */
+  public void readRow(int i, int[] d, int[] p) {
+    Graph.checkVertex(n, i);
+
+    if (p != null)
+      checkPredecessors();
+
+    for (int J = 0, len; J < tiles; J++) {
+      len = Math.min(tile, n - J * tile);
+      D[i / tile].get(index(i, J * tile), d, J * tile, len);
+
+      if (p != null)
+        P[i / tile].get(index(i, J * tile), p, J * tile, len);
+    }
+  }
+
+  /**
+   * Writes {@code d} into row {@code i} of the distance matrix and, if not
+   * {@code null}, {@code p} into row {@code i} of the predecessor matrix.
+   *
+   * @param i the row
+   * @param d the distances, of at least {@code n} length
+   * @param p the predecessors, or {@code null}
+   *
+   * @throws IllegalArgumentException if the row is invalid
+   * @throws IllegalCallerException   if {@code p} is given but the store has no
+   *                                  predecessor matrix
+   */
+  public void writeRow(int i, int[] d, int[] p) {
+    Graph.checkVertex(n, i);
+
+    if (p != null)
+      checkPredecessors();
+
+    for (int J = 0, len; J < tiles; J++) {
+      len = Math.min(tile, n - J * tile);
+      D[i / tile].put(index(i, J * tile), d, J * tile, len);
+
+      if (p != null)
+        P[i / tile].put(index(i, J * tile), p, J * tile, len);
+    }
+  }
+
+  /**
+   * Copies the whole {@code tile x tile} block {@code (I, J)}, padding included,
+   * into {@code d}, and its predecessors into {@code p} if not {@code null}.
+   */
+  void readTile(int I, int J, int[] d, int[] p) {
+    int size = tile * tile;
+
+    D[I].get(J * size, d, 0, size);
+
+    if (p != null)
+      P[I].get(J * size, p, 0, size);
+  }
+
+  /**
+   * Writes the whole {@code tile x tile} block {@code (I, J)}, padding included,
+   * from {@code d}, and its predecessors from {@code p} if not {@code null}.
+   */
+  void writeTile(int I, int J, int[] d, int[] p) {
+    int size = tile * tile;
+
+    D[I].put(J * size, d, 0, size);
+
+    if (p != null)
+      P[I].put(J * size, p, 0, size);
+  }
+
+  /**
+   * Checks the diagonal for a negative value, which means the graph contains a
+   * negative weight cycle.
+   *
+   * @return whether the table contains a negative weight cycle or not
+   */
+  public boolean hasNegativeWeightCycle() {
+    for (int i = 0; i < n; i++)
+      if (get(i, i) < 0)
+        return true;
+    return false;
+  }
+
+  /**
+   * Returns the array of path vertices from the start to the end vertex by
+   * following the predecessor matrix back from the end vertex. Only the cells
+   * on the path are read.
+   *
+   * @param startVertex the start vertex of the path
+   * @param endVertex   the end vertex of the path
+   * @return the array of vertices for a path, or a single {@code -1} element if
+   *         no path exists
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   * @throws IllegalCallerException   if the store has no predecessor matrix
+   */
+  public int[] arrayPath(int startVertex, int endVertex) {
+    checkPredecessors();
+    Graph.checkVertex(n, startVertex);
+    Graph.checkVertex(n, endVertex);
+
+    int[] path = new int[16];
+    int len = 0, v = endVertex, t;
+
+    while (true) {
+      if (len == path.length)
+        path = copyOf(path, 2 * len);
+
+      path[len++] = v;
+
+      if (v == startVertex)
+        break;
+
+      v = getPredecessor(startVertex, v);
+
+      // A path cannot visit more than n vertices unless it is a cycle
+      if (v == Graph.NIL || len > n)
+        return new int[] { -1 };
+    }
+
+    for (int i = 0; i < len / 2; i++) {
+      t = path[i];
+      path[i] = path[len - 1 - i];
+      path[len - 1 - i] = t;
+    }
+
+    return copyOf(path, len);
+  }
+
+  /**
+   * Returns the path string from the start to the end vertex, see
+   * {@link #arrayPath(int, int)}.
+   *
+   * @param startVertex the start vertex of the path
+   * @param endVertex   the end vertex of the path
+   * @return the string path if one exists or a no path exists message string
+   *
+   * @throws IllegalArgumentException if either vertex is invalid
+   * @throws IllegalCallerException   if the store has no predecessor matrix
+   */
+  public String printPath(int startVertex, int endVertex) {
+    int[] path = arrayPath(startVertex, endVertex);
+
+    if (path[0] == -1)
+      return "No path exists from " + startVertex + " to " + endVertex;
+
+    StringBuilder s = new StringBuilder().append(path[0]);
+
+    for (int i = 1; i < path.length; i++)
+      s.append(" -> ").append(path[i]);
+    return s.toString();
+  }
+
+  /**
+   * Writes any changes in the mapped bands out to the file.
+   */
+  public void flush() {
+    for (MappedByteBuffer band : bands)
+      band.force();
+  }
+
+  /**
+   * Flushes the store and closes the file. The mappings are released once they
+   * are garbage collected.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+}
@@ -1,5 +1,7 @@
 package data_structures.graphs.allPairsShortesPaths;
 
+import java.util.stream.IntStream;
+
 import data_structures.graphs.Graph;
 
 /**
@@ -126,13 +128,11 @@ public final class FloydWarshall extends ASPS {
     int n = G.getRows();
     int D[][] = new int[n][n];
     int W[][] = G.getAdjacencyMatrix();
-    int a, b, c, i, j, k;
+    int i, j, k;
 
     // Initialize D^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++)
           D[i][j] = i == j ? 0 : Graph.NIL;
         continue;
@@ -148,17 +148,10 @@ public final class FloydWarshall extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++) {
-          a = D[i][j];
-          b = D[i][k];
-          c = D[k][j];
-          // Check for Infinity value (NIL) to prevent addition overflow
-          D[i][j] = b == Graph.NIL || c == Graph.NIL ? a : Math.min(a, b + c);
-        }
-      }
-    }
+    // d ij^(k) = min(d ij^(k-1), d ik^(k-1) + d kj^(k-1)) one row at a time
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.minPlus(D[i], D[k], D[i][k], n);
 
     return D;
   }
@@ -184,13 +177,11 @@ public final class FloydWarshall extends ASPS {
     int D[][] = new int[n][n];
     int P[][] = new int[n][n];
     final int W[][] = G.getAdjacencyMatrix();
-    int a, b, c, i, j, k;
+    int i, j, k;
 
     // Initialize D^(0) and P^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++) {
           D[i][j] = i == j ? 0 : Graph.NIL;
           P[i][j] = Graph.NIL;
@@ -214,27 +205,155 @@ public final class FloydWarshall extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++) {
-          a = D[i][j];
-          b = D[i][k];
-          c = D[k][j];
-
-          // Check for Infinity values to prevent addition overflow
-          if (b == Graph.NIL || c == Graph.NIL || a <= b + c) {
-            D[i][j] = a;
-            P[i][j] = P[i][j];
-          }
-          else {
-            D[i][j] = b + c;
-            P[i][j] = P[k][j];
-          }
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.minPlus(D[i], P[i], D[k], P[k], D[i][k], n);
+
+    return P;
+  }
+
+  /**
+   * Runs the Floyd Warshall algorithm on the specified graph, writing the table
+   * of weights, and the predecessor matrix if the store has one, into a
+   * {@link DistanceStore} instead of the heap.
+   *
+   * <p>
+   * The matrix is processed as {@code t x t} tiles with the blocked
+   * Floyd-Warshall algorithm, so only a few tiles are in memory at once. For each
+   * diagonal tile {@code (K, K)}, the {@code tile} intermediate vertices of
+   * {@code K} are run through:
+   * </p>
+   *
+   * <ol>
+   * <li>the diagonal tile {@code (K, K)} itself</li>
+   * <li>the rest of row {@code K} and column {@code K}, which only depend on
+   * {@code (K, K)}, in parallel</li>
+   * <li>every other tile {@code (I, J)}, which only depends on {@code (I, K)}
+   * and {@code (K, J)}, in parallel by rows of tiles</li>
+   * </ol>
+   *
+   * <p>
+   * Each tile is read from the store, relaxed with the row kernels and written
+   * back, so a full pass reads and writes {@code O(n^3 / tile)} cells rather
+   * than {@code O(n^3)}. Every vertex, including {@code 0}, is used as an
+   * intermediate vertex.
+   * </p>
+   *
+   * @param graph the graph matrix to run the algorithm on
+   * @param store the store to write the results into
+   * @return the store
+   *
+   * @throws IllegalArgumentException if the specified {@code Graph} is not
+   *                                  weighted and directed, or the store does
+   *                                  not have the same number of rows
+   */
+  public static DistanceStore run(Graph graph, DistanceStore store) {
+    checkGraph(graph);
+
+    if (store.getRows() != graph.getRows())
+      throw new IllegalArgumentException("Store must have the same number of rows as the graph.");
+
+    _run(graph, store);
+    return store;
+  }
+
+  private static void _run(Graph G, DistanceStore S) {
+    int T = S.getTile(), t = S.getTiles();
+    boolean pred = S.hasPredecessors();
+    int[] d = new int[T * T], p = pred ? new int[T * T] : null;
+    int[][] W = G.getAdjacencyMatrix();
+
+    // Initialize D^(0) and P^(0) one tile at a time
+    IntStream.range(0, t).parallel().forEach(I -> {
+      int[] c = new int[T * T], q = pred ? new int[T * T] : null;
+
+      for (int J = 0; J < t; J++) {
+        initTile(W, G.getRows(), I * T, J * T, T, c, q);
+        S.writeTile(I, J, c, q);
+      }
+    });
+
+    for (int K = 0; K < t; K++) {
+      final int k = K;
+      final int[] dk = d, pk = p;
+
+      // Phase 1: the diagonal tile
+      S.readTile(K, K, d, p);
+      relax(d, p, d, d, p, T);
+      S.writeTile(K, K, d, p);
+
+      // Phase 2: row K and column K
+      IntStream.range(0, t).parallel().filter(J -> J != k).forEach(J -> {
+        int[] c = new int[T * T], q = pred ? new int[T * T] : null;
+
+        S.readTile(k, J, c, q);
+        relax(c, q, dk, c, q, T);
+        S.writeTile(k, J, c, q);
+
+        S.readTile(J, k, c, q);
+        relax(c, q, c, dk, pk, T);
+        S.writeTile(J, k, c, q);
+      });
+
+      // Phase 3: the remaining tiles
+      IntStream.range(0, t).parallel().filter(I -> I != k).forEach(I -> {
+        int[] a = new int[T * T], b = new int[T * T], c = new int[T * T];
+        int[] pb = pred ? new int[T * T] : null, q = pred ? new int[T * T] : null;
+
+        S.readTile(I, k, a, null);
+
+        for (int J = 0; J < t; J++) {
+          if (J == k)
+            continue;
+
+          S.readTile(k, J, b, pb);
+          S.readTile(I, J, c, q);
+          relax(c, q, a, b, pb, T);
+          S.writeTile(I, J, c, q);
         }
+      });
+    }
+  }
+
+  /**
+   * Fills a tile with {@code D^(0)} and {@code P^(0)} for the rows and columns
+   * starting at {@code (i0, j0)}, with the cells past the last vertex as
+   * {@link Graph#NIL}.
+   */
+  private static void initTile(int[][] W, int n, int i0, int j0, int T, int[] d, int[] p) {
+    for (int r = 0, i, j, c; r < T; r++) {
+      for (c = 0; c < T; c++) {
+        i = i0 + r;
+        j = j0 + c;
+
+        if (i >= n || j >= n)
+          d[r * T + c] = Graph.NIL;
+        else if (i == j)
+          d[r * T + c] = 0;
+        else
+          d[r * T + c] = W[i] == null ? Graph.NIL : W[i][j];
+
+        if (p != null)
+          p[r * T + c] = i == j || d[r * T + c] == Graph.NIL ? Graph.NIL : i;
       }
     }
+  }
 
-    return P;
+  /**
+   * Relaxes the tile {@code c} through the {@code T} intermediate vertices of
+   * its block, {@code c[i][j] = min(c[i][j], a[i][k] + b[k][j])}, where
+   * {@code a} is the tile of the same rows and {@code b} the tile of the same
+   * columns. Any of the tiles may be the same array.
+   */
+  private static void relax(int[] c, int[] q, int[] a, int[] b, int[] pb, int T) {
+    for (int k = 0; k < T; k++) {
+      for (int i = 0; i < T; i++) {
+        if (q == null)
+          Kernels.minPlus(c, i * T, b, k * T, a[i * T + k], T);
+        else
+          Kernels.minPlus(c, q, i * T, b, pb, k * T, a[i * T + k], T);
+      }
+    }
   }
 
   /**
@@ -0,0 +1,217 @@
+package data_structures.graphs.allPairsShortesPaths;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.stream.IntStream;
+
+import data_structures.graphs.Graph;
+
+/**
+ * Decrease-Edge(D, P, a, b, w)
+ * 1   if w >= d ab
+ * 2       return
+ * 3   for i = 1 to n
+ * 4       if d ia != Infinity
+ * 5           for j = 1 to n
+ * 6               if d ia + w + d bj < d ij
+ * 7                   d ij = d ia + w + d bj
+ * 8                   p ij = p bj, or a if j == b
+ */
+
+/**
+ * Keeps an all-pairs shortest-paths table up to date as edges are added or
+ * their weights decrease, without running Floyd-Warshall again.
+ *
+ * <p>
+ * If an edge {@code (a, b)} is added with weight {@code w}, or its weight is
+ * lowered to {@code w}, every new shortest path from {@code i} to {@code j}
+ * goes through the edge exactly once (a second pass through it would be a
+ * cycle), so it is a shortest path from {@code i} to {@code a}, the edge, and
+ * a shortest path from {@code b} to {@code j}, all of which are already in the
+ * table:
+ * </p>
+ *
+ * <p>
+ * <i>d ij = min(d ij, d ia + w + d bj)</i>
+ * </p>
+ *
+ * <p>
+ * That is one pass over the matrix, {@code O(n^2)} per update instead of
+ * {@code O(n^3)}, and it is the same Min-Plus row kernel as a single {@code k}
+ * iteration of Floyd-Warshall, with {@code d ia + w} as the scalar and row
+ * {@code b} as the intermediate row. Unless the update creates a negative
+ * weight cycle, row {@code b} and column {@code a} cannot change, so every row
+ * can be updated independently and large tables are updated in parallel. Row
+ * {@code b} is still copied first, so that a negative weight cycle leaves a
+ * negative value on the diagonal, as it would for
+ * {@link FloydWarshall#hasNegativeWeightCycle(int[][])}, instead of racing.
+ * </p>
+ *
+ * <p>
+ * Increasing an edge weight or removing an edge can lengthen paths that are
+ * not otherwise known, so those still require the table to be recomputed.
+ * The tables do not know whether the graph is directed, so an undirected edge
+ * is updated with {@link #updateUndirected}, in both directions, {@code (a, b)}
+ * and then {@code (b, a)}. A new shortest path only crosses the edge once, in
+ * one direction, so the second pass sees the distances of the first as they
+ * would be after a full recomputation.
+ * </p>
+ */
+public final class IncrementalPaths extends ASPS {
+  /**
+   * The number of rows at which an update is split across the cores.
+   */
+  private static final int PARALLEL_ROWS = 512;
+
+  // Prevent this class from being instantiated
+  public IncrementalPaths() {
+    super();
+  }
+
+  /**
+   * Updates the distance matrix, and the predecessor matrix if not
+   * {@code null}, in place for the edge {@code (u, v)} being added with, or
+   * decreased to, the weight {@code w}.
+   *
+   * @param D the distance matrix, from {@link FloydWarshall#run(Graph)}
+   * @param P the predecessor matrix, from {@link FloydWarshall#table(Graph)},
+   *          or {@code null}
+   * @param u the {@code u} vertex of the edge
+   * @param v the {@code v} vertex of the edge
+   * @param w the new weight of the edge
+   * @return whether any shortest path changed
+   *
+   * @throws NullPointerException     if the distance matrix is {@code null}
+   * @throws IllegalArgumentException if the matrices are not {@code n x n}, or
+   *                                  either vertex is invalid
+   */
+  public static boolean update(int[][] D, int[][] P, int u, int v, int w) {
+    checkTables(D, P);
+    Graph.checkVertex(D.length, u);
+    Graph.checkVertex(D.length, v);
+    return _update(D, P, u, v, w);
+  }
+
+  /**
+   * Updates the distance matrix, and the predecessor matrix if not
+   * {@code null}, in place for the undirected edge {@code (u, v)} being added
+   * with, or decreased to, the weight {@code w}, relaxing the paths through it
+   * in both directions.
+   *
+   * @param D the distance matrix, from {@link FloydWarshall#run(Graph)}
+   * @param P the predecessor matrix, from {@link FloydWarshall#table(Graph)},
+   *          or {@code null}
+   * @param u the {@code u} vertex of the edge
+   * @param v the {@code v} vertex of the edge
+   * @param w the new weight of the edge
+   * @return whether any shortest path changed
+   *
+   * @throws NullPointerException     if the distance matrix is {@code null}
+   * @throws IllegalArgumentException if the matrices are not {@code n x n}, or
+   *                                  either vertex is invalid
+   */
+  public static boolean updateUndirected(int[][] D, int[][] P, int u, int v, int w) {
+    checkTables(D, P);
+    Graph.checkVertex(D.length, u);
+    Graph.checkVertex(D.length, v);
+
+    boolean changed = _update(D, P, u, v, w);
+    return _update(D, P, v, u, w) || changed;
+  }
+
+  /**
+   * Updates the distance matrix, and the predecessor matrix if not
+   * {@code null}, in place for a batch of edges being added or decreased. Each
+   * edge is an array of {@code {u, v, w}}. Edges that do not shorten the
+   * current distance {@code d uv} are skipped in {@code O(1)} time, and the
+   * remaining ones are applied one after another, each in a single parallel
+   * pass over the rows.
+   *
+   * @param D     the distance matrix, from {@link FloydWarshall#run(Graph)}
+   * @param P     the predecessor matrix, from {@link FloydWarshall#table(Graph)},
+   *              or {@code null}
+   * @param edges the edges as {@code {u, v, w}} arrays
+   * @return the number of edges that changed a shortest path
+   *
+   * @throws NullPointerException     if the distance matrix or edges are
+   *                                  {@code null}
+   * @throws IllegalArgumentException if the matrices are not {@code n x n}, or
+   *                                  an edge is not a valid {@code {u, v, w}}
+   *                                  array
+   */
+  public static int update(int[][] D, int[][] P, int[][] edges) {
+    checkTables(D, P);
+
+    if (edges == null)
+      throw new NullPointerException("Edges cannot be null.");
+
+    // Validate the whole batch first so that a bad edge leaves the tables as-is
+    for (int[] edge : edges) {
+      if (edge == null || edge.length != 3)
+        throw new IllegalArgumentException("Each edge must be a {u, v, w} array.");
+
+      Graph.checkVertex(D.length, edge[0]);
+      Graph.checkVertex(D.length, edge[1]);
+    }
+
+    int changed = 0;
+
+    for (int[] edge : edges)
+      if (_update(D, P, edge[0], edge[1], edge[2]))
+        changed++;
+
+    return changed;
+  }
+
+  private static boolean _update(int[][] D, int[][] P, int a, int b, int w) {
+    int n = D.length;
+
+    if (w >= D[a][b])
+      return false;
+
+    // Snapshot row b, with a as the predecessor of b itself
+    int[] d = copyOf(D[b], n), p = P != null ? copyOf(P[b], n) : null;
+    IntStream rows = IntStream.range(0, n);
+
+    if (p != null)
+      p[b] = a;
+
+    if (n >= PARALLEL_ROWS)
+      rows = rows.parallel();
+
+    rows.forEach(i -> {
+      int s = D[i][a];
+
+      if (s == Graph.NIL)
+        return;
+
+      s = Kernels.add(s, w);
+
+      if (P != null)
+        Kernels.minPlus(D[i], P[i], d, p, s, n);
+      else
+        Kernels.minPlus(D[i], d, s, n);
+    });
+
+    return true;
+  }
+
+  private static void checkTables(int[][] D, int[][] P) {
+    if (D == null)
+      throw new NullPointerException("Distance matrix cannot be null.");
+
+    for (int[] row : D)
+      if (row == null || row.length != D.length)
+        throw new IllegalArgumentException("Distance matrix must be n x n.");
+
+    if (P == null)
+      return;
+
+    if (P.length != D.length)
+      throw new IllegalArgumentException("Predecessor matrix must be n x n.");
+
+    for (int[] row : P)
+      if (row == null || row.length != D.length)
+        throw new IllegalArgumentException("Predecessor matrix must be n x n.");
+  }
+}
@@ -2,10 +2,15 @@ package data_structures.graphs.allPairsShortesPaths;
 
 import static java.util.Arrays.fill;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
 import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
 import data_structures.graphs.singleSourceShortestPaths.Dijkstra;
+import data_structures.graphs.singleSourceShortestPaths.DijkstraSearch;
 import data_structures.graphs.singleSourceShortestPaths.SSSP;
-import data_structures.graphs.singleSourceShortestPaths.ShorterPathFaster;
 
 /**
  * Johnson(G, w)
@@ -120,7 +125,7 @@ public final class Johnsons extends ASPS {
    * shortest paths for all vertices. If a negative weight cycle exists in the
    * graph, it will return {@code null}. Will return the matrix table of the total
    * weight of distances between two vertices {@code i} and {@code j} for
-   * {@code D[i][j]}.
+   * {@code D[i][j]}, or {@link Graph#NIL} if there is no path.
    *
    * <p>
    * Using the ShorterPathFaster algorithm which has an expected running time of
@@ -128,6 +133,13 @@ public final class Johnsons extends ASPS {
    * weight cycles.
    * </p>
    *
+   * <p>
+   * The specified graph is not modified. The reweighting
+   * {@code w'(u, v) = w(u, v) + h(u) - h(v)} is applied on the fly while
+   * scanning a read-only {@link SparseGraph} snapshot, and the {@code |V|}
+   * Dijkstra runs are split across the cores, see {@link Sources}.
+   * </p>
+   *
    * @param graph the graph matrix to run the algorithm on
    * @return the table of weights for vertex to vertex paths or {@code null} if it
    *         contains a negative weight cycle
@@ -142,52 +154,228 @@ public final class Johnsons extends ASPS {
 
   private static int[][] _run(Graph G) {
     int n = G.getRows();
-    // compute G' where G'.V = G.V U {s}, where s is a new vertex
-    Graph T = new Graph(G, n + 1);
-    int[] vertices, h = new int[n], V = G.getVertices();
+    SparseGraph S = new SparseGraph(G);
+    int[] h = potentials(S), V = G.getVertices();
     int[][] D;
-    SSSP.Node[] VTS;
-    // Set s, the new vertex, to the number of rows in the graph
-    int s = n, i, j, v;
-
-    // Add the new edge from the new vertex to all vertices with 0 weight
-    for (int u : V)
-      T.addEdge(s, u, 0);
 
     // Check if the graph contains a negative weight cycle
-    if ((VTS = ShorterPathFaster.run(T, s)) == null)
+    if (h == null)
       return null;
 
-    // Set h(v) to the value of S(s, v) computed by the Bellman-Ford algorithm
-    for (int u : V)
-      h[u] = VTS[u].distance;
+    // Preallocate matrix D for the Dijkstra runs to write their rows into
+    D = new int[n][n];
 
-    for (Graph.Edge edge : G.getEdges()) {
-      vertices = edge.getVertices();
-      int u = vertices[0];
-      v = vertices[1];
+    for (int i = 0; i < n; i++)
+      fill(D[i], Graph.NIL);
 
-      // w'(u, v) = w(u, v) + h(u) - h(v)
-      G.setEdge(u, v, edge.getWeight() + h[u] - h[v]);
+    ForkJoinPool.commonPool().invoke(new Sources(S, h, V, D, null, 0, V.length, grain(V.length)));
+    return D;
+  }
+
+  /**
+   * Runs the Johnson's algorithm on the directed, weighted graph, writing the
+   * table of weights, and the predecessor matrix if the store has one, into a
+   * {@link DistanceStore} instead of the heap. If a negative weight cycle exists
+   * in the graph, it will return {@code null} and the store is left unwritten.
+   *
+   * <p>
+   * Each Dijkstra run fills a row buffer that is written to the store as soon
+   * as it is converted, so the heap only holds the graph, its
+   * {@link SparseGraph} snapshot and one or two rows per task. The potentials
+   * are computed on the snapshot as well, so no {@code (V + 1) x (V + 1)} copy
+   * of the graph is made. The specified graph still holds a matrix row for
+   * each of its vertices, so it is the graph rather than the table that bounds
+   * the size of the problem. The rows of vertices that are not in the graph
+   * are all {@link Graph#NIL}.
+   * </p>
+   *
+   * @param graph the graph matrix to run the algorithm on
+   * @param store the store to write the results into
+   * @return the store or {@code null} if the graph contains a negative weight
+   *         cycle
+   *
+   * @throws IllegalArgumentException if the specified {@code Graph} is not
+   *                                  weighted and directed, or the store does
+   *                                  not have the same number of rows
+   */
+  public static DistanceStore run(Graph graph, DistanceStore store) {
+    checkGraph(graph);
+
+    if (store.getRows() != graph.getRows())
+      throw new IllegalArgumentException("Store must have the same number of rows as the graph.");
+    return _run(graph, store);
+  }
+
+  private static DistanceStore _run(Graph G, DistanceStore S) {
+    int n = G.getRows();
+    SparseGraph R = new SparseGraph(G);
+    int[] h = potentials(R), V = G.getVertices();
+    int[] d = new int[n], p = S.hasPredecessors() ? new int[n] : null;
+
+    if (h == null)
+      return null;
+
+    fill(d, Graph.NIL);
+
+    if (p != null)
+      fill(p, Graph.NIL);
+
+    for (int u = 0; u < n; u++)
+      if (!G.hasVertex(u))
+        S.writeRow(u, d, p);
+
+    ForkJoinPool.commonPool().invoke(new Sources(R, h, V, null, S, 0, V.length, grain(V.length)));
+    return S;
+  }
+
+  /**
+   * Computes the vertex potentials {@code h(v) = S(s, v)} of the graph
+   * {@code G'} with a new vertex {@code s} and a {@code 0} weight edge to every
+   * vertex, by running the Shorter-Path Faster algorithm over the
+   * {@link SparseGraph}. The vertex {@code s} is never built: relaxing its
+   * edges sets every potential to {@code 0} and queues every vertex, so the
+   * search only needs a few arrays of the graph length.
+   *
+   * <p>
+   * The queue is first-in first-out, so each vertex is queued at most once per
+   * pass, and with no negative weight cycle a shortest path from {@code s} has
+   * at most one edge per vertex. A vertex queued more times than the graph
+   * length is on or after a negative weight cycle.
+   * </p>
+   *
+   * @param G the graph to compute the potentials of
+   * @return the potential of each vertex, or {@code null} if the graph contains
+   *         a negative weight cycle
+   */
+  static int[] potentials(SparseGraph G) {
+    int n = G.getRows();
+    int[] offsets = G.getOffsets(), targets = G.getTargets(), weights = G.getWeights();
+    int[] h = new int[n], queue = new int[n], count = new int[n];
+    boolean[] queued = new boolean[n];
+    int head = 0, size = 0, u, v, d, e, end;
+
+    // Relax (s, v) for every vertex v, with w(s, v) = 0
+    for (v = 0; v < n; v++) {
+      if (G.hasVertex(v)) {
+        queue[size++] = v;
+        queued[v] = true;
+        count[v] = 1;
+      }
     }
 
-    // Initialize matrix D to hold results of Dijkstra's algorithm
-    D = new int[n][n];
-    
-    for (i = 0; i < n; i++)
-      fill(D[i], Graph.NIL);
+    while (size > 0) {
+      u = queue[head];
+      head = head + 1 == n ? 0 : head + 1;
+      size--;
+      queued[u] = false;
 
-    // Run Dijkstra(G, w', u) to compute S'(u, v) for all u and v of G.V
-    for (int u : V) {
-      VTS = Dijkstra.run(G, u);
+      for (e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+        v = targets[e];
+        d = h[u] + weights[e];
 
-      for (j = 0; j < V.length; j++) {
-        v = V[j];
-        D[u][v] = VTS[v].distance + h[v] - h[u];
+        // Relax(u, v, w) and queue v to relax its edges again
+        if (d < h[v]) {
+          h[v] = d;
+
+          if (!queued[v]) {
+            if (++count[v] > n)
+              return null;
+
+            queue[(head + size++) % n] = v;
+            queued[v] = true;
+          }
+        }
       }
     }
 
-    return D;
+    return h;
+  }
+
+  /**
+   * Returns the number of sources each {@link Sources} task runs sequentially,
+   * aiming for about four tasks per core so that work stealing can even out
+   * sources with larger reachable sets.
+   *
+   * @param sources the number of sources
+   * @return the number of sources per task
+   */
+  private static int grain(int sources) {
+    return Math.max(1, sources / (4 * ForkJoinPool.getCommonPoolParallelism()));
+  }
+
+  /**
+   * Runs Dijkstra(G, w', u) for the sources {@code V[lo]} to {@code V[hi - 1]},
+   * recursively halving the range across the fork-join pool until it has at
+   * most {@code grain} sources.
+   *
+   * <p>
+   * Each leaf task allocates a single {@link DijkstraSearch} and reuses its heap
+   * buffers for all of its sources. The search writes the reweighted distances
+   * {@code S'(u, v)} directly into the preallocated row {@code D[u]}, which is
+   * then converted in place with {@code d uv = S'(u, v) + h(v) - h(u)}. Every
+   * task only writes the rows of its own sources, so the tasks need no
+   * synchronization.
+   * </p>
+   *
+   * <p>
+   * If {@code S} is given instead of {@code D}, each leaf task converts into its
+   * own row buffers and writes them to the store, along with the predecessors
+   * if the store has them.
+   * </p>
+   */
+  private static final class Sources extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final SparseGraph G;
+    private final int[] h, V;
+    private final int[][] D;
+    private final DistanceStore S;
+    private final int lo, hi, grain;
+
+    private Sources(SparseGraph G, int[] h, int[] V, int[][] D, DistanceStore S, int lo, int hi, int grain) {
+      this.G = G;
+      this.h = h;
+      this.V = V;
+      this.D = D;
+      this.S = S;
+      this.lo = lo;
+      this.hi = hi;
+      this.grain = grain;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > grain) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Sources(G, h, V, D, S, lo, mid, grain), new Sources(G, h, V, D, S, mid, hi, grain));
+        return;
+      }
+
+      DijkstraSearch search = new DijkstraSearch(G);
+      int[] d = S != null ? new int[G.getRows()] : null;
+      int[] p = S != null && S.hasPredecessors() ? new int[G.getRows()] : null;
+      int i, u, v;
+
+      for (i = lo; i < hi; i++) {
+        u = V[i];
+        d = S != null ? d : D[u];
+        search.run(u, h, d, p);
+
+        for (v = 0; v < d.length; v++)
+          if (d[v] != Graph.NIL)
+            d[v] += h[v] - h[u];
+
+        if (S == null)
+          continue;
+
+        if (p != null)
+          for (v = 0; v < p.length; v++)
+            if (p[v] == -1)
+              p[v] = Graph.NIL;
+
+        S.writeRow(u, d, p);
+      }
+    }
   }
 
   /**
@@ -197,6 +385,11 @@ public final class Johnsons extends ASPS {
    * can be passed to the {@link Graph#printPath()} or {@link Graph#arrayPath()}
    * methods to compute the paths.
    *
+   * <p>
+   * The reweighting is applied to a copy of the graph, so the specified graph
+   * is not modified, and the Dijkstra runs for the sources are run in parallel.
+   * </p>
+   *
    * @param graph the graph matrix to run the algorithm on
    * @return the predecessor matrix of the graph or {@code null} if it contains a
    *         negative weight cycle
@@ -211,57 +404,39 @@ public final class Johnsons extends ASPS {
 
   private static SSSP.Node[][] _table(Graph G) {
     int n = G.getRows();
-    Graph T = new Graph(G, n + 1);
-    int[] vertices, h = new int[n], V = G.getVertices();
-    int[][] D;
-    SSSP.Node[] VTS;
+    int[] vertices, h = potentials(new SparseGraph(G)), V = G.getVertices();
     SSSP.Node[][] P = new SSSP.Node[n][];
-    int s = n, i, j, v;
-
-    for (int u : V)
-      T.addEdge(s, u, 0);
+    Graph R;
+    int u, v;
 
-    if ((VTS = ShorterPathFaster.run(T, s)) == null)
+    if (h == null)
       return null;
 
-    for (int u : V)
-      h[u] = VTS[u].distance;
+    R = new Graph(G);
 
     for (Graph.Edge edge : G.getEdges()) {
       vertices = edge.getVertices();
-      int u = vertices[0];
+      u = vertices[0];
       v = vertices[1];
 
-      G.setEdge(u, v, edge.getWeight() + h[u] - h[v]);
-    }
-
-    D = new int[n][n];
-
-    for (i = 0; i < n; i++)
-      fill(D[i], Graph.NIL);
-
-    for (int u : V) {
-      VTS = Dijkstra.run(G, u);
-      // Sets this vertex index to the results of Dijkstra's algorithm to
-      // compute path with this vertex as the source.
-      P[u] = VTS;
-
-      for (j = 0; j < V.length; j++) {
-        v = V[j];
-        D[u][v] = VTS[v].distance + h[v] - h[u];
-      }
+      // w'(u, v) = w(u, v) + h(u) - h(v)
+      R.setEdge(u, v, edge.getWeight() + h[u] - h[v]);
     }
 
+    // Sets each vertex index to the results of Dijkstra's algorithm to compute
+    // paths with this vertex as the source. Dijkstra only reads R, so the runs
+    // can share it.
+    IntStream.of(V).parallel().forEach(s -> P[s] = Dijkstra.run(R, s));
     return P;
   }
 
   /**
    * Detects if the specified graph contains a negative weight cycle by using the
-   * first parth of the Johnson's algorithm, which creates a new Graph {@code G'}
-   * with a new vertex and adds a new edge from the new vertex to all existing
-   * vertices with a weight of {@code 0}. Then, runs the faster version of the
-   * BellmanFord algorith, the Shorter-Path Faster algorithm to determine if a
-   * negative weight cycle exists or not.
+   * first parth of the Johnson's algorithm, which runs the faster version of the
+   * BellmanFord algorith, the Shorter-Path Faster algorithm, from a new vertex
+   * with an edge of weight {@code 0} to all existing vertices to determine if a
+   * negative weight cycle exists or not. The new vertex is only implied, see
+   * {@link #potentials(SparseGraph)}.
    *
    * @param graph the directed weighted graph to check
    * @return whether the graph contains a negative weight cycle or not
@@ -275,14 +450,7 @@ public final class Johnsons extends ASPS {
   }
 
   private static boolean _hasNegativeWeightCycle(Graph G) {
-    int n = G.getRows();
-    Graph T = new Graph(G, n + 1);
-    int[] V = G.getVertices();
-    int s = n, i;
-
-    for (i = 0; i < V.length; i++)
-      T.addEdge(s, V[i], 0);
-    return ShorterPathFaster.run(T, s) == null;
+    return potentials(new SparseGraph(G)) == null;
   }
 
   /**
@@ -0,0 +1,282 @@
+package data_structures.graphs.allPairsShortesPaths;
+
+import data_structures.graphs.Graph;
+
+/**
+ * Min-Plus(d, r, b)
+ * 1   for j = 1 to n
+ * 2       d j = min(d j, b + r j)
+ *
+ * Min-Max(d, r, b)
+ * 1   for j = 1 to n
+ * 2       d j = min(d j, max(b, r j))
+ *
+ * Max-Min(d, r, b)
+ * 1   for j = 1 to n
+ * 2       d j = max(d j, min(b, r j))
+ */
+
+/**
+ * The shared inner loops of the ASPS algorithms. Every one of the
+ * Floyd-Warshall style algorithms (Floyd-Warshall, Matrix-Multiplication,
+ * Minimax and Maximin) is the same triple loop over {@code k}, {@code i} and
+ * {@code j} with a different pair of operators, so the inner {@code j} loop is
+ * pulled out here as a row kernel over a closed semiring:
+ *
+ * <ul>
+ * <li><b>Min-Plus</b> {@code (min, +)}: shortest paths</li>
+ * <li><b>Min-Max</b> {@code (min, max)}: minimax (bottleneck) paths</li>
+ * <li><b>Max-Min</b> {@code (max, min)}: maximin (widest) paths</li>
+ * </ul>
+ *
+ * <p>
+ * The callers iterate in {@code k, i, j} order so that {@code D[i][k]} is
+ * loop-invariant and is passed in as the scalar {@code b}. If {@code b} is
+ * {@link Graph#NIL} the whole row is skipped once instead of testing it for
+ * every {@code j}.
+ * </p>
+ *
+ * <p>
+ * The remaining {@code NIL} test on {@code r j} is replaced with saturating
+ * arithmetic. When {@code b} is nonnegative the sum is widened to a
+ * {@code long}, so {@code b + NIL} stays at least {@code NIL} and the
+ * {@code min} with {@code d j} clamps it back, and otherwise
+ * {@link #add(int, int)} masks it. The unconditional kernels are then
+ * straight-line loops of add and min over two arrays, which is the shape that
+ * HotSpot's superword pass can vectorize into SIMD instructions without needing
+ * the incubating {@code jdk.incubator.vector} module on the module path. The
+ * kernels that also track a predecessor matrix keep a branch, since they write
+ * to two arrays under the same condition, and act as the scalar fallback.
+ * </p>
+ */
+final class Kernels {
+  // Prevent this class from being instantiated
+  private Kernels() {
+    throw new NoClassDefFoundError("Cannot instantiate this class.");
+  }
+
+  /**
+   * Adds two path weights where {@link Graph#NIL} is {@code Infinity}. If either
+   * weight is {@code NIL} the result is {@code NIL}, otherwise the sum is
+   * clamped to {@code [Integer.MIN_VALUE, NIL]} rather than overflowing.
+   *
+   * <p>
+   * {@code o} is all ones if the addition overflowed, which happens only when
+   * both operands have the same sign and the sum has the other sign, in which
+   * case the sum is replaced with the bound of {@code a}'s sign. {@code m} is all
+   * ones if either operand is {@code NIL}, and is built from
+   * {@code x | -x >> 31}, which is {@code -1} for any nonzero {@code x}.
+   * </p>
+   *
+   * @param a the first weight
+   * @param b the second weight
+   * @return the saturated sum of the weights
+   */
+  static int add(int a, int b) {
+    int s = a + b;
+    int o = ((a ^ s) & (b ^ s)) >> 31;
+    int x = a ^ Graph.NIL, y = b ^ Graph.NIL;
+    int m = ~(((x | -x) >> 31) & ((y | -y) >> 31));
+
+    s = (s & ~o) | (((a >> 31) ^ Integer.MAX_VALUE) & o);
+    return (s & ~m) | (Graph.NIL & m);
+  }
+
+  /**
+   * Min-Plus row kernel, {@code d j = min(d j, b + r j)}, for the
+   * {@code j = [0, n)} columns.
+   *
+   * @param d the row being relaxed, {@code D[i]}
+   * @param r the row of the intermediate vertex, {@code D[k]}
+   * @param b the weight from {@code i} to the intermediate vertex,
+   *          {@code D[i][k]}
+   * @param n the number of columns
+   */
+  static void minPlus(int[] d, int[] r, int b, int n) {
+    minPlus(d, 0, r, 0, b, n);
+  }
+
+  /**
+   * Min-Plus row kernel over a segment of a flat, row-major matrix,
+   * {@code d[dOff + j] = min(d[dOff + j], b + r[rOff + j])} for the
+   * {@code j = [0, len)} columns.
+   *
+   * @param d    the matrix holding the row being relaxed
+   * @param dOff the offset of the first column of the row segment in {@code d}
+   * @param r    the matrix holding the row of the intermediate vertex
+   * @param rOff the offset of the first column of the row segment in {@code r}
+   * @param b    the weight from {@code i} to the intermediate vertex
+   * @param len  the number of columns in the segment
+   */
+  static void minPlus(int[] d, int dOff, int[] r, int rOff, int b, int len) {
+    if (b == Graph.NIL)
+      return;
+
+    // With a nonnegative b, b + NIL >= NIL in long arithmetic, and d j <= NIL
+    // clamps it, so the sum saturates without a mask
+    if (b >= 0) {
+      for (int j = 0; j < len; j++)
+        d[dOff + j] = (int) Math.min(d[dOff + j], (long) b + r[rOff + j]);
+    }
+    else {
+      for (int j = 0; j < len; j++)
+        d[dOff + j] = Math.min(d[dOff + j], add(b, r[rOff + j]));
+    }
+  }
+
+  /**
+   * Min-Plus row kernel that also updates the predecessor row. When
+   * {@code b + r j} is strictly less than {@code d j}, the predecessor of
+   * {@code j} is taken from the intermediate vertex's predecessor row,
+   * {@code P[i][j] = P[k][j]}.
+   *
+   * @param d  the row being relaxed, {@code D[i]}
+   * @param p  the predecessor row being relaxed, {@code P[i]}
+   * @param r  the row of the intermediate vertex, {@code D[k]}
+   * @param pr the predecessor row of the intermediate vertex, {@code P[k]}
+   * @param b  the weight from {@code i} to the intermediate vertex,
+   *           {@code D[i][k]}
+   * @param n  the number of columns
+   */
+  static void minPlus(int[] d, int[] p, int[] r, int[] pr, int b, int n) {
+    minPlus(d, p, 0, r, pr, 0, b, n);
+  }
+
+  /**
+   * Min-Plus row kernel with a predecessor row over a segment of a flat,
+   * row-major matrix. The distance and predecessor matrices share the same
+   * offsets.
+   *
+   * @param d    the matrix holding the row being relaxed
+   * @param p    the predecessor matrix holding the row being relaxed
+   * @param dOff the offset of the first column of the row segment in {@code d}
+   *             and {@code p}
+   * @param r    the matrix holding the row of the intermediate vertex
+   * @param pr   the predecessor matrix holding the row of the intermediate
+   *             vertex
+   * @param rOff the offset of the first column of the row segment in {@code r}
+   *             and {@code pr}
+   * @param b    the weight from {@code i} to the intermediate vertex
+   * @param len  the number of columns in the segment
+   */
+  static void minPlus(int[] d, int[] p, int dOff, int[] r, int[] pr, int rOff, int b, int len) {
+    if (b == Graph.NIL)
+      return;
+
+    for (int j = 0, s; j < len; j++) {
+      s = add(b, r[rOff + j]);
+
+      if (s < d[dOff + j]) {
+        d[dOff + j] = s;
+        p[dOff + j] = pr[rOff + j];
+      }
+    }
+  }
+
+  /**
+   * Min-Max row kernel, {@code d j = min(d j, max(b, r j))}. Since
+   * {@link Graph#NIL} is {@code Integer.MAX_VALUE}, {@code max} already treats it
+   * as {@code Infinity} and no masking is needed.
+   *
+   * @param d the row being relaxed, {@code D[i]}
+   * @param r the row of the intermediate vertex, {@code D[k]}
+   * @param b the cost from {@code i} to the intermediate vertex,
+   *          {@code D[i][k]}
+   * @param n the number of columns
+   */
+  static void minMax(int[] d, int[] r, int b, int n) {
+    if (b == Graph.NIL)
+      return;
+
+    for (int j = 0; j < n; j++)
+      d[j] = Math.min(d[j], Math.max(b, r[j]));
+  }
+
+  /**
+   * Min-Max row kernel that also updates the predecessor row. The new path to
+   * {@code j} ends with the path from the intermediate vertex, whichever half
+   * holds the maximum cost, so the predecessor of {@code j} is taken from the
+   * intermediate vertex's predecessor row, {@code P[i][j] = P[k][j]}.
+   *
+   * @param d  the row being relaxed, {@code D[i]}
+   * @param p  the predecessor row being relaxed, {@code P[i]}
+   * @param r  the row of the intermediate vertex, {@code D[k]}
+   * @param pr the predecessor row of the intermediate vertex, {@code P[k]}
+   * @param b  the cost from {@code i} to the intermediate vertex,
+   *           {@code D[i][k]}
+   * @param n  the number of columns
+   */
+  static void minMax(int[] d, int[] p, int[] r, int[] pr, int b, int n) {
+    if (b == Graph.NIL)
+      return;
+
+    for (int j = 0, c; j < n; j++) {
+      c = Math.max(b, r[j]);
+
+      if (c < d[j]) {
+        d[j] = c;
+        p[j] = pr[j];
+      }
+    }
+  }
+
+  /**
+   * Max-Min row kernel, {@code d j = max(d j, min(b, r j))}. Here
+   * {@link Graph#NIL} means there is no path rather than {@code Infinity}, so a
+   * {@code b} or {@code r j} of {@code NIL} cannot widen {@code d j}, while a
+   * {@code d j} of {@code NIL} is always replaced.
+   *
+   * @param d the row being relaxed, {@code D[i]}
+   * @param r the row of the intermediate vertex, {@code D[k]}
+   * @param b the capacity from {@code i} to the intermediate vertex,
+   *          {@code D[i][k]}
+   * @param n the number of columns
+   */
+  static void maxMin(int[] d, int[] r, int b, int n) {
+    if (b == Graph.NIL)
+      return;
+
+    for (int j = 0, c; j < n; j++) {
+      if (r[j] == Graph.NIL)
+        continue;
+
+      c = Math.min(b, r[j]);
+
+      if (d[j] == Graph.NIL || d[j] < c)
+        d[j] = c;
+    }
+  }
+
+  /**
+   * Max-Min row kernel that also updates the predecessor row,
+   * {@code d j = max(d j, min(b, r j))}. Here {@link Graph#NIL} means there is
+   * no path rather than {@code Infinity}, so a {@code b} or {@code r j} of
+   * {@code NIL} cannot widen {@code d j}, while a {@code d j} of {@code NIL} is
+   * always replaced. The predecessor of {@code j} is taken from the intermediate
+   * vertex's predecessor row, {@code P[i][j] = P[k][j]}.
+   *
+   * @param d  the row being relaxed, {@code D[i]}
+   * @param p  the predecessor row being relaxed, {@code P[i]}
+   * @param r  the row of the intermediate vertex, {@code D[k]}
+   * @param pr the predecessor row of the intermediate vertex, {@code P[k]}
+   * @param b  the capacity from {@code i} to the intermediate vertex,
+   *           {@code D[i][k]}
+   * @param n  the number of columns
+   */
+  static void maxMin(int[] d, int[] p, int[] r, int[] pr, int b, int n) {
+    if (b == Graph.NIL)
+      return;
+
+    for (int j = 0, c; j < n; j++) {
+      if (r[j] == Graph.NIL)
+        continue;
+
+      c = Math.min(b, r[j]);
+
+      if (d[j] == Graph.NIL || d[j] < c) {
+        d[j] = c;
+        p[j] = pr[j];
+      }
+    }
+  }
+}
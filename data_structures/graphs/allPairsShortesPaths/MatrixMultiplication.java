@@ -2,6 +2,9 @@ package data_structures.graphs.allPairsShortesPaths;
 
 import static java.util.Arrays.fill;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 import data_structures.graphs.Graph;
 
 /**
@@ -154,69 +157,143 @@ public final class MatrixMultiplication {
    */
 
   /**
-   * Given matrices {@code L^(m-1)} where {@code m} is the number of edges and
-   * {@code W}, the algorithm returns the matrix {@code L^(m)}. It extends the
-   * shortest paths computed so far by one more edge.
+   * The width and height of the output tiles of the min-plus product. A tile
+   * of {@code 64 x 64 ints} is {@code 16 KB}, so one output tile plus the row
+   * segments of {@code L} it reads stay in the L1 and L2 caches.
+   */
+  private static final int TILE = 64;
+
+  /**
+   * Given matrices {@code L^(m)} of flat, row-major {@code n x n} weights, the
+   * product computes {@code M = L^(2m) = L^(m) x L^(m)}, where the min-plus
+   * "multiplication" replaces {@code (+, *)} with {@code (min, +)}:
+   *
+   * <i>M ij = min(L ij, for 1 <= k <= n min {L ik + L kj})</i>
    *
    * <p>
-   * It computes for all {@code i} and {@code j}, using {@code L} for
-   * {@code L^(m-1)} and {@code M} for {@code L^(m)}:
+   * Starting each {@code M ij} at {@code L ij} instead of {@code Infinity}
+   * keeps the paths already found when the diagonal of {@code W} is not
+   * {@code 0}, as the graph does not store self-loops.
    * </p>
    *
-   * <i>L ij^(m) = for 1 <= k <= n min {L ik^(m-1) + w kj}</i>
-   * 
    * <p>
-   * Modified: instead of the {@code w kj} on line 7 of the algorithm, we use the copied
-   * matrix {@code l kj}, because for space efficiency, the matrix {@code L} is holding the most
-   * recent calculations and is passed in every call instead of computing an array
-   * of matrices for each call.
+   * The output is split into {@code TILE x TILE} tiles and the tiles are
+   * computed in parallel with fork-join by recursively halving the range of
+   * tiles. Each tile only writes to its own part of {@code M} and only reads
+   * from {@code L}, so the tiles need no synchronization. For each row
+   * {@code i} of the tile and every {@code k}, {@code L ik} is fixed and the
+   * row segment is relaxed with {@link Kernels#minPlus}.
    * </p>
-   * 
+   *
    * <p>
-   * This is essentially the Floyd-Warshall algorithm.
+   * If the predecessor matrices {@code P} and {@code Q} are given, they are
+   * updated alongside {@code L} and {@code M} with
+   * {@code Q ij = P kj} whenever {@code M ij} improves.
+   * </p>
+   *
+   * <p>
+   * The task returns whether any weight in its tiles changed, so the caller
+   * can stop squaring once {@code L^(2m) = L^(m)}.
    * </p>
-   * 
-   * @param matrix the matrix to find the shortest paths of
-   * @return a matrix table of the shortest paths values
    */
-  private static int[][] extendsShortestPaths(int[][] matrix) {
-    int i, j, k, n = matrix.length;
-    int[][] L = matrix;
-
-    for (i = 0; i < n; i++) {
-      for (j = 0; j < n; j++) {
-        // Removed this line because we are passing the same matrix to reduce
-        // memory usage of holding a copy of the same matrix from #allPaths
-        // L[i][j] = Integer.MAX_VALUE;
-
-        for (k = 0; k < n; k++) {
-          // Prevent the addition overflow
-          if (L[i][k] != Graph.NIL && L[k][j] != Graph.NIL)
-            L[i][j] = Math.min(L[i][j], L[i][k] + L[k][j]);
+  private static final class Product extends RecursiveTask<Boolean> {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] L, M, P, Q;
+    private final int n, tiles, lo, hi;
+
+    private Product(int[] L, int[] M, int[] P, int[] Q, int n, int lo, int hi) {
+      this.L = L;
+      this.M = M;
+      this.P = P;
+      this.Q = Q;
+      this.n = n;
+      this.lo = lo;
+      this.hi = hi;
+      tiles = (n + TILE - 1) / TILE;
+    }
+
+    private Product(int[] L, int[] M, int[] P, int[] Q, int n) {
+      this(L, M, P, Q, n, 0, ((n + TILE - 1) / TILE) * ((n + TILE - 1) / TILE));
+    }
+
+    @Override
+    protected Boolean compute() {
+      if (hi - lo <= 1)
+        return lo < hi && tile(lo);
+
+      int mid = (lo + hi) >>> 1;
+      Product left = new Product(L, M, P, Q, n, lo, mid);
+      left.fork();
+      boolean changed = new Product(L, M, P, Q, n, mid, hi).compute();
+      return left.join() | changed;
+    }
+
+    private boolean tile(int t) {
+      int i0 = (t / tiles) * TILE, j0 = (t % tiles) * TILE;
+      int i1 = Math.min(i0 + TILE, n), len = Math.min(j0 + TILE, n) - j0;
+      int i, j, k, row;
+      boolean changed = false;
+
+      for (i = i0; i < i1; i++) {
+        row = i * n + j0;
+        System.arraycopy(L, row, M, row, len);
+
+        if (P == null) {
+          for (k = 0; k < n; k++)
+            Kernels.minPlus(M, row, L, k * n + j0, L[i * n + k], len);
         }
+        else {
+          System.arraycopy(P, row, Q, row, len);
+
+          for (k = 0; k < n; k++)
+            Kernels.minPlus(M, Q, row, L, P, k * n + j0, L[i * n + k], len);
+        }
+
+        for (j = 0; !changed && j < len; j++)
+          changed = M[row + j] != L[row + j];
       }
+
+      return changed;
     }
-    return L;
   }
 
-  private static int[][] extendsShortestPathsPredMatrix(int[][] matrix, int[][] P) {
-    int i, j, k, n = matrix.length;
-    int[][] L = matrix;
-
-    for (i = 0; i < n; i++) {
-      for (j = 0; j < n; j++) {
-        for (k = 0; k < n; k++) {
-          // Prevent the addition overflow
-          if (L[i][k] != Graph.NIL && L[k][j] != Graph.NIL && L[i][j] > L[i][k] + L[k][j]) {
-            L[i][j] = Math.min(L[i][j], L[i][k] + L[k][j]);
-            P[i][j] = P[k][j];
-          }
-        }
-      }
+  /**
+   * Copies the graph matrix into a flat, row-major matrix, filling the rows of
+   * vertices that are not in the graph with {@link Graph#NIL}.
+   *
+   * @param matrix the graph matrix
+   * @return the flat matrix
+   */
+  private static int[] flatten(int[][] matrix) {
+    int n = matrix.length;
+    int[] L = new int[n * n];
+
+    for (int i = 0; i < n; i++) {
+      if (matrix[i] == null)
+        fill(L, i * n, (i + 1) * n, Graph.NIL);
+      else
+        System.arraycopy(matrix[i], 0, L, i * n, n);
     }
+
     return L;
   }
 
+  /**
+   * Copies a flat, row-major matrix back into an {@code n x n} table.
+   *
+   * @param L the flat matrix
+   * @param n the number of rows
+   * @return the table
+   */
+  private static int[][] unflatten(int[] L, int n) {
+    int[][] T = new int[n][n];
+
+    for (int i = 0; i < n; i++)
+      System.arraycopy(L, i * n, T[i], 0, n);
+    return T;
+  }
+
   /**
    * Faster-All-Pairs-Shortest-Paths(W)  (-)(n^3 lg n)
    * 1   n = W.rows
@@ -254,14 +331,17 @@ public final class MatrixMultiplication {
    * With the {@code ceil[ lg (n-1) ]} matrices, each with {@code n^2} elements,
    * the total space requirements is {@code (-)(n^2 lg n)}, which can be reduced
    * down to {@code (-)(n^2)} space by using only two {@code n x n} matrices,
-   * which is done here.
+   * which is done here. The two flat matrices are allocated once and swapped
+   * after every product, so {@code L^(m)} is read while {@code L^(2m)} is
+   * written without allocating per iteration.
    * </p>
-   * 
+   *
    * <p>
-   * {@code L} is a copy of the original matrix passed in and then runs the matrix
-   * products for the {@code ceil[lg(n-1)]} iterations, passing the same matrix in
-   * so it doesn't use extra memory to store the previous calculations since we
-   * only want the final, optimal, results.
+   * Each product is computed in parallel over the tiles of the output, see
+   * {@link Product}. Once a product leaves every weight unchanged, the matrix
+   * is a fixed point of squaring and the remaining iterations are skipped, which
+   * on dense graphs with short shortest paths ends well before
+   * {@code ceil[ lg (n-1) ]} products.
    * </p>
    * 
    * @param matrix the matrix of the weighted paths to find the shortest paths of
@@ -269,53 +349,49 @@ public final class MatrixMultiplication {
    */
   public static int[][] allPaths(int[][] matrix) {
     int m = 1, n = matrix.length;
-    int[][] L = new int[n][n];
-
-    for (int i = 0; i < n; i++) {
-      if (matrix[i] == null)
-        fill(L[i], Integer.MAX_VALUE);
-      else {
-        for (int j = 0; j < n; j++) 
-          L[i][j] = matrix[i][j];
-      }
-    }
-
-    while (m < n - 1) {
-      L = extendsShortestPaths(L);
+    int[] L = flatten(matrix), M = new int[n * n], T;
+    boolean changed = true;
+
+    while (changed && m < n - 1) {
+      changed = ForkJoinPool.commonPool().invoke(new Product(L, M, null, null, n));
+      T = L;
+      L = M;
+      M = T;
       m *= 2;
     }
 
-    return L;
+    return unflatten(L, n);
   }
 
+  /**
+   * Runs the repeated squaring of {@link #allPaths(int[][])} while also keeping
+   * the predecessor matrix, double-buffered in the same way as the weights.
+   *
+   * @param matrix the matrix of the weighted paths to find the shortest paths of
+   * @return the predecessor matrix of the shortest paths
+   */
   public static int[][] allPathsPredMatrix(int[][] matrix) {
     int m = 1, n = matrix.length;
-    int[][] L = new int[n][n];
-    int[][] P = new int[n][n];
-
-    for (int i = 0; i < n; i++) {
-      if (matrix[i] == null) {
-        fill(L[i], Graph.NIL);
-        fill(P[i], Graph.NIL);
-      }
-      else {
-        for (int j = 0; j < n; j++) {
-          L[i][j] = matrix[i][j];
-
-          if (i != j && matrix[i][j] != Graph.NIL)
-            P[i][j] = i;
-          else
-            P[i][j] = Graph.NIL;
-        }
-      }
-    }
-
-    while (m < n - 1) {
-      L = extendsShortestPathsPredMatrix(L, P);
+    int[] L = flatten(matrix), M = new int[n * n], T;
+    int[] P = new int[n * n], Q = new int[n * n];
+    boolean changed = true;
+
+    for (int i = 0; i < n; i++)
+      for (int j = 0; j < n; j++)
+        P[i * n + j] = i != j && L[i * n + j] != Graph.NIL ? i : Graph.NIL;
+
+    while (changed && m < n - 1) {
+      changed = ForkJoinPool.commonPool().invoke(new Product(L, M, P, Q, n));
+      T = L;
+      L = M;
+      M = T;
+      T = P;
+      P = Q;
+      Q = T;
       m *= 2;
     }
 
-    return P;
+    return unflatten(P, n);
   }
 
   public static int[][] allPathsWeights(Graph graph) {
@@ -20,6 +20,14 @@ import data_structures.graphs.Graph;
  * table positions {@code d[i][j]} will contain the length of the maximin path
  * from {@code i} to {@code j}.
  * </p>
+ *
+ * <p>
+ * If the graph is undirected, the maximin path between two vertices is the path
+ * in a maximum spanning tree, so {@link #run(Graph)} and {@link #table(Graph)}
+ * use a {@link BottleneckTree} instead, in {@code O(V^2)} time. The table is
+ * the same as that of the directed graph with each edge in both directions,
+ * and every vertex, {@code 0} included, is a possible intermediate vertex.
+ * </p>
  */
 public final class Maximin extends ASPS {
   // Prevent this class from being instantiated
@@ -28,9 +36,10 @@ public final class Maximin extends ASPS {
   }
 
   /**
-   * Runs the Floyd Warshall Maximin algorithm on the graph that minimizes the
-   * maximum cost along a path. Will return the matrix table of the cost of paths
-   * from vertices {@code i} to {@code j} in position {@code D[i][j]}.
+   * Runs the Floyd Warshall Maximin algorithm on the graph that maximizes the
+   * minimum cost along a path. Will return the matrix table of the cost of paths
+   * from vertices {@code i} to {@code j} in position {@code D[i][j]}, or
+   * {@link Graph#NIL} if there is no path.
    *
    * @param graph the graph matrix to run the algorithm on
    * @return the table of weights for vertex to vertex paths
@@ -40,6 +49,9 @@ public final class Maximin extends ASPS {
    */
   public static int[][] run(Graph graph) {
     checkGraph(graph);
+
+    if (!graph.isDirected())
+      return BottleneckTree.maximin(graph).distances();
     return _run(graph);
   }
 
@@ -52,8 +64,6 @@ public final class Maximin extends ASPS {
     // Initialize D^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++)
           D[i][j] = i == j ? 0 : Graph.NIL;
         continue;
@@ -69,20 +79,17 @@ public final class Maximin extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++)
-          D[i][j] = Math.min(D[i][j], Math.max(D[i][k], D[k][j]));
-      }
-    }
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.maxMin(D[i], D[k], D[i][k], n);
 
     return D;
   }
 
   /**
-   * Runs the Floyd Warshall Maximin algorithm on the graph that minimizes the
-   * maximum cost along a path. Will return the matrix table of the paths to
-   * result in the minimum maximum costs along a specified path.
+   * Runs the Floyd Warshall Maximin algorithm on the graph that maximizes the
+   * minimum cost along a path. Will return the matrix table of the paths to
+   * result in the maximum minimum costs along a specified path.
    *
    * @param graph the graph matrix to run the algorithm on
    * @return the predecessor matrix of the algorithm on the graph
@@ -92,6 +99,9 @@ public final class Maximin extends ASPS {
    */
   public static int[][] table(Graph graph) {
     checkGraph(graph);
+
+    if (!graph.isDirected())
+      return BottleneckTree.maximin(graph).predecessors();
     return _table(graph);
   }
 
@@ -100,13 +110,11 @@ public final class Maximin extends ASPS {
     int D[][] = new int[n][n];
     int P[][] = new int[n][n];
     int W[][] = G.getAdjacencyMatrix();
-    int i, j, k, x, y;
+    int i, j, k;
 
     // Initialize D^(0) and P^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++) {
           D[i][j] = i == j ? 0 : Graph.NIL;
           P[i][j] = Graph.NIL;
@@ -130,35 +138,19 @@ public final class Maximin extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++) {
-          if (D[i][j] != Graph.NIL && D[i][j] >= Math.min(D[i][k], D[k][j])) {
-            x = D[i][j];
-            y = P[i][j];
-          }
-          else if (D[i][k] <= D[k][j]) {
-            x = D[i][k];
-            y = P[i][k];
-          }
-          else {
-            x = D[k][j];
-            y = P[k][j];
-          }
-
-          D[i][j] = x;
-          P[i][j] = y;
-        }
-      }
-    }
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.maxMin(D[i], P[i], D[k], P[k], D[i][k], n);
 
     return P;
   }
 
   /**
-   * Detects if the specified graph contains a negative weight cycle by checking
-   * if there is a negative value in the diagonal values of the table, which
-   * should contain {@code 0}.
+   * Detects if the specified graph contains a cycle of negative weight edges.
+   * The diagonal of a maximin table is never negative, since the empty path of
+   * {@code 0} is always at least as wide as a negative cycle, so this checks the
+   * diagonal of the {@link Minimax} table instead, which is negative if and only
+   * if a cycle has only negative edges.
    *
    * @param graph the directed weighted graph to check
    * @return whether the graph contains a negative weight cycle or not
@@ -167,12 +159,7 @@ public final class Maximin extends ASPS {
    *                                  weighted and directed
    */
   public static boolean hasNegativeWeightCycle(Graph graph) {
-    int[][] table = run(graph);
-
-    for (int i = 0; i < table.length; i++)
-      if (table[i][i] < 0)
-        return true;
-    return false;
+    return Minimax.hasNegativeWeightCycle(graph);
   }
 
   /**
@@ -20,6 +20,14 @@ import data_structures.graphs.Graph;
  * table positions {@code d[i][j]} will contain the length of the minimax path
  * from {@code i} to {@code j}.
  * </p>
+ *
+ * <p>
+ * If the graph is undirected, the minimax path between two vertices is the path
+ * in a minimum spanning tree, so {@link #run(Graph)} and {@link #table(Graph)}
+ * use a {@link BottleneckTree} instead, in {@code O(V^2)} time. The table is
+ * the same as that of the directed graph with each edge in both directions,
+ * and every vertex, {@code 0} included, is a possible intermediate vertex.
+ * </p>
  */
 public final class Minimax extends ASPS {
   // Prevent this class from being instantiated
@@ -40,6 +48,9 @@ public final class Minimax extends ASPS {
    */
   public static int[][] run(Graph graph) {
     checkGraph(graph);
+
+    if (!graph.isDirected())
+      return BottleneckTree.minimax(graph).distances();
     return _run(graph);
   }
 
@@ -52,8 +63,6 @@ public final class Minimax extends ASPS {
     // Initialize D^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++)
           D[i][j] = i == j ? 0 : Graph.NIL;
         continue;
@@ -69,12 +78,9 @@ public final class Minimax extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++)
-          D[i][j] = Math.min(D[i][j], Math.max(D[i][k], D[k][j]));
-      }
-    }
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.minMax(D[i], D[k], D[i][k], n);
 
     return D;
   }
@@ -92,6 +98,9 @@ public final class Minimax extends ASPS {
    */
   public static int[][] table(Graph graph) {
     checkGraph(graph);
+
+    if (!graph.isDirected())
+      return BottleneckTree.minimax(graph).predecessors();
     return _table(graph);
   }
 
@@ -100,13 +109,11 @@ public final class Minimax extends ASPS {
     int D[][] = new int[n][n];
     int P[][] = new int[n][n];
     int W[][] = G.getAdjacencyMatrix();
-    int i, j, k, x, y;
+    int i, j, k;
 
     // Initialize D^(0) and P^(0)
     for (i = 0; i < n; i++) {
       if (W[i] == null) {
-        W[i] = new int[n];
-
         for (j = 0; j < n; j++) {
           D[i][j] = i == j ? 0 : Graph.NIL;
           P[i][j] = Graph.NIL;
@@ -130,27 +137,9 @@ public final class Minimax extends ASPS {
       }
     }
 
-    for (k = 1; k < n; k++) {
-      for (i = 0; i < n; i++) {
-        for (j = 0; j < n; j++) {
-          if (D[i][j] <= Math.max(D[i][k], D[k][j])) {
-            x = D[i][j];
-            y = P[i][j];
-          }
-          else if (D[i][k] >= D[k][j]) {
-            x = D[i][k];
-            y = P[i][k];
-          }
-          else {
-            x = D[k][j];
-            y = P[k][j];
-          }
-
-          D[i][j] = x;
-          P[i][j] = y;
-        }
-      }
-    }
+    for (k = 0; k < n; k++)
+      for (i = 0; i < n; i++)
+        Kernels.minMax(D[i], P[i], D[k], P[k], D[i][k], n);
 
     return P;
   }
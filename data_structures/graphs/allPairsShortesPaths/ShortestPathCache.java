@@ -0,0 +1,441 @@
+package data_structures.graphs.allPairsShortesPaths;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.singleSourceShortestPaths.DijkstraSearch;
+
+/**
+ * Distance(u, v)
+ * 1   if G.version != version
+ * 2       clear the cache
+ * 3   if u.tree == NIL
+ * 4       u.tree = SSSP(G, u)
+ * 5       weight = weight + u.tree.weight
+ * 6       while weight > capacity and the cache holds another tree
+ * 7           evict the least recently used tree
+ * 8   move u.tree to the front of the list
+ * 9   return u.tree.d v
+ */
+
+/**
+ * An all-pairs shortest paths facade that only computes the shortest-path tree
+ * of a source the first time it is queried, instead of building the full
+ * {@code |V| x |V|} table up front. Callers that only ever query a small set of
+ * sources pay for a single-source search per source, and the trees are kept in
+ * a least recently used cache bounded by their size in bytes.
+ *
+ * <p>
+ * Each tree is a pair of primitive rows, the distances and the predecessors of
+ * every vertex. The tree of a source is computed with:
+ * </p>
+ *
+ * <ul>
+ * <li>a breadth-first search if the graph is not weighted</li>
+ * <li>Dijkstra's algorithm if the weights are nonnegative</li>
+ * <li>Dijkstra's algorithm with Johnson's reweighting otherwise, with the
+ * potentials computed once per version of the graph</li>
+ * </ul>
+ *
+ * <p>
+ * Since the sources are vertex indices, the cache needs no hash table. The
+ * trees are kept in an array indexed by source and the recency list is a doubly
+ * linked list threaded through the {@code prev} and {@code next} arrays, so a
+ * hit, a miss and an eviction are all {@code O(1)} apart from the search
+ * itself.
+ * </p>
+ *
+ * <p>
+ * Every query compares {@link Graph#getVersion()} against the version the
+ * cached trees were computed for, and drops all the trees if the graph has
+ * changed since. The cache counts hits, misses, evictions and invalidations.
+ * It is not thread-safe.
+ * </p>
+ */
+public final class ShortestPathCache {
+  /**
+   * The graph being queried.
+   */
+  private final Graph graph;
+
+  /**
+   * The maximum total weight of the cached trees, in bytes.
+   */
+  private final long capacity;
+
+  /**
+   * The number of rows of the graph.
+   */
+  private final int n;
+
+  /**
+   * The distance and predecessor rows of the cached trees, indexed by source,
+   * or {@code null} if the source's tree is not cached.
+   */
+  private final int[][] dist, pred;
+
+  /**
+   * The recency list of the cached sources, from the most recently used
+   * {@code head} to the least recently used {@code tail}.
+   */
+  private final int[] prev, next;
+  private int head = -1, tail = -1;
+
+  /**
+   * The graph version the cached trees were computed for, and the snapshot,
+   * search and potentials for that version.
+   */
+  private int version;
+  private SparseGraph S;
+  private DijkstraSearch search;
+  private int[] h;
+
+  /**
+   * The number of cached trees and their total weight in bytes.
+   */
+  private int size;
+  private long weight;
+
+  private long hits, misses, evictions, invalidations;
+
+  /**
+   * Creates an empty cache over the specified graph that holds at most
+   * {@code capacity} bytes of trees, although the most recently used tree is
+   * always kept even if it is larger on its own. See
+   * {@link #treeWeight(int)} for the weight of a single tree.
+   *
+   * @param graph    the graph to query
+   * @param capacity the maximum total weight of the cached trees, in bytes
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public ShortestPathCache(Graph graph, long capacity) {
+    if (graph == null)
+      throw new NullPointerException("Graph cannot be null.");
+    if (capacity < 0)
+      throw new IllegalArgumentException("Capacity cannot be negative.");
+
+    this.graph = graph;
+    this.capacity = capacity;
+    n = graph.getRows();
+    dist = new int[n][];
+    pred = new int[n][];
+    prev = new int[n];
+    next = new int[n];
+    version = graph.getVersion() - 1;
+  }
+
+  /**
+   * Returns the weight in bytes of one cached tree of a graph with the
+   * specified number of rows, two {@code int} rows and their array headers.
+   *
+   * @param rows the number of rows of the graph
+   * @return the weight of a tree in bytes
+   */
+  public static long treeWeight(int rows) {
+    return 2 * (16 + 4L * rows);
+  }
+
+  /**
+   * Returns the shortest-path weight from {@code u} to {@code v}.
+   *
+   * @param u the source vertex
+   * @param v the end vertex
+   * @return the shortest-path weight, or {@link Graph#NIL} if there is no path
+   *
+   * @throws IllegalArgumentException if either vertex is invalid, or the graph
+   *                                  contains a negative weight cycle
+   */
+  public int distance(int u, int v) {
+    Graph.checkVertex(n, v);
+    return tree(u)[v];
+  }
+
+  /**
+   * Returns a copy of the shortest-path weights from the source vertex to every
+   * vertex.
+   *
+   * @param u the source vertex
+   * @return the shortest-path weights, with {@link Graph#NIL} for the vertices
+   *         that cannot be reached
+   *
+   * @throws IllegalArgumentException if the vertex is invalid, or the graph
+   *                                  contains a negative weight cycle
+   */
+  public int[] distances(int u) {
+    return copyOf(tree(u), n);
+  }
+
+  /**
+   * Returns the array of vertices of a shortest path from the start to the end
+   * vertex.
+   *
+   * @param startVertex the start vertex of the path
+   * @param endVertex   the end vertex of the path
+   * @return the array of vertices for a path, or a single {@code -1} element if
+   *         no path exists
+   *
+   * @throws IllegalArgumentException if either vertex is invalid, or the graph
+   *                                  contains a negative weight cycle
+   */
+  public int[] arrayPath(int startVertex, int endVertex) {
+    Graph.checkVertex(n, endVertex);
+
+    tree(startVertex);
+
+    int[] p = pred[startVertex], path;
+    int len = 1, v;
+
+    if (startVertex != endVertex && p[endVertex] == Graph.NIL)
+      return new int[] { -1 };
+
+    for (v = endVertex; v != startVertex; v = p[v])
+      len++;
+
+    path = new int[len];
+
+    for (v = endVertex; len > 0; v = p[v])
+      path[--len] = v;
+    return path;
+  }
+
+  /**
+   * Returns the path string of a shortest path from the start to the end
+   * vertex.
+   *
+   * @param startVertex the start vertex of the path
+   * @param endVertex   the end vertex of the path
+   * @return the string path if one exists or a no path exists message string
+   *
+   * @throws IllegalArgumentException if either vertex is invalid, or the graph
+   *                                  contains a negative weight cycle
+   */
+  public String printPath(int startVertex, int endVertex) {
+    int[] path = arrayPath(startVertex, endVertex);
+
+    if (path[0] == -1)
+      return "No path exists from " + startVertex + " to " + endVertex;
+
+    StringBuilder s = new StringBuilder().append(path[0]);
+
+    for (int i = 1; i < path.length; i++)
+      s.append(" -> ").append(path[i]);
+    return s.toString();
+  }
+
+  /**
+   * Returns the distance row of the source's tree, computing and caching it on
+   * a miss, and moves the source to the front of the recency list.
+   */
+  private int[] tree(int u) {
+    Graph.checkVertex(n, u);
+
+    if (graph.getVersion() != version) {
+      if (size > 0)
+        invalidations++;
+
+      clear();
+      S = new SparseGraph(graph);
+      search = graph.isWeighted() ? new DijkstraSearch(S) : null;
+      h = null;
+
+      for (int w : S.getWeights()) {
+        if (w < 0) {
+          if ((h = Johnsons.potentials(S)) == null)
+            throw new IllegalArgumentException("Graph contains a negative weight cycle.");
+          break;
+        }
+      }
+
+      version = graph.getVersion();
+    }
+
+    if (dist[u] != null) {
+      hits++;
+      unlink(u);
+      push(u);
+      return dist[u];
+    }
+
+    misses++;
+    dist[u] = new int[n];
+    pred[u] = new int[n];
+
+    if (search != null)
+      dijkstra(u, dist[u], pred[u]);
+    else
+      bfs(u, dist[u], pred[u]);
+
+    push(u);
+    size++;
+    weight += treeWeight(n);
+
+    // Evict from the tail, but never the tree that was just computed
+    while (weight > capacity && tail != u)
+      evict(tail);
+
+    return dist[u];
+  }
+
+  private void dijkstra(int u, int[] d, int[] p) {
+    search.run(u, h, d, p);
+
+    for (int v = 0; v < n; v++) {
+      if (p[v] == -1)
+        p[v] = Graph.NIL;
+      if (h != null && d[v] != Graph.NIL)
+        d[v] += h[v] - h[u];
+    }
+  }
+
+  private void bfs(int s, int[] d, int[] p) {
+    int[] offsets = S.getOffsets(), targets = S.getTargets(), queue = new int[n];
+    int u, v, e, front = 0, back = 0;
+
+    fill(d, Graph.NIL);
+    fill(p, Graph.NIL);
+    d[s] = 0;
+    queue[back++] = s;
+
+    while (front < back) {
+      u = queue[front++];
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = targets[e];
+
+        if (d[v] == Graph.NIL) {
+          d[v] = d[u] + 1;
+          p[v] = u;
+          queue[back++] = v;
+        }
+      }
+    }
+  }
+
+  private void push(int u) {
+    prev[u] = -1;
+    next[u] = head;
+
+    if (head != -1)
+      prev[head] = u;
+    else
+      tail = u;
+
+    head = u;
+  }
+
+  private void unlink(int u) {
+    if (prev[u] != -1)
+      next[prev[u]] = next[u];
+    else
+      head = next[u];
+
+    if (next[u] != -1)
+      prev[next[u]] = prev[u];
+    else
+      tail = prev[u];
+  }
+
+  private void evict(int u) {
+    unlink(u);
+    dist[u] = null;
+    pred[u] = null;
+    size--;
+    weight -= treeWeight(n);
+    evictions++;
+  }
+
+  /**
+   * Drops all the cached trees. The metrics are not reset.
+   */
+  public void clear() {
+    for (int u = head; u != -1; u = next[u]) {
+      dist[u] = null;
+      pred[u] = null;
+    }
+
+    head = tail = -1;
+    size = 0;
+    weight = 0;
+  }
+
+  /**
+   * Returns whether the tree of the source vertex is cached and up to date.
+   *
+   * @param u the source vertex
+   * @return if the source's tree is cached
+   *
+   * @throws IllegalArgumentException if the vertex is invalid
+   */
+  public boolean isCached(int u) {
+    Graph.checkVertex(n, u);
+    return dist[u] != null && graph.getVersion() == version;
+  }
+
+  /**
+   * Returns the number of cached trees.
+   *
+   * @return the number of cached trees
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the total weight of the cached trees in bytes.
+   *
+   * @return the weight of the cache
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Returns the maximum total weight of the cached trees in bytes.
+   *
+   * @return the capacity of the cache
+   */
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the number of queries answered from a cached tree.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of queries that had to compute a tree.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Returns the number of trees evicted to stay within the capacity.
+   *
+   * @return the number of evictions
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Returns the number of times the cached trees were dropped because the graph
+   * changed.
+   *
+   * @return the number of invalidations
+   */
+  public long getInvalidations() {
+    return invalidations;
+  }
+}
@@ -0,0 +1,166 @@
+package data_structures.graphs.allPairsShortesPaths.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.BottleneckTree;
+import data_structures.graphs.allPairsShortesPaths.Maximin;
+import data_structures.graphs.allPairsShortesPaths.Minimax;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class BottleneckTree_Test {
+  Graph G = new Graph(9, false, true);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 4);
+    G.addEdge(0, 2, 9);
+    G.addEdge(1, 2, 2);
+    G.addEdge(1, 3, 7);
+    G.addEdge(2, 3, 5);
+    G.addEdge(3, 4, 3);
+    G.addEdge(2, 4, 8);
+    G.addEdge(6, 7, 1);
+  }
+
+  @Test
+  void minimax_queries() {
+    BottleneckTree T = BottleneckTree.minimax(G);
+
+    assertEquals(4, T.query(0, 1));
+    assertEquals(5, T.query(0, 4));
+    assertEquals(5, T.query(4, 1));
+    assertEquals(1, T.query(7, 6));
+    assertEquals(0, T.query(3, 3));
+    assertEquals(Graph.NIL, T.query(0, 6));
+    assertEquals(Graph.NIL, T.query(0, 5));
+  }
+
+  @Test
+  void maximin_queries() {
+    BottleneckTree T = BottleneckTree.maximin(G);
+
+    assertEquals(9, T.query(0, 2));
+    assertEquals(5, T.query(0, 3));
+    assertEquals(5, T.query(1, 4));
+    assertEquals(5, T.query(1, 0));
+    assertEquals(9, T.query(0, 0));
+    assertEquals(Graph.NIL, T.query(4, 7));
+  }
+
+  @Test
+  void distances_match_queries() {
+    BottleneckTree T = BottleneckTree.minimax(G);
+    int[][] D = T.distances();
+
+    for (int i = 0; i < G.getRows(); i++)
+      for (int j = 0; j < G.getRows(); j++)
+        assertEquals(T.query(i, j), D[i][j]);
+  }
+
+  @Test
+  void predecessors() {
+    int[][] P = BottleneckTree.maximin(G).predecessors();
+
+    assertArrayEquals(new int[] { 0, 2, 4 }, Graph.arrayPath(P, 0, 4));
+    assertEquals(Graph.NIL, P[0][6]);
+  }
+
+  @Test
+  void undirected_minimax_and_maximin_use_tree() {
+    assertEquals(5, Minimax.run(G)[0][4]);
+    assertEquals("0 -> 1 -> 2 -> 3 -> 4", Minimax.printPath(G, 0, 4));
+    assertEquals(5, Maximin.run(G)[1][4]);
+    assertEquals("1 -> 3 -> 2 -> 4", Maximin.printPath(G, 1, 4));
+  }
+
+  /**
+   * Checks that every path of the predecessor table is made of edges of the
+   * graph and has the bottleneck of the distance table.
+   */
+  void assertPaths(Graph G, int[][] D, int[][] P, boolean minimax, String message) {
+    for (int i = 0; i < D.length; i++) {
+      for (int j = 0; j < D.length; j++) {
+        int[] path = Graph.arrayPath(P, i, j);
+
+        if (i == j)
+          continue;
+        if (D[i][j] == Graph.NIL) {
+          assertArrayEquals(new int[] { -1 }, path, message);
+          continue;
+        }
+
+        int bottleneck = G.getEdgeWeight(path[0], path[1]);
+
+        for (int v = 1; v < path.length - 1; v++) {
+          int w = G.getEdgeWeight(path[v], path[v + 1]);
+          bottleneck = minimax ? Math.max(bottleneck, w) : Math.min(bottleneck, w);
+        }
+
+        assertEquals(i, path[0], message);
+        assertEquals(j, path[path.length - 1], message);
+        assertEquals(D[i][j], bottleneck, message);
+      }
+    }
+  }
+
+  @Test
+  void directed_tables_match_undirected_tables() {
+    for (int seed = 0; seed < 50; seed++) {
+      Random random = new Random(seed);
+      Graph U = new Graph(12, false, true), D = new Graph(12, true, true);
+
+      // A tree through every vertex, from 0, and then random edges
+      for (int v = 1; v < 12; v++) {
+        int u = random.nextInt(v), w = random.nextInt(41) - 20;
+
+        U.addEdge(u, v, w);
+        D.addEdge(u, v, w);
+        D.addEdge(v, u, w);
+      }
+
+      for (int e = 0; e < 10; e++) {
+        int u = random.nextInt(12), v = random.nextInt(12), w = random.nextInt(41) - 20;
+
+        if (u != v && !D.hasEdge(u, v)) {
+          U.addEdge(u, v, w);
+          D.addEdge(u, v, w);
+          D.addEdge(v, u, w);
+        }
+      }
+
+      String message = "seed " + seed;
+      int[][] minimax = Minimax.run(U), maximin = Maximin.run(U);
+
+      assertArrayEquals(minimax, Minimax.run(D), message);
+      assertArrayEquals(maximin, Maximin.run(D), message);
+      assertPaths(U, minimax, Minimax.table(U), true, message);
+      assertPaths(D, minimax, Minimax.table(D), true, message);
+      assertPaths(U, maximin, Maximin.table(U), false, message);
+      assertPaths(D, maximin, Maximin.table(D), false, message);
+    }
+  }
+
+  @Test
+  void negative_edge_on_diagonal() {
+    G.addEdge(5, 8, -2);
+    assertEquals(-2, BottleneckTree.minimax(G).query(5, 5));
+  }
+
+  @Test
+  void throws_on_invalid_graph() {
+    assertThrows(IllegalArgumentException.class, () -> BottleneckTree.minimax(new Graph(3, true, true)));
+    assertThrows(IllegalArgumentException.class, () -> BottleneckTree.maximin(new Graph(3, false, false)));
+  }
+
+  @Test
+  void throws_on_invalid_vertex() {
+    assertThrows(IllegalArgumentException.class, () -> BottleneckTree.minimax(G).query(0, 9));
+  }
+}
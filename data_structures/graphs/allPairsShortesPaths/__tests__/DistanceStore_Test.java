@@ -0,0 +1,162 @@
+package data_structures.graphs.allPairsShortesPaths.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.DistanceStore;
+import data_structures.graphs.allPairsShortesPaths.FloydWarshall;
+import data_structures.graphs.allPairsShortesPaths.Johnsons;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class DistanceStore_Test {
+  Graph G = new Graph(9, true, true);
+
+  @TempDir
+  Path dir;
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(1, 2, 3);
+    G.addEdge(1, 3, 8);
+    G.addEdge(1, 5, -4);
+    G.addEdge(2, 4, 1);
+    G.addEdge(2, 5, 7);
+    G.addEdge(3, 2, 4);
+    G.addEdge(4, 1, 2);
+    G.addEdge(4, 3, -5);
+    G.addEdge(5, 4, 6);
+    G.addEdge(7, 8, 4);
+  }
+
+  @Test
+  void floyd_warshall_matches_heap_table() throws IOException {
+    int[][] D = FloydWarshall.run(G);
+
+    try (DistanceStore S = FloydWarshall.run(G, DistanceStore.create(dir.resolve("fw"), 9, true, 4))) {
+      for (int i = 0; i < 9; i++)
+        for (int j = 0; j < 9; j++)
+          assertEquals(D[i][j], S.get(i, j));
+
+      assertFalse(S.hasNegativeWeightCycle());
+      assertEquals("1 -> 5 -> 4 -> 3", S.printPath(1, 3));
+      assertArrayEquals(new int[] { 3, 2, 4, 1 }, S.arrayPath(3, 1));
+      assertEquals("No path exists from 0 to 5", S.printPath(0, 5));
+    }
+  }
+
+  @Test
+  void floyd_warshall_matches_heap_table_through_vertex_0() throws IOException {
+    G.addEdge(8, 0, 1);
+    G.addEdge(0, 1, 2);
+
+    int[][] D = FloydWarshall.run(G);
+
+    try (DistanceStore S = FloydWarshall.run(G, DistanceStore.create(dir.resolve("fw"), 9, true, 4))) {
+      for (int i = 0; i < 9; i++)
+        for (int j = 0; j < 9; j++)
+          assertEquals(D[i][j], S.get(i, j));
+
+      assertEquals(4, D[7][3]);
+      assertArrayEquals(FloydWarshall.arrayPath(G, 7, 3), S.arrayPath(7, 3));
+    }
+  }
+
+  @Test
+  void johnsons_matches_heap_table() throws IOException {
+    int[][] D = Johnsons.run(G);
+    int[] row = new int[9];
+
+    try (DistanceStore S = Johnsons.run(G, DistanceStore.create(dir.resolve("johnsons"), 9, true, 4))) {
+      for (int i = 0; i < 9; i++) {
+        S.readRow(i, row, null);
+        assertArrayEquals(D[i], row);
+      }
+
+      assertEquals("1 -> 5 -> 4 -> 3", S.printPath(1, 3));
+      assertArrayEquals(new int[] { -1 }, S.arrayPath(8, 7));
+    }
+  }
+
+  @Test
+  void reopens_file() throws IOException {
+    Path file = dir.resolve("store");
+
+    try (DistanceStore S = DistanceStore.create(file, 9, false)) {
+      FloydWarshall.run(G, S);
+    }
+
+    try (DistanceStore S = DistanceStore.open(file)) {
+      assertEquals(9, S.getRows());
+      assertFalse(S.hasPredecessors());
+      assertEquals(-3, S.get(1, 3));
+      assertEquals(Graph.NIL, S.get(8, 7));
+    }
+  }
+
+  @Test
+  void rows_and_cells() throws IOException {
+    int[] d = { 0, 1, 2, 3, 4, 5, 6 }, p = { 6, 5, 4, 3, 2, 1, 0 };
+    int[] e = new int[7], q = new int[7];
+
+    try (DistanceStore S = DistanceStore.create(dir.resolve("rows"), 7, true, 3)) {
+      S.writeRow(5, d, p);
+      S.readRow(5, e, q);
+      assertArrayEquals(d, e);
+      assertArrayEquals(p, q);
+
+      S.set(5, 6, -7);
+      S.setPredecessor(5, 6, 2);
+      assertEquals(-7, S.get(5, 6));
+      assertEquals(2, S.getPredecessor(5, 6));
+    }
+  }
+
+  @Test
+  void negative_weight_cycle() throws IOException {
+    G.setEdge(4, 1, -9);
+
+    // Johnsons returns null rather than the store on a cycle, so close it here
+    try (DistanceStore S = DistanceStore.create(dir.resolve("cycle"), 9, false)) {
+      assertNull(Johnsons.run(G, S));
+    }
+
+    try (DistanceStore S = FloydWarshall.run(G, DistanceStore.create(dir.resolve("fw"), 9, false, 2))) {
+      assertTrue(S.hasNegativeWeightCycle());
+    }
+  }
+
+  @Test
+  void throws_without_predecessors() throws IOException {
+    try (DistanceStore S = DistanceStore.create(dir.resolve("no-pred"), 9, false)) {
+      assertThrows(IllegalCallerException.class, () -> S.getPredecessor(1, 2));
+      assertThrows(IllegalCallerException.class, () -> S.printPath(1, 2));
+    }
+  }
+
+  @Test
+  void throws_on_invalid_arguments() throws IOException {
+    Path file = dir.resolve("invalid");
+
+    assertThrows(IllegalArgumentException.class, () -> DistanceStore.create(file, 0, false));
+
+    try (DistanceStore S = DistanceStore.create(file, 3, false)) {
+      assertThrows(IllegalArgumentException.class, () -> FloydWarshall.run(G, S));
+      assertThrows(IllegalArgumentException.class, () -> S.get(3, 0));
+    }
+
+    Files.write(file, new byte[] { 1, 2, 3 });
+    assertThrows(IllegalArgumentException.class, () -> DistanceStore.open(file));
+  }
+}
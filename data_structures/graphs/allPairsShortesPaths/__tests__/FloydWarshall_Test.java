@@ -41,6 +41,17 @@ public class FloydWarshall_Test {
     assertNotNull(FloydWarshall.run(G));
   }
 
+  @Test
+  void path_through_vertex_0() {
+    Graph H = new Graph(3, true, true);
+
+    H.addEdge(1, 0, 1);
+    H.addEdge(0, 2, 1);
+
+    assertEquals(2, FloydWarshall.run(H)[1][2]);
+    assertArrayEquals(new int[] { 1, 0, 2 }, FloydWarshall.arrayPath(H, 1, 2));
+  }
+
   @Test
   void throws_on_invalid_graph() {
     assertThrows(IllegalArgumentException.class, () -> FloydWarshall.run(new Graph(1, false, false)));
@@ -0,0 +1,143 @@
+package data_structures.graphs.allPairsShortesPaths.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.FloydWarshall;
+import data_structures.graphs.allPairsShortesPaths.IncrementalPaths;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class IncrementalPaths_Test {
+  Graph G = new Graph(9, true, true);
+  int[][] D, P;
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(1, 2, 3);
+    G.addEdge(1, 3, 8);
+    G.addEdge(1, 5, -4);
+    G.addEdge(2, 4, 1);
+    G.addEdge(2, 5, 7);
+    G.addEdge(3, 2, 4);
+    G.addEdge(4, 1, 2);
+    G.addEdge(4, 3, -5);
+    G.addEdge(5, 4, 6);
+    G.addEdge(7, 8, 4);
+
+    D = FloydWarshall.run(G);
+    P = FloydWarshall.table(G);
+  }
+
+  void assertMatchesRecomputed() {
+    int[][] E = FloydWarshall.run(G);
+
+    for (int i = 0; i < D.length; i++)
+      assertArrayEquals(E[i], D[i]);
+
+    for (int i = 1; i < D.length; i++)
+      for (int j = 1; j < D.length; j++)
+        assertEquals(FloydWarshall.printPath(G, i, j), Graph.printPath(P, i, j));
+  }
+
+  @Test
+  void no_instantiation() {
+    assertThrows(NoClassDefFoundError.class, () -> new IncrementalPaths());
+  }
+
+  @Test
+  void decreases_edge() {
+    G.setEdge(5, 4, 3);
+
+    assertTrue(IncrementalPaths.update(D, P, 5, 4, 3));
+    assertEquals(-6, D[1][3]);
+    assertEquals("1 -> 5 -> 4 -> 3", Graph.printPath(P, 1, 3));
+    assertMatchesRecomputed();
+  }
+
+  @Test
+  void inserts_edge() {
+    G.addEdge(8, 1, 2);
+
+    assertTrue(IncrementalPaths.update(D, P, 8, 1, 2));
+    assertEquals(2, D[7][5]);
+    assertEquals("7 -> 8 -> 1 -> 5", Graph.printPath(P, 7, 5));
+    assertMatchesRecomputed();
+  }
+
+  @Test
+  void skips_edge_that_is_not_shorter() {
+    assertFalse(IncrementalPaths.update(D, P, 1, 3, 0));
+    assertEquals(-3, D[1][3]);
+  }
+
+  @Test
+  void batch() {
+    int[][] edges = { { 8, 1, 2 }, { 1, 3, 0 }, { 5, 4, 3 } };
+
+    G.addEdge(8, 1, 2);
+    G.setEdge(5, 4, 3);
+
+    assertEquals(2, IncrementalPaths.update(D, P, edges));
+    assertMatchesRecomputed();
+  }
+
+  @Test
+  void distances_only() {
+    G.setEdge(1, 2, 2);
+
+    IncrementalPaths.update(D, null, 1, 2, 2);
+    assertArrayEquals(FloydWarshall.run(G)[1], D[1]);
+  }
+
+  @Test
+  void undirected_edge() {
+    Graph U = new Graph(6, false, true);
+
+    U.addEdge(0, 1, 4);
+    U.addEdge(1, 2, 1);
+    U.addEdge(3, 4, 2);
+    U.addEdge(4, 5, 6);
+
+    D = FloydWarshall.run(U);
+    P = FloydWarshall.table(U);
+
+    // The paths from 3 to 0 and from 0 to 3 both cross the edge, one each way
+    U.addEdge(2, 3, 1);
+    assertTrue(IncrementalPaths.updateUndirected(D, P, 2, 3, 1));
+    assertEquals(6, D[3][0]);
+    assertEquals(6, D[0][3]);
+    assertEquals("5 -> 4 -> 3 -> 2 -> 1 -> 0", Graph.printPath(P, 5, 0));
+    assertEquals("0 -> 1 -> 2 -> 3 -> 4 -> 5", Graph.printPath(P, 0, 5));
+
+    int[][] E = FloydWarshall.run(U);
+
+    for (int i = 0; i < D.length; i++)
+      assertArrayEquals(E[i], D[i]);
+
+    for (int i = 0; i < D.length; i++)
+      for (int j = 0; j < D.length; j++)
+        assertEquals(FloydWarshall.printPath(U, i, j), Graph.printPath(P, i, j));
+
+    assertFalse(IncrementalPaths.updateUndirected(D, P, 3, 2, 1));
+  }
+
+  @Test
+  void negative_weight_cycle_detection() {
+    IncrementalPaths.update(D, P, 3, 1, -4);
+    assertTrue(FloydWarshall.hasNegativeWeightCycle(D));
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> IncrementalPaths.update(null, P, 1, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> IncrementalPaths.update(D, new int[2][2], 1, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> IncrementalPaths.update(D, P, 1, 9, 0));
+    assertThrows(IllegalArgumentException.class, () -> IncrementalPaths.update(D, P, new int[][] { { 1, 2 } }));
+  }
+}
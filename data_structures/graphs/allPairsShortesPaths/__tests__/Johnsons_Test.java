@@ -7,9 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.*;
 
 import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.FloydWarshall;
 import data_structures.graphs.allPairsShortesPaths.Johnsons;
 import data_structures.graphs.singleSourceShortestPaths.SSSP;
 
@@ -47,6 +50,24 @@ public class Johnsons_Test {
     assertThrows(IllegalArgumentException.class, () -> Johnsons.run(new Graph(1, false, false)));
   }
 
+  @Test
+  void distances() {
+    int[][] D = Johnsons.run(G);
+    assertEquals(-3, D[1][3]);
+    assertEquals(-4, D[1][5]);
+    assertEquals(4, D[7][8]);
+    assertEquals(Graph.NIL, D[0][5]);
+  }
+
+  @Test
+  void does_not_modify_graph() {
+    Johnsons.run(G);
+    Johnsons.table(G);
+    assertEquals(-4, G.getEdgeWeight(1, 5));
+    assertEquals(-5, G.getEdgeWeight(4, 3));
+    assertEquals(3, G.getEdgeWeight(1, 2));
+  }
+
   @Test
   void no_negative_weight_cycle() {
     assertFalse(Johnsons.hasNegativeWeightCycle(G));
@@ -104,4 +125,31 @@ public class Johnsons_Test {
     assertTrue(Johnsons.hasNegativeWeightCycle(W));
 
   }
+
+  @Test
+  void matches_floyd_warshall_with_negative_edges() {
+    for (int seed = 0; seed < 200; seed++) {
+      Random random = new Random(seed);
+      Graph R = new Graph(10, true, true);
+
+      for (int v = 0; v < 10; v++)
+        R.addVertex(v);
+
+      // Negative edges only go forward, so some seeds have no negative cycle
+      for (int e = 0; e < 30; e++) {
+        int u = random.nextInt(10), v = random.nextInt(10);
+
+        if (u != v && !R.hasEdge(u, v))
+          R.addEdge(u, v, u < v ? random.nextInt(21) - 10 : random.nextInt(seed % 2 == 0 ? 11 : 21));
+      }
+
+      int[][] D = FloydWarshall.run(R);
+      boolean cycle = FloydWarshall.hasNegativeWeightCycle(D);
+
+      assertEquals(cycle, Johnsons.hasNegativeWeightCycle(R), "seed " + seed);
+
+      if (!cycle)
+        assertArrayEquals(D, Johnsons.run(R), "seed " + seed);
+    }
+  }
 }
@@ -40,6 +40,18 @@ public class Maximin_Test {
     assertNotNull(Maximin.run(G));
   }
 
+  @Test
+  void maximizes_the_minimum_cost() {
+    int[][] D = Maximin.run(G);
+
+    // 1 -> 5 -> 4 rather than the narrower 1 -> 2 -> 4
+    assertEquals(6, D[1][4]);
+    // 4 -> 3 -> 2 -> 5 rather than 4 -> 1 -> 5
+    assertEquals(4, D[4][5]);
+    assertEquals(14, D[1][5]);
+    assertEquals(Graph.NIL, D[0][5]);
+  }
+
   @Test
   void throws_on_invalid_graph() {
     assertThrows(IllegalArgumentException.class, () -> Maximin.run(new Graph(1, false, false)));
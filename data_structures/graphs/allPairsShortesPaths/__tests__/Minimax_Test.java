@@ -79,6 +79,17 @@ public class Minimax_Test {
     assertArrayEquals(path, Minimax.arrayPath(table, 1, 5));
   }
 
+  @Test
+  void path_ends_with_the_intermediate_vertex_path() {
+    Graph H = new Graph(4, true, true);
+
+    // The maximum is on the first half, but 3 is still reached from 2
+    H.addEdge(1, 2, 10);
+    H.addEdge(2, 3, 1);
+
+    assertArrayEquals(new int[] { 1, 2, 3 }, Minimax.arrayPath(H, 1, 3));
+  }
+
   @Test
   void no_array_path() {
     int[] noPath = { -1 };
@@ -0,0 +1,142 @@
+package data_structures.graphs.allPairsShortesPaths.__tests__;
+
+import static java.util.Arrays.copyOfRange;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.ShortestPathCache;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ShortestPathCache_Test {
+  Graph G = new Graph(9, true, true);
+  long tree = ShortestPathCache.treeWeight(9);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(1, 2, 3);
+    G.addEdge(1, 3, 8);
+    G.addEdge(1, 5, -4);
+    G.addEdge(2, 4, 1);
+    G.addEdge(2, 5, 7);
+    G.addEdge(3, 2, 4);
+    G.addEdge(4, 1, 2);
+    G.addEdge(4, 3, -5);
+    G.addEdge(5, 4, 6);
+    G.addEdge(7, 8, 4);
+  }
+
+  @Test
+  void distances() {
+    ShortestPathCache C = new ShortestPathCache(G, 4 * tree);
+
+    assertEquals(-3, C.distance(1, 3));
+    assertEquals(-4, C.distance(1, 5));
+    assertEquals(4, C.distance(7, 8));
+    assertEquals(Graph.NIL, C.distance(8, 7));
+    assertArrayEquals(new int[] { 0, 1, -3, 2, -4 }, copyOfRange(C.distances(1), 1, 6));
+  }
+
+  @Test
+  void paths() {
+    ShortestPathCache C = new ShortestPathCache(G, 4 * tree);
+
+    assertEquals("1 -> 5 -> 4 -> 3", C.printPath(1, 3));
+    assertArrayEquals(new int[] { 3, 2, 4, 1 }, C.arrayPath(3, 1));
+    assertArrayEquals(new int[] { 1 }, C.arrayPath(1, 1));
+    assertEquals("No path exists from 8 to 7", C.printPath(8, 7));
+  }
+
+  @Test
+  void unweighted_graph_uses_breadth_first_search() {
+    Graph U = new Graph(5, false, false);
+    U.addEdge(0, 1);
+    U.addEdge(1, 2);
+    U.addEdge(2, 3);
+    U.addEdge(1, 3);
+
+    ShortestPathCache C = new ShortestPathCache(U, tree);
+
+    assertEquals(2, C.distance(0, 3));
+    assertEquals(Graph.NIL, C.distance(0, 4));
+    assertEquals("0 -> 1 -> 3", C.printPath(0, 3));
+  }
+
+  @Test
+  void hits_and_misses() {
+    ShortestPathCache C = new ShortestPathCache(G, 4 * tree);
+
+    C.distance(1, 3);
+    C.distance(1, 4);
+    C.distance(2, 4);
+    C.printPath(1, 3);
+
+    assertEquals(2, C.getMisses());
+    assertEquals(2, C.getHits());
+    assertEquals(2, C.size());
+    assertEquals(2 * tree, C.getWeight());
+  }
+
+  @Test
+  void evicts_least_recently_used_tree() {
+    ShortestPathCache C = new ShortestPathCache(G, 2 * tree);
+
+    C.distance(1, 3);
+    C.distance(2, 3);
+    C.distance(1, 4);
+    C.distance(3, 4);
+
+    assertTrue(C.isCached(1));
+    assertFalse(C.isCached(2));
+    assertTrue(C.isCached(3));
+    assertEquals(1, C.getEvictions());
+    assertEquals(2, C.size());
+  }
+
+  @Test
+  void keeps_tree_larger_than_capacity() {
+    ShortestPathCache C = new ShortestPathCache(G, 0);
+
+    C.distance(1, 3);
+    assertTrue(C.isCached(1));
+
+    C.distance(2, 3);
+    assertFalse(C.isCached(1));
+    assertEquals(1, C.size());
+  }
+
+  @Test
+  void invalidates_on_graph_change() {
+    ShortestPathCache C = new ShortestPathCache(G, 4 * tree);
+
+    assertEquals(-3, C.distance(1, 3));
+
+    G.setEdge(1, 3, -6);
+
+    assertFalse(C.isCached(1));
+    assertEquals(-6, C.distance(1, 3));
+    assertEquals(1, C.getInvalidations());
+    assertEquals(2, C.getMisses());
+  }
+
+  @Test
+  void throws_on_negative_weight_cycle() {
+    G.setEdge(4, 1, -9);
+    ShortestPathCache C = new ShortestPathCache(G, tree);
+
+    assertThrows(IllegalArgumentException.class, () -> C.distance(1, 3));
+    assertThrows(IllegalArgumentException.class, () -> C.distance(1, 3));
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> new ShortestPathCache(null, tree));
+    assertThrows(IllegalArgumentException.class, () -> new ShortestPathCache(G, -1));
+    assertThrows(IllegalArgumentException.class, () -> new ShortestPathCache(G, tree).distance(9, 0));
+  }
+}
@@ -2,12 +2,17 @@ package data_structures.graphs.allPairsShortesPaths.__tests__;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
 
 import org.junit.jupiter.api.*;
 
 import data_structures.graphs.Graph;
+import data_structures.graphs.allPairsShortesPaths.FloydWarshall;
 import data_structures.graphs.allPairsShortesPaths.TransitiveClosure;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -79,4 +84,82 @@ public class TransitiveClosure_Test {
     assertArrayEquals(noPath, TransitiveClosure.arrayPath(G, 0, 5));
   }
 
+  @Test
+  void reachable() {
+    TransitiveClosure.Reachability R = TransitiveClosure.reachability(G);
+    assertTrue(R.reachable(1, 3));
+    assertTrue(R.reachable(3, 1));
+    assertTrue(R.reachable(5, 2));
+    assertTrue(R.reachable(7, 8));
+    assertTrue(R.reachable(4, 4));
+  }
+
+  @Test
+  void not_reachable() {
+    TransitiveClosure.Reachability R = TransitiveClosure.reachability(G);
+    assertFalse(R.reachable(8, 7));
+    assertFalse(R.reachable(1, 7));
+    assertFalse(R.reachable(0, 0));
+    assertFalse(R.reachable(0, 5));
+  }
+
+  @Test
+  void condensed_and_warshall_closures_agree() {
+    for (int seed = 0; seed < 50; seed++) {
+      Random random = new Random(seed);
+      Graph R = new Graph(40, true, true);
+
+      // Leave some indices out of the graph
+      for (int v = 0; v < 40; v++)
+        if (random.nextInt(8) != 0)
+          R.addVertex(v);
+
+      for (int e = random.nextInt(80); e > 0; e--) {
+        int u = random.nextInt(40), v = random.nextInt(40);
+
+        if (R.hasVertex(u) && R.hasVertex(v) && !R.hasEdge(u, v))
+          R.addEdge(u, v, 1);
+      }
+
+      TransitiveClosure.Reachability C = TransitiveClosure.reachability(R, true);
+      TransitiveClosure.Reachability W = TransitiveClosure.reachability(R, false);
+      int[][] D = FloydWarshall.run(R);
+
+      for (int u = 0; u < 40; u++) {
+        for (int v = 0; v < 40; v++) {
+          boolean path = R.hasVertex(u) && R.hasVertex(v) && D[u][v] != Graph.NIL;
+
+          assertEquals(path, C.reachable(u, v), "seed " + seed);
+          assertEquals(path, W.reachable(u, v), "seed " + seed);
+        }
+      }
+    }
+  }
+
+  @Test
+  void each_strategy_reaches_the_same_vertices() {
+    for (boolean condense : new boolean[] { true, false }) {
+      TransitiveClosure.Reachability R = TransitiveClosure.reachability(G, condense);
+
+      assertTrue(R.reachable(1, 3));
+      assertTrue(R.reachable(3, 1));
+      assertTrue(R.reachable(7, 8));
+      assertFalse(R.reachable(8, 7));
+      assertFalse(R.reachable(0, 0));
+    }
+  }
+
+  @Test
+  void throws_on_too_many_bit_rows() {
+    Graph L = new Graph(400_000, true, true);
+
+    assertThrows(IllegalArgumentException.class, () -> TransitiveClosure.reachability(L, false));
+  }
+
+  @Test
+  void reachable_throws_on_invalid_vertex() {
+    TransitiveClosure.Reachability R = TransitiveClosure.reachability(G);
+    assertThrows(IllegalArgumentException.class, () -> R.reachable(1, 9));
+  }
+
 }
@@ -0,0 +1,422 @@
+package data_structures.graphs.flowNetworks;
+
+import java.util.BitSet;
+
+/**
+ * Boykov-Kolmogorov(G, s, t)
+ * 1   S = {s}, T = {t}, A = {s, t}, O = {}
+ * 2   while true
+ * 3       grow S or T from an active vertex of A until an arc (p, q) joins them
+ * 4       if there is no such arc
+ * 5           return f
+ * 6       augment f along the path s ~> p -> q ~> t of the two trees
+ * 7       add the vertices whose tree arc was saturated to O
+ * 8       while O is not empty
+ * 9           find each orphan a new parent in its own tree, or free it
+ */
+
+/**
+ * <h3>Boykov-Kolmogorov</h3>
+ *
+ * <p>
+ * Finds a maximum flow by growing two search trees of the residual network,
+ * one from the source and one from the sink, and augmenting along the path
+ * found where they touch. Unlike {@link EdmondKarp} or {@link Dinic}, which
+ * start a new search from the source for every path or phase, the trees are
+ * kept across augmentations: the arcs the augmentation saturated cut some
+ * vertices, the <i>orphans</i>, off their tree, and each one looks for a new
+ * parent among its neighbours that still reach the root of its tree, or is
+ * freed along with its subtree. Only the active vertices, on the border of a
+ * tree, are grown again.
+ * </p>
+ *
+ * <p>
+ * The paths are not the shortest, so the worst case is {@code O(V^2 E |f*|)},
+ * but on the grids of computer vision, with many short paths between the
+ * terminals and a neighbourhood of a few cells, the trees are mostly reused
+ * and it runs much faster than the algorithms that search from scratch. The
+ * origin of a vertex is checked by walking up its tree, with a timestamp and
+ * distance cached on every vertex checked since the last augmentation, and a
+ * vertex that finds a neighbour closer to the root takes it as its parent, to
+ * keep the trees shallow.
+ * </p>
+ *
+ * <p>
+ * When there are no active vertices left, the source tree is exactly the
+ * vertices the source reaches in the residual network, the source side of a
+ * minimum cut, which {@link #minCut(ResidualNetwork, int, int)} returns as a
+ * {@link MinCut}. The networks built by {@link GridNetwork} can be solved
+ * directly.
+ * </p>
+ */
+public final class BoykovKolmogorov extends MaxFlowAlgorithm {
+  /**
+   * The tree of a vertex.
+   */
+  private static final byte FREE = 0, SOURCE = 1, SINK = 2;
+
+  /**
+   * The parent arc of a vertex that is the root of its tree, or that has no
+   * parent.
+   */
+  private static final int TERMINAL = -2, ORPHAN = -1;
+
+  // Prevent this class from being instantiated
+  public BoykovKolmogorov() {
+    super();
+  }
+
+  /**
+   * Runs the Boykov-Kolmogorov algorithm to find the maximum flow in the
+   * specified flow network from the specified source to the sink.
+   *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the maximum flow from the source to the sink or {@code 0} if the
+   *         source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Boykov-Kolmogorov algorithm on the {@link ResidualNetwork} in
+   * place, augmenting its current flow to a maximum flow from the source to the
+   * sink. The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    if (source == sink)
+      return 0;
+
+    new Trees(network, source, sink).run();
+    return network.getFlowValue(source);
+  }
+
+  /**
+   * Runs the Boykov-Kolmogorov algorithm on the {@link ResidualNetwork} in
+   * place, as {@link #maxFlow(ResidualNetwork, int, int)} does, and returns the
+   * minimum cut whose source side is the final source tree, the vertices the
+   * source reaches in the residual network of the maximum flow, without
+   * another search.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the minimum cut, empty if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static MinCut minCut(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    BitSet side = new BitSet(network.getRows());
+
+    if (source != sink) {
+      Trees trees = new Trees(network, source, sink);
+      trees.run();
+
+      for (int v = 0; v < network.getRows(); v++)
+        if (trees.tree[v] == SOURCE)
+          side.set(v);
+    }
+
+    return new MinCut(network, side);
+  }
+
+  /**
+   * The two search trees of a run. Each vertex in a tree has the arc to its
+   * parent, leaving the vertex, with a residual capacity towards the sink:
+   * {@code reverse[parent[v]]} in the source tree and {@code parent[v]} in the
+   * sink tree. The active vertices and the orphans are kept in FIFO circular
+   * queues.
+   */
+  private static final class Trees {
+    private final ResidualNetwork N;
+    private final int n, s, t;
+    private final int[] offsets, heads, reverse, capacities, flows;
+    private final byte[] tree;
+    private final int[] parent, dist, stamp, current;
+    private final boolean[] queued;
+    private final int[] active, orphans;
+    private int activeFront, activeSize, orphanFront, orphanSize, time;
+
+    Trees(ResidualNetwork network, int source, int sink) {
+      N = network;
+      n = network.getRows();
+      s = source;
+      t = sink;
+      offsets = network.getOffsets();
+      heads = network.getHeads();
+      reverse = network.getReverse();
+      capacities = network.getCapacities();
+      flows = network.getFlows();
+      tree = new byte[n];
+      parent = new int[n];
+      dist = new int[n];
+      stamp = new int[n];
+      current = new int[n];
+      queued = new boolean[n];
+      active = new int[n];
+      orphans = new int[n];
+    }
+
+    void run() {
+      int u = -1, middle;
+
+      tree[s] = SOURCE;
+      tree[t] = SINK;
+      parent[s] = parent[t] = TERMINAL;
+      activate(s);
+      activate(t);
+
+      while (true) {
+        // Keep growing the same vertex after an augmentation if it is still in a tree
+        if (u < 0 || tree[u] == FREE) {
+          do {
+            if (activeSize == 0)
+              return;
+
+            u = active[activeFront];
+            activeFront = (activeFront + 1) % n;
+            activeSize--;
+            queued[u] = false;
+          } while (tree[u] == FREE);
+        }
+
+        middle = grow(u);
+
+        if (middle < 0) {
+          u = -1;
+          continue;
+        }
+
+        // Vertices checked before the augmentation may have lost their origin
+        time++;
+        augment(middle);
+        adopt();
+      }
+    }
+
+    private boolean residual(int e) {
+      return capacities[e] > flows[e];
+    }
+
+    /**
+     * Grows the tree of {@code u} through its arcs from its current arc, adding
+     * the free vertices it reaches as its children, and returns the arc from
+     * the source tree to the sink tree if it reaches the other tree, or
+     * {@code -1}. The arcs before the current arc have been grown through since
+     * {@code u} was last activated, so the terminals, with an arc to every
+     * vertex, are not scanned again after each augmentation.
+     */
+    private int grow(int u) {
+      int e, a, v;
+      byte X = tree[u];
+
+      for (e = current[u]; e < offsets[u + 1]; e++) {
+        // The arc that carries flow towards the sink, from u or into it
+        a = X == SOURCE ? e : reverse[e];
+
+        if (!residual(a))
+          continue;
+
+        v = heads[e];
+
+        if (tree[v] == FREE) {
+          tree[v] = X;
+          parent[v] = reverse[e];
+          dist[v] = dist[u] + 1;
+          stamp[v] = stamp[u];
+          activate(v);
+        }
+        else if (tree[v] != X) {
+          current[u] = e;
+          return a;
+        }
+        else if (stamp[v] <= stamp[u] && dist[v] > dist[u] + 1) {
+          // u is closer to the root than v's parent, so make it v's parent
+          parent[v] = reverse[e];
+          dist[v] = dist[u] + 1;
+          stamp[v] = stamp[u];
+        }
+      }
+
+      return -1;
+    }
+
+    /**
+     * Augments the flow along the path through the arc from the source tree to
+     * the sink tree, making orphans of the vertices whose parent arc it
+     * saturates.
+     */
+    private void augment(int middle) {
+      int v, a, cfP = capacities[middle] - flows[middle];
+
+      for (v = heads[reverse[middle]]; parent[v] != TERMINAL; v = heads[parent[v]]) {
+        a = reverse[parent[v]];
+        cfP = Math.min(cfP, capacities[a] - flows[a]);
+      }
+
+      for (v = heads[middle]; parent[v] != TERMINAL; v = heads[parent[v]]) {
+        a = parent[v];
+        cfP = Math.min(cfP, capacities[a] - flows[a]);
+      }
+
+      N.push(middle, cfP);
+
+      for (v = heads[reverse[middle]]; parent[v] != TERMINAL; v = heads[a]) {
+        a = parent[v];
+        N.push(reverse[a], cfP);
+
+        if (!residual(reverse[a]))
+          orphan(v);
+      }
+
+      for (v = heads[middle]; parent[v] != TERMINAL; v = heads[a]) {
+        a = parent[v];
+        N.push(a, cfP);
+
+        if (!residual(a))
+          orphan(v);
+      }
+    }
+
+    /**
+     * Finds every orphan a new parent in its tree whose origin is the root,
+     * choosing the one closest to the root, or frees it, making orphans of its
+     * children and activating the neighbours that could adopt it again.
+     */
+    private void adopt() {
+      int v;
+
+      while (orphanSize > 0) {
+        v = orphans[orphanFront];
+        orphanFront = (orphanFront + 1) % n;
+        orphanSize--;
+
+        if (!reparent(v))
+          free(v);
+      }
+    }
+
+    private boolean reparent(int v) {
+      int e, a, w, j, d, best = -1, min = Integer.MAX_VALUE;
+      byte X = tree[v];
+
+      for (e = offsets[v]; e < offsets[v + 1]; e++) {
+        // The arc that would carry flow towards the sink through v and w
+        a = X == SOURCE ? reverse[e] : e;
+        w = heads[e];
+
+        if (tree[w] != X || parent[w] == ORPHAN || !residual(a))
+          continue;
+
+        // Walk up to the root or to a vertex checked since the augmentation
+        for (d = 0, j = w; ; d++, j = heads[parent[j]]) {
+          if (stamp[j] == time) {
+            d += dist[j];
+            break;
+          }
+          if (parent[j] == TERMINAL) {
+            stamp[j] = time;
+            dist[j] = 0;
+            break;
+          }
+          if (parent[j] == ORPHAN) {
+            d = Integer.MAX_VALUE;
+            break;
+          }
+        }
+
+        if (d == Integer.MAX_VALUE)
+          continue;
+
+        if (d < min) {
+          best = e;
+          min = d;
+        }
+
+        // Cache the distance of every vertex on the path
+        for (j = w; stamp[j] != time; j = heads[parent[j]]) {
+          stamp[j] = time;
+          dist[j] = d--;
+        }
+      }
+
+      if (best < 0)
+        return false;
+
+      parent[v] = best;
+      dist[v] = min + 1;
+      stamp[v] = time;
+      return true;
+    }
+
+    private void free(int v) {
+      int e, a, w;
+      byte X = tree[v];
+
+      for (e = offsets[v]; e < offsets[v + 1]; e++) {
+        w = heads[e];
+
+        if (tree[w] != X)
+          continue;
+
+        a = X == SOURCE ? reverse[e] : e;
+
+        // w could grow into v again, even if it is an orphan that finds a parent,
+        // and even if it is queued, since it may have grown past v already
+        if (residual(a))
+          activate(w);
+
+        if (parent[w] >= 0 && heads[parent[w]] == v)
+          orphan(w);
+      }
+
+      tree[v] = FREE;
+    }
+
+    private void orphan(int v) {
+      parent[v] = ORPHAN;
+      orphans[(orphanFront + orphanSize++) % n] = v;
+    }
+
+    /**
+     * Makes the vertex grow through all of its arcs again, and queues it unless
+     * it is already queued, so that the queue never holds a vertex twice and
+     * never overflows its {@code n} slots. A vertex freed while it was queued
+     * can join a tree again before it is dequeued.
+     */
+    private void activate(int v) {
+      current[v] = offsets[v];
+
+      if (!queued[v]) {
+        queued[v] = true;
+        active[(activeFront + activeSize++) % n] = v;
+      }
+    }
+  }
+}
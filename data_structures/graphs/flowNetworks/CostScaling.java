@@ -0,0 +1,245 @@
+package data_structures.graphs.flowNetworks;
+
+/**
+ * Cost-Scaling(G, s, t)
+ * 1   f = a maximum flow from s to t
+ * 2   for each vertex v in G.V
+ * 3       v.p = 0
+ * 4   e = max {|w(u, v)| : (u, v) is in G.E} * (|V| + 1)
+ * 5   while e > 1
+ * 6       e = max(1, e / ALPHA)
+ * 7       Refine(G, f, e)
+ *
+ * Refine(G, f, e)
+ * 1   for each arc (u, v) in Gf with a reduced cost w'(u, v) < 0
+ * 2       push cf(u, v) along (u, v)
+ * 3   while there exists a vertex u with u.e > 0
+ * 4       if there is an arc (u, v) in Gf with w'(u, v) < 0
+ * 5           push min(u.e, cf(u, v)) along (u, v)
+ * 6       else u.p = max {v.p - w(u, v) : (u, v) is in Gf} - e
+ */
+
+/**
+ * <h3>Cost Scaling</h3>
+ *
+ * <p>
+ * Goldberg and Tarjan's cost-scaling algorithm for a maximum flow of minimum
+ * cost. It first finds a maximum flow with {@link Dinic}, then lowers its cost
+ * without changing its value: a flow is of minimum cost exactly when its
+ * residual network has no negative cost cycle, which is when there are prices
+ * {@code p} for the vertices that make every reduced cost
+ * {@code w'(u, v) = w(u, v) + p(u) - p(v)} of a residual arc nonnegative.
+ * </p>
+ *
+ * <p>
+ * Instead of reaching that directly, each phase makes the flow
+ * {@code e}-optimal, with every reduced cost at least {@code -e}, dividing
+ * {@code e} by {@link #ALPHA} each time. A phase saturates every arc with a
+ * negative reduced cost, which leaves every reduced cost nonnegative but
+ * creates excesses and deficits, then pushes the excesses along admissible
+ * arcs, those with a negative reduced cost, to the deficits, relabelling a
+ * vertex with no admissible arc by lowering its price by at least {@code e},
+ * as in the push-relabel algorithm. The costs are multiplied by
+ * {@code |V| + 1}, so a {@code 1}-optimal flow is {@code 1/(|V| + 1)}-optimal
+ * for the real integer costs. A cycle has at most {@code |V|} arcs, so a
+ * negative cost cycle would cost more than {@code -1}, which no cycle of
+ * integer costs can, and the flow is optimal.
+ * </p>
+ *
+ * <p>
+ * The algorithm takes {@code O(V^2 E lg(VC))} time for a largest absolute cost
+ * {@code C}, which does not depend on the capacities, so it suits large
+ * networks with large capacities better than {@link SuccessiveShortestPaths}.
+ * The costs may be negative, and negative cost cycles are cancelled, as long
+ * as they have a finite capacity.
+ * </p>
+ */
+public final class CostScaling extends MaxFlowAlgorithm {
+  /**
+   * The factor {@code e} is divided by in each phase.
+   */
+  private static final int ALPHA = 8;
+
+  // Prevent this class from being instantiated
+  public CostScaling() {
+    super();
+  }
+
+  /**
+   * Runs the cost-scaling algorithm to find the cost of a minimum-cost maximum
+   * flow in the specified flow network from the source to the sink, with the
+   * costs set by {@link FlowNetwork#setEdgeCost(int, int, int)}.
+   *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the cost of the minimum-cost maximum flow or {@code 0} if the source
+   *         is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static long minCost(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    ResidualNetwork R = new ResidualNetwork(network);
+
+    minCostMaxFlow(R, source, sink);
+    return R.getFlowCost();
+  }
+
+  /**
+   * Runs the cost-scaling algorithm on the {@link ResidualNetwork} in place,
+   * replacing its current flow with a minimum-cost maximum flow from the source
+   * to the sink. The cost of the flow is {@link ResidualNetwork#getFlowCost()}.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int minCostMaxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    network.clearFlows();
+
+    if (source == sink)
+      return 0;
+
+    int value = Dinic.maxFlow(network, source, sink);
+
+    new Prices(network).run();
+    return value;
+  }
+
+  /**
+   * The prices, excesses and current arcs of a run, with the costs scaled by
+   * {@code |V| + 1}, and a FIFO queue of the vertices with excess.
+   */
+  private static final class Prices {
+    private final ResidualNetwork N;
+    private final int n;
+    private final int[] offsets, heads, capacities, flows;
+    private final long[] cost, price;
+    private final int[] excess, current, queue;
+    private final boolean[] queued;
+    private int front, size;
+
+    Prices(ResidualNetwork network) {
+      int[] costs = network.getCosts();
+
+      N = network;
+      n = network.getRows();
+      offsets = network.getOffsets();
+      heads = network.getHeads();
+      capacities = network.getCapacities();
+      flows = network.getFlows();
+      cost = new long[costs.length];
+      price = new long[n];
+      excess = new int[n];
+      current = new int[n];
+      queue = new int[n];
+      queued = new boolean[n];
+
+      for (int e = 0; e < costs.length; e++)
+        cost[e] = (long) costs[e] * (n + 1);
+    }
+
+    void run() {
+      long e = 0;
+
+      for (long c : cost)
+        e = Math.max(e, Math.abs(c));
+
+      while (e > 1) {
+        e = Math.max(1, e / ALPHA);
+        refine(e);
+      }
+    }
+
+    /**
+     * Turns the {@code e * ALPHA}-optimal flow into an {@code e}-optimal flow
+     * of the same value.
+     */
+    private void refine(long e) {
+      int u, a;
+
+      for (u = 0; u < n; u++) {
+        for (a = offsets[u]; a < offsets[u + 1]; a++)
+          if (capacities[a] > flows[a] && reducedCost(u, a) < 0)
+            push(u, a, capacities[a] - flows[a]);
+
+        current[u] = offsets[u];
+      }
+
+      while (size > 0) {
+        u = queue[front];
+        front = (front + 1) % n;
+        size--;
+        queued[u] = false;
+        discharge(u, e);
+      }
+    }
+
+    /**
+     * Pushes the excess of {@code u} along admissible arcs, relabelling it
+     * whenever it has none left, until it has no excess.
+     */
+    private void discharge(int u, long e) {
+      int a, end = offsets[u + 1];
+
+      while (excess[u] > 0) {
+        a = current[u];
+
+        if (a == end) {
+          relabel(u, e);
+          current[u] = offsets[u];
+        }
+        else if (capacities[a] > flows[a] && reducedCost(u, a) < 0)
+          push(u, a, Math.min(excess[u], capacities[a] - flows[a]));
+        else
+          current[u]++;
+      }
+    }
+
+    /**
+     * Lowers the price of {@code u} until its cheapest residual arc has a
+     * reduced cost of {@code -e}.
+     */
+    private void relabel(int u, long e) {
+      long p = Long.MIN_VALUE;
+
+      for (int a = offsets[u]; a < offsets[u + 1]; a++)
+        if (capacities[a] > flows[a])
+          p = Math.max(p, price[heads[a]] - cost[a]);
+
+      price[u] = p - e;
+    }
+
+    private long reducedCost(int u, int a) {
+      return cost[a] + price[u] - price[heads[a]];
+    }
+
+    private void push(int u, int a, int d) {
+      int v = heads[a];
+
+      N.push(a, d);
+      excess[u] -= d;
+      excess[v] += d;
+
+      if (excess[v] > 0 && !queued[v]) {
+        queued[v] = true;
+        queue[(front + size++) % n] = v;
+      }
+    }
+  }
+}
@@ -1,7 +1,8 @@
 package data_structures.graphs.flowNetworks;
 
+import static java.util.Arrays.fill;
+
 import data_structures.linkedLists.LinkedList;
-import data_structures.queues.Queue;
 
 /**
  * Dinics(G, s, t)
@@ -52,6 +53,15 @@ import data_structures.queues.Queue;
  * loop runs at most {@code O(V)} times. Therefore overall time complexity is
  * {@code O(EV^2)}.
  * </p>
+ *
+ * <p>
+ * The blocking flow keeps a current arc for every vertex so that each arc is
+ * scanned at most once per phase. On networks where every capacity is
+ * {@code 1} a phase takes {@code O(E)} time and there are at most
+ * {@code O(min(V^(2/3), E^(1/2)))} phases, and on the unit networks of
+ * bipartite matching there are at most {@code O(V^(1/2))}, the bound of
+ * Hopcroft-Karp.
+ * </p>
  */
 public final class Dinic extends MaxFlowAlgorithm {
   public Dinic() {
@@ -71,6 +81,11 @@ public final class Dinic extends MaxFlowAlgorithm {
    * Runs the Dinic algorithm to find the maximum flow in the specified flow
    * network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -83,9 +98,29 @@ public final class Dinic extends MaxFlowAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Dinic algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -133,65 +168,136 @@ public final class Dinic extends MaxFlowAlgorithm {
     return computeMaxFlowArray(new FlowNetwork(network), source, sink);
   }
 
-  private static int computeMaxFlow(FlowNetwork G, int s, int t) {
-    Node[] levels = new Node[G.getRows()];
-    int maxFlow = 0;
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int n = network.getRows();
+    int[] level = new int[n], queue = new int[n], current = new int[n], path = new int[n];
 
-    // Initialize nodes for vertices that exist
-    for (int v : G.getVertices())
-      levels[v] = new Node(v);
-
-    while (D_BFS(G, levels, s, t))
-      maxFlow += sendFlow(G, levels, Integer.MAX_VALUE, s, t);
-    return maxFlow;
+    // The buffers are allocated once and reused by every phase
+    while (levelBFS(network, level, queue, s, t))
+      blockingFlow(network, level, current, path, s, t);
+    return network.getFlowValue(s);
   }
 
   /**
-   * Similar to {@link #residualCapacity()} except that this has to account for
-   * the levels. It finds the residual capacity only for edges along a path where
-   * the vertex {@code v} of the edge {@code (u, v)} is one level higher, similar
-   * to how a slope where the flow runs down and doesn't skip.
+   * Sends a blocking flow along the level graph, so that afterwards every path
+   * from the source to the sink in the level graph has a saturated arc.
    *
    * <p>
-   * Modified to include the ability to build the string path, using a
-   * {@code StringBuilder} while calculating the maximum flow.
+   * The search is a depth-first search with an explicit stack, {@code path},
+   * holding the arcs from the source to the current vertex, so it cannot
+   * overflow the call stack on long paths. Each vertex keeps a
+   * <i>current arc</i>, {@code current[u]}, the first of its arcs that may
+   * still be admissible: an arc that is saturated, leaves the level graph, or
+   * leads to a dead end is skipped for the rest of the phase, and the search
+   * never scans it again. Once the sink is reached, the residual capacity of
+   * the path is pushed along it and the search retreats only to the tail of
+   * the first arc that was saturated, rather than restarting from the source.
+   * A phase therefore takes {@code O(VE)} time, and {@code O(E)} on a network
+   * with unit capacities.
    * </p>
    *
-   * @param G    the flow network
-   * @param L    the nodes containg the level for the vertex
-   * @param flow the current maximum flow
-   * @param u    the vertex to find an edge for the path
-   * @param t    the sink to determine once an augmenting path is found or not
-   * @return the residual capacity that can be pushed or {@code 0} if there is no
-   *         augmenting path available
+   * @param network the residual network
+   * @param L       the level of each vertex
+   * @param current the current arc of each vertex
+   * @param path    the stack of arcs from the source
+   * @param s       the source vertex
+   * @param t       the sink vertex
    */
-  private static int sendFlow(FlowNetwork G, Node[] L, int flow, int u, int t) {
-    // Base case: once the sink is reached, return the calculated residual capacity
-    // cf(p) = min {cf(u, v) : (u, v) is in p} where cf(u, v) = c(u, v) - f(u, v)
-    if (u == t)
-      return flow;
+  private static void blockingFlow(ResidualNetwork network, int[] L, int[] current, int[] path, int s, int t) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads(), reverse = network.getReverse();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int u = s, v, e, i, cfP, depth = 0;
 
-    int c, f, v, currentFlow, cfP;
-    for (FlowNetwork.Edge edge : G.getEdges(u)) {
-      v = edge.getVertices()[1];
-      c = edge.getCapacity();
-      f = edge.getFlow();
+    System.arraycopy(offsets, 0, current, 0, current.length);
 
-      if (L[v].level == L[u].level + 1 && f < c) {
-        currentFlow = Math.min(flow, c - f);
-        cfP = sendFlow(G, L, currentFlow, v, t);
+    while (true) {
+      if (u == t) {
+        // cf(p) = min {cf(u, v) : (u, v) is in p} where cf(u, v) = c(u, v) - f(u, v)
+        cfP = Integer.MAX_VALUE;
 
-        if (cfP > 0) {
-          edge.addFlow(cfP);
-          // Need to lookup the reverse edge to subtract the flow
-          G.getEdge(v, u).subtractFlow(cfP);
+        for (i = 0; i < depth; i++)
+          cfP = Math.min(cfP, capacities[path[i]] - flows[path[i]]);
 
-          return cfP;
+        for (i = 0; i < depth; i++) {
+          flows[path[i]] += cfP;
+          flows[reverse[path[i]]] -= cfP;
+        }
+
+        // Retreat to the tail of the first saturated arc
+        for (i = 0; flows[path[i]] < capacities[path[i]]; i++)
+          ;
+
+        depth = i;
+        u = heads[reverse[path[i]]];
+        continue;
+      }
+
+      // Advance along the current arc of u, skipping the ones that are not admissible
+      for (e = current[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (L[v] == L[u] + 1 && flows[e] < capacities[e])
+          break;
+      }
+
+      current[u] = e;
+
+      if (e < offsets[u + 1]) {
+        path[depth++] = e;
+        u = heads[e];
+      }
+      // Retreat from a dead end, which no other path of the phase can go through
+      else if (u == s)
+        return;
+      else {
+        L[u] = -1;
+        e = path[--depth];
+        u = heads[reverse[e]];
+        current[u]++;
+      }
+    }
+  }
+
+  /**
+   * Breadth-first search of the {@link ResidualNetwork} that labels each vertex
+   * with its level, the number of arcs from the source with a positive residual
+   * capacity, or {@code -1} if it cannot be reached. The search stops at the
+   * level of the sink, since no vertex further away can be on a shortest path
+   * to it.
+   *
+   * @param network the residual network
+   * @param L       the level of each vertex
+   * @param queue   the queue of {@code |V|} vertices, reused between phases
+   * @param s       the source vertex
+   * @param t       the sink vertex
+   * @return whether the sink has a level, so there is an augmenting path
+   */
+  private static boolean levelBFS(ResidualNetwork network, int[] L, int[] queue, int s, int t) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int u, v, e, front = 0, back = 0;
+
+    fill(L, -1);
+    L[s] = 0;
+    queue[back++] = s;
+
+    while (front < back) {
+      u = queue[front++];
+
+      if (L[t] > -1 && L[u] >= L[t])
+        break;
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (L[v] < 0 && flows[e] < capacities[e]) {
+          L[v] = L[u] + 1;
+          queue[back++] = v;
         }
       }
     }
 
-    return 0;
+    return L[t] > -1;
   }
 
   /**
@@ -207,15 +313,15 @@ public final class Dinic extends MaxFlowAlgorithm {
    *
    * @param G the flow network
    * @param L the nodes with the level property
+   * @param Q the queue of vertices, reused between searches
    * @param s the source vertex
    * @param t the sink vertex
    * @return if the level of vertex {@code t} is greater than {@code -1},
    *         indicating there is a augmenting path available from the source to
    *         the sink.
    */
-  private static boolean D_BFS(FlowNetwork G, Node[] L, int s, int t) {
-    Queue<Integer> Q = new Queue<>(G.getRows());
-    int u, v;
+  private static boolean D_BFS(FlowNetwork G, Node[] L, int[] Q, int s, int t) {
+    int u, v, front = 0, back = 0;
 
     // Reset levels
     for (Node node : L)
@@ -223,17 +329,17 @@ public final class Dinic extends MaxFlowAlgorithm {
         node.level = -1;
 
     L[s].level = 0;
-    Q.enqueue(s);
+    Q[back++] = s;
 
-    while (!Q.isEmpty()) {
-      u = Q.dequeue();
+    while (front < back) {
+      u = Q[front++];
 
       for (FlowNetwork.Edge edge : G.getEdges(u)) {
         v = edge.getVertices()[1];
         // Find edges with no level and has a positive residual capacity
         if (L[v].level < 0 && edge.getFlow() < edge.getCapacity()) {
           L[v].level = L[u].level + 1;
-          Q.enqueue(v);
+          Q[back++] = v;
         }
       }
     }
@@ -243,6 +349,7 @@ public final class Dinic extends MaxFlowAlgorithm {
 
   private static String[] computeMaxFlowPaths(FlowNetwork G, int s, int t) {
     Node[] levels = new Node[G.getRows()];
+    int[] Q = new int[G.getRows()];
     FlowPaths P = new FlowPaths(true);
     StringBuilder sb = new StringBuilder();
     int flow = 0;
@@ -250,7 +357,7 @@ public final class Dinic extends MaxFlowAlgorithm {
     for (int u : G.getVertices())
       levels[u] = new Node(u);
 
-    while (D_BFS(G, levels, s, t)) {
+    while (D_BFS(G, levels, Q, s, t)) {
       flow = sendFlowStringPath(G, levels, sb, Integer.MAX_VALUE, s, t);
       // Prepends the path with the residual capacity for that path
       P.addPath(flow + ": " + sb.reverse().toString() + t);
@@ -291,6 +398,7 @@ public final class Dinic extends MaxFlowAlgorithm {
 
   private static Integer[][] computeMaxFlowArray(FlowNetwork G, int s, int t) {
     Node[] levels = new Node[G.getRows()];
+    int[] Q = new int[G.getRows()];
     FlowPaths P = new FlowPaths(false);
     LinkedList<Integer> L = new LinkedList<>();
     int flow = 0;
@@ -298,7 +406,7 @@ public final class Dinic extends MaxFlowAlgorithm {
     for (int u : G.getVertices())
       levels[u] = new Node(u);
 
-    while (D_BFS(G, levels, s, t)) {
+    while (D_BFS(G, levels, Q, s, t)) {
       flow = sendFlowArrayPath(G, levels, L, Integer.MAX_VALUE, s, t);
       // Add the sink to the end of the path of vertices
       L.insertLast(t);
@@ -34,6 +34,11 @@ public final class EdmondKarp extends MaxFlowAlgorithm {
    * Runs the Edmond-Karp algorithm to find the maximum flow in the specified flow
    * network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -46,9 +51,29 @@ public final class EdmondKarp extends MaxFlowAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Edmond-Karp algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -117,21 +142,14 @@ public final class EdmondKarp extends MaxFlowAlgorithm {
     return computeResidualGraph(new FlowNetwork(network), source, sink);
   }
 
-  private static int computeMaxFlow(FlowNetwork network, int s, int t) {
-    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
-    Node[] VTS = new Node[network.getRows()];
-    int maxFlow = 0;
-
-    // Initialize nodes for vertices that exist
-    for (int v : network.getVertices())
-      VTS[v] = new Node(v);
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int[] arc = new int[network.getRows()], queue = new int[network.getRows()];
 
     // While there is a path p from source to sink in residual network Gf that can
-    // be augmented
-    while (EK_BFS(network, VTS, s, t))
-      // Find the minimum residual capacity of all edges from s to t along path p
-      maxFlow += residualCapacity(G, VTS, Integer.MAX_VALUE, t);
-    return maxFlow;
+    // be augmented, augment the flow by the residual capacity of the path
+    while (residualBFS(network, arc, queue, 1, s, t))
+      augment(network, arc, s, t);
+    return network.getFlowValue(s);
   }
 
   /**
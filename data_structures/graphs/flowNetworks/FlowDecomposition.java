@@ -0,0 +1,272 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Flow-Decomposition(G, f, s, t)
+ * 1   while there is an arc (s, v) with f(s, v) > 0
+ * 2       walk from s along arcs with f(u, v) > 0 until t or a vertex already on the walk
+ * 3       if the walk reached a vertex on it again
+ * 4           subtract the smallest flow on the cycle from each of its arcs
+ * 5       else
+ * 6           p = the walk from s to t
+ * 7           subtract the smallest flow on p from each of its arcs
+ * 8           output p
+ */
+
+/**
+ * <h3>Flow Decomposition</h3>
+ *
+ * <p>
+ * Splits a flow of a {@link ResidualNetwork} into paths from the source to the
+ * sink, one at a time, computed from the final flow rather than recorded while
+ * the max-flow algorithm augmented it. Every flow is the sum of at most
+ * {@code |E|} paths and cycles: walking from the source along arcs that carry
+ * flow reaches the sink or closes a cycle, since flow is conserved at every
+ * other vertex, and subtracting the smallest flow along the walk empties at
+ * least one arc. The cycles carry no flow from the source to the sink and are
+ * cancelled without being reported.
+ * </p>
+ *
+ * <p>
+ * The paths are streamed through reused {@code int} buffers of the vertices
+ * and arcs of the current path, so decomposing a flow with millions of paths
+ * takes {@code O(V + E)} memory, a copy of the flows, instead of the
+ * {@link data_structures.linkedLists.LinkedList} of strings or arrays the
+ * {@code maxFlowPaths} and {@code maxFlowArray} methods build. Each vertex
+ * keeps a current arc, as in {@link Dinic}, which only moves past arcs left
+ * with no flow, so the whole decomposition takes {@code O(V E)} time.
+ * </p>
+ *
+ * <p>
+ * It can be used as a cursor, calling {@link #next()} and reading the buffers,
+ * or through {@link #forEachPath(ResidualNetwork, int, int, PathConsumer)}. The
+ * network itself is not modified.
+ * </p>
+ */
+public final class FlowDecomposition {
+  /**
+   * Receives each path of a decomposition.
+   */
+  @FunctionalInterface
+  public interface PathConsumer {
+    /**
+     * Accepts a path from the source to the sink. The buffer is reused for the
+     * next path, so it has to be copied to be kept.
+     *
+     * @param vertices the buffer holding the vertices of the path, from the
+     *                 source to the sink
+     * @param length   the number of vertices on the path
+     * @param flow     the flow along the path
+     */
+    void accept(int[] vertices, int length, int flow);
+  }
+
+  /**
+   * The residual network's arrays, and the source and the sink.
+   */
+  private final int[] offsets, heads, reverse;
+  private final int s, t;
+
+  /**
+   * The flow left on each arc after the paths found so far.
+   */
+  private final int[] rest;
+
+  /**
+   * The current arc of each vertex, and the position of each vertex on the
+   * walk, or {@code -1} if it is not on it.
+   */
+  private final int[] current, position;
+
+  /**
+   * The vertices and the arcs of the walk from the source, with
+   * {@code arcs[i]} leading from {@code vertices[i]} to {@code vertices[i + 1]}.
+   */
+  private final int[] vertices, arcs;
+
+  /**
+   * The number of vertices of the current path and its flow.
+   */
+  private int length, flow;
+
+  /**
+   * Prepares the decomposition of the flow the residual network holds, which
+   * is copied, from the source to the sink.
+   *
+   * @param network the residual network
+   * @param source  the source of the flow
+   * @param sink    the sink of the flow
+   *
+   * @throws NullPointerException     if the network is {@code null}
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public FlowDecomposition(ResidualNetwork network, int source, int sink) {
+    int n = network.getRows();
+
+    FlowNetwork.checkVertex(n, source);
+    FlowNetwork.checkVertex(n, sink);
+
+    offsets = network.getOffsets();
+    heads = network.getHeads();
+    reverse = network.getReverse();
+    rest = network.getFlows().clone();
+    s = source;
+    t = sink;
+    current = new int[n];
+    position = new int[n];
+    vertices = new int[n + 1];
+    arcs = new int[n];
+
+    System.arraycopy(offsets, 0, current, 0, n);
+    fill(position, -1);
+  }
+
+  /**
+   * Decomposes the flow the residual network holds into paths from the source
+   * to the sink, passing each one to the consumer as it is found.
+   *
+   * @param network  the residual network
+   * @param source   the source of the flow
+   * @param sink     the sink of the flow
+   * @param consumer the consumer of the paths
+   * @return the number of paths
+   *
+   * @throws NullPointerException     if the network or consumer is {@code null}
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static long forEachPath(ResidualNetwork network, int source, int sink, PathConsumer consumer) {
+    if (consumer == null)
+      throw new NullPointerException("Consumer cannot be null.");
+
+    FlowDecomposition paths = new FlowDecomposition(network, source, sink);
+    long count = 0;
+
+    while (paths.next()) {
+      consumer.accept(paths.vertices, paths.length, paths.flow);
+      count++;
+    }
+
+    return count;
+  }
+
+  /**
+   * Finds the next path from the source to the sink and subtracts its flow.
+   *
+   * @return {@code true} if there is a path, or {@code false} if no flow from
+   *         the source to the sink is left
+   */
+  public boolean next() {
+    int u, v, e, i, d, depth = 0;
+
+    length = 0;
+    flow = 0;
+
+    if (s == t)
+      return false;
+
+    vertices[0] = s;
+    position[s] = 0;
+
+    while (true) {
+      u = vertices[depth];
+
+      if (u == t) {
+        for (d = Integer.MAX_VALUE, i = 0; i < depth; i++)
+          d = Math.min(d, rest[arcs[i]]);
+
+        subtract(0, depth, d);
+
+        for (i = 0; i <= depth; i++)
+          position[vertices[i]] = -1;
+
+        length = depth + 1;
+        flow = d;
+        return true;
+      }
+
+      // Skip the arcs with no flow left, which never get any back
+      for (e = current[u]; e < offsets[u + 1] && rest[e] <= 0; e++)
+        ;
+
+      current[u] = e;
+
+      if (e == offsets[u + 1]) {
+        position[u] = -1;
+
+        // The source has no flow left, or the flow is not conserved at u
+        if (depth == 0)
+          return false;
+
+        depth--;
+        current[vertices[depth]]++;
+        continue;
+      }
+
+      v = heads[e];
+      arcs[depth] = e;
+
+      if (position[v] < 0) {
+        vertices[++depth] = v;
+        position[v] = depth;
+        continue;
+      }
+
+      // The walk closed a cycle back to v, so cancel it and go on from v
+      for (d = Integer.MAX_VALUE, i = position[v]; i <= depth; i++)
+        d = Math.min(d, rest[arcs[i]]);
+
+      subtract(position[v], depth + 1, d);
+
+      for (i = position[v] + 1; i <= depth; i++)
+        position[vertices[i]] = -1;
+
+      depth = position[v];
+    }
+  }
+
+  private void subtract(int from, int to, int d) {
+    for (int i = from; i < to; i++) {
+      rest[arcs[i]] -= d;
+      rest[reverse[arcs[i]]] += d;
+    }
+  }
+
+  /**
+   * Returns the buffer of the vertices of the current path, from the source to
+   * the sink, which is overwritten by the next path.
+   *
+   * @return the vertex buffer, with {@link #length()} vertices
+   */
+  public int[] getVertices() {
+    return vertices;
+  }
+
+  /**
+   * Returns the buffer of the arcs of the current path in the residual network,
+   * which is overwritten by the next path.
+   *
+   * @return the arc buffer, with {@code length() - 1} arcs
+   */
+  public int[] getArcs() {
+    return arcs;
+  }
+
+  /**
+   * Returns the number of vertices of the current path.
+   *
+   * @return the length of the path, or {@code 0} if there is none
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Returns the flow along the current path.
+   *
+   * @return the flow of the path, or {@code 0} if there is none
+   */
+  public int getFlow() {
+    return flow;
+  }
+}
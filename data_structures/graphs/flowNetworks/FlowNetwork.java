@@ -193,6 +193,7 @@ public final class FlowNetwork {
     private int v;
     private int c;
     private int f;
+    private int w;
 
     private Edge(int u, int v) {
       this.u = u;
@@ -249,6 +250,15 @@ public final class FlowNetwork {
       return f;
     }
 
+    /**
+     * Retrieves the cost per unit of flow of the edge.
+     *
+     * @return the edge cost
+     */
+    public int getCost() {
+      return w;
+    }
+
     /**
      * Sets the capacity of the edge.
      *
@@ -273,6 +283,15 @@ public final class FlowNetwork {
       this.f = flow;
     }
 
+    /**
+     * Sets the cost per unit of flow of the edge, which may be negative.
+     *
+     * @param cost the new edge cost
+     */
+    public void setCost(int cost) {
+      this.w = cost;
+    }
+
     /**
      * Adds the flow to the current flow of the edge.
      *
@@ -343,8 +362,10 @@ public final class FlowNetwork {
         G[i] = new Edge[rows];
 
         for (j = 0; j < rows; j++) {
-          if (N[i][j] != null) 
+          if (N[i][j] != null) {
             G[i][j] = new Edge(i, j, N[i][j].c, N[i][j].f);
+            G[i][j].w = N[i][j].w;
+          }
         }
       }
     }
@@ -380,8 +401,10 @@ public final class FlowNetwork {
         G[i] = new Edge[newRows];
 
         for (j = 0; j < currRows; j++) {
-          if (N[i][j] != null) 
+          if (N[i][j] != null) {
             G[i][j] = new Edge(i, j, N[i][j].c, N[i][j].f);
+            G[i][j].w = N[i][j].w;
+          }
         }
       }
     }
@@ -397,8 +420,10 @@ public final class FlowNetwork {
     FlowNetwork G = new FlowNetwork(rows);
 
     for (int u : getVertices()) {
-      for (Edge edge : getEdges(u))
+      for (Edge edge : getEdges(u)) {
         G.addEdge(edge.v, u, edge.c, edge.f);
+        G.G[edge.v][u].w = edge.w;
+      }
     }
 
     return G;
@@ -782,6 +807,44 @@ public final class FlowNetwork {
     return getEdge(u, v).getFlow();
   }
 
+  /**
+   * Retrieves the cost per unit of flow for an edge.
+   *
+   * @param u the u vertex index
+   * @param v the v vertex index
+   * @return the edge cost
+   *
+   * @throws IllegalArgumentException if either vertex is negative or greater than
+   *                                  the flow network length
+   * @throws NoSuchElementException   if the edge doesn't exist in the flow
+   *                                  network
+   */
+  public int getEdgeCost(int u, int v) {
+    if (!hasEdge(u, v))
+      throw new NoSuchElementException("Edge (" + u + ", " + v + ") does not exist.");
+    return getEdge(u, v).getCost();
+  }
+
+  /**
+   * Update an existing edge cost per unit of flow, which may be negative. The
+   * costs are only used by the minimum-cost flow algorithms, and default to
+   * {@code 0}. If the edge doesn't exist, it will throw an exception.
+   *
+   * @param u    the u vertex index
+   * @param v    the v vertex index
+   * @param cost the new edge cost
+   *
+   * @throws IllegalArgumentException if either vertex is negative or greater than
+   *                                  the flow network length
+   * @throws NoSuchElementException   if the edge doesn't exist in the flow
+   *                                  network
+   */
+  public void setEdgeCost(int u, int v, int cost) {
+    if (!hasEdge(u, v))
+      throw new NoSuchElementException("Edge (" + u + ", " + v + ") does not exist.");
+    G[u][v].w = cost;
+  }
+
   /**
    * Update an existing edge capacity. If the edge doesn't exist, it will throw an
    * exception.
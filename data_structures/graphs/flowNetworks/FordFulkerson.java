@@ -1,5 +1,7 @@
 package data_structures.graphs.flowNetworks;
 
+import static java.util.Arrays.fill;
+
 import data_structures.linkedLists.LinkedList;
 
 /**
@@ -41,6 +43,11 @@ public final class FordFulkerson extends MaxFlowAlgorithm {
    * Runs the Ford-Fulkerson algorithm to find the maximum flow in the specified flow
    * network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -53,9 +60,29 @@ public final class FordFulkerson extends MaxFlowAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Ford-Fulkerson algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -103,21 +130,54 @@ public final class FordFulkerson extends MaxFlowAlgorithm {
     return computeMaxFlowArray(new FlowNetwork(network), source, sink);
   }
 
-  private static int computeMaxFlow(FlowNetwork network, int s, int t) {
-    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
-    Node[] VTS = new Node[network.getRows()];
-    int maxFlow = 0;
-
-    // Initialize nodes for vertices that exist
-    for (int v : network.getVertices())
-      VTS[v] = new Node(v);
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int[] arc = new int[network.getRows()], stack = new int[network.getRows()];
 
     // While there is a path p from source to sink in residual network Gf that can
-    // be augmented
-    while (FF_DFS(network, VTS, s, t))
-      // Find the minimum residual capacity of all edges from s to t along path p
-      maxFlow += residualCapacity(G, VTS, Integer.MAX_VALUE, t);
-    return maxFlow;
+    // be augmented, augment the flow by the residual capacity of the path
+    while (residualDFS(network, arc, stack, s, t))
+      augment(network, arc, s, t);
+    return network.getFlowValue(s);
+  }
+
+  /**
+   * Depth-first search of the {@link ResidualNetwork} for a path from the source
+   * to the sink with a positive residual capacity, using an explicit stack of
+   * vertices instead of recursion so that long paths cannot overflow the call
+   * stack.
+   *
+   * @param network the residual network
+   * @param arc     the arc each vertex was reached through
+   * @param stack   the stack of {@code |V|} vertices, reused between searches
+   * @param s       the source
+   * @param t       the sink
+   * @return whether there exists a path from source to sink that can be augmented
+   */
+  private static boolean residualDFS(ResidualNetwork network, int[] arc, int[] stack, int s, int t) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int u, v, e, top = 0;
+
+    fill(arc, NIL);
+    stack[top++] = s;
+
+    while (top > 0) {
+      u = stack[--top];
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (v != s && arc[v] == NIL && flows[e] < capacities[e]) {
+          arc[v] = e;
+
+          if (v == t)
+            return true;
+          stack[top++] = v;
+        }
+      }
+    }
+
+    return false;
   }
 
   /**
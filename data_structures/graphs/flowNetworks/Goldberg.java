@@ -23,6 +23,11 @@ public final class Goldberg extends PushRelabelAlgorithm {
    * Runs the Goldberg algorithm to find the maximum flow in the specified flow
    * network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -35,9 +40,29 @@ public final class Goldberg extends PushRelabelAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Goldberg algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -61,28 +86,54 @@ public final class Goldberg extends PushRelabelAlgorithm {
     return computeResidualGraph(new FlowNetwork(network), source, sink);
   }
 
-  private static int computeMaxFlow(FlowNetwork G, int s, int t) {
-    Node[] VTS = new Node[G.getRows()];
-    int u;
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int n = network.getRows();
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] height = new int[n], excess = new int[n], active = new int[n];
+    boolean[] listed = new boolean[n];
+    int u, v, e, top = 0;
 
-    // Initialize nodes for vertices that exist
-    for (int v : G.getVertices())
-      VTS[v] = new Node(v);
+    initializePreflow(network, height, excess, s);
+
+    for (e = offsets[s]; e < offsets[s + 1]; e++) {
+      v = heads[e];
+
+      if (v != s && v != t && excess[v] > 0 && !listed[v]) {
+        listed[v] = true;
+        active[top++] = v;
+      }
+    }
 
-    initializePreflow(G, VTS, s);
     // While there is an overflowing vertex
-    while ((u = overflowingVertex(G, VTS, s, t)) != -1) {
-      for (int v : G.getAdjacentVertices(u)) {
-        // If the overflowing vertex has a possible push operation
-        if (VTS[u].height == VTS[v].height + 1)
-          push(G, VTS, u, v);
-        // Otherwise, relabel the vertex until we can push the excess flow
-        else
-          relabel(G, VTS, u);
+    while (top > 0) {
+      u = active[top - 1];
+
+      if (excess[u] == 0) {
+        listed[u] = false;
+        top--;
+        continue;
+      }
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++)
+        if (height[u] == height[heads[e]] + 1 && network.residualCapacity(e) > 0)
+          break;
+
+      // If the overflowing vertex has a possible push operation
+      if (e < offsets[u + 1]) {
+        push(network, excess, u, e);
+        v = heads[e];
+
+        if (v != s && v != t && !listed[v]) {
+          listed[v] = true;
+          active[top++] = v;
+        }
       }
+      // Otherwise, relabel the vertex until we can push the excess flow
+      else
+        relabel(network, height, u);
     }
 
-    return VTS[t].excess;
+    return network.getFlowValue(s);
   }
 
   /**
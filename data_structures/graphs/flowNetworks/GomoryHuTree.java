@@ -0,0 +1,422 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * Gusfield(G)
+ * 1   for each vertex u in G.V
+ * 2       u.p = r, for a root vertex r
+ * 3   for each vertex s in G.V - {r}
+ * 4       t = s.p
+ * 5       (X, V - X) = a minimum cut between s and t, with s in X
+ * 6       s.w = the value of the cut
+ * 7       for each vertex u in X - {s} with u.p == t
+ * 8           u.p = s
+ * 9       if t.p is in X
+ * 10          s.p = t.p, t.p = s
+ * 11          s.w = t.w, t.w = the value of the cut
+ */
+
+/**
+ * <h3>Gomory-Hu Tree</h3>
+ *
+ * <p>
+ * A weighted tree on the vertices of an undirected network where the minimum
+ * cut between any two vertices is the lightest edge on the path between them,
+ * and removing that edge splits the vertices into the two sides of the cut.
+ * The edges of the {@link FlowNetwork} are taken as undirected, each with its
+ * capacity in both directions.
+ * </p>
+ *
+ * <p>
+ * Gusfield's algorithm builds the tree with {@code |V| - 1} maximum flows on
+ * the original network, without the contractions of Gomory and Hu's. Each
+ * vertex {@code s} but the root takes the minimum cut to its current parent,
+ * and the vertices on its side of the cut that shared the parent move under
+ * {@code s}. Every flow depends on the parents left by the cuts before it, so
+ * the flows run one after another, with {@link Dinic} on a single
+ * {@link ResidualNetwork} whose arc pairs hold both directions of each edge
+ * and whose flow is cleared between runs.
+ * </p>
+ *
+ * <p>
+ * Once built, the tree answers any number of queries without another flow:
+ * the value of a minimum cut takes {@code O(lg V)} time with a table of the
+ * lightest edge over each power-of-two run of ancestors, and the sides of the
+ * cut take {@code O(V)} time. Compared with calling
+ * {@link MaxFlowMinCut#minCutsPushRelabel(FlowNetwork, int, int)} for every
+ * pair, all {@code V^2} pairs cost {@code |V| - 1} flows.
+ * </p>
+ */
+public final class GomoryHuTree {
+  /**
+   * The parent of the root and of the rows that are not vertices.
+   */
+  private static final int NIL = -1;
+
+  /**
+   * The number of rows, and the root of the tree.
+   */
+  private final int rows, root;
+
+  /**
+   * The vertices of the network, and whether each row is one.
+   */
+  private final int[] vertices;
+  private final boolean[] present;
+
+  /**
+   * The undirected edges of the network.
+   */
+  private final int[] tails, heads, capacities;
+
+  /**
+   * The parent of each vertex in the tree and the weight of the edge to it.
+   */
+  private final int[] parent, weight;
+
+  /**
+   * The vertices in breadth-first order from the root.
+   */
+  private final int[] order;
+
+  /**
+   * The depth of each vertex, and for each {@code k} the ancestor
+   * {@code 2^k} edges up and the lightest edge on the way there.
+   */
+  private final int[] depth;
+  private final int[][] up, lightest;
+
+  /**
+   * Builds the Gomory-Hu tree of the specified network, treating every edge as
+   * undirected.
+   *
+   * @param network the flow network
+   *
+   * @throws NullPointerException     if the network is {@code null}
+   * @throws IllegalArgumentException if the network has no vertices
+   */
+  public GomoryHuTree(FlowNetwork network) {
+    ResidualNetwork snapshot = new ResidualNetwork(network);
+    int i, m = snapshot.getNumEdges();
+
+    vertices = network.getVertices();
+
+    if (vertices.length == 0)
+      throw new IllegalArgumentException("Flow network has no vertices.");
+
+    rows = network.getRows();
+    root = vertices[0];
+    present = new boolean[rows];
+    tails = new int[m];
+    heads = new int[m];
+    capacities = new int[m];
+    parent = new int[rows];
+    weight = new int[rows];
+    depth = new int[rows];
+
+    for (int v : vertices)
+      present[v] = true;
+
+    for (i = 0; i < m; i++) {
+      tails[i] = snapshot.getTail(snapshot.getArc(i));
+      heads[i] = snapshot.getHead(snapshot.getArc(i));
+      capacities[i] = snapshot.getCapacity(i);
+    }
+
+    build(new ResidualNetwork(rows, tails, heads, capacities, capacities, null));
+
+    int levels = 32 - Integer.numberOfLeadingZeros(vertices.length);
+
+    order = order();
+    up = new int[levels][];
+    lightest = new int[levels][];
+    lift();
+  }
+
+  /**
+   * Runs Gusfield's algorithm, one maximum flow per vertex but the root.
+   */
+  private void build(ResidualNetwork network) {
+    int[] queue = new int[rows];
+    boolean[] side = new boolean[rows];
+    int s, t, value;
+
+    fill(parent, NIL);
+
+    for (int v : vertices)
+      if (v != root)
+        parent[v] = root;
+
+    for (int k = 1; k < vertices.length; k++) {
+      s = vertices[k];
+      t = parent[s];
+
+      network.clearFlows();
+      value = Dinic.maxFlow(network, s, t);
+      reachable(network, s, side, queue);
+      weight[s] = value;
+
+      for (int v : vertices)
+        if (v != s && side[v] && parent[v] == t)
+          parent[v] = s;
+
+      // s takes the place of t if the cut puts t's parent on s's side
+      if (parent[t] != NIL && side[parent[t]]) {
+        parent[s] = parent[t];
+        parent[t] = s;
+        weight[s] = weight[t];
+        weight[t] = value;
+      }
+    }
+  }
+
+  /**
+   * Marks the vertices the source reaches in the residual network, the side of
+   * the minimum cut with the source.
+   */
+  private static void reachable(ResidualNetwork network, int s, boolean[] side, int[] queue) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int u, v, e, front = 0, back = 0;
+
+    fill(side, false);
+    side[s] = true;
+    queue[back++] = s;
+
+    while (front < back) {
+      u = queue[front++];
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (!side[v] && capacities[e] > flows[e]) {
+          side[v] = true;
+          queue[back++] = v;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fills the depths and the tables of ancestors and lightest edges, visiting
+   * each vertex after its parent.
+   */
+  private void lift() {
+    int k, v, a;
+
+    up[0] = new int[rows];
+    lightest[0] = new int[rows];
+
+    for (int u : order) {
+      up[0][u] = parent[u] == NIL ? u : parent[u];
+      lightest[0][u] = parent[u] == NIL ? Integer.MAX_VALUE : weight[u];
+      depth[u] = parent[u] == NIL ? 0 : depth[parent[u]] + 1;
+    }
+
+    for (k = 1; k < up.length; k++) {
+      up[k] = new int[rows];
+      lightest[k] = new int[rows];
+
+      for (v = 0; v < rows; v++) {
+        a = up[k - 1][v];
+        up[k][v] = up[k - 1][a];
+        lightest[k][v] = Math.min(lightest[k - 1][v], lightest[k - 1][a]);
+      }
+    }
+  }
+
+  /**
+   * Returns the vertices in breadth-first order from the root.
+   */
+  private int[] order() {
+    int[] first = new int[rows], next = new int[rows], order = new int[vertices.length];
+    int u, v, front = 0, back = 0;
+
+    fill(first, NIL);
+
+    for (int w : vertices) {
+      if (parent[w] != NIL) {
+        next[w] = first[parent[w]];
+        first[parent[w]] = w;
+      }
+    }
+
+    order[back++] = root;
+
+    while (front < back)
+      for (u = order[front++], v = first[u]; v != NIL; v = next[v])
+        order[back++] = v;
+
+    return order;
+  }
+
+  /**
+   * Returns the root of the tree.
+   *
+   * @return the root vertex
+   */
+  public int getRoot() {
+    return root;
+  }
+
+  /**
+   * Returns the parent of the vertex in the tree.
+   *
+   * @param v the vertex
+   * @return the parent of the vertex or {@code -1} if it is the root
+   *
+   * @throws IllegalArgumentException if the vertex is invalid
+   */
+  public int getParent(int v) {
+    checkVertex(v);
+    return parent[v];
+  }
+
+  /**
+   * Returns the weight of the tree edge between the vertex and its parent, the
+   * value of the minimum cut between them.
+   *
+   * @param v the vertex
+   * @return the weight of the edge to the parent or {@code 0} if the vertex is
+   *         the root
+   *
+   * @throws IllegalArgumentException if the vertex is invalid
+   */
+  public int getWeight(int v) {
+    checkVertex(v);
+    return weight[v];
+  }
+
+  /**
+   * Returns the value of the minimum cut between the two vertices, the lightest
+   * edge on the path between them in the tree.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return the value of the minimum cut or {@code 0} if the vertices are the
+   *         same
+   *
+   * @throws IllegalArgumentException if a vertex is invalid
+   */
+  public int minCutValue(int u, int v) {
+    checkVertex(u);
+    checkVertex(v);
+
+    if (u == v)
+      return 0;
+
+    int k, min = Integer.MAX_VALUE;
+
+    if (depth[u] < depth[v]) {
+      k = u;
+      u = v;
+      v = k;
+    }
+
+    // Lift u to the depth of v, then both to just below their common ancestor
+    for (k = up.length - 1; k >= 0; k--) {
+      if (depth[u] - (1 << k) >= depth[v]) {
+        min = Math.min(min, lightest[k][u]);
+        u = up[k][u];
+      }
+    }
+
+    if (u == v)
+      return min;
+
+    for (k = up.length - 1; k >= 0; k--) {
+      if (up[k][u] != up[k][v]) {
+        min = Math.min(min, Math.min(lightest[k][u], lightest[k][v]));
+        u = up[k][u];
+        v = up[k][v];
+      }
+    }
+
+    return Math.min(min, Math.min(weight[u], weight[v]));
+  }
+
+  /**
+   * Returns the side of a minimum cut between the two vertices that holds the
+   * first, the vertices left with it when the lightest edge on the path between
+   * them is removed from the tree.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return whether each row is a vertex on the side of {@code u}, all of them if
+   *         the vertices are the same
+   *
+   * @throws IllegalArgumentException if a vertex is invalid
+   */
+  public boolean[] minCutSide(int u, int v) {
+    checkVertex(u);
+    checkVertex(v);
+
+    boolean[] side = new boolean[rows];
+
+    if (u == v) {
+      System.arraycopy(present, 0, side, 0, rows);
+      return side;
+    }
+
+    int x = u, y = v, cut = NIL;
+
+    // Walk both up to their common ancestor, keeping the lightest tree edge
+    while (x != y) {
+      if (depth[x] < depth[y]) {
+        int z = x;
+        x = y;
+        y = z;
+      }
+
+      if (cut == NIL || weight[x] < weight[cut])
+        cut = x;
+      x = parent[x];
+    }
+
+    // The subtree under the edge is one side, and the rest is the other
+    boolean under = false;
+
+    for (int w : order) {
+      side[w] = w == cut || (parent[w] != NIL && side[parent[w]]);
+
+      if (w == u)
+        under = side[w];
+    }
+
+    if (!under)
+      for (int w : vertices)
+        side[w] = !side[w];
+    return side;
+  }
+
+  /**
+   * Returns the edges of the network crossing a minimum cut between the two
+   * vertices, as {@code "(u, v)"} strings in the direction they were added to
+   * the network, like {@link MaxFlowMinCut}.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return the edges of the minimum cut or an empty array if the vertices are
+   *         the same
+   *
+   * @throws IllegalArgumentException if a vertex is invalid
+   */
+  public String[] minCuts(int u, int v) {
+    boolean[] side = minCutSide(u, v);
+    String[] cuts = new String[tails.length];
+    int j = 0;
+
+    for (int i = 0; i < tails.length; i++)
+      if (side[tails[i]] != side[heads[i]])
+        cuts[j++] = "(" + tails[i] + ", " + heads[i] + ")";
+
+    return copyOf(cuts, j);
+  }
+
+  private void checkVertex(int v) {
+    if (v < 0 || v >= rows || !present[v])
+      throw new IllegalArgumentException("Vertex " + v + " does not exist in flow network.");
+  }
+}
@@ -0,0 +1,339 @@
+package data_structures.graphs.flowNetworks;
+
+/**
+ * A builder of the {@link ResidualNetwork} of a 2D or 3D grid, as in the s-t
+ * cuts of image segmentation and stereo. Every cell of the grid is a vertex,
+ * joined to its neighbour along each axis, 4-connected in 2D and 6-connected
+ * in 3D, and to two terminals: the source {@link #getSource()} and the sink
+ * {@link #getSink()}.
+ *
+ * <p>
+ * The capacities are kept in primitive arrays, one per axis and direction,
+ * and {@link #build()} writes the arcs straight into the residual network
+ * without any {@link FlowNetwork.Edge} objects or {@code V x V} matrix. Both
+ * directions between a pair of neighbours share one pair of arcs, the reverse
+ * arc holding the capacity from the neighbour back to the cell, so the flow on
+ * such an edge is negative when it runs towards the cell. An edge is only
+ * added when one of its capacities is positive.
+ * </p>
+ *
+ * <p>
+ * The network starts with the flow of every path {@code s -> u -> t} through a
+ * single cell already sent, saturating the smaller of its two terminal edges,
+ * so most cells are tied to at most one terminal and the max-flow algorithm
+ * only has to route what is left between the cells.
+ * </p>
+ *
+ * <p>
+ * The cells are numbered {@code x + width * (y + height * z)}, the source is
+ * the vertex after the last cell and the sink the one after it. The network is
+ * best solved with {@link BoykovKolmogorov}.
+ * </p>
+ */
+public final class GridNetwork {
+  /**
+   * The size of the grid along each axis.
+   */
+  private final int[] dims;
+
+  /**
+   * The number of cells, and the distance between the indices of neighbours
+   * along each axis.
+   */
+  private final int cells;
+  private final int[] strides;
+
+  /**
+   * The capacity of the edge from the source to each cell and from each cell
+   * to the sink.
+   */
+  private final int[] sources, sinks;
+
+  /**
+   * The capacity from each cell to its next neighbour along each axis, and
+   * from the neighbour back to the cell.
+   */
+  private final int[][] forward, backward;
+
+  /**
+   * Creates a 2D grid of the specified size, with every capacity {@code 0}.
+   *
+   * @param width  the number of cells along the {@code x} axis
+   * @param height the number of cells along the {@code y} axis
+   *
+   * @throws IllegalArgumentException if a size is less than {@code 1} or the
+   *                                  grid has too many cells
+   */
+  public GridNetwork(int width, int height) {
+    this(new int[] { width, height });
+  }
+
+  /**
+   * Creates a 3D grid of the specified size, with every capacity {@code 0}.
+   *
+   * @param width  the number of cells along the {@code x} axis
+   * @param height the number of cells along the {@code y} axis
+   * @param depth  the number of cells along the {@code z} axis
+   *
+   * @throws IllegalArgumentException if a size is less than {@code 1} or the
+   *                                  grid has too many cells
+   */
+  public GridNetwork(int width, int height, int depth) {
+    this(new int[] { width, height, depth });
+  }
+
+  private GridNetwork(int[] dims) {
+    long size = 1;
+
+    for (int d : dims) {
+      if (d < 1)
+        throw new IllegalArgumentException("Grid size must be at least 1.");
+      size *= d;
+
+      // Leave room for the two terminals
+      if (size > Integer.MAX_VALUE - 2)
+        throw new IllegalArgumentException("Grid has too many cells.");
+    }
+
+    this.dims = dims;
+    cells = (int) size;
+    strides = new int[dims.length];
+    sources = new int[cells];
+    sinks = new int[cells];
+    forward = new int[dims.length][cells];
+    backward = new int[dims.length][cells];
+
+    for (int i = 0, stride = 1; i < dims.length; stride *= dims[i++])
+      strides[i] = stride;
+  }
+
+  /**
+   * Returns the number of cells of the grid.
+   *
+   * @return the number of cells
+   */
+  public int getNumCells() {
+    return cells;
+  }
+
+  /**
+   * Returns the number of vertices of the network, the cells and the two
+   * terminals.
+   *
+   * @return the number of vertices
+   */
+  public int getRows() {
+    return cells + 2;
+  }
+
+  /**
+   * Returns the source vertex of the network.
+   *
+   * @return the source
+   */
+  public int getSource() {
+    return cells;
+  }
+
+  /**
+   * Returns the sink vertex of the network.
+   *
+   * @return the sink
+   */
+  public int getSink() {
+    return cells + 1;
+  }
+
+  /**
+   * Returns the vertex of the cell at the specified position of a 2D grid.
+   *
+   * @param x the position along the {@code x} axis
+   * @param y the position along the {@code y} axis
+   * @return the vertex of the cell
+   *
+   * @throws IllegalArgumentException if the position is outside the grid or the
+   *                                  grid is not 2D
+   */
+  public int cell(int x, int y) {
+    if (dims.length != 2)
+      throw new IllegalArgumentException("Grid is not 2D.");
+
+    return cell(new int[] { x, y });
+  }
+
+  /**
+   * Returns the vertex of the cell at the specified position of a 3D grid.
+   *
+   * @param x the position along the {@code x} axis
+   * @param y the position along the {@code y} axis
+   * @param z the position along the {@code z} axis
+   * @return the vertex of the cell
+   *
+   * @throws IllegalArgumentException if the position is outside the grid or the
+   *                                  grid is not 3D
+   */
+  public int cell(int x, int y, int z) {
+    if (dims.length != 3)
+      throw new IllegalArgumentException("Grid is not 3D.");
+
+    return cell(new int[] { x, y, z });
+  }
+
+  private int cell(int[] position) {
+    int v = 0;
+
+    for (int i = 0; i < dims.length; i++) {
+      if (position[i] < 0 || position[i] >= dims[i])
+        throw new IllegalArgumentException("Position is outside the grid.");
+      v += position[i] * strides[i];
+    }
+
+    return v;
+  }
+
+  /**
+   * Sets the capacities of the edges from the source to the cell and from the
+   * cell to the sink, the cost of labelling the cell with the sink side and
+   * with the source side of the cut.
+   *
+   * @param cell   the vertex of the cell
+   * @param source the capacity of the edge from the source
+   * @param sink   the capacity of the edge to the sink
+   *
+   * @throws IllegalArgumentException if the cell is invalid or a capacity is
+   *                                  less than {@code 0}
+   */
+  public void setTerminalCapacities(int cell, int source, int sink) {
+    checkCell(cell);
+    checkCapacity(source);
+    checkCapacity(sink);
+
+    sources[cell] = source;
+    sinks[cell] = sink;
+  }
+
+  /**
+   * Sets the capacity of the edges between the cell and its next neighbour
+   * along the axis, {@code 0} for {@code x}, {@code 1} for {@code y} and
+   * {@code 2} for {@code z}, to the same value in both directions.
+   *
+   * @param cell     the vertex of the cell
+   * @param axis     the axis of the neighbour
+   * @param capacity the capacity in both directions
+   *
+   * @throws IllegalArgumentException if the cell or axis is invalid, the cell
+   *                                  is on the last side of the grid along
+   *                                  the axis or the capacity is less than
+   *                                  {@code 0}
+   */
+  public void setNeighborCapacity(int cell, int axis, int capacity) {
+    setNeighborCapacity(cell, axis, capacity, capacity);
+  }
+
+  /**
+   * Sets the capacities of the edge from the cell to its next neighbour along
+   * the axis, {@code 0} for {@code x}, {@code 1} for {@code y} and {@code 2}
+   * for {@code z}, and of the edge from the neighbour back to the cell.
+   *
+   * @param cell            the vertex of the cell
+   * @param axis            the axis of the neighbour
+   * @param capacity        the capacity of the edge to the neighbour
+   * @param reverseCapacity the capacity of the edge from the neighbour
+   *
+   * @throws IllegalArgumentException if the cell or axis is invalid, the cell
+   *                                  is on the last side of the grid along
+   *                                  the axis or a capacity is less than
+   *                                  {@code 0}
+   */
+  public void setNeighborCapacity(int cell, int axis, int capacity, int reverseCapacity) {
+    checkCell(cell);
+    checkCapacity(capacity);
+    checkCapacity(reverseCapacity);
+
+    if (axis < 0 || axis >= dims.length)
+      throw new IllegalArgumentException("Axis " + axis + " does not exist in grid.");
+    if (cell / strides[axis] % dims[axis] == dims[axis] - 1)
+      throw new IllegalArgumentException("Cell " + cell + " has no next neighbour along axis " + axis + ".");
+
+    forward[axis][cell] = capacity;
+    backward[axis][cell] = reverseCapacity;
+  }
+
+  /**
+   * Builds the residual network of the grid, with a flow of
+   * {@code min(c(s, u), c(u, t))} along the terminal edges of every cell and
+   * {@code 0} on the others. Later changes to the grid are not reflected in the
+   * network.
+   *
+   * @return the residual network
+   *
+   * @throws IllegalStateException if the network has too many arcs for an
+   *                               array
+   */
+  public ResidualNetwork build() {
+    long count = 0;
+    int[] U, V, C, R, F;
+    int i, u, axis, next, shared, s = getSource(), t = getSink();
+
+    for (u = 0; u < cells; u++) {
+      if (sources[u] > 0)
+        count++;
+      if (sinks[u] > 0)
+        count++;
+
+      for (axis = 0; axis < dims.length; axis++)
+        if (forward[axis][u] > 0 || backward[axis][u] > 0)
+          count++;
+    }
+
+    if (2 * count > Integer.MAX_VALUE - 8)
+      throw new IllegalStateException("Grid has too many edges.");
+
+    U = new int[(int) count];
+    V = new int[(int) count];
+    C = new int[(int) count];
+    R = new int[(int) count];
+    F = new int[(int) count];
+
+    for (u = 0, i = 0; u < cells; u++) {
+      // Send the flow of the path s -> u -> t up front
+      shared = Math.min(sources[u], sinks[u]);
+
+      if (sources[u] > 0) {
+        U[i] = s;
+        V[i] = u;
+        F[i] = shared;
+        C[i++] = sources[u];
+      }
+
+      if (sinks[u] > 0) {
+        U[i] = u;
+        V[i] = t;
+        F[i] = shared;
+        C[i++] = sinks[u];
+      }
+
+      for (axis = 0; axis < dims.length; axis++) {
+        if (forward[axis][u] > 0 || backward[axis][u] > 0) {
+          next = u + strides[axis];
+          U[i] = u;
+          V[i] = next;
+          C[i] = forward[axis][u];
+          R[i++] = backward[axis][u];
+        }
+      }
+    }
+
+    return new ResidualNetwork(getRows(), U, V, C, R, F);
+  }
+
+  private void checkCell(int cell) {
+    if (cell < 0 || cell >= cells)
+      throw new IllegalArgumentException("Cell " + cell + " does not exist in grid.");
+  }
+
+  private static void checkCapacity(int capacity) {
+    if (capacity < 0)
+      throw new IllegalArgumentException("Capacity Constraint: capacity cannot be less than 0. ");
+  }
+}
@@ -0,0 +1,444 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Highest-Label(G, s, t)
+ * 1   Initialize-Preflow(G, s)
+ * 2   Global-Relabel(G, t)
+ * 3   while there is an active vertex u with u.h < |V|
+ * 4       u = the active vertex with the highest label
+ * 5       Discharge(u)
+ * 6       if u was relabeled and no other vertex has u's old label
+ * 7           Gap(u's old label)
+ * 8       if the relabels have scanned more than 6|V| + |E| arcs
+ * 9           Global-Relabel(G, t)
+ * 10  Global-Relabel(G, s)
+ * 11  while there is an active vertex u
+ * 12      Discharge(u) towards s
+ */
+
+/**
+ * <h3>Highest-Label Push-Relabel {@code O(V^2 E^(1/2))}</h3>
+ *
+ * <p>
+ * The push-relabel algorithm of {@link PushRelabelAlgorithm} with the
+ * selection rule and heuristics that make it fast in practice:
+ * </p>
+ *
+ * <ul>
+ * <li><b>Highest-label selection:</b> the active vertices are kept in buckets
+ * by height, and the one with the highest label is always discharged next, so
+ * excess is pushed as a wave down towards the sink. Each bucket is a list
+ * threaded through an {@code int} array, with no boxing.</li>
+ *
+ * <li><b>Global relabeling:</b> every height is set to the exact distance to the
+ * sink in the residual network with a breadth-first search backwards from the
+ * sink, at the start and again each time the relabels have done about
+ * {@code O(V + E)} work. Vertices that cannot reach the sink are lifted to
+ * {@code |V|} at once.</li>
+ *
+ * <li><b>Gap heuristic:</b> if a relabel empties the bucket of all the vertices
+ * at height {@code h}, no vertex above {@code h} can reach the sink any more,
+ * and they are all lifted to {@code |V|} without any more relabels.</li>
+ * </ul>
+ *
+ * <p>
+ * It runs in two phases. The first only discharges vertices below
+ * {@code |V|}, and ends with a maximum preflow: the excess at the sink is the
+ * value of the maximum flow and of the minimum cut, but some excess is still
+ * stranded at vertices that cannot reach the sink. The second phase returns it
+ * to the source, with the same engine aimed at the source, to turn the preflow
+ * into a flow. When only the value of the minimum cut is needed,
+ * {@link #minCutValue(ResidualNetwork, int, int)} skips the second phase.
+ * </p>
+ */
+public final class HighestLabel extends PushRelabelAlgorithm {
+  // Prevent this class from being instantiated
+  public HighestLabel() {
+    super();
+  }
+
+  /**
+   * Runs the Highest-Label algorithm to find the maximum flow in the specified
+   * flow network from the specified source to the sink.
+   *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the maximum flow from the source to the sink or {@code 0} if the
+   *         source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Highest-Label algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    if (source == sink)
+      return 0;
+
+    Labels L = new Labels(network);
+
+    L.preflow(source);
+    L.run(sink, source);
+    L.run(source, sink);
+    return network.getFlowValue(source);
+  }
+
+  /**
+   * Runs only the first phase of the Highest-Label algorithm to find the value of
+   * the minimum cut, which equals the maximum flow, between the source and the
+   * sink in the specified flow network.
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the capacity of the minimum cut or {@code 0} if the source is the
+   *         sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int minCutValue(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    return minCutValue(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs only the first phase of the Highest-Label algorithm on the
+   * {@link ResidualNetwork} in place to find the value of the minimum cut between
+   * the source and the sink, skipping the second phase that returns the
+   * stranded excess to the source.
+   *
+   * <p>
+   * The network is left holding a maximum preflow rather than a flow: the
+   * vertices that can still reach the sink in the residual network are the sink
+   * side of a minimum cut, and every arc into them from the source side is
+   * saturated. Running {@link #maxFlow(ResidualNetwork, int, int)} on it
+   * afterwards completes the flow.
+   * </p>
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the capacity of the minimum cut or {@code 0} if the source is the
+   *         sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int minCutValue(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    if (source == sink)
+      return 0;
+
+    Labels L = new Labels(network);
+
+    L.preflow(source);
+    L.run(sink, source);
+    return -network.getFlowValue(sink);
+  }
+
+  /**
+   * The heights, excesses and buckets of a run on a residual network. A phase is
+   * aimed at a target vertex, the sink and then the source, and leaves one
+   * vertex out entirely, the source and then the sink. A height of
+   * {@code |V|} means the vertex cannot reach the target.
+   */
+  private static final class Labels {
+    /**
+     * The work, in arcs scanned by relabels, between two global relabels is
+     * {@code ALPHA |V| + |E|}.
+     */
+    private static final int ALPHA = 6;
+
+    /**
+     * The fixed work counted for each relabel on top of its arcs.
+     */
+    private static final int BETA = 12;
+
+    private final ResidualNetwork N;
+    private final int n;
+    private final int[] offsets, heads, reverse, capacities, flows;
+
+    /**
+     * The height, excess and current arc of each vertex.
+     */
+    private final int[] height, excess, current;
+
+    /**
+     * The active vertices by height, {@code active[h]} is the first and
+     * {@code next[v]} the one after {@code v}.
+     */
+    private final int[] active, next;
+
+    /**
+     * All the vertices below {@code |V|} by height, for the gap heuristic, as
+     * doubly linked lists with {@code first[h]}, {@code after[v]} and
+     * {@code before[v]}.
+     */
+    private final int[] first, after, before;
+
+    /**
+     * The highest heights with an active vertex and with any vertex.
+     */
+    private int maxActive, maxHeight;
+
+    /**
+     * The work done by relabels since the last global relabel.
+     */
+    private long work;
+
+    Labels(ResidualNetwork network) {
+      N = network;
+      n = network.getRows();
+      offsets = network.getOffsets();
+      heads = network.getHeads();
+      reverse = network.getReverse();
+      capacities = network.getCapacities();
+      flows = network.getFlows();
+      height = new int[n];
+      excess = new int[n];
+      current = new int[n];
+      active = new int[n];
+      next = new int[n];
+      first = new int[n];
+      after = new int[n];
+      before = new int[n];
+    }
+
+    /**
+     * Saturates every arc leaving the source and computes the excess of every
+     * vertex from the flows, so that the network can start from any preflow.
+     */
+    void preflow(int s) {
+      int u, e;
+
+      for (e = offsets[s]; e < offsets[s + 1]; e++)
+        if (capacities[e] > flows[e])
+          N.push(e, capacities[e] - flows[e]);
+
+      for (u = 0; u < n; u++) {
+        excess[u] = 0;
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++)
+          excess[u] -= flows[e];
+      }
+    }
+
+    /**
+     * Discharges the active vertices, highest label first, towards the target
+     * until none of them can reach it.
+     */
+    void run(int target, int excluded) {
+      int u, threshold = ALPHA * n + N.getNumArcs();
+
+      globalRelabel(target, excluded);
+
+      while (maxActive >= 0) {
+        u = active[maxActive];
+
+        if (u == -1) {
+          maxActive--;
+          continue;
+        }
+
+        active[maxActive] = next[u];
+
+        // Lifted by a gap after it was made active
+        if (height[u] >= n)
+          continue;
+
+        discharge(u, target);
+
+        if (work > threshold)
+          globalRelabel(target, excluded);
+      }
+    }
+
+    /**
+     * Sets every height to the distance to the target in the residual network
+     * with a breadth-first search along the arcs backwards, and rebuilds the
+     * buckets.
+     */
+    private void globalRelabel(int target, int excluded) {
+      int[] queue = next;
+      int u, v, e, front = 0, back = 0;
+
+      fill(height, n);
+      fill(active, -1);
+      fill(first, -1);
+      height[target] = 0;
+      queue[back++] = target;
+
+      while (front < back) {
+        v = queue[front++];
+
+        for (e = offsets[v]; e < offsets[v + 1]; e++) {
+          u = heads[e];
+
+          // The arc (u, v) is the pair of (v, u)
+          if (height[u] == n && u != excluded && capacities[reverse[e]] > flows[reverse[e]]) {
+            height[u] = height[v] + 1;
+            queue[back++] = u;
+          }
+        }
+      }
+
+      maxActive = maxHeight = -1;
+
+      for (u = 0; u < n; u++) {
+        current[u] = offsets[u];
+
+        if (height[u] >= n || u == target)
+          continue;
+
+        link(u);
+
+        if (excess[u] > 0)
+          activate(u);
+      }
+
+      work = 0;
+    }
+
+    /**
+     * Pushes the excess of {@code u} along its admissible arcs, relabeling it
+     * whenever it runs out of them, until it has no excess or cannot reach the
+     * target.
+     */
+    private void discharge(int u, int target) {
+      int e, v, end = offsets[u + 1], flow;
+
+      while (true) {
+        for (e = current[u]; e < end; e++) {
+          v = heads[e];
+
+          if (height[v] == height[u] - 1 && capacities[e] > flows[e]) {
+            flow = Math.min(excess[u], capacities[e] - flows[e]);
+            flows[e] += flow;
+            flows[reverse[e]] -= flow;
+            excess[u] -= flow;
+
+            if (excess[v] == 0 && v != target)
+              activate(v);
+
+            excess[v] += flow;
+
+            if (excess[u] == 0)
+              break;
+          }
+        }
+
+        current[u] = e;
+
+        if (excess[u] == 0 || relabel(u))
+          return;
+      }
+    }
+
+    /**
+     * Relabels {@code u} to one more than the lowest height it has a residual arc
+     * to, or applies the gap heuristic if {@code u} was the last vertex at its
+     * height.
+     *
+     * @return whether {@code u} was lifted to {@code |V|}
+     */
+    private boolean relabel(int u) {
+      int h = height[u], min = n, arc = offsets[u], e, v;
+
+      unlink(u);
+      work += BETA + offsets[u + 1] - offsets[u];
+
+      // Gap: nothing above h can reach the target any more
+      if (first[h] == -1) {
+        for (int g = h + 1; g <= maxHeight; g++) {
+          for (v = first[g]; v != -1; v = after[v])
+            height[v] = n;
+          first[g] = -1;
+        }
+
+        maxHeight = h - 1;
+        height[u] = n;
+        return true;
+      }
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (height[v] + 1 < min && capacities[e] > flows[e]) {
+          min = height[v] + 1;
+          arc = e;
+        }
+      }
+
+      height[u] = min;
+
+      if (min >= n)
+        return true;
+
+      current[u] = arc;
+      link(u);
+      return false;
+    }
+
+    private void activate(int v) {
+      int h = height[v];
+
+      next[v] = active[h];
+      active[h] = v;
+      maxActive = Math.max(maxActive, h);
+    }
+
+    private void link(int v) {
+      int h = height[v];
+
+      before[v] = -1;
+      after[v] = first[h];
+
+      if (first[h] != -1)
+        before[first[h]] = v;
+
+      first[h] = v;
+      maxHeight = Math.max(maxHeight, h);
+    }
+
+    private void unlink(int v) {
+      if (before[v] != -1)
+        after[before[v]] = after[v];
+      else
+        first[height[v]] = after[v];
+
+      if (after[v] != -1)
+        before[after[v]] = before[v];
+    }
+  }
+}
@@ -0,0 +1,282 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Set-Capacity(G, f, (u, v), c)
+ * 1   if f(u, v) > c
+ * 2       u.e = u.e + f(u, v) - c
+ * 3       v.e = v.e - f(u, v) + c
+ * 4       f(u, v) = c
+ * 5   (u, v).c = c
+ *
+ * Max-Flow(G, s, t)
+ * 1   for each vertex u with u.e > 0
+ * 2       while u.e > 0
+ * 3           push u.e along a residual path from u to a vertex w with w.e < 0, s or t
+ * 4   for each vertex v with v.e < 0
+ * 5       while v.e < 0
+ * 6           push -v.e along a residual path from s or t to a vertex w with w.e < 0
+ * 7   augment f to a maximum flow with Dinic(G, s, t)
+ */
+
+/**
+ * Keeps a maximum flow of a {@link ResidualNetwork} up to date as the
+ * capacities of its edges change, without solving the network from scratch.
+ *
+ * <p>
+ * A maximum flow stays a flow when capacities increase, so it only needs to be
+ * augmented by the new augmenting paths. A decrease below the flow of an edge
+ * {@code (u, v)} cuts the flow down to the new capacity, which leaves excess
+ * at {@code u} and a deficit at {@code v}. Before augmenting, the flow is
+ * repaired by pushing each excess along a residual path to a deficit, which
+ * keeps the value of the flow, or back to the source or the sink if there is
+ * no such path, and then filling each remaining deficit from the source or the
+ * sink. Both paths always exist: the excess at {@code u} arrived along a path
+ * of flow from a deficit, the source, or the sink through a cycle, and
+ * reversing it is a residual path, and likewise for the flow leaving a
+ * deficit.
+ * </p>
+ *
+ * <p>
+ * The repair takes one breadth-first search per path, and the augmentation is
+ * {@link Dinic#maxFlow(ResidualNetwork, int, int)} on the repaired flow, whose
+ * first search ends at once if none of the changes opened a new path. Changes
+ * are batched: {@link #setCapacity(int, int)} only records the imbalance and
+ * the next {@link #maxFlow()} repairs and augments once for all of them.
+ * </p>
+ *
+ * <p>
+ * The network is updated in place, so its flow can be read back per edge after
+ * each {@link #maxFlow()}. It must hold a flow, such as the zero flow or the
+ * result of an earlier max-flow run, when the solver is created, and must not
+ * be changed other than through the solver. It is not thread-safe.
+ * </p>
+ */
+public final class IncrementalMaxFlow {
+  /**
+   * Represents no arc.
+   */
+  private static final int NIL = -1;
+
+  /**
+   * Marks the roots of a search, which are reached through no arc.
+   */
+  private static final int ROOT = -2;
+
+  /**
+   * The network being solved.
+   */
+  private final ResidualNetwork network;
+
+  /**
+   * The source and the sink vertices.
+   */
+  private final int s, t;
+
+  /**
+   * The excess of each vertex, positive for more flow in than out and negative
+   * for a deficit, left by capacity decreases that have not been repaired yet.
+   */
+  private final int[] excess;
+
+  /**
+   * The vertices with a nonzero excess, each listed once.
+   */
+  private final int[] pending;
+  private final boolean[] listed;
+  private int size;
+
+  /**
+   * The arc each vertex was reached through and the queue of a search.
+   */
+  private final int[] arc, queue;
+
+  /**
+   * The value of the maximum flow, if no capacity changed since it was
+   * computed.
+   */
+  private int value;
+  private boolean solved;
+
+  /**
+   * Creates a solver for the maximum flow from the source to the sink of the
+   * specified network, starting from its current flow.
+   *
+   * @param network the residual network
+   * @param source  the source vertex
+   * @param sink    the sink vertex
+   *
+   * @throws NullPointerException     if the network is {@code null}
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public IncrementalMaxFlow(ResidualNetwork network, int source, int sink) {
+    if (network == null)
+      throw new NullPointerException("ResidualNetwork cannot be null.");
+
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    int n = network.getRows();
+
+    this.network = network;
+    s = source;
+    t = sink;
+    excess = new int[n];
+    pending = new int[n];
+    listed = new boolean[n];
+    arc = new int[n];
+    queue = new int[n];
+  }
+
+  /**
+   * Returns the network being solved.
+   *
+   * @return the residual network
+   */
+  public ResidualNetwork getNetwork() {
+    return network;
+  }
+
+  /**
+   * Sets the capacity of the specified edge. If the edge carries more flow than
+   * the new capacity, the flow is cut down and the imbalance is repaired by the
+   * next {@link #maxFlow()}.
+   *
+   * @param edge     the index of the edge, in the order the edges were given
+   * @param capacity the new capacity
+   *
+   * @throws IndexOutOfBoundsException if the edge index is invalid
+   * @throws IllegalArgumentException  if the capacity is negative
+   */
+  public void setCapacity(int edge, int capacity) {
+    int a = network.getArc(edge), overflow = network.setCapacity(edge, capacity);
+
+    solved = false;
+
+    if (overflow > 0) {
+      addExcess(network.getTail(a), overflow);
+      addExcess(network.getHead(a), -overflow);
+    }
+  }
+
+  /**
+   * Returns the value of a maximum flow from the source to the sink for the
+   * current capacities, repairing the flow left by any capacity decreases and
+   * augmenting it to a maximum flow.
+   *
+   * @return the value of the maximum flow, or {@code 0} if the source is the
+   *         sink
+   */
+  public int maxFlow() {
+    if (solved)
+      return value;
+
+    repair();
+    value = Dinic.maxFlow(network, s, t);
+    solved = true;
+    return value;
+  }
+
+  private void addExcess(int u, int e) {
+    // The source and the sink are allowed any imbalance
+    if (u == s || u == t)
+      return;
+
+    excess[u] += e;
+
+    if (!listed[u]) {
+      listed[u] = true;
+      pending[size++] = u;
+    }
+  }
+
+  /**
+   * Pushes every excess to a deficit or back to the source or the sink, then
+   * fills every remaining deficit from the source or the sink, leaving a flow.
+   *
+   * @throws IllegalStateException if the network did not hold a flow
+   */
+  private void repair() {
+    int i, u;
+
+    for (i = 0; i < size; i++) {
+      u = pending[i];
+
+      while (excess[u] > 0)
+        excess[u] -= push(u, excess[u]);
+    }
+
+    for (i = 0; i < size; i++) {
+      u = pending[i];
+
+      while (excess[u] < 0)
+        push(NIL, -excess[u]);
+
+      listed[u] = false;
+    }
+
+    size = 0;
+  }
+
+  /**
+   * Pushes at most {@code limit} units along a shortest residual path from
+   * {@code u} to a vertex with a deficit, the source or the sink, or from the
+   * source or the sink to a vertex with a deficit if {@code u} is {@link #NIL},
+   * capped by the residual capacity of the path and the deficit. Returns the
+   * amount pushed, after adding it to the deficit.
+   */
+  private int push(int u, int limit) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int x, v, e, w = NIL, cfP = limit, front = 0, back = 0;
+
+    fill(arc, NIL);
+
+    if (u != NIL)
+      queue[back++] = u;
+    else {
+      queue[back++] = s;
+      queue[back++] = t;
+    }
+
+    for (x = 0; x < back; x++)
+      arc[queue[x]] = ROOT;
+
+    while (w == NIL && front < back) {
+      x = queue[front++];
+
+      for (e = offsets[x]; e < offsets[x + 1]; e++) {
+        v = heads[e];
+
+        if (arc[v] == NIL && capacities[e] > flows[e]) {
+          arc[v] = e;
+          queue[back++] = v;
+
+          if (excess[v] < 0 || u != NIL && (v == s || v == t)) {
+            w = v;
+            break;
+          }
+        }
+      }
+    }
+
+    if (w == NIL)
+      throw new IllegalStateException("Network does not hold a flow.");
+
+    boolean deficit = excess[w] < 0;
+
+    if (deficit)
+      cfP = Math.min(cfP, -excess[w]);
+
+    for (v = w; arc[v] != ROOT; v = network.getTail(arc[v]))
+      cfP = Math.min(cfP, capacities[arc[v]] - flows[arc[v]]);
+
+    for (v = w; arc[v] != ROOT; v = network.getTail(arc[v]))
+      network.push(arc[v], cfP);
+
+    if (deficit)
+      excess[w] += cfP;
+    return cfP;
+  }
+}
@@ -1,5 +1,7 @@
 package data_structures.graphs.flowNetworks;
 
+import static java.util.Arrays.fill;
+
 import java.util.Iterator;
 
 import data_structures.linkedLists.LinkedList;
@@ -45,6 +47,9 @@ public class MaxFlowAlgorithm {
    * 
    * Is initialized different whether it will be used to build the paths as
    * strings or arrays based on the boolean constructor.
+   *
+   * Every path is kept until the end, so flows with many paths are better
+   * split by {@link FlowDecomposition}, which streams them from the final flow.
    */
   protected static final class FlowPaths {
     /**
@@ -259,4 +264,77 @@ public class MaxFlowAlgorithm {
 
     return 0;
   }
+
+  /**
+   * Searches the {@link ResidualNetwork} breadth-first for a path from the
+   * source to the sink whose arcs all have a residual capacity of at least
+   * {@code K}, stopping as soon as the sink is reached.
+   *
+   * @param network the residual network
+   * @param arc     the arc each vertex was reached through, or {@link #NIL} if
+   *                it was not reached
+   * @param queue   the queue of {@code |V|} vertices, reused between searches
+   * @param K       the minimum residual capacity of the arcs on the path
+   * @param s       the source vertex
+   * @param t       the sink vertex
+   * @return whether there is such a path from the source to the sink
+   */
+  protected static boolean residualBFS(ResidualNetwork network, int[] arc, int[] queue, int K, int s, int t) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int u, v, e, front = 0, back = 0;
+
+    fill(arc, NIL);
+    queue[back++] = s;
+
+    while (front < back) {
+      u = queue[front++];
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (v != s && arc[v] == NIL && capacities[e] - flows[e] >= K) {
+          arc[v] = e;
+
+          if (v == t)
+            return true;
+          queue[back++] = v;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Augments the flow along the path found by a search of the
+   * {@link ResidualNetwork}, backtracking from the sink to the source through
+   * the arc each vertex was reached by. The first pass finds the residual
+   * capacity of the path, {@code cf(p) = min {cf(e) : e is in p}}, and the
+   * second pushes it along every arc, cancelling it on the paired arcs.
+   *
+   * @param network the residual network
+   * @param arc     the arc each vertex on the path was reached through
+   * @param s       the source vertex
+   * @param t       the sink vertex
+   * @return the residual capacity of the path
+   */
+  protected static int augment(ResidualNetwork network, int[] arc, int s, int t) {
+    int[] heads = network.getHeads(), reverse = network.getReverse();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int v, e, cfP = Integer.MAX_VALUE;
+
+    for (v = t; v != s; v = heads[reverse[e]]) {
+      e = arc[v];
+      cfP = Math.min(cfP, capacities[e] - flows[e]);
+    }
+
+    for (v = t; v != s; v = heads[reverse[e]]) {
+      e = arc[v];
+      flows[e] += cfP;
+      flows[reverse[e]] -= cfP;
+    }
+
+    return cfP;
+  }
 }
@@ -1,6 +1,6 @@
 package data_structures.graphs.flowNetworks;
 
-import java.util.Arrays;
+import java.util.BitSet;
 
 public class MaxFlowMinCut extends MaxFlowAlgorithm {
   public MaxFlowMinCut() {
@@ -25,8 +25,10 @@ public class MaxFlowMinCut extends MaxFlowAlgorithm {
     if (source == sink)
       return new String[0];
 
-    int[][] Gf = EdmondKarp.residualGraph(network, source, sink);
-    return getMinCuts(network, Gf, source, sink);
+    ResidualNetwork R = new ResidualNetwork(network);
+
+    EdmondKarp.maxFlow(R, source, sink);
+    return toStrings(new MinCut(R, source));
   }
 
   /**
@@ -47,37 +49,74 @@ public class MaxFlowMinCut extends MaxFlowAlgorithm {
     if (source == sink)
       return new String[0];
 
-    int[][] Gf = Goldberg.residualGraph(network, source, sink);
-    return getMinCuts(network, Gf, source, sink);
+    ResidualNetwork R = new ResidualNetwork(network);
+
+    Goldberg.maxFlow(R, source, sink);
+    return toStrings(new MinCut(R, source));
   }
 
   /**
-   * Compares the residual network, the network after running the max flow
-   * algorithn with the original network. For each edge {@code (u, v)} of the
-   * residual network graph and the original graph, their residual capacity is
-   * compared. If {@code cf(u, v) == 0} for the edge in the residual network and
-   * the edge in the original graph {@code cf(u, v) > 0}, that edge is part of the
-   * min-cut.
-   * 
-   * @param network the flow network to find the min-cut of
-   * @param Gf      the residual network derived from the max flow algorithm
-   * @param s       the source vertex
-   * @param t       the sink vertex
+   * Prints all edges that are from a reachable vertex to non-reachable vertex in
+   * the original graph. Uses the {@link BoykovKolmogorov} algorithm on a
+   * {@link ResidualNetwork} snapshot of the network to get the maximum flow,
+   * which reuses its search trees across augmentations and is preferred on
+   * grid-like networks with many short paths. The edges are listed in the same
+   * order as {@link #minCutsEdmondsKarp(FlowNetwork, int, int)}.
+   *
+   * @param network the flow network to find the minimum cut
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
    * @return the array of edges in the min-cut
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
    */
-  private static String[] getMinCuts(FlowNetwork network, int[][] Gf, int s, int t) {
-    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
-    String[] cuts = new String[Gf.length];
-    int i = 0;
-
-    for (int u : network.getVertices()) {
-      for (int v : network.getAdjacentVertices(u)) {
-        if (Gf[u][v] == 0 && G[u][v].getCapacity() > G[u][v].getFlow())
-          cuts[i++] = "(" + u + ", " + v + ")";
-      }
-    }
-
-    return Arrays.copyOf(cuts, i);
+  public static String[] minCutsBoykovKolmogorov(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    if (source == sink)
+      return new String[0];
+
+    return toStrings(BoykovKolmogorov.minCut(new ResidualNetwork(network), source, sink));
   }
 
+  /**
+   * Runs the Dinic algorithm on the {@link ResidualNetwork} in place and returns
+   * the minimum cut of the maximum flow, with the source side as a bitset and
+   * the cut edges as primitive arrays. Unlike the methods that return strings,
+   * it takes {@code O(V + E)} time beyond the flow itself.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the minimum cut, empty if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static MinCut minCut(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    if (source == sink)
+      return new MinCut(network, new BitSet());
+
+    Dinic.maxFlow(network, source, sink);
+    return new MinCut(network, source);
+  }
+
+  /**
+   * Returns the edges of the minimum cut as {@code "(u, v)"} strings, in the
+   * order of the edges of the network.
+   *
+   * @param cut the minimum cut
+   * @return the array of edges in the min-cut
+   */
+  private static String[] toStrings(MinCut cut) {
+    int[] tails = cut.getTails(), heads = cut.getHeads();
+    String[] cuts = new String[cut.size()];
+
+    for (int i = 0; i < cuts.length; i++)
+      cuts[i] = "(" + tails[i] + ", " + heads[i] + ")";
+    return cuts;
+  }
 }
@@ -0,0 +1,198 @@
+package data_structures.graphs.flowNetworks;
+
+import java.util.BitSet;
+
+/**
+ * A minimum cut read off the residual state of a max-flow solver, with the
+ * source side of the cut as a {@link BitSet} and the edges crossing it as
+ * primitive arrays.
+ *
+ * <p>
+ * After a maximum flow, the vertices the source reaches in the residual
+ * network are the source side of a minimum cut, and every arc leaving them is
+ * saturated. They are found with a single breadth-first search over the arcs
+ * of the {@link ResidualNetwork} the solver ran on, and the crossing edges
+ * with one pass over its edges, so the cut takes {@code O(V + E)} time and no
+ * {@code V x V} matrix or strings. The flow is not copied: the cut is only a
+ * minimum cut if the network held a maximum flow when it was read.
+ * </p>
+ *
+ * <p>
+ * An edge of a network built by {@link GridNetwork} has a capacity in both
+ * directions, so it crosses the cut in whichever direction leaves the source
+ * side, and is reported that way round.
+ * </p>
+ */
+public final class MinCut {
+  /**
+   * The vertices on the source side of the cut.
+   */
+  private final BitSet side;
+
+  /**
+   * The index of each edge crossing the cut, and its vertices in the direction
+   * leaving the source side.
+   */
+  private final int[] edges, tails, heads;
+
+  /**
+   * The total capacity of the crossing edges.
+   */
+  private final long value;
+
+  /**
+   * Reads the minimum cut of the maximum flow the residual network holds, as
+   * left by any of the max-flow algorithms run on it in place.
+   *
+   * @param network the residual network holding a maximum flow
+   * @param source  the source of the flow
+   *
+   * @throws NullPointerException     if the network is {@code null}
+   * @throws IllegalArgumentException if the source vertex is invalid
+   */
+  public MinCut(ResidualNetwork network, int source) {
+    this(network, reachable(network, source));
+  }
+
+  /**
+   * Creates the cut with the specified source side, from a solver that already
+   * knows it.
+   */
+  MinCut(ResidualNetwork network, BitSet side) {
+    int[] heads = network.getHeads(), reverse = network.getReverse(), capacities = network.getCapacities();
+    int m = network.getNumEdges(), i, k = 0, a;
+    long total = 0;
+
+    for (i = 0; i < m; i++)
+      if (crossing(network, side, i) >= 0)
+        k++;
+
+    this.side = side;
+    edges = new int[k];
+    tails = new int[k];
+    this.heads = new int[k];
+
+    for (i = 0, k = 0; i < m; i++) {
+      if ((a = crossing(network, side, i)) < 0)
+        continue;
+
+      edges[k] = i;
+      tails[k] = heads[reverse[a]];
+      this.heads[k++] = heads[a];
+      total += capacities[a];
+    }
+
+    value = total;
+  }
+
+  /**
+   * Returns the arc of the edge that leaves the source side, or {@code -1} if
+   * the edge does not cross the cut or has no capacity in that direction.
+   */
+  private static int crossing(ResidualNetwork network, BitSet side, int edge) {
+    int a = network.getArc(edge), b = network.getReverse()[a];
+    boolean u = side.get(network.getHeads()[b]), v = side.get(network.getHeads()[a]);
+
+    if (u == v)
+      return -1;
+    if (v)
+      a = b;
+    return network.getCapacities()[a] > 0 ? a : -1;
+  }
+
+  private static BitSet reachable(ResidualNetwork network, int source) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] capacities = network.getCapacities(), flows = network.getFlows();
+    int[] queue = new int[network.getRows()];
+    BitSet side = new BitSet(network.getRows());
+    int u, v, e, front = 0, back = 0;
+
+    side.set(source);
+    queue[back++] = source;
+
+    while (front < back) {
+      u = queue[front++];
+
+      for (e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = heads[e];
+
+        if (capacities[e] > flows[e] && !side.get(v)) {
+          side.set(v);
+          queue[back++] = v;
+        }
+      }
+    }
+
+    return side;
+  }
+
+  /**
+   * Returns a copy of the source side of the cut.
+   *
+   * @return the vertices on the source side
+   */
+  public BitSet getSourceSide() {
+    return (BitSet) side.clone();
+  }
+
+  /**
+   * Returns whether the vertex is on the source side of the cut.
+   *
+   * @param v the vertex
+   * @return {@code true} if the vertex is on the source side
+   */
+  public boolean isOnSourceSide(int v) {
+    return side.get(v);
+  }
+
+  /**
+   * Returns the number of edges crossing the cut.
+   *
+   * @return the number of cut edges
+   */
+  public int size() {
+    return edges.length;
+  }
+
+  /**
+   * Returns the total capacity of the edges crossing the cut, the value of the
+   * maximum flow.
+   *
+   * @return the capacity of the cut
+   */
+  public long getValue() {
+    return value;
+  }
+
+  /**
+   * Returns the indices of the edges crossing the cut in the residual network,
+   * in increasing order.
+   *
+   * @return a copy of the edge indices
+   */
+  public int[] getEdges() {
+    return edges.clone();
+  }
+
+  /**
+   * Returns the {@code u} vertex of each edge crossing the cut, on the source
+   * side, in the order of {@link #getEdges()}.
+   *
+   * @return a copy of the tails of the cut edges
+   */
+  public int[] getTails() {
+    return tails.clone();
+  }
+
+  /**
+   * Returns the {@code v} vertex of each edge crossing the cut, on the sink
+   * side, in the order of {@link #getEdges()}.
+   *
+   * @return a copy of the heads of the cut edges
+   */
+  public int[] getHeads() {
+    return heads.clone();
+  }
+}
@@ -0,0 +1,436 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.fill;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-Free-Discharge(u)
+ * 1   while u.e > 0
+ * 2       h' = min {v.h : (u, v) of Ef}
+ * 3       v' = the vertex v with v.h == h'
+ * 4       if u.h > h'
+ * 5           d = min(u.e, cf(u, v'))
+ * 6           atomically (u, v').f = (u, v').f + d
+ * 7           atomically (v', u).f = (v', u).f - d
+ * 8           atomically u.e = u.e - d
+ * 9           atomically v'.e = v'.e + d
+ * 10      else u.h = h' + 1
+ */
+
+/**
+ * <h3>Parallel Lock-Free Push-Relabel</h3>
+ *
+ * <p>
+ * A multi-threaded push-relabel algorithm on a {@link ResidualNetwork}, after
+ * the lock-free algorithm of Hong and He. Every active vertex is discharged by
+ * exactly one thread, which is the only one that lowers its excess or raises
+ * its height, while other threads may push flow into it at the same time. The
+ * discharge does not need the neighbors' heights to stay put: instead of
+ * looking for an admissible arc with {@code u.h == v.h + 1}, it pushes to the
+ * lowest neighbor in the residual network whenever {@code u} is higher than it,
+ * and otherwise relabels {@code u} to one above it. Concurrent pushes can only
+ * add excess to {@code u} and residual capacity to its arcs, so a thread that
+ * reads a stale value still makes a legal push, and no locks are needed. The
+ * flows and the excesses are updated with atomic adds on the network's own
+ * arrays, and the heights are read and written as volatile.
+ * </p>
+ *
+ * <p>
+ * The discharges run in rounds across a {@link ForkJoinPool}, in the style of
+ * Baumstark, Blelloch and Shun. A vertex that receives flow while it has no
+ * excess is claimed, with a compare-and-set on its round stamp, for the next
+ * round, so it is never discharged by two threads at once. Between rounds,
+ * once the relabels have scanned about {@code 6|V| + |E|} arcs, a global
+ * relabel sets every height to its exact distance to the sink, or to
+ * {@code |V|} plus its distance to the source for vertices that can no longer
+ * reach the sink, with a level-synchronous breadth-first search whose levels
+ * are expanded in parallel.
+ * </p>
+ *
+ * <p>
+ * The algorithm always ends with a flow rather than a preflow, since excess
+ * that cannot reach the sink is discharged back to the source in the same
+ * rounds.
+ * </p>
+ */
+public final class ParallelPushRelabel extends PushRelabelAlgorithm {
+  /**
+   * Atomic and volatile access to the elements of the {@code int} arrays.
+   */
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  /**
+   * The number of vertices a task discharges or scans sequentially.
+   */
+  private static final int GRAIN = 256;
+
+  /**
+   * The work, in arcs scanned by relabels, between two global relabels is
+   * {@code ALPHA |V| + |E|}.
+   */
+  private static final int ALPHA = 6;
+
+  // Prevent this class from being instantiated
+  public ParallelPushRelabel() {
+    super();
+  }
+
+  /**
+   * Runs the parallel push-relabel algorithm on the common fork-join pool to
+   * find the maximum flow in the specified flow network from the specified
+   * source to the sink.
+   *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the maximum flow from the source to the sink or {@code 0} if the
+   *         source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the parallel push-relabel algorithm on the common fork-join pool on the
+   * {@link ResidualNetwork} in place, augmenting its current flow to a maximum
+   * flow from the source to the sink.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    return maxFlow(network, source, sink, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs the parallel push-relabel algorithm with the specified number of
+   * threads on the {@link ResidualNetwork} in place, augmenting its current flow
+   * to a maximum flow from the source to the sink. The threads are started for
+   * this run and stopped when it ends.
+   *
+   * @param network     the residual network
+   * @param source      the starting vertex
+   * @param sink        the destination vertex
+   * @param parallelism the number of threads
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid,
+   *                                  or the parallelism is less than {@code 1}
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink, int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      return maxFlow(network, source, sink, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static int maxFlow(ResidualNetwork network, int source, int sink, ForkJoinPool pool) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    if (source == sink)
+      return 0;
+
+    new Engine(network, source, sink, pool).run();
+    return network.getFlowValue(source);
+  }
+
+  /**
+   * The shared state of a run: the network's arrays, the heights, excesses and
+   * round stamps of the vertices, and the active vertices of the current and
+   * the next round.
+   */
+  private static final class Engine {
+    private final ResidualNetwork N;
+    private final ForkJoinPool pool;
+    private final int n, s, t;
+    private final int[] offsets, heads, reverse, capacities, flows;
+    private final int[] height, excess, stamp;
+
+    /**
+     * The active vertices of this round and of the next, which is filled by
+     * claiming slots with {@code size}.
+     */
+    private int[] active, next;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * The current and the next level of a global relabel, which is filled by
+     * claiming slots with {@code found}.
+     */
+    private int[] level, frontier;
+    private final AtomicInteger found = new AtomicInteger();
+
+    /**
+     * The current round, starting at {@code 1}.
+     */
+    private int round;
+
+    Engine(ResidualNetwork network, int source, int sink, ForkJoinPool pool) {
+      N = network;
+      this.pool = pool;
+      n = network.getRows();
+      s = source;
+      t = sink;
+      offsets = network.getOffsets();
+      heads = network.getHeads();
+      reverse = network.getReverse();
+      capacities = network.getCapacities();
+      flows = network.getFlows();
+      height = new int[n];
+      excess = new int[n];
+      stamp = new int[n];
+      active = new int[n];
+      next = new int[n];
+      level = new int[n];
+      frontier = new int[n];
+    }
+
+    void run() {
+      long work = 0, threshold = (long) ALPHA * n + N.getNumArcs();
+      int count = 0, u, e;
+
+      // Saturate the arcs leaving the source, then start from the excess of any preflow
+      for (e = offsets[s]; e < offsets[s + 1]; e++)
+        if (capacities[e] > flows[e])
+          N.push(e, capacities[e] - flows[e]);
+
+      for (u = 0; u < n; u++) {
+        for (e = offsets[u]; e < offsets[u + 1]; e++)
+          excess[u] -= flows[e];
+
+        if (u != s && u != t && excess[u] > 0)
+          active[count++] = u;
+      }
+
+      globalRelabel();
+
+      while (count > 0) {
+        round++;
+        size.set(0);
+        work += pool.invoke(new Discharge(this, 0, count));
+
+        int[] swap = active;
+        active = next;
+        next = swap;
+        count = size.get();
+
+        if (work > threshold) {
+          globalRelabel();
+          work = 0;
+        }
+      }
+    }
+
+    /**
+     * Discharges {@code u} with the lock-free discharge, and returns the number
+     * of arcs it scanned.
+     */
+    long discharge(int u) {
+      int e = (int) INTS.getVolatile(excess, u), end = offsets[u + 1];
+      int a, v, h, d, low, arc;
+      long work = 0;
+
+      while (e > 0) {
+        low = Integer.MAX_VALUE;
+        arc = -1;
+
+        // The lowest neighbor in the residual network
+        for (a = offsets[u]; a < end; a++) {
+          if (capacities[a] > (int) INTS.getVolatile(flows, a)) {
+            h = (int) INTS.getVolatile(height, heads[a]);
+
+            if (h < low) {
+              low = h;
+              arc = a;
+            }
+          }
+        }
+
+        work += end - offsets[u];
+
+        // Cannot happen for a vertex with excess, but never drop it
+        if (arc == -1) {
+          claim(u);
+          break;
+        }
+
+        if ((int) INTS.getVolatile(height, u) > low) {
+          d = Math.min(e, capacities[arc] - (int) INTS.getVolatile(flows, arc));
+          v = heads[arc];
+
+          INTS.getAndAdd(flows, arc, d);
+          INTS.getAndAdd(flows, reverse[arc], -d);
+          e = (int) INTS.getAndAdd(excess, u, -d) - d;
+
+          // v had no excess, so nobody owns it; claim it for the next round
+          if ((int) INTS.getAndAdd(excess, v, d) <= 0 && v != s && v != t)
+            claim(v);
+        }
+        else
+          INTS.setVolatile(height, u, low + 1);
+      }
+
+      return work;
+    }
+
+    /**
+     * Adds the vertex to the next round unless it is already in it.
+     */
+    private void claim(int v) {
+      int r = (int) INTS.getVolatile(stamp, v);
+
+      if (r != round && INTS.compareAndSet(stamp, v, r, round))
+        next[size.getAndIncrement()] = v;
+    }
+
+    /**
+     * Sets every height to its distance to the sink in the residual network, or
+     * to {@code |V|} plus its distance to the source if it cannot reach the sink,
+     * with two breadth-first searches along the arcs backwards. Vertices that
+     * can reach neither are lifted to {@code 2|V|}.
+     */
+    private void globalRelabel() {
+      fill(height, 2 * n);
+      height[s] = n;
+      height[t] = 0;
+      search(t, 0);
+      search(s, n);
+    }
+
+    /**
+     * Runs a level-synchronous breadth-first search backwards from the root,
+     * which already has its height {@code base}, expanding each level in
+     * parallel. A vertex is claimed for the next level with a compare-and-set
+     * on its height.
+     */
+    private void search(int root, int base) {
+      int count = 1;
+
+      level[0] = root;
+
+      for (int h = base + 1; count > 0; h++) {
+        found.set(0);
+        pool.invoke(new Expand(this, h, 0, count));
+        count = found.get();
+
+        int[] swap = level;
+        level = frontier;
+        frontier = swap;
+      }
+    }
+
+    /**
+     * Labels the vertices with no height yet and a residual arc into {@code v}
+     * with the height {@code h}, adding them to the next level.
+     */
+    void expand(int v, int h) {
+      int u, e;
+
+      for (e = offsets[v]; e < offsets[v + 1]; e++) {
+        u = heads[e];
+
+        // The arc (u, v) is the pair of (v, u)
+        if ((int) INTS.getVolatile(height, u) == 2 * n
+            && capacities[reverse[e]] > (int) INTS.getVolatile(flows, reverse[e])
+            && INTS.compareAndSet(height, u, 2 * n, h))
+          frontier[found.getAndIncrement()] = u;
+      }
+    }
+  }
+
+  /**
+   * Discharges the active vertices {@code active[lo]} to {@code active[hi - 1]},
+   * recursively halving the range across the fork-join pool until it has at
+   * most {@link #GRAIN} vertices, and returns the number of arcs scanned.
+   */
+  private static final class Discharge extends RecursiveTask<Long> {
+    private static final long serialVersionUID = 1L;
+
+    private final Engine E;
+    private final int lo, hi;
+
+    Discharge(Engine E, int lo, int hi) {
+      this.E = E;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected Long compute() {
+      if (hi - lo <= GRAIN) {
+        long work = 0;
+
+        for (int i = lo; i < hi; i++)
+          work += E.discharge(E.active[i]);
+        return work;
+      }
+
+      int mid = (lo + hi) >>> 1;
+      Discharge left = new Discharge(E, lo, mid);
+
+      left.fork();
+      return new Discharge(E, mid, hi).compute() + left.join();
+    }
+  }
+
+  /**
+   * Labels the neighbors of the vertices {@code level[lo]} to
+   * {@code level[hi - 1]} of a global relabel with the height {@code h},
+   * recursively halving the range across the fork-join pool.
+   */
+  private static final class Expand extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Engine E;
+    private final int h, lo, hi;
+
+    Expand(Engine E, int h, int lo, int hi) {
+      this.E = E;
+      this.h = h;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        for (int i = lo; i < hi; i++)
+          E.expand(E.level[i], h);
+        return;
+      }
+
+      int mid = (lo + hi) >>> 1;
+
+      invokeAll(new Expand(E, h, lo, mid), new Expand(E, h, mid, hi));
+    }
+  }
+}
@@ -236,4 +236,65 @@ public class PushRelabelAlgorithm {
     return -1;
   }
 
+  /**
+   * Initializes the preflow on the {@link ResidualNetwork}, saturating every arc
+   * leaving the source that still has a residual capacity. The source height is
+   * the number of rows of the network, so that excess that cannot reach the
+   * sink is pushed back to it.
+   *
+   * @param network the residual network
+   * @param height  the height of each vertex
+   * @param excess  the excess flow of each vertex
+   * @param s       the source vertex
+   */
+  protected static void initializePreflow(ResidualNetwork network, int[] height, int[] excess, int s) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int c;
+
+    height[s] = network.getRows();
+
+    for (int e = offsets[s]; e < offsets[s + 1]; e++) {
+      if ((c = network.residualCapacity(e)) > 0) {
+        network.push(e, c);
+        excess[heads[e]] += c;
+        excess[s] -= c;
+      }
+    }
+  }
+
+  /**
+   * Pushes the excess flow of {@code u} along the admissible arc {@code e}, the
+   * smaller of the excess and the residual capacity of the arc.
+   *
+   * @param network the residual network
+   * @param excess  the excess flow of each vertex
+   * @param u       the overflowing vertex to push flow from
+   * @param e       the arc leaving {@code u} to push flow along
+   */
+  protected static void push(ResidualNetwork network, int[] excess, int u, int e) {
+    int flow = Math.min(excess[u], network.residualCapacity(e));
+
+    network.push(e, flow);
+    excess[u] -= flow;
+    excess[network.getHeads()[e]] += flow;
+  }
+
+  /**
+   * Relabels {@code u} to one more than the lowest height of the vertices it has
+   * an arc with a positive residual capacity to.
+   *
+   * @param network the residual network
+   * @param height  the height of each vertex
+   * @param u       the overflowing vertex to relabel
+   */
+  protected static void relabel(ResidualNetwork network, int[] height, int u) {
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int min = Integer.MAX_VALUE;
+
+    for (int e = offsets[u]; e < offsets[u + 1]; e++)
+      if (height[heads[e]] < min && network.residualCapacity(e) > 0)
+        min = height[heads[e]];
+
+    height[u] = min + 1;
+  }
 }
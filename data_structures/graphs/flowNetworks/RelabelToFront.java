@@ -1,7 +1,6 @@
 package data_structures.graphs.flowNetworks;
 
 import data_structures.linkedLists.LinkedList;
-import data_structures.queues.Queue;
 
 /**
  * Relabel-To-Front-Queue(G, s, t)
@@ -93,6 +92,11 @@ public final class RelabelToFront extends PushRelabelAlgorithm {
    * Runs the Relabel-to-Front algorithm to find the maximum flow in the specified
    * flow network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -105,9 +109,29 @@ public final class RelabelToFront extends PushRelabelAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Relabel-to-Front algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -118,93 +142,62 @@ public final class RelabelToFront extends PushRelabelAlgorithm {
    * 
    * <p>
    * Using a queue allows the initial overflowing vertices to be queued and then
-   * enqueues any vertices {@code v} where excess flow was "Pushed onto" and the
-   * vertex {@code u} when relabeled.
+   * enqueues any vertices {@code v} where excess flow was "Pushed onto". The
+   * queue is a circular array of {@code |V|} vertices, since a vertex is never
+   * queued twice, and the neighbor list of each vertex is its range of arcs in
+   * the {@link ResidualNetwork}, with {@code current[u]} as the current arc.
    * </p>
    * 
-   * <p>
-   * Another modification: instead of using {@code while(!Q.isEmpty())} the
-   * condition {@code while(Q.size() > 1)} works because the last vertex that
-   * would exist in the queue before the algorithm finishes is the source vertex
-   * {@code s} which cannot be discharged from. This is due to the preflow
-   * initialization from the source to the adjacent vertices, where it already has
-   * discharged the maximum flow.
-   * </p>
-   * 
-   * @param G the flow network
-   * @param s the source vertex
-   * @param t the sink vertex
-   * @return the maximum flow from the source to the sink
+   * @param network the residual network
+   * @param s       the source vertex
+   * @param t       the sink vertex
+   * @return the value of the maximum flow from the source to the sink
    */
-  private static int computeMaxFlow(FlowNetwork G, int s, int t) {
-    Node[] VTS = new Node[G.getRows()];
-    Queue<Integer> Q = new Queue<>(G.getRows());
-    int[] V = G.getVertices();
-    int oldHeight;
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int n = network.getRows();
+    int[] offsets = network.getOffsets(), heads = network.getHeads();
+    int[] height = new int[n], excess = new int[n], current = new int[n], Q = new int[n];
+    boolean[] queued = new boolean[n];
+    int u, v, front = 0, size = 0;
 
-    for (int u : V)
-      VTS[u] = new Node(u);
-    
-    initializePreflow(G, VTS, s);
+    initializePreflow(network, height, excess, s);
 
-    for (int u : V)
-      if (u != s && u != t && VTS[u].excess > 0)
-        Q.enqueue(u);
-    
-    while (Q.size() > 1) {
-      int u = Q.dequeue();
+    for (u = 0; u < n; u++) {
+      current[u] = offsets[u];
 
-      if (u != s && u != t) {
-        oldHeight = VTS[u].height;
-        discharge(G, VTS, Q, u);
-
-        if (VTS[u].height > oldHeight && !Q.has(u))  
-          Q.enqueue(u); 
+      if (u != s && u != t && excess[u] > 0) {
+        queued[u] = true;
+        Q[size++] = u;
       }
     }
 
-    return VTS[t].excess;   
-  }
-
-  /**
-   * Discharge-Queue(Q, u)
-   * 1   while u.e > 0
-   * 2      for each edge of (u, v) of G.E
-   * 3          if cf(u, v) > 0 and u.h == u.v + 1  
-   * 4              Push(u, v)
-   * 5              Q.enqueue(v)
-   * 6          else Relabel(u)
-   */
-
-  /**
-   * Discharges excess flow from the overflowing vertex {@code u} with the Queue
-   * implementation. While the vertex is overflowing, iterate t rough each edge
-   * adjacent to {@code u} and find an edge with positiv residual capacity, where
-   * there is possible flow to push to, and pus it to vertex {@code v} and add it
-   * to the queue. Otherwise, relabel the overflowing vertex.
-   * 
-   * @param network the flow network
-   * @param VTS     the Relabel-to-Front nodes
-   * @param Q       the queue holding the overflowing vertices
-   * @param u       the overflowing vertex to push excess flow from
-   */
-  private static void discharge(FlowNetwork network, Node[] VTS, Queue<Integer> Q, int u) {
-    while(VTS[u].excess > 0) {
-      for (FlowNetwork.Edge edge : network.getEdges(u)) {
-        int f = edge.getFlow();
-        int c = edge.getCapacity();
-        int v = edge.getVertices()[1];
-
-        if (c > f && VTS[u].height == VTS[v].height + 1) {
-          push(network, VTS, u, v);
-
-          if (!Q.has(v))
-            Q.enqueue(v);
+    while (size > 0) {
+      u = Q[front];
+      front = (front + 1) % n;
+      size--;
+      queued[u] = false;
+
+      // Discharge-Queue(Q, u)
+      while (excess[u] > 0) {
+        if (current[u] == offsets[u + 1]) {
+          relabel(network, height, u);
+          current[u] = offsets[u];
+        }
+        else if (network.residualCapacity(current[u]) > 0 && height[u] == height[heads[current[u]]] + 1) {
+          push(network, excess, u, current[u]);
+          v = heads[current[u]];
+
+          if (v != s && v != t && !queued[v]) {
+            queued[v] = true;
+            Q[(front + size++) % n] = v;
+          }
         }
         else
-          relabel(network, VTS, u);
+          current[u]++;
       }
     }
+
+    return network.getFlowValue(s);
   }
 
   @SuppressWarnings("unused")
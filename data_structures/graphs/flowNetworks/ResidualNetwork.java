@@ -0,0 +1,553 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+/**
+ * A compressed adjacency-list residual network. Every edge {@code (u, v)} of
+ * the flow network is stored as a pair of arcs: the forward arc {@code (u, v)}
+ * with the capacity of the edge, and the reverse arc {@code (v, u)} with a
+ * capacity of {@code 0}, or with the capacity of the opposite edge for the
+ * networks built by {@link GridNetwork}. The arcs of all the vertices are
+ * packed one after another into primitive arrays (compressed sparse row
+ * format):
+ *
+ * <ul>
+ * <li>{@code offsets[u]} to {@code offsets[u + 1]} is the range of the arcs
+ * leaving {@code u}</li>
+ * <li>{@code heads[e]} is the {@code v} vertex of arc {@code e}</li>
+ * <li>{@code reverse[e]} is the index of the paired arc going the other
+ * way</li>
+ * <li>{@code capacities[e]} and {@code flows[e]} are the capacity and flow of
+ * arc {@code e}</li>
+ * <li>{@code costs[e]} is the cost per unit of flow of arc {@code e}, the
+ * negated cost of the edge on a reverse arc</li>
+ * </ul>
+ *
+ * <p>
+ * The flows are kept skew symmetric, {@code f(v, u) = -f(u, v)}, so the
+ * residual capacity of every arc is {@code cf(e) = c(e) - f(e)}, whether it is
+ * a forward arc or a reverse arc that cancels flow, and pushing flow along an
+ * arc updates its pair through {@code reverse[e]} without any lookup.
+ * </p>
+ *
+ * <p>
+ * Unlike the {@code V x V} matrix of {@link FlowNetwork}, the network takes
+ * {@code O(V + E)} space and scanning the arcs of a vertex takes
+ * {@code O(deg(u))} time, so networks with hundreds of thousands of vertices
+ * can be built directly from an edge list. Parallel and antiparallel edges are
+ * allowed, since each edge has its own pair of arcs.
+ * </p>
+ *
+ * <p>
+ * The arrays are shared with the max-flow algorithms, which run on the network
+ * in place, starting from its current flow. The topology cannot change after
+ * the network is built, but the capacities can be changed with
+ * {@link #setCapacity(int, int)}, and the flows can be read back per edge and
+ * cleared with {@link #clearFlows()}.
+ * </p>
+ */
+public final class ResidualNetwork {
+  /**
+   * The number of rows of the network.
+   */
+  private final int rows;
+
+  /**
+   * The number of edges, each stored as two arcs.
+   */
+  private final int edges;
+
+  /**
+   * The start of each vertex's arcs, with {@code offsets[rows]} holding the
+   * total number of arcs.
+   */
+  private final int[] offsets;
+
+  /**
+   * The {@code v} vertex of each arc and the index of its paired arc.
+   */
+  private final int[] heads, reverse;
+
+  /**
+   * The capacity and the flow of each arc.
+   */
+  private final int[] capacities, flows;
+
+  /**
+   * The cost per unit of flow of each arc.
+   */
+  private final int[] costs;
+
+  /**
+   * The forward arc of each edge, in the order the edges were given.
+   */
+  private final int[] arcs;
+
+  /**
+   * Whether each vertex is in the network.
+   */
+  private final boolean[] vertices;
+
+  /**
+   * Builds a residual network with the specified number of rows from an edge
+   * list, where each edge is an array of {@code {u, v, c}}, or
+   * {@code {u, v, c, w}} with a cost per unit of flow {@code w}. Every vertex
+   * from {@code 0} to {@code rows - 1} is in the network, and all the flows
+   * start at {@code 0}.
+   *
+   * @param rows  the number of vertices
+   * @param edges the edges as {@code {u, v, c}} or {@code {u, v, c, w}} arrays
+   *
+   * @throws NullPointerException     if the edges are {@code null}
+   * @throws IllegalArgumentException if the number of rows is negative, or an
+   *                                  edge is not a valid {@code {u, v, c}} or
+   *                                  {@code {u, v, c, w}} array with a
+   *                                  nonnegative capacity
+   */
+  public ResidualNetwork(int rows, int[][] edges) {
+    this(rows, checkEdges(rows, edges), null);
+  }
+
+  /**
+   * Takes a snapshot of the specified {@link FlowNetwork}, including its
+   * current flow and its costs. Every edge with a positive capacity becomes a
+   * pair of arcs; the zero capacity reverse edges the flow network keeps for
+   * each edge are the reverse arcs. Later changes to the flow network are not
+   * reflected in the snapshot.
+   *
+   * @param network the flow network to take a snapshot of
+   *
+   * @throws NullPointerException if the network is {@code null}
+   */
+  public ResidualNetwork(FlowNetwork network) {
+    this(rowsOf(network), edgesOf(network), verticesOf(network));
+  }
+
+  private ResidualNetwork(int rows, int[][] E, boolean[] V) {
+    this(rows, column(E, 0), column(E, 1), column(E, 2), null, column(E, 3), column(E, 4), V);
+  }
+
+  /**
+   * Builds a residual network from the columns of an edge list, where the
+   * reverse arc of edge {@code i} has a capacity of
+   * {@code reverseCapacities[i]} instead of {@code 0}, so a pair of arcs holds
+   * both directions of an undirected or antiparallel pair of edges. The flow
+   * on such an edge is negative when it runs from {@code v} to {@code u}. The
+   * columns are not validated.
+   *
+   * @param rows              the number of vertices
+   * @param tails             the {@code u} vertex of each edge
+   * @param heads             the {@code v} vertex of each edge
+   * @param capacities        the capacity of each edge
+   * @param reverseCapacities the capacity of each edge from {@code v} to
+   *                          {@code u}
+   * @param flows             the starting flow of each edge, or {@code null}
+   *                          for {@code 0}
+   */
+  ResidualNetwork(int rows, int[] tails, int[] heads, int[] capacities, int[] reverseCapacities, int[] flows) {
+    this(rows, tails, heads, capacities, reverseCapacities, null, flows, null);
+  }
+
+  private ResidualNetwork(int rows, int[] tails, int[] heads, int[] C, int[] R, int[] costs, int[] flows, boolean[] V) {
+    int[] next = new int[rows];
+    int i, a, b, u, v;
+
+    this.rows = rows;
+    edges = tails.length;
+    offsets = new int[rows + 1];
+    this.heads = new int[2 * edges];
+    reverse = new int[2 * edges];
+    capacities = new int[2 * edges];
+    this.flows = new int[2 * edges];
+    this.costs = new int[2 * edges];
+    arcs = new int[edges];
+
+    if (V == null) {
+      V = new boolean[rows];
+      fill(V, true);
+    }
+
+    vertices = V;
+
+    // Count the arcs leaving each vertex, then turn the counts into offsets
+    for (i = 0; i < edges; i++) {
+      offsets[tails[i] + 1]++;
+      offsets[heads[i] + 1]++;
+    }
+
+    for (u = 0; u < rows; u++) {
+      offsets[u + 1] += offsets[u];
+      next[u] = offsets[u];
+    }
+
+    for (i = 0; i < edges; i++) {
+      u = tails[i];
+      v = heads[i];
+      a = next[u]++;
+      b = next[v]++;
+
+      this.heads[a] = v;
+      this.heads[b] = u;
+      reverse[a] = b;
+      reverse[b] = a;
+      capacities[a] = C[i];
+
+      if (R != null)
+        capacities[b] = R[i];
+
+      if (costs != null) {
+        this.costs[a] = costs[i];
+        this.costs[b] = -costs[i];
+      }
+
+      if (flows != null) {
+        this.flows[a] = flows[i];
+        this.flows[b] = -flows[i];
+      }
+
+      arcs[i] = a;
+    }
+  }
+
+  /**
+   * Returns the specified field of every edge, with {@code 0} for the edges
+   * that do not have it, or {@code null} for an optional field no edge has.
+   */
+  private static int[] column(int[][] E, int k) {
+    int[] C = k < 3 ? new int[E.length] : null;
+
+    for (int i = 0; i < E.length; i++) {
+      if (E[i].length > k) {
+        if (C == null)
+          C = new int[E.length];
+        C[i] = E[i][k];
+      }
+    }
+
+    return C;
+  }
+
+  private static int[][] checkEdges(int rows, int[][] edges) {
+    if (rows < 0)
+      throw new IllegalArgumentException("Number of rows must be greater than 0.");
+    if (edges == null)
+      throw new NullPointerException("Edges cannot be null.");
+
+    for (int[] edge : edges) {
+      if (edge == null || edge.length != 3 && edge.length != 4)
+        throw new IllegalArgumentException("Each edge must be a {u, v, c} or {u, v, c, w} array.");
+
+      FlowNetwork.checkVertex(rows, edge[0]);
+      FlowNetwork.checkVertex(rows, edge[1]);
+
+      if (edge[2] < 0)
+        throw new IllegalArgumentException("Capacity Constraint: capacity cannot be less than 0. ");
+    }
+
+    return edges;
+  }
+
+  private static int rowsOf(FlowNetwork network) {
+    if (network == null)
+      throw new NullPointerException("FlowNetwork cannot be null.");
+    return network.getRows();
+  }
+
+  private static int[][] edgesOf(FlowNetwork network) {
+    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
+    int[][] E = new int[network.getNumEdges()][];
+    int n = network.getRows(), u, v, c, i = 0;
+
+    for (u = 0; u < n; u++) {
+      if (G[u] == null)
+        continue;
+
+      for (v = 0; v < n; v++) {
+        if (G[u][v] == null || (c = G[u][v].getCapacity()) == 0)
+          continue;
+
+        // Edges set directly on a reverse edge can outnumber the edge count
+        if (i == E.length)
+          E = copyOf(E, 2 * i + 1);
+
+        E[i++] = new int[] { u, v, c, G[u][v].getCost(), Math.max(0, Math.min(c, G[u][v].getFlow())) };
+      }
+    }
+
+    return copyOf(E, i);
+  }
+
+  private static boolean[] verticesOf(FlowNetwork network) {
+    boolean[] V = new boolean[network.getRows()];
+
+    for (int v : network.getVertices())
+      V[v] = true;
+    return V;
+  }
+
+  /**
+   * Returns the number of rows of the network.
+   *
+   * @return the number of rows
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of edges, each of which is stored as two arcs.
+   *
+   * @return the number of edges
+   */
+  public int getNumEdges() {
+    return edges;
+  }
+
+  /**
+   * Returns the number of arcs, twice the number of edges.
+   *
+   * @return the number of arcs
+   */
+  public int getNumArcs() {
+    return 2 * edges;
+  }
+
+  /**
+   * Returns whether the vertex is in the network.
+   *
+   * @param v the vertex index
+   * @return whether the vertex is in the network
+   *
+   * @throws IllegalArgumentException if the vertex is negative or greater than
+   *                                  the network length
+   */
+  public boolean hasVertex(int v) {
+    FlowNetwork.checkVertex(rows, v);
+    return vertices[v];
+  }
+
+  /**
+   * Returns the number of arcs leaving the specified vertex, counting the
+   * reverse arcs of the edges entering it.
+   *
+   * @param u the vertex index
+   * @return the number of arcs leaving the vertex
+   *
+   * @throws IllegalArgumentException if the vertex is negative or greater than
+   *                                  the network length
+   */
+  public int degree(int u) {
+    FlowNetwork.checkVertex(rows, u);
+    return offsets[u + 1] - offsets[u];
+  }
+
+  /**
+   * Returns the forward arc of the specified edge.
+   *
+   * @param edge the index of the edge, in the order the edges were given
+   * @return the index of the forward arc
+   *
+   * @throws IndexOutOfBoundsException if the edge index is invalid
+   */
+  public int getArc(int edge) {
+    return arcs[edge];
+  }
+
+  /**
+   * Returns the {@code u} vertex of the arc.
+   *
+   * @param arc the index of the arc
+   * @return the vertex the arc leaves
+   */
+  public int getTail(int arc) {
+    return heads[reverse[arc]];
+  }
+
+  /**
+   * Returns the {@code v} vertex of the arc.
+   *
+   * @param arc the index of the arc
+   * @return the vertex the arc enters
+   */
+  public int getHead(int arc) {
+    return heads[arc];
+  }
+
+  /**
+   * Returns the capacity of the specified edge.
+   *
+   * @param edge the index of the edge
+   * @return the edge capacity
+   */
+  public int getCapacity(int edge) {
+    return capacities[arcs[edge]];
+  }
+
+  /**
+   * Sets the capacity of the specified edge. If the edge carries more flow than
+   * the new capacity, its flow is cut down to the capacity, which leaves the
+   * difference as excess at its {@code u} vertex and as a deficit at its
+   * {@code v} vertex until the flow is repaired.
+   *
+   * @param edge     the index of the edge
+   * @param capacity the new capacity
+   * @return the amount of flow removed from the edge, or {@code 0} if its flow
+   *         fits the new capacity
+   *
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public int setCapacity(int edge, int capacity) {
+    if (capacity < 0)
+      throw new IllegalArgumentException("Capacity Constraint: capacity cannot be less than 0. ");
+
+    int a = arcs[edge], overflow = Math.max(0, flows[a] - capacity);
+
+    capacities[a] = capacity;
+    push(a, -overflow);
+    return overflow;
+  }
+
+  /**
+   * Returns the flow on the specified edge.
+   *
+   * @param edge the index of the edge
+   * @return the edge flow
+   */
+  public int getFlow(int edge) {
+    return flows[arcs[edge]];
+  }
+
+  /**
+   * Returns the cost per unit of flow of the specified edge.
+   *
+   * @param edge the index of the edge
+   * @return the edge cost
+   */
+  public int getCost(int edge) {
+    return costs[arcs[edge]];
+  }
+
+  /**
+   * Returns the residual capacity of the arc, {@code cf(e) = c(e) - f(e)}.
+   *
+   * @param arc the index of the arc
+   * @return the residual capacity
+   */
+  public int residualCapacity(int arc) {
+    return capacities[arc] - flows[arc];
+  }
+
+  /**
+   * Pushes flow along the arc, cancelling the same amount on its paired arc.
+   * The residual capacity is not checked.
+   *
+   * @param arc  the index of the arc
+   * @param flow the amount of flow to push
+   */
+  public void push(int arc, int flow) {
+    flows[arc] += flow;
+    flows[reverse[arc]] -= flow;
+  }
+
+  /**
+   * Returns the value of the current flow out of the source, the flow leaving
+   * it minus the flow entering it.
+   *
+   * @param source the source vertex
+   * @return the net flow out of the source
+   *
+   * @throws IllegalArgumentException if the vertex is negative or greater than
+   *                                  the network length
+   */
+  public int getFlowValue(int source) {
+    FlowNetwork.checkVertex(rows, source);
+
+    int value = 0;
+
+    for (int e = offsets[source]; e < offsets[source + 1]; e++)
+      value += flows[e];
+    return value;
+  }
+
+  /**
+   * Returns the cost of the current flow, the sum of the flow times the cost of
+   * every edge.
+   *
+   * @return the cost of the flow
+   */
+  public long getFlowCost() {
+    long cost = 0;
+
+    for (int a : arcs)
+      cost += (long) flows[a] * costs[a];
+    return cost;
+  }
+
+  /**
+   * Sets the flow on every arc back to {@code 0}.
+   */
+  public void clearFlows() {
+    fill(flows, 0);
+  }
+
+  /**
+   * Returns the arc offsets array, where the arcs of {@code u} are
+   * {@code [offsets[u], offsets[u + 1])}. The array is shared and must not be
+   * modified.
+   *
+   * @return the arc offsets
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Returns the arc heads array. The array is shared and must not be modified.
+   *
+   * @return the {@code v} vertex of each arc
+   */
+  public int[] getHeads() {
+    return heads;
+  }
+
+  /**
+   * Returns the paired arcs array. The array is shared and must not be
+   * modified.
+   *
+   * @return the index of the paired arc of each arc
+   */
+  public int[] getReverse() {
+    return reverse;
+  }
+
+  /**
+   * Returns the arc capacities array. The array is shared and must not be
+   * modified.
+   *
+   * @return the capacity of each arc
+   */
+  public int[] getCapacities() {
+    return capacities;
+  }
+
+  /**
+   * Returns the arc costs array, where the cost of a reverse arc is the negated
+   * cost of its edge. The array is shared and must not be modified.
+   *
+   * @return the cost of each arc
+   */
+  public int[] getCosts() {
+    return costs;
+  }
+
+  /**
+   * Returns the arc flows array. The array is shared, and the max-flow
+   * algorithms update it in place, keeping {@code f(reverse[e]) = -f(e)}.
+   *
+   * @return the flow of each arc
+   */
+  public int[] getFlows() {
+    return flows;
+  }
+}
@@ -44,6 +44,11 @@ public final class Scaling extends MaxFlowAlgorithm {
    * Runs the Max Flow Scaling algorithm to find the maximum flow in the specified
    * flow network from the specified source to the sink.
    *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
    * @param network the flow network
    * @param source  the starting vertex
    * @param sink    the destination vertex
@@ -56,9 +61,29 @@ public final class Scaling extends MaxFlowAlgorithm {
     network.checkVertex(source);
     network.checkVertex(sink);
 
+    return maxFlow(new ResidualNetwork(network), source, sink);
+  }
+
+  /**
+   * Runs the Max Flow Scaling algorithm on the {@link ResidualNetwork} in place,
+   * augmenting its current flow to a maximum flow from the source to the sink.
+   * The flow on each edge can be read back from the network afterwards.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid
+   */
+  public static int maxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
     if (source == sink)
       return 0;
-    return computeMaxFlow(new FlowNetwork(network), source, sink);
+    return computeMaxFlow(network, source, sink);
   }
 
   /**
@@ -106,29 +131,20 @@ public final class Scaling extends MaxFlowAlgorithm {
     return computeMaxFlowArray(new FlowNetwork(network), source, sink);
   }
 
-  private static int computeMaxFlow(FlowNetwork network, int s, int t) {
-    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
-    Node[] VTS = new Node[network.getRows()];
-    int C = 0, K, maxFlow = 0;
-
-    // Initialize nodes for vertices that exist
-    for (int v : network.getVertices())
-      VTS[v] = new Node(v);
+  private static int computeMaxFlow(ResidualNetwork network, int s, int t) {
+    int[] arc = new int[network.getRows()], queue = new int[network.getRows()];
+    int C = 0, K;
 
     // Find the C, the maximum capacity of the flow network
-    for (FlowNetwork.Edge edge : network.getEdges())
-      C = Math.max(C, edge.getCapacity());
+    for (int c : network.getCapacities())
+      C = Math.max(C, c);
 
-    // Compute K = 2^floor(lg C) = 2^floor(log10(C) * log2(2))
-    K = 1 << (int) Math.floor(Math.log(C) * 1.443);
-
-    while (K >= 1) {
-      while (scaling_BFS(network, VTS, K, s, t))
-        maxFlow += residualCapacity(G, VTS, Integer.MAX_VALUE, t);
-      K /= 2;
-    }
+    // K = 2^floor(lg C), then only augment along paths whose arcs can all take K
+    for (K = Integer.highestOneBit(C); K >= 1; K /= 2)
+      while (residualBFS(network, arc, queue, K, s, t))
+        augment(network, arc, s, t);
 
-    return maxFlow;
+    return network.getFlowValue(s);
   }
 
  /**
@@ -0,0 +1,396 @@
+package data_structures.graphs.flowNetworks;
+
+import static java.util.Arrays.fill;
+
+/**
+ * Successive-Shortest-Paths(G, s, t)
+ * 1   for each edge (u, v) in G.E
+ * 2       (u, v).f = 0
+ * 3   compute the potentials h with Bellman-Ford if any cost is negative, or h = 0
+ * 4   while there exists a path p from s to t in the residual network Gf
+ * 5       run Dijkstra from s with the reduced costs w'(u, v) = w(u, v) + h(u) - h(v)
+ * 6       for each vertex v
+ * 7           h(v) = h(v) + min(d(v), d(t))
+ * 8       while there exists a path p from s to t of arcs with w'(u, v) = 0
+ * 9           send a blocking flow along the arcs with w'(u, v) = 0, as in Dinic
+ */
+
+/**
+ * <h3>Successive Shortest Paths</h3>
+ *
+ * <p>
+ * Finds a maximum flow of minimum cost, where every edge has a cost per unit of
+ * flow. Like the Ford-Fulkerson method, it augments the flow along paths of the
+ * residual network until there are none left, but it always picks a path of
+ * minimum cost, where a reverse arc costs the negated cost of its edge. Each
+ * augmentation keeps the flow of minimum cost for its value, since the
+ * residual network never has a negative cost cycle, so the last one is a
+ * minimum-cost maximum flow.
+ * </p>
+ *
+ * <p>
+ * The reverse arcs have negative costs, so the shortest paths are found with
+ * Dijkstra's algorithm on the reduced costs {@code w'(u, v) = w(u, v) + h(u) -
+ * h(v)}, as in Johnson's algorithm. Adding each vertex's distance to its
+ * potential keeps every reduced cost nonnegative after the augmentation, which
+ * only adds reverse arcs of the shortest path with a reduced cost of
+ * {@code 0}. The search stops as soon as it reaches the sink, and every vertex
+ * it has not finished takes the sink's distance instead, which keeps the
+ * reduced costs nonnegative as well. Negative costs only need one run of
+ * Bellman-Ford for the first potentials.
+ * </p>
+ *
+ * <p>
+ * After the potentials are updated, the shortest paths are the paths of arcs
+ * with a reduced cost of {@code 0}, so instead of one path per search, the
+ * flow is augmented along all of them with Dinic's blocking flows on those
+ * arcs, whose reverse arcs have a reduced cost of {@code 0} as well (the
+ * primal-dual method). Each search takes {@code O(E lg V)} time, and there is
+ * one per distinct cost of a shortest path, at most {@code |f*|} with integer
+ * capacities, so it is best when the paths have few distinct costs.
+ * {@link CostScaling} is bounded by the costs instead and suits large networks
+ * with large capacities.
+ * </p>
+ */
+public final class SuccessiveShortestPaths extends MaxFlowAlgorithm {
+  /**
+   * The distance of a vertex that has not been reached.
+   */
+  private static final long INFINITY = Long.MAX_VALUE;
+
+  // Prevent this class from being instantiated
+  public SuccessiveShortestPaths() {
+    super();
+  }
+
+  /**
+   * Runs the successive shortest paths algorithm to find the cost of a
+   * minimum-cost maximum flow in the specified flow network from the source to
+   * the sink, with the costs set by
+   * {@link FlowNetwork#setEdgeCost(int, int, int)}.
+   *
+   * <p>
+   * The flow network is not modified, the algorithm runs on a
+   * {@link ResidualNetwork} snapshot of it.
+   * </p>
+   *
+   * @param network the flow network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the cost of the minimum-cost maximum flow or {@code 0} if the source
+   *         is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid,
+   *                                  or the network has a negative cost cycle
+   */
+  public static long minCost(FlowNetwork network, int source, int sink) {
+    network.checkVertex(source);
+    network.checkVertex(sink);
+
+    ResidualNetwork R = new ResidualNetwork(network);
+
+    minCostMaxFlow(R, source, sink);
+    return R.getFlowCost();
+  }
+
+  /**
+   * Runs the successive shortest paths algorithm on the {@link ResidualNetwork}
+   * in place, replacing its current flow with a minimum-cost maximum flow from
+   * the source to the sink. The cost of the flow is
+   * {@link ResidualNetwork#getFlowCost()}.
+   *
+   * @param network the residual network
+   * @param source  the starting vertex
+   * @param sink    the destination vertex
+   * @return the value of the maximum flow from the source to the sink or
+   *         {@code 0} if the source is the sink
+   *
+   * @throws IllegalArgumentException if the source or sink vertices are invalid,
+   *                                  or the network has a negative cost cycle
+   */
+  public static int minCostMaxFlow(ResidualNetwork network, int source, int sink) {
+    FlowNetwork.checkVertex(network.getRows(), source);
+    FlowNetwork.checkVertex(network.getRows(), sink);
+
+    network.clearFlows();
+
+    if (source == sink)
+      return 0;
+
+    new Search(network).run(source, sink);
+    return network.getFlowValue(source);
+  }
+
+  /**
+   * The potentials and the Dijkstra buffers of a run. The min-priority queue is
+   * an indexed binary min-heap keyed by distance, as in
+   * {@code DijkstraSearch}.
+   */
+  private static final class Search {
+    private final ResidualNetwork N;
+    private final int n;
+    private final int[] offsets, heads, reverse, capacities, flows, costs;
+    private final long[] h, dist;
+    private final int[] arc, heap, pos, level, current, path;
+    private int size;
+
+    Search(ResidualNetwork network) {
+      N = network;
+      n = network.getRows();
+      offsets = network.getOffsets();
+      heads = network.getHeads();
+      reverse = network.getReverse();
+      capacities = network.getCapacities();
+      flows = network.getFlows();
+      costs = network.getCosts();
+      h = new long[n];
+      dist = new long[n];
+      arc = new int[n];
+      heap = new int[n];
+      pos = new int[n];
+      level = new int[n];
+      current = new int[n];
+      path = new int[n];
+    }
+
+    void run(int s, int t) {
+      potentials();
+
+      while (dijkstra(s, t))
+        while (levels(s, t))
+          blockingFlow(s, t);
+    }
+
+    /**
+     * Returns whether the arc is <i>tight</i>, with a reduced cost of {@code 0}
+     * and a positive residual capacity. After the potentials are updated, the
+     * shortest paths to the sink are exactly the paths of tight arcs.
+     */
+    private boolean tight(int u, int e) {
+      return capacities[e] > flows[e] && costs[e] + h[u] - h[heads[e]] == 0;
+    }
+
+    /**
+     * Computes the first potentials as the shortest distances from a virtual
+     * vertex with a {@code 0} cost arc to every vertex, with the queue-based
+     * Bellman-Ford algorithm, if any arc with a capacity has a negative cost.
+     */
+    private void potentials() {
+      int[] length = new int[n];
+      int u, v, e, front = 0, queued = n;
+      boolean negative = false;
+
+      for (e = 0; e < costs.length && !negative; e++)
+        negative = costs[e] < 0 && capacities[e] > 0;
+
+      if (!negative)
+        return;
+
+      // A circular queue of the vertices whose distance changed, each queued once
+      for (u = 0; u < n; u++) {
+        heap[u] = u;
+        pos[u] = 1;
+      }
+
+      while (queued > 0) {
+        u = heap[front];
+        front = (front + 1) % n;
+        queued--;
+        pos[u] = 0;
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = heads[e];
+
+          if (capacities[e] > 0 && h[u] + costs[e] < h[v]) {
+            h[v] = h[u] + costs[e];
+
+            // A shortest path of n arcs repeats a vertex, so it has a negative cycle
+            if ((length[v] = length[u] + 1) >= n)
+              throw new IllegalArgumentException("Network contains a negative cost cycle.");
+
+            if (pos[v] == 0) {
+              heap[(front + queued++) % n] = v;
+              pos[v] = 1;
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on the reduced costs from the source until the
+     * sink is reached, then updates the potentials. Returns whether the sink
+     * was reached, with {@code arc} holding the arc each vertex was reached
+     * through.
+     */
+    private boolean dijkstra(int s, int t) {
+      int u, v, e;
+      long d;
+
+      fill(dist, INFINITY);
+      fill(pos, -1);
+      size = 0;
+      dist[s] = 0;
+      push(s);
+
+      while (size > 0) {
+        u = pop();
+
+        if (u == t)
+          break;
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = heads[e];
+
+          if (capacities[e] > flows[e] && (d = dist[u] + costs[e] + h[u] - h[v]) < dist[v]) {
+            dist[v] = d;
+            arc[v] = e;
+
+            if (pos[v] == -1)
+              push(v);
+            else
+              siftUp(pos[v]);
+          }
+        }
+      }
+
+      if (dist[t] == INFINITY)
+        return false;
+
+      for (v = 0; v < n; v++)
+        h[v] += Math.min(dist[v], dist[t]);
+      return true;
+    }
+
+    /**
+     * Labels each vertex with its level in the subnetwork of tight arcs, as in
+     * {@link Dinic}, and returns whether the sink has a level.
+     */
+    private boolean levels(int s, int t) {
+      int u, v, e, front = 0, back = 0;
+
+      fill(level, -1);
+      level[s] = 0;
+      heap[back++] = s;
+
+      while (front < back) {
+        u = heap[front++];
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = heads[e];
+
+          if (level[v] < 0 && tight(u, e)) {
+            level[v] = level[u] + 1;
+            heap[back++] = v;
+          }
+        }
+      }
+
+      return level[t] > -1;
+    }
+
+    /**
+     * Sends a blocking flow along the tight arcs between consecutive levels,
+     * with the same current arcs and explicit stack as {@link Dinic}. Every
+     * path it augments is a shortest path, so a single Dijkstra search is
+     * shared by all the shortest paths of the same cost.
+     */
+    private void blockingFlow(int s, int t) {
+      int u = s, v, e, i, cfP, depth = 0;
+
+      System.arraycopy(offsets, 0, current, 0, n);
+
+      while (true) {
+        if (u == t) {
+          cfP = Integer.MAX_VALUE;
+
+          for (i = 0; i < depth; i++)
+            cfP = Math.min(cfP, capacities[path[i]] - flows[path[i]]);
+
+          for (i = 0; i < depth; i++)
+            N.push(path[i], cfP);
+
+          // Retreat to the tail of the first saturated arc
+          for (i = 0; flows[path[i]] < capacities[path[i]]; i++)
+            ;
+
+          depth = i;
+          u = heads[reverse[path[i]]];
+          continue;
+        }
+
+        for (e = current[u]; e < offsets[u + 1]; e++) {
+          v = heads[e];
+
+          if (level[v] == level[u] + 1 && tight(u, e))
+            break;
+        }
+
+        current[u] = e;
+
+        if (e < offsets[u + 1]) {
+          path[depth++] = e;
+          u = heads[e];
+        }
+        else if (u == s)
+          return;
+        else {
+          level[u] = -1;
+          e = path[--depth];
+          u = heads[reverse[e]];
+          current[u]++;
+        }
+      }
+    }
+
+    private void push(int v) {
+      heap[size] = v;
+      pos[v] = size;
+      siftUp(size++);
+    }
+
+    private int pop() {
+      int u = heap[0];
+      pos[u] = -1;
+
+      if (--size > 0) {
+        heap[0] = heap[size];
+        pos[heap[0]] = 0;
+        siftDown(0);
+      }
+
+      return u;
+    }
+
+    private void siftUp(int i) {
+      int v = heap[i], p;
+
+      while (i > 0 && dist[heap[p = (i - 1) >>> 1]] > dist[v]) {
+        heap[i] = heap[p];
+        pos[heap[i]] = i;
+        i = p;
+      }
+
+      heap[i] = v;
+      pos[v] = i;
+    }
+
+    private void siftDown(int i) {
+      int v = heap[i], c;
+
+      while ((c = 2 * i + 1) < size) {
+        if (c + 1 < size && dist[heap[c + 1]] < dist[heap[c]])
+          c++;
+        if (dist[heap[c]] >= dist[v])
+          break;
+
+        heap[i] = heap[c];
+        pos[heap[i]] = i;
+        i = c;
+      }
+
+      heap[i] = v;
+      pos[v] = i;
+    }
+  }
+}
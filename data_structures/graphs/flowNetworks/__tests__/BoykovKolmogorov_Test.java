@@ -0,0 +1,147 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.BoykovKolmogorov;
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.GridNetwork;
+import data_structures.graphs.flowNetworks.MinCut;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class BoykovKolmogorov_Test {
+  FlowNetwork G = new FlowNetwork(10);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 16);
+    G.addEdge(0, 2, 13);
+    G.addEdge(2, 1, 4);
+    G.addEdge(1, 3, 12);
+    G.addEdge(2, 4, 14);
+    G.addEdge(3, 2, 9);
+    G.addEdge(3, 5, 20);
+    G.addEdge(4, 5, 4);
+    G.addEdge(4, 3, 7);
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new BoykovKolmogorov());
+  }
+
+  @Test
+  void boykovKolmogorov() {
+    assertEquals(23, BoykovKolmogorov.maxFlow(G, 0, 5));
+    assertEquals(0, BoykovKolmogorov.maxFlow(G, 0, 0));
+    assertEquals(0, BoykovKolmogorov.maxFlow(G, 5, 0));
+    assertThrows(IllegalArgumentException.class, () -> BoykovKolmogorov.maxFlow(G, 0, 10));
+  }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, BoykovKolmogorov.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+    assertEquals(-23, R.getFlowValue(5));
+
+    // Starting again from a maximum flow finds no more
+    assertEquals(23, BoykovKolmogorov.maxFlow(R, 0, 5));
+  }
+
+  @Test
+  void min_cut() {
+    MinCut cut = BoykovKolmogorov.minCut(new ResidualNetwork(G), 0, 5);
+
+    assertEquals(BitSet.valueOf(new long[] { 0b10111 }), cut.getSourceSide());
+    assertEquals(23, cut.getValue());
+    assertArrayEquals(new int[] { 1, 4, 4 }, cut.getTails());
+    assertArrayEquals(new int[] { 3, 3, 5 }, cut.getHeads());
+
+    // Empty when the source is the sink
+    cut = BoykovKolmogorov.minCut(new ResidualNetwork(G), 3, 3);
+    assertTrue(cut.getSourceSide().isEmpty());
+    assertEquals(0, cut.size());
+  }
+
+  @Test
+  void grid() {
+    // A bottleneck of 1 between the cells 1 and 2 of a row
+    GridNetwork grid = new GridNetwork(4, 1);
+
+    grid.setTerminalCapacities(0, 5, 0);
+    grid.setTerminalCapacities(3, 0, 5);
+    grid.setNeighborCapacity(0, 0, 3);
+    grid.setNeighborCapacity(1, 0, 1);
+    grid.setNeighborCapacity(2, 0, 3);
+
+    MinCut cut = BoykovKolmogorov.minCut(grid.build(), grid.getSource(), grid.getSink());
+
+    assertEquals(BitSet.valueOf(new long[] { 0b010011 }), cut.getSourceSide());
+    assertArrayEquals(new int[] { 1 }, cut.getTails());
+    assertArrayEquals(new int[] { 2 }, cut.getHeads());
+  }
+
+  @Test
+  void matches_dinic_on_grids() {
+    Random random = new Random(7);
+    GridNetwork grid = new GridNetwork(12, 10, 3);
+
+    for (int v = 0; v < grid.getNumCells(); v++) {
+      grid.setTerminalCapacities(v, random.nextInt(20), random.nextInt(20));
+
+      if (v % 12 < 11)
+        grid.setNeighborCapacity(v, 0, random.nextInt(10), random.nextInt(10));
+      if (v / 12 % 10 < 9)
+        grid.setNeighborCapacity(v, 1, random.nextInt(10));
+      if (v / 120 < 2)
+        grid.setNeighborCapacity(v, 2, random.nextInt(10));
+    }
+
+    int s = grid.getSource(), t = grid.getSink();
+    ResidualNetwork R = grid.build();
+    MinCut cut = BoykovKolmogorov.minCut(R, s, t);
+
+    assertEquals(Dinic.maxFlow(grid.build(), s, t), R.getFlowValue(s));
+    assertEquals(R.getFlowValue(s), cut.getValue());
+    // The source tree is the side a search of the residual network finds
+    assertEquals(new MinCut(R, s).getSourceSide(), cut.getSourceSide());
+  }
+
+  @Test
+  void matches_dinic_on_small_random_grids() {
+    // Small grids free and regrow vertices often, which once queued a vertex
+    // twice and overflowed the active queue
+    for (int seed = 0; seed < 200; seed++) {
+      Random random = new Random(seed);
+      int w = 2 + random.nextInt(6), h = 2 + random.nextInt(6), d = 1 + random.nextInt(5);
+      GridNetwork grid = new GridNetwork(w, h, d);
+
+      for (int v = 0; v < grid.getNumCells(); v++) {
+        grid.setTerminalCapacities(v, random.nextInt(20), random.nextInt(20));
+
+        if (v % w < w - 1)
+          grid.setNeighborCapacity(v, 0, random.nextInt(10), random.nextInt(10));
+        if (v / w % h < h - 1)
+          grid.setNeighborCapacity(v, 1, random.nextInt(10), random.nextInt(10));
+        if (v / (w * h) < d - 1)
+          grid.setNeighborCapacity(v, 2, random.nextInt(10), random.nextInt(10));
+      }
+
+      int s = grid.getSource(), t = grid.getSink(), flow = Dinic.maxFlow(grid.build(), s, t);
+
+      assertEquals(flow, BoykovKolmogorov.maxFlow(grid.build(), s, t), "seed " + seed);
+      assertEquals(flow, BoykovKolmogorov.minCut(grid.build(), s, t).getValue(), "seed " + seed);
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.EdmondKarp;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+import data_structures.graphs.flowNetworks.CostScaling;
+import data_structures.graphs.flowNetworks.SuccessiveShortestPaths;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class CostScaling_Test {
+  FlowNetwork G = new FlowNetwork(4);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 2);
+    G.addEdge(0, 2, 1);
+    G.addEdge(1, 2, 1);
+    G.addEdge(1, 3, 1);
+    G.addEdge(2, 3, 2);
+    G.setEdgeCost(0, 1, 1);
+    G.setEdgeCost(0, 2, 2);
+    G.setEdgeCost(1, 2, 1);
+    G.setEdgeCost(1, 3, 3);
+    G.setEdgeCost(2, 3, 1);
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new CostScaling());
+  }
+
+  /**
+   * Random edges over {@code n} vertices, with capacities of {@code 1} to
+   * {@code 20} and costs from {@code low} to {@code high}, only from smaller to
+   * larger vertices if {@code acyclic}.
+   */
+  int[][] randomEdges(Random random, int n, int m, int low, int high, boolean acyclic) {
+    int[][] edges = new int[m][];
+
+    for (int i = 0; i < m; i++) {
+      int u = random.nextInt(n), v = (u + 1 + random.nextInt(n - 1)) % n;
+
+      if (acyclic && u > v) {
+        int swap = u;
+        u = v;
+        v = swap;
+      }
+
+      edges[i] = new int[] { u, v, 1 + random.nextInt(20), low + random.nextInt(high - low + 1) };
+    }
+
+    return edges;
+  }
+
+  @Test
+  void minCost() {
+    assertEquals(10, CostScaling.minCost(G, 0, 3));
+    assertEquals(0, CostScaling.minCost(G, 0, 0));
+    assertEquals(0, CostScaling.minCost(G, 3, 0));
+  }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(3, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(10, R.getFlowCost());
+
+    // The flow is replaced rather than augmented
+    assertEquals(3, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(10, R.getFlowCost());
+  }
+
+  @Test
+  void cheaper_of_two_maximum_flows() {
+    // The shortest augmenting path, (1, 3), is the expensive one
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 4, 0 },
+      { 1, 3, 4, 10 },
+      { 1, 2, 4, 1 },
+      { 2, 3, 4, 1 }
+    });
+
+    assertEquals(4, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(8, R.getFlowCost());
+    assertEquals(0, R.getFlow(1));
+  }
+
+  @Test
+  void negative_costs() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 2, -3 },
+      { 0, 2, 2, 1 },
+      { 1, 3, 1, 2 },
+      { 2, 3, 2, -1 },
+      { 1, 2, 1, 0 }
+    });
+
+    assertEquals(EdmondKarp.maxFlow(new ResidualNetwork(4, new int[][] {
+      { 0, 1, 2 },
+      { 0, 2, 2 },
+      { 1, 3, 1 },
+      { 2, 3, 2 },
+      { 1, 2, 1 }
+    }), 0, 3), CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(-5, R.getFlowCost());
+  }
+
+  @Test
+  void cancels_negative_cost_cycles() {
+    // Sending a unit around (1, 2, 1) costs -4, whether or not it reaches the sink
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 1, 1 },
+      { 1, 2, 2, -5 },
+      { 2, 1, 1, 1 },
+      { 2, 3, 1, 1 }
+    });
+
+    assertEquals(1, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(-7, R.getFlowCost());
+  }
+
+  @Test
+  void large_capacities() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 1_000_000, 3 },
+      { 0, 2, 1_500_000, 1 },
+      { 1, 3, 1_000_000, 1 },
+      { 2, 1, 500_000, 1 },
+      { 2, 3, 1_000_000, 4 }
+    });
+
+    assertEquals(2_000_000, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(8_500_000, R.getFlowCost());
+  }
+
+  @Test
+  void matches_successive_shortest_paths_with_large_costs() {
+    // Costs near a million take every phase of the scaling down to e = 1
+    for (int seed = 0; seed < 30; seed++) {
+      int[][] edges = randomEdges(new Random(seed), 12, 40, 0, 1_000_000, false);
+      ResidualNetwork R = new ResidualNetwork(12, edges), S = new ResidualNetwork(12, edges);
+
+      assertEquals(SuccessiveShortestPaths.minCostMaxFlow(S, 0, 11), CostScaling.minCostMaxFlow(R, 0, 11));
+      assertEquals(S.getFlowCost(), R.getFlowCost(), "seed " + seed);
+    }
+  }
+
+  @Test
+  void matches_successive_shortest_paths_with_negative_costs() {
+    // Negative arcs, but only from smaller to larger vertices, so no negative
+    // cost cycle for the successive shortest paths to miss
+    for (int seed = 0; seed < 30; seed++) {
+      int[][] edges = randomEdges(new Random(seed), 12, 40, -1000, 1000, true);
+      ResidualNetwork R = new ResidualNetwork(12, edges), S = new ResidualNetwork(12, edges);
+
+      assertEquals(SuccessiveShortestPaths.minCostMaxFlow(S, 0, 11), CostScaling.minCostMaxFlow(R, 0, 11));
+      assertEquals(S.getFlowCost(), R.getFlowCost(), "seed " + seed);
+    }
+  }
+
+  @Test
+  void zero_flow() {
+    // The sink cannot be reached, and the old flow is cleared
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 3, 2 },
+      { 1, 0, 3, 2 },
+      { 3, 2, 3, 1 }
+    });
+
+    R.push(R.getArc(0), 2);
+    assertEquals(0, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(0, R.getFlowCost());
+    assertEquals(0, R.getFlow(0));
+
+    // Without a flow to the sink, a negative cost cycle is still cancelled
+    R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 3, 2 },
+      { 1, 2, 2, -4 },
+      { 2, 1, 5, 1 }
+    });
+
+    assertEquals(0, CostScaling.minCostMaxFlow(R, 0, 3));
+    assertEquals(-6, R.getFlowCost());
+    assertEquals(0, R.getFlowValue(0));
+  }
+
+  @Test
+  void throws_on_invalid_vertices() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertThrows(IllegalArgumentException.class, () -> CostScaling.minCost(G, 0, 4));
+    assertThrows(IllegalArgumentException.class, () -> CostScaling.minCostMaxFlow(R, -1, 3));
+  }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.*;
 
 import data_structures.graphs.flowNetworks.FlowNetwork;
 import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 public class Dinic_Test {
@@ -46,6 +47,42 @@ public class Dinic_Test {
     assertEquals(23, Dinic.maxFlow(G, 0, 5));
   }
 
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, Dinic.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+  }
+
+  @Test
+  void unit_capacity_bipartite_network() {
+    // s = 0, left 1 to 50, right 51 to 100, t = 101, each left vertex has 3 choices
+    int n = 50, i = 0;
+    int[][] edges = new int[5 * n][];
+
+    for (int u = 1; u <= n; u++) {
+      edges[i++] = new int[] { 0, u, 1 };
+      edges[i++] = new int[] { n + u, 2 * n + 1, 1 };
+      edges[i++] = new int[] { u, n + u, 1 };
+      edges[i++] = new int[] { u, n + 1 + u % n, 1 };
+      edges[i++] = new int[] { u, n + 1 + (u + 1) % n, 1 };
+    }
+
+    assertEquals(n, Dinic.maxFlow(new ResidualNetwork(2 * n + 2, edges), 0, 2 * n + 1));
+  }
+
+  @Test
+  void long_path_does_not_overflow_the_stack() {
+    int n = 200000;
+    int[][] edges = new int[n - 1][];
+
+    for (int u = 0; u < n - 1; u++)
+      edges[u] = new int[] { u, u + 1, 1 + u % 7 };
+
+    assertEquals(1, Dinic.maxFlow(new ResidualNetwork(n, edges), 0, n - 1));
+  }
+
   @Test
   void string_paths() {
     assertArrayEquals(stringPaths, Dinic.maxFlowPaths(G, 0, 5));
@@ -0,0 +1,104 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.FlowDecomposition;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class FlowDecomposition_Test {
+  int[][] edges = {
+    { 0, 1, 16 },
+    { 0, 2, 13 },
+    { 2, 1, 4 },
+    { 1, 3, 12 },
+    { 2, 4, 14 },
+    { 3, 2, 9 },
+    { 3, 5, 20 },
+    { 4, 5, 4 },
+    { 4, 3, 7 }
+  };
+  ResidualNetwork R;
+
+  @BeforeEach
+  void setup() {
+    R = new ResidualNetwork(6, edges);
+    Dinic.maxFlow(R, 0, 5);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> new FlowDecomposition(null, 0, 5));
+    assertThrows(IllegalArgumentException.class, () -> new FlowDecomposition(R, 0, 6));
+    assertThrows(NullPointerException.class, () -> FlowDecomposition.forEachPath(R, 0, 5, null));
+  }
+
+  @Test
+  void paths_add_up_to_the_flow() {
+    int[] flows = R.getFlows().clone(), used = new int[flows.length];
+    FlowDecomposition D = new FlowDecomposition(R, 0, 5);
+    int total = 0;
+
+    while (D.next()) {
+      int[] vertices = D.getVertices(), arcs = D.getArcs();
+
+      assertEquals(0, vertices[0]);
+      assertEquals(5, vertices[D.length() - 1]);
+
+      for (int i = 0; i < D.length() - 1; i++) {
+        assertEquals(vertices[i], R.getTail(arcs[i]));
+        assertEquals(vertices[i + 1], R.getHead(arcs[i]));
+        used[arcs[i]] += D.getFlow();
+      }
+
+      total += D.getFlow();
+    }
+
+    assertEquals(23, total);
+    assertEquals(0, D.length());
+
+    // Each edge carries exactly the flow of its paths, and the network is unchanged
+    for (int i = 0; i < edges.length; i++)
+      assertEquals(R.getFlow(i), used[R.getArc(i)]);
+    assertArrayEquals(flows, R.getFlows());
+  }
+
+  @Test
+  void cycles_are_cancelled() {
+    // 1 -> 2 -> 3 -> 1 carries flow that does not reach the sink
+    ResidualNetwork N = new ResidualNetwork(5, new int[][] {
+      { 0, 1, 4 },
+      { 1, 2, 5 },
+      { 2, 3, 5 },
+      { 3, 1, 2 },
+      { 3, 4, 3 }
+    });
+    int[] flows = { 3, 5, 5, 2, 3 };
+    int[][] paths = new int[1][];
+
+    for (int i = 0; i < flows.length; i++)
+      N.push(N.getArc(i), flows[i]);
+
+    assertEquals(1, FlowDecomposition.forEachPath(N, 0, 4, (vertices, length, flow) -> {
+      assertEquals(3, flow);
+      paths[0] = Arrays.copyOf(vertices, length);
+    }));
+    assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, paths[0]);
+  }
+
+  @Test
+  void no_flow() {
+    assertFalse(new FlowDecomposition(new ResidualNetwork(6, edges), 0, 5).next());
+    assertFalse(new FlowDecomposition(R, 0, 0).next());
+    assertTrue(new FlowDecomposition(R, 0, 5).next());
+  }
+}
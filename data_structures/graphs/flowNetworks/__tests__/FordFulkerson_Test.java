@@ -8,6 +8,7 @@ import org.junit.jupiter.api.*;
 
 import data_structures.graphs.flowNetworks.FlowNetwork;
 import data_structures.graphs.flowNetworks.FordFulkerson;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 public class FordFulkerson_Test {
@@ -48,6 +49,14 @@ public class FordFulkerson_Test {
     assertEquals(23, FordFulkerson.maxFlow(G, 0, 5));
   }
 
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, FordFulkerson.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+  }
+
   @Test
   void no_max_flow() {
     assertEquals(0, FordFulkerson.maxFlow(G, 0, 0));
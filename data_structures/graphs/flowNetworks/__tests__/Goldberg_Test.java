@@ -7,6 +7,7 @@ import org.junit.jupiter.api.*;
 
 import data_structures.graphs.flowNetworks.FlowNetwork;
 import data_structures.graphs.flowNetworks.Goldberg;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 public class Goldberg_Test {
@@ -34,4 +35,12 @@ public class Goldberg_Test {
   void goldberg() {
     assertEquals(23, Goldberg.maxFlow(G, 0, 5));
   }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, Goldberg.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+  }
 }
@@ -0,0 +1,108 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.GomoryHuTree;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class GomoryHuTree_Test {
+  int[][] edges = {
+    { 0, 1, 1 },
+    { 0, 2, 7 },
+    { 1, 2, 1 },
+    { 1, 3, 3 },
+    { 1, 4, 2 },
+    { 2, 4, 4 },
+    { 3, 4, 1 },
+    { 3, 5, 6 },
+    { 4, 5, 2 }
+  };
+  FlowNetwork G = new FlowNetwork(6);
+  GomoryHuTree T;
+
+  @BeforeEach
+  void setup() {
+    for (int[] edge : edges)
+      G.addEdge(edge[0], edge[1], edge[2]);
+
+    T = new GomoryHuTree(G);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> new GomoryHuTree(null));
+    assertThrows(IllegalArgumentException.class, () -> new GomoryHuTree(new FlowNetwork(0)));
+    assertThrows(IllegalArgumentException.class, () -> T.minCutValue(0, 6));
+    assertThrows(IllegalArgumentException.class, () -> T.getParent(-1));
+  }
+
+  @Test
+  void tree() {
+    int[] weights = { 0, 7, 8, 6, 6, 8 };
+
+    assertEquals(0, T.getRoot());
+    assertEquals(-1, T.getParent(0));
+
+    for (int v = 0; v < 6; v++)
+      assertEquals(weights[v], T.getWeight(v));
+  }
+
+  @Test
+  void min_cut_value() {
+    assertEquals(8, T.minCutValue(0, 2));
+    assertEquals(7, T.minCutValue(4, 1));
+    assertEquals(8, T.minCutValue(5, 3));
+    assertEquals(6, T.minCutValue(0, 5));
+    assertEquals(0, T.minCutValue(3, 3));
+  }
+
+  @Test
+  void min_cut_side() {
+    // (1, 3), (3, 4) and (4, 5) cut {3, 5} off from the rest
+    assertArrayEquals(new boolean[] { false, false, false, true, false, true }, T.minCutSide(5, 0));
+    assertArrayEquals(new boolean[] { true, true, true, false, true, false }, T.minCutSide(0, 5));
+    assertArrayEquals(new String[] { "(1, 3)", "(3, 4)", "(4, 5)" }, T.minCuts(0, 5));
+    assertArrayEquals(new String[0], T.minCuts(2, 2));
+  }
+
+  @Test
+  void matches_max_flow_of_every_pair() {
+    Random random = new Random(11);
+    int n = 25;
+    FlowNetwork N = new FlowNetwork(n);
+    int[][] E = new int[2 * n * n][];
+    int m = 0;
+
+    for (int u = 0; u < n; u++) {
+      for (int v = u + 1; v < n; v++) {
+        if (random.nextInt(4) == 0) {
+          int c = random.nextInt(20);
+
+          N.addEdge(u, v, c);
+          E[m++] = new int[] { u, v, c };
+          E[m++] = new int[] { v, u, c };
+        }
+      }
+    }
+
+    GomoryHuTree tree = new GomoryHuTree(N);
+    ResidualNetwork R = new ResidualNetwork(n, Arrays.copyOf(E, m));
+
+    for (int u = 0; u < n; u++) {
+      for (int v = u + 1; v < n; v++) {
+        R.clearFlows();
+        assertEquals(Dinic.maxFlow(R, u, v), tree.minCutValue(u, v));
+      }
+    }
+  }
+}
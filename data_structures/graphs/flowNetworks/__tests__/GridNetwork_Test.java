@@ -0,0 +1,88 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.GridNetwork;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class GridNetwork_Test {
+  GridNetwork grid;
+
+  @BeforeEach
+  void setup() {
+    grid = new GridNetwork(3, 2);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(IllegalArgumentException.class, () -> new GridNetwork(0, 2));
+    assertThrows(IllegalArgumentException.class, () -> new GridNetwork(65536, 65536));
+    assertThrows(IllegalArgumentException.class, () -> grid.cell(3, 0));
+    assertThrows(IllegalArgumentException.class, () -> grid.cell(0, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> grid.setTerminalCapacities(6, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> grid.setTerminalCapacities(0, -1, 1));
+    assertThrows(IllegalArgumentException.class, () -> grid.setNeighborCapacity(0, 2, 1));
+    assertThrows(IllegalArgumentException.class, () -> grid.setNeighborCapacity(0, 0, -1));
+    // The last column has no neighbour along x, the last row none along y
+    assertThrows(IllegalArgumentException.class, () -> grid.setNeighborCapacity(2, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> grid.setNeighborCapacity(4, 1, 1));
+  }
+
+  @Test
+  void vertices() {
+    GridNetwork cube = new GridNetwork(2, 3, 4);
+
+    assertEquals(6, grid.getNumCells());
+    assertEquals(8, grid.getRows());
+    assertEquals(6, grid.getSource());
+    assertEquals(7, grid.getSink());
+    assertEquals(5, grid.cell(2, 1));
+    assertEquals(24, cube.getNumCells());
+    assertEquals(1 + 2 * 2 + 6 * 3, cube.cell(1, 2, 3));
+  }
+
+  @Test
+  void only_positive_edges() {
+    grid.setTerminalCapacities(0, 4, 0);
+    grid.setNeighborCapacity(0, 0, 3);
+    grid.setNeighborCapacity(1, 1, 0, 2);
+
+    ResidualNetwork R = grid.build();
+
+    assertEquals(8, R.getRows());
+    assertEquals(3, R.getNumEdges());
+    assertEquals(0, R.degree(5));
+  }
+
+  @Test
+  void terminal_paths_start_saturated() {
+    grid.setTerminalCapacities(0, 5, 3);
+    grid.setTerminalCapacities(1, 2, 0);
+
+    ResidualNetwork R = grid.build();
+
+    assertEquals(3, R.getFlowValue(grid.getSource()));
+    assertEquals(3, Dinic.maxFlow(R, grid.getSource(), grid.getSink()));
+  }
+
+  @Test
+  void reverse_capacity() {
+    // The flow runs from cell 1 back to cell 0
+    grid.setTerminalCapacities(0, 0, 4);
+    grid.setTerminalCapacities(1, 4, 0);
+    grid.setNeighborCapacity(0, 0, 9, 2);
+
+    ResidualNetwork R = grid.build();
+
+    assertEquals(2, Dinic.maxFlow(R, grid.getSource(), grid.getSink()));
+
+    for (int i = 0; i < R.getNumEdges(); i++)
+      if (R.getTail(R.getArc(i)) == 0 && R.getHead(R.getArc(i)) == 1)
+        assertEquals(-2, R.getFlow(i));
+  }
+}
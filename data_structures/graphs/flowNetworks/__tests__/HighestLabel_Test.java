@@ -0,0 +1,94 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.HighestLabel;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class HighestLabel_Test {
+  FlowNetwork G = new FlowNetwork(10);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 16);
+    G.addEdge(0, 2, 13);
+    G.addEdge(2, 1, 4);
+    G.addEdge(1, 3, 12);
+    G.addEdge(2, 4, 14);
+    G.addEdge(3, 2, 9);
+    G.addEdge(3, 5, 20);
+    G.addEdge(4, 5, 4);
+    G.addEdge(4, 3, 7); 
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new HighestLabel());
+  }
+
+  @Test
+  void highestLabel() {
+    assertEquals(23, HighestLabel.maxFlow(G, 0, 5));
+    assertEquals(0, HighestLabel.maxFlow(G, 0, 0));
+    assertEquals(0, HighestLabel.maxFlow(G, 5, 0));
+  }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+    int[] balance = new int[R.getRows()];
+
+    assertEquals(23, HighestLabel.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+
+    // The preflow is turned back into a flow
+    for (int i = 0; i < R.getNumEdges(); i++) {
+      int a = R.getArc(i);
+
+      balance[R.getTail(a)] -= R.getFlow(i);
+      balance[R.getHead(a)] += R.getFlow(i);
+    }
+
+    assertEquals(-23, balance[0]);
+    assertEquals(23, balance[5]);
+
+    for (int v = 1; v < 5; v++)
+      assertEquals(0, balance[v]);
+  }
+
+  @Test
+  void min_cut_value() {
+    assertEquals(23, HighestLabel.minCutValue(G, 0, 5));
+    assertEquals(0, HighestLabel.minCutValue(G, 3, 3));
+  }
+
+  @Test
+  void min_cut_then_max_flow() {
+    // The excess stranded behind the cut at 1 is only returned by the second phase
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 10 },
+      { 1, 2, 3 },
+      { 2, 3, 5 }
+    });
+
+    assertEquals(3, HighestLabel.minCutValue(R, 0, 3));
+    assertEquals(3, HighestLabel.maxFlow(R, 0, 3));
+    assertEquals(3, R.getFlow(0));
+  }
+
+  @Test
+  void unreachable_sink() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 10 },
+      { 2, 3, 5 }
+    });
+
+    assertEquals(0, HighestLabel.maxFlow(R, 0, 3));
+    assertEquals(0, R.getFlow(0));
+  }
+}
@@ -0,0 +1,113 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.EdmondKarp;
+import data_structures.graphs.flowNetworks.IncrementalMaxFlow;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class IncrementalMaxFlow_Test {
+  int[][] edges = {
+    { 0, 1, 16 },
+    { 0, 2, 13 },
+    { 2, 1, 4 },
+    { 1, 3, 12 },
+    { 2, 4, 14 },
+    { 3, 2, 9 },
+    { 3, 5, 20 },
+    { 4, 5, 4 },
+    { 4, 3, 7 }
+  };
+  ResidualNetwork R;
+  IncrementalMaxFlow I;
+
+  @BeforeEach
+  void setup() {
+    R = new ResidualNetwork(6, edges);
+    I = new IncrementalMaxFlow(R, 0, 5);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> new IncrementalMaxFlow(null, 0, 5));
+    assertThrows(IllegalArgumentException.class, () -> new IncrementalMaxFlow(R, 0, 6));
+    assertThrows(IllegalArgumentException.class, () -> I.setCapacity(0, -1));
+    assertThrows(IndexOutOfBoundsException.class, () -> I.setCapacity(9, 1));
+  }
+
+  @Test
+  void max_flow() {
+    assertSame(R, I.getNetwork());
+    assertEquals(23, I.maxFlow());
+    assertEquals(23, R.getFlowValue(0));
+    assertEquals(0, new IncrementalMaxFlow(R, 3, 3).maxFlow());
+  }
+
+  @Test
+  void capacity_increase() {
+    I.maxFlow();
+
+    // (1, 3) is on the minimum cut, until the edges into the sink are
+    I.setCapacity(3, 15);
+    assertEquals(24, I.maxFlow());
+
+    // (0, 1) is on neither
+    I.setCapacity(0, 20);
+    assertEquals(24, I.maxFlow());
+  }
+
+  @Test
+  void capacity_decrease() {
+    I.maxFlow();
+
+    // Cut the flow through (1, 3), then through (3, 5)
+    I.setCapacity(3, 2);
+    assertEquals(13, I.maxFlow());
+
+    I.setCapacity(6, 5);
+    assertEquals(9, I.maxFlow());
+
+    I.setCapacity(6, 20);
+    I.setCapacity(3, 12);
+    assertEquals(23, I.maxFlow());
+  }
+
+  @Test
+  void matches_max_flow_from_scratch() {
+    Random random = new Random(3);
+    int n = 30;
+    int[][] E = new int[120][];
+
+    for (int i = 0; i < E.length; i++)
+      E[i] = new int[] { random.nextInt(n), random.nextInt(n), random.nextInt(20) };
+
+    ResidualNetwork N = new ResidualNetwork(n, E);
+    IncrementalMaxFlow M = new IncrementalMaxFlow(N, 0, n - 1);
+
+    for (int step = 0; step < 200; step++) {
+      int i = random.nextInt(E.length);
+
+      E[i][2] = random.nextInt(20);
+      M.setCapacity(i, E[i][2]);
+
+      assertEquals(EdmondKarp.maxFlow(new ResidualNetwork(n, E), 0, n - 1), M.maxFlow());
+
+      int[] balance = new int[n];
+
+      for (int j = 0; j < E.length; j++) {
+        balance[E[j][0]] -= N.getFlow(j);
+        balance[E[j][1]] += N.getFlow(j);
+      }
+
+      for (int v = 1; v < n - 1; v++)
+        assertEquals(0, balance[v]);
+    }
+  }
+}
@@ -41,4 +41,10 @@ public class MaxFlowMinCut_Test {
     assertArrayEquals(minCut, MaxFlowMinCut.minCutsPushRelabel(G, 0, 5));
   }
 
+  @Test
+  void minCut_boykov_kolmogorov() {
+    assertArrayEquals(minCut, MaxFlowMinCut.minCutsBoykovKolmogorov(G, 0, 5));
+    assertArrayEquals(new String[0], MaxFlowMinCut.minCutsBoykovKolmogorov(G, 5, 5));
+  }
+
 }
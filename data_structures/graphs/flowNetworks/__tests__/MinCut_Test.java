@@ -0,0 +1,97 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.GridNetwork;
+import data_structures.graphs.flowNetworks.MaxFlowMinCut;
+import data_structures.graphs.flowNetworks.MinCut;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class MinCut_Test {
+  int[][] edges = {
+    { 0, 1, 16 },
+    { 0, 2, 13 },
+    { 2, 1, 4 },
+    { 1, 3, 12 },
+    { 2, 4, 14 },
+    { 3, 2, 9 },
+    { 3, 5, 20 },
+    { 4, 5, 4 },
+    { 4, 3, 7 }
+  };
+  ResidualNetwork R;
+
+  @BeforeEach
+  void setup() {
+    R = new ResidualNetwork(6, edges);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> new MinCut(null, 0));
+    assertThrows(IllegalArgumentException.class, () -> new MinCut(R, 6));
+    assertThrows(IllegalArgumentException.class, () -> MaxFlowMinCut.minCut(R, 0, 6));
+  }
+
+  @Test
+  void reads_solver_residual_state() {
+    Dinic.maxFlow(R, 0, 5);
+
+    MinCut cut = new MinCut(R, 0);
+
+    assertEquals(BitSet.valueOf(new long[] { 0b10111 }), cut.getSourceSide());
+    assertTrue(cut.isOnSourceSide(4));
+    assertFalse(cut.isOnSourceSide(3));
+    assertEquals(3, cut.size());
+    assertEquals(23, cut.getValue());
+    assertArrayEquals(new int[] { 3, 7, 8 }, cut.getEdges());
+    assertArrayEquals(new int[] { 1, 4, 4 }, cut.getTails());
+    assertArrayEquals(new int[] { 3, 5, 3 }, cut.getHeads());
+  }
+
+  @Test
+  void max_flow_min_cut() {
+    MinCut cut = MaxFlowMinCut.minCut(R, 0, 5);
+
+    assertEquals(23, R.getFlowValue(0));
+    assertEquals(23, cut.getValue());
+    assertEquals(0, MaxFlowMinCut.minCut(R, 2, 2).size());
+  }
+
+  @Test
+  void copies_are_returned() {
+    MinCut cut = MaxFlowMinCut.minCut(R, 0, 5);
+
+    cut.getSourceSide().clear();
+    cut.getTails()[0] = -1;
+
+    assertTrue(cut.isOnSourceSide(0));
+    assertEquals(1, cut.getTails()[0]);
+  }
+
+  @Test
+  void cut_edges_leave_the_source_side() {
+    // The edge between the cells runs from cell 1 on the source side to cell 0
+    GridNetwork grid = new GridNetwork(2, 1);
+
+    grid.setTerminalCapacities(0, 0, 4);
+    grid.setTerminalCapacities(1, 9, 0);
+    grid.setNeighborCapacity(0, 0, 6, 2);
+
+    MinCut cut = MaxFlowMinCut.minCut(grid.build(), grid.getSource(), grid.getSink());
+
+    assertEquals(2, cut.getValue());
+    assertArrayEquals(new int[] { 1 }, cut.getTails());
+    assertArrayEquals(new int[] { 0 }, cut.getHeads());
+  }
+}
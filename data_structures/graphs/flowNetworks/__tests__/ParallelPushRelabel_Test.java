@@ -0,0 +1,105 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.EdmondKarp;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.ParallelPushRelabel;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ParallelPushRelabel_Test {
+  FlowNetwork G = new FlowNetwork(10);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 16);
+    G.addEdge(0, 2, 13);
+    G.addEdge(2, 1, 4);
+    G.addEdge(1, 3, 12);
+    G.addEdge(2, 4, 14);
+    G.addEdge(3, 2, 9);
+    G.addEdge(3, 5, 20);
+    G.addEdge(4, 5, 4);
+    G.addEdge(4, 3, 7);
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new ParallelPushRelabel());
+  }
+
+  @Test
+  void parallelPushRelabel() {
+    assertEquals(23, ParallelPushRelabel.maxFlow(G, 0, 5));
+    assertEquals(0, ParallelPushRelabel.maxFlow(G, 0, 0));
+    assertEquals(0, ParallelPushRelabel.maxFlow(G, 5, 0));
+  }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, ParallelPushRelabel.maxFlow(R, 0, 5, 4));
+    assertEquals(23, R.getFlowValue(0));
+    assertBalanced(R, 0, 5);
+  }
+
+  @Test
+  void invalid_parallelism() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertThrows(IllegalArgumentException.class, () -> ParallelPushRelabel.maxFlow(R, 0, 5, 0));
+  }
+
+  @Test
+  void unreachable_sink() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 10 },
+      { 2, 3, 5 }
+    });
+
+    assertEquals(0, ParallelPushRelabel.maxFlow(R, 0, 3, 2));
+    assertEquals(0, R.getFlow(0));
+  }
+
+  @Test
+  void large_network_across_threads() {
+    // Wide enough that the rounds and the global relabels are split into tasks
+    Random random = new Random(7);
+    int n = 5000;
+    int[][] E = new int[4 * n][];
+
+    for (int i = 0; i < E.length; i++)
+      E[i] = new int[] { i < n ? 0 : random.nextInt(n), random.nextInt(n), 1 + random.nextInt(20) };
+
+    ResidualNetwork R = new ResidualNetwork(n, E);
+    int expected = EdmondKarp.maxFlow(new ResidualNetwork(n, E), 0, n - 1);
+
+    for (int parallelism = 1; parallelism <= 4; parallelism *= 2) {
+      R.clearFlows();
+      assertEquals(expected, ParallelPushRelabel.maxFlow(R, 0, n - 1, parallelism));
+      assertBalanced(R, 0, n - 1);
+    }
+  }
+
+  private static void assertBalanced(ResidualNetwork R, int s, int t) {
+    int[] balance = new int[R.getRows()];
+
+    for (int i = 0; i < R.getNumEdges(); i++) {
+      int a = R.getArc(i);
+
+      balance[R.getTail(a)] -= R.getFlow(i);
+      balance[R.getHead(a)] += R.getFlow(i);
+    }
+
+    for (int v = 0; v < balance.length; v++)
+      if (v != s && v != t)
+        assertEquals(0, balance[v]);
+  }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.*;
 
 import data_structures.graphs.flowNetworks.FlowNetwork;
 import data_structures.graphs.flowNetworks.RelabelToFront;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 public class RelabelToFront_Test {
@@ -34,4 +35,12 @@ public class RelabelToFront_Test {
   void relabelToFront() {
     assertEquals(23, RelabelToFront.maxFlow(G, 0, 5));
   }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, RelabelToFront.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+  }
 }
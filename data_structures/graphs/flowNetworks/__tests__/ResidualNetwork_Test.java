@@ -0,0 +1,174 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.Dinic;
+import data_structures.graphs.flowNetworks.EdmondKarp;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ResidualNetwork_Test {
+  int[][] edges = {
+    { 0, 1, 16 },
+    { 0, 2, 13 },
+    { 2, 1, 4 },
+    { 1, 3, 12 },
+    { 2, 4, 14 },
+    { 3, 2, 9 },
+    { 3, 5, 20 },
+    { 4, 5, 4 },
+    { 4, 3, 7 }
+  };
+  ResidualNetwork R;
+
+  @BeforeEach
+  void setup() {
+    R = new ResidualNetwork(6, edges);
+  }
+
+  @Test
+  void throws_on_invalid_edges() {
+    assertThrows(NullPointerException.class, () -> new ResidualNetwork(6, null));
+    assertThrows(NullPointerException.class, () -> new ResidualNetwork(null));
+    assertThrows(IllegalArgumentException.class, () -> new ResidualNetwork(6, new int[][] { { 0, 1 } }));
+    assertThrows(IllegalArgumentException.class, () -> new ResidualNetwork(6, new int[][] { { 0, 6, 1 } }));
+    assertThrows(IllegalArgumentException.class, () -> new ResidualNetwork(6, new int[][] { { 0, 1, -1 } }));
+  }
+
+  @Test
+  void arcs_are_paired() {
+    int[] heads = R.getHeads(), reverse = R.getReverse(), capacities = R.getCapacities();
+
+    assertEquals(9, R.getNumEdges());
+    assertEquals(18, R.getNumArcs());
+
+    for (int i = 0; i < edges.length; i++) {
+      int a = R.getArc(i), b = reverse[a];
+
+      assertEquals(a, reverse[b]);
+      assertEquals(edges[i][0], R.getTail(a));
+      assertEquals(edges[i][1], heads[a]);
+      assertEquals(edges[i][0], heads[b]);
+      assertEquals(edges[i][2], capacities[a]);
+      assertEquals(0, capacities[b]);
+    }
+  }
+
+  @Test
+  void arcs_of_vertex() {
+    int[] offsets = R.getOffsets();
+
+    // 3 -> 2, 3 -> 5 and the reverse arcs of 1 -> 3 and 4 -> 3
+    assertEquals(2, R.degree(0));
+    assertEquals(4, R.degree(3));
+    assertEquals(R.getNumArcs(), offsets[6]);
+
+    for (int e = offsets[0]; e < offsets[1]; e++)
+      assertEquals(0, R.getTail(e));
+  }
+
+  @Test
+  void pushes_cancel_on_paired_arc() {
+    int a = R.getArc(0), b = R.getReverse()[a];
+
+    R.push(a, 10);
+    assertEquals(10, R.getFlow(0));
+    assertEquals(-10, R.getFlows()[b]);
+    assertEquals(6, R.residualCapacity(a));
+    assertEquals(10, R.residualCapacity(b));
+    assertEquals(10, R.getFlowValue(0));
+
+    R.push(b, 4);
+    assertEquals(6, R.getFlow(0));
+    assertEquals(-6, R.getFlowValue(1));
+
+    R.clearFlows();
+    assertEquals(0, R.getFlow(0));
+  }
+
+  @Test
+  void max_flow_runs_in_place() {
+    assertEquals(23, EdmondKarp.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+    assertEquals(-23, R.getFlowValue(5));
+
+    for (int i = 0; i < edges.length; i++) {
+      assertTrue(R.getFlow(i) >= 0);
+      assertTrue(R.getFlow(i) <= R.getCapacity(i));
+    }
+
+    // Starting again from a maximum flow finds no more
+    assertEquals(23, Dinic.maxFlow(R, 0, 5));
+  }
+
+  @Test
+  void set_capacity() {
+    // (3, 5) carries 19 units of the maximum flow
+    EdmondKarp.maxFlow(R, 0, 5);
+
+    assertEquals(0, R.setCapacity(6, 25));
+    assertEquals(25, R.getCapacity(6));
+    assertEquals(19, R.getFlow(6));
+
+    assertEquals(9, R.setCapacity(6, 10));
+    assertEquals(10, R.getFlow(6));
+    assertEquals(-10, R.getFlows()[R.getReverse()[R.getArc(6)]]);
+    assertThrows(IllegalArgumentException.class, () -> R.setCapacity(6, -1));
+  }
+
+  @Test
+  void costs() {
+    FlowNetwork G = new FlowNetwork(3);
+
+    G.addEdge(0, 1, 4, 2);
+    G.addEdge(1, 2, 3, 2);
+    G.setEdgeCost(0, 1, 5);
+    G.setEdgeCost(1, 2, -1);
+
+    ResidualNetwork N = new ResidualNetwork(G);
+    int a = N.getArc(0);
+
+    assertEquals(5, N.getCost(0));
+    assertEquals(-5, N.getCosts()[N.getReverse()[a]]);
+    assertEquals(-1, N.getCost(1));
+    assertEquals(8, N.getFlowCost());
+    assertEquals(7, new ResidualNetwork(2, new int[][] { { 0, 1, 3, 7 } }).getCost(0));
+  }
+
+  @Test
+  void parallel_and_antiparallel_edges() {
+    ResidualNetwork N = new ResidualNetwork(3, new int[][] {
+      { 0, 1, 3 },
+      { 0, 1, 2 },
+      { 1, 0, 4 },
+      { 1, 2, 10 }
+    });
+
+    assertEquals(5, EdmondKarp.maxFlow(N, 0, 2));
+  }
+
+  @Test
+  void snapshot_of_flow_network() {
+    FlowNetwork G = new FlowNetwork(10);
+
+    for (int[] edge : edges)
+      G.addEdge(edge[0], edge[1], edge[2]);
+
+    ResidualNetwork N = new ResidualNetwork(G);
+
+    assertEquals(10, N.getRows());
+    assertEquals(9, N.getNumEdges());
+    assertTrue(N.hasVertex(5));
+    assertFalse(N.hasVertex(6));
+    assertEquals(0, N.degree(6));
+    assertEquals(23, Dinic.maxFlow(N, 0, 5));
+    // The flow network is left as it was
+    assertEquals(0, G.getEdgeFlow(0, 1));
+  }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.*;
 
 import data_structures.graphs.flowNetworks.FlowNetwork;
 import data_structures.graphs.flowNetworks.Scaling;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
 public class Scaling_Test {
@@ -46,6 +47,14 @@ public class Scaling_Test {
     assertEquals(23, Scaling.maxFlow(G, 0, 5));
   }
 
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(23, Scaling.maxFlow(R, 0, 5));
+    assertEquals(23, R.getFlowValue(0));
+  }
+
   @Test
   void string_paths() {
     assertArrayEquals(stringPaths, Scaling.maxFlowPaths(G, 0, 5));
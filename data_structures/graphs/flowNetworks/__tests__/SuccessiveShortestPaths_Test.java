@@ -0,0 +1,101 @@
+package data_structures.graphs.flowNetworks.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.flowNetworks.EdmondKarp;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.flowNetworks.ResidualNetwork;
+import data_structures.graphs.flowNetworks.SuccessiveShortestPaths;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class SuccessiveShortestPaths_Test {
+  FlowNetwork G = new FlowNetwork(4);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 2);
+    G.addEdge(0, 2, 1);
+    G.addEdge(1, 2, 1);
+    G.addEdge(1, 3, 1);
+    G.addEdge(2, 3, 2);
+    G.setEdgeCost(0, 1, 1);
+    G.setEdgeCost(0, 2, 2);
+    G.setEdgeCost(1, 2, 1);
+    G.setEdgeCost(1, 3, 3);
+    G.setEdgeCost(2, 3, 1);
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new SuccessiveShortestPaths());
+  }
+
+  @Test
+  void successiveShortestPaths() {
+    assertEquals(10, SuccessiveShortestPaths.minCost(G, 0, 3));
+    assertEquals(0, SuccessiveShortestPaths.minCost(G, 0, 0));
+    assertEquals(0, SuccessiveShortestPaths.minCost(G, 3, 0));
+  }
+
+  @Test
+  void residual_network() {
+    ResidualNetwork R = new ResidualNetwork(G);
+
+    assertEquals(3, SuccessiveShortestPaths.minCostMaxFlow(R, 0, 3));
+    assertEquals(10, R.getFlowCost());
+
+    // The flow is replaced rather than augmented
+    assertEquals(3, SuccessiveShortestPaths.minCostMaxFlow(R, 0, 3));
+    assertEquals(10, R.getFlowCost());
+  }
+
+  @Test
+  void cheaper_of_two_maximum_flows() {
+    // The shortest augmenting path, (1, 3), is the expensive one
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 4, 0 },
+      { 1, 3, 4, 10 },
+      { 1, 2, 4, 1 },
+      { 2, 3, 4, 1 }
+    });
+
+    assertEquals(4, SuccessiveShortestPaths.minCostMaxFlow(R, 0, 3));
+    assertEquals(8, R.getFlowCost());
+    assertEquals(0, R.getFlow(1));
+  }
+
+  @Test
+  void negative_costs() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 2, -3 },
+      { 0, 2, 2, 1 },
+      { 1, 3, 1, 2 },
+      { 2, 3, 2, -1 },
+      { 1, 2, 1, 0 }
+    });
+
+    assertEquals(EdmondKarp.maxFlow(new ResidualNetwork(4, new int[][] {
+      { 0, 1, 2 },
+      { 0, 2, 2 },
+      { 1, 3, 1 },
+      { 2, 3, 2 },
+      { 1, 2, 1 }
+    }), 0, 3), SuccessiveShortestPaths.minCostMaxFlow(R, 0, 3));
+    assertEquals(-5, R.getFlowCost());
+  }
+
+  @Test
+  void throws_on_negative_cost_cycle() {
+    ResidualNetwork R = new ResidualNetwork(4, new int[][] {
+      { 0, 1, 1, 1 },
+      { 1, 2, 1, -5 },
+      { 2, 1, 1, 1 },
+      { 2, 3, 1, 1 }
+    });
+
+    assertThrows(IllegalArgumentException.class, () -> SuccessiveShortestPaths.minCostMaxFlow(R, 0, 3));
+  }
+}
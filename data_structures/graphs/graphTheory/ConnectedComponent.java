@@ -1,5 +1,9 @@
 package data_structures.graphs.graphTheory;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
 import data_structures.graphs.Graph;
 import data_structures.linkedLists.LinkedList;
 import data_structures.sets.DisjointSet;
@@ -15,6 +19,13 @@ import data_structures.sets.DisjointSet;
  * vertex in the main DFS call. This is to ensure that all the vertices visited
  * form a connected component, where they are all reachable from each other.
  * </p>
+ *
+ * <p>
+ * For edge lists too large to be held as a {@link Graph},
+ * {@link #computeStreaming(int, Path)} reads the edges once into a
+ * {@link StreamingConnectedComponent}, which only keeps one {@code int} per
+ * vertex.
+ * </p>
  */
 public final class ConnectedComponent {
   // Prevent this algorithm from being instantiated
@@ -95,4 +106,50 @@ public final class ConnectedComponent {
   public static boolean sameComponent(DisjointSet<Integer> u, DisjointSet<Integer> v) {
     return DisjointSet.findSet(u) == DisjointSet.findSet(v);
   }
+
+  /**
+   * Computes the connected components of the edges of the file in a single
+   * pass, without ever building the graph, for edge lists that do not fit in
+   * memory. The file is a sequence of pairs of {@code int}s, the vertices of
+   * each edge, in the native byte order. More edges can be added to the
+   * returned components and they can be queried at any time.
+   *
+   * @param vertices the number of vertices
+   * @param file     the edge file
+   * @return the components of the edges
+   *
+   * @throws IOException              if the file cannot be read
+   * @throws NullPointerException     if the file is {@code null}
+   * @throws IllegalArgumentException if the number of vertices is negative, the
+   *                                  file ends in the middle of an edge, or a
+   *                                  vertex is out of range
+   * @see StreamingConnectedComponent
+   */
+  public static StreamingConnectedComponent computeStreaming(int vertices, Path file) throws IOException {
+    StreamingConnectedComponent C = new StreamingConnectedComponent(vertices);
+
+    C.addEdges(file);
+    return C;
+  }
+
+  /**
+   * Computes the connected components of the edges of the iterator, each an
+   * array of its two vertices, in a single pass without ever building the
+   * graph.
+   *
+   * @param vertices the number of vertices
+   * @param edges    the edges
+   * @return the components of the edges
+   *
+   * @throws NullPointerException     if the iterator or an edge is {@code null}
+   * @throws IllegalArgumentException if the number of vertices is negative, or
+   *                                  an edge does not have two vertices in range
+   * @see StreamingConnectedComponent
+   */
+  public static StreamingConnectedComponent computeStreaming(int vertices, Iterator<int[]> edges) {
+    StreamingConnectedComponent C = new StreamingConnectedComponent(vertices);
+
+    C.addEdges(edges);
+    return C;
+  }
 }
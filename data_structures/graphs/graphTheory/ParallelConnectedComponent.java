@@ -0,0 +1,360 @@
+package data_structures.graphs.graphTheory;
+
+import static java.util.Arrays.fill;
+import static java.util.Arrays.sort;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import data_structures.graphs.SparseGraph;
+import data_structures.sets.ConcurrentDisjointSet;
+
+/**
+ * Afforest(G)
+ * 1   for each vertex u of G.V
+ * 2       u.p = u
+ * 3   for r = 1 to k
+ * 4       for each vertex u of G.V in parallel
+ * 5           if u has an r-th edge (u, v)
+ * 6               Link(u, v)
+ * 7   c = the most frequent Find(u) of a sample of the vertices
+ * 8   for each vertex u of G.V in parallel
+ * 9       if G is directed or Find(u) != c
+ * 10          for each remaining edge (u, v)
+ * 11              Link(u, v)
+ * 12  for each vertex u of G.V in parallel
+ * 13      u.p = Find(u)
+ */
+
+/**
+ * <h3>Parallel Connected Components {@code O(V + E)} work</h3>
+ *
+ * <p>
+ * Finds the connected components of a {@link SparseGraph} with several
+ * threads, in the style of the Afforest method of Sutton, Ben-Nun and Barak,
+ * over a {@link ConcurrentDisjointSet} that every thread links into at once.
+ * The components of a directed graph are its weakly connected components.
+ * </p>
+ *
+ * <p>
+ * Rather than linking every edge, it first links only the first {@code k}
+ * edges of each vertex, a sample of the graph that is usually enough to join
+ * most of the largest component. It then looks up the set of a few random
+ * vertices: the most frequent one is taken as the largest component, and the
+ * rest of the edges are only linked for the vertices outside it. In an
+ * undirected graph every edge is kept from both ends, so an edge between the
+ * largest component and another vertex is still linked from the other end,
+ * and the vertices of the largest component, often most of the graph, never
+ * have their edges read a second time. A directed graph keeps each edge only
+ * from its tail, so all of its edges are linked.
+ * </p>
+ *
+ * <p>
+ * Each step is a parallel sweep over the vertices on a {@link ForkJoinPool},
+ * and no step depends on the diameter of the graph or the depth of a DFS. Once
+ * the links are done every vertex is made to point to its root, so that
+ * {@link ConcurrentDisjointSet#sameSet} of any two vertices is a few reads,
+ * or the components are numbered from {@code 0}, in no particular order, into
+ * an array whose entries can be compared directly.
+ * </p>
+ */
+public final class ParallelConnectedComponent {
+  /**
+   * The number of vertices a task sweeps sequentially.
+   */
+  private static final int GRAIN = 256;
+
+  /**
+   * The number of edges of each vertex that are linked before the largest
+   * component is looked for.
+   */
+  private static final int ROUNDS = 2;
+
+  /**
+   * The number of random vertices whose sets are counted to find the largest
+   * component.
+   */
+  private static final int SAMPLES = 1024;
+
+  // Prevent this algorithm from being instantiated
+  public ParallelConnectedComponent() {
+    throw new NoClassDefFoundError("Cannot instantiate this class.");
+  }
+
+  /**
+   * Labels the connected components of the {@link SparseGraph} into
+   * {@code component} on the common fork-join pool, with {@code -1} for the
+   * indices that are not vertices of the graph, and returns the number of
+   * components. Two vertices {@code u} and {@code v} are in the same component
+   * if and only if {@code component[u] == component[v]}.
+   *
+   * @param graph     the graph to find the components of
+   * @param component the array to hold the component of each vertex, of at
+   *                  least the graph length
+   * @return the number of components
+   *
+   * @throws NullPointerException if the graph or array is {@code null}
+   */
+  public static int components(SparseGraph graph, int[] component) {
+    return components(graph, component, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Labels the connected components of the {@link SparseGraph} into
+   * {@code component} with the specified number of threads, with {@code -1} for
+   * the indices that are not vertices of the graph, and returns the number of
+   * components. The threads are started for this run and stopped when it ends.
+   *
+   * @param graph       the graph to find the components of
+   * @param component   the array to hold the component of each vertex, of at
+   *                    least the graph length
+   * @param parallelism the number of threads
+   * @return the number of components
+   *
+   * @throws NullPointerException     if the graph or array is {@code null}
+   * @throws IllegalArgumentException if the parallelism is less than {@code 1}
+   */
+  public static int components(SparseGraph graph, int[] component, int parallelism) {
+    ForkJoinPool pool = newPool(parallelism);
+
+    try {
+      return components(graph, component, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Links the connected components of the {@link SparseGraph} into a
+   * {@link ConcurrentDisjointSet} of the graph length on the common fork-join
+   * pool. Every vertex points to the root of its component, so whether two
+   * vertices are connected is a few reads with
+   * {@link ConcurrentDisjointSet#sameSet}. The indices that are not vertices of
+   * the graph are left as sets of their own.
+   *
+   * @param graph the graph to find the components of
+   * @return the components as disjoint sets
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public static ConcurrentDisjointSet forest(SparseGraph graph) {
+    return forest(graph, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Links the connected components of the {@link SparseGraph} into a
+   * {@link ConcurrentDisjointSet} of the graph length with the specified number
+   * of threads. The threads are started for this run and stopped when it ends.
+   *
+   * @param graph       the graph to find the components of
+   * @param parallelism the number of threads
+   * @return the components as disjoint sets
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the parallelism is less than {@code 1}
+   * @see #forest(SparseGraph)
+   */
+  public static ConcurrentDisjointSet forest(SparseGraph graph, int parallelism) {
+    ForkJoinPool pool = newPool(parallelism);
+
+    try {
+      return forest(graph, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static ForkJoinPool newPool(int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+    return new ForkJoinPool(parallelism);
+  }
+
+  private static int components(SparseGraph graph, int[] component, ForkJoinPool pool) {
+    if (graph == null || component == null)
+      throw new NullPointerException("Graph and component array cannot be null.");
+
+    Engine E = new Engine(graph, pool);
+
+    E.link();
+    return E.label(component);
+  }
+
+  private static ConcurrentDisjointSet forest(SparseGraph graph, ForkJoinPool pool) {
+    if (graph == null)
+      throw new NullPointerException("Graph cannot be null.");
+
+    Engine E = new Engine(graph, pool);
+
+    E.link();
+    return E.sets;
+  }
+
+  /**
+   * The shared state of a run: the graph, its disjoint sets, and the round and
+   * largest component the sweeps are at.
+   */
+  private static final class Engine {
+    private final SparseGraph graph;
+    private final ForkJoinPool pool;
+    private final int n;
+    private final int[] offsets, targets;
+    private final ConcurrentDisjointSet sets;
+
+    /**
+     * The edge of each vertex linked by the current sampling round, and the
+     * root of the largest component, or {@code -1} if its edges are linked
+     * too.
+     */
+    private int round, giant = -1;
+
+    /**
+     * The component of each vertex while they are labelled, and the number of
+     * components numbered so far.
+     */
+    private int[] component;
+    private final AtomicInteger count = new AtomicInteger();
+
+    Engine(SparseGraph graph, ForkJoinPool pool) {
+      this.graph = graph;
+      this.pool = pool;
+      n = graph.getRows();
+      offsets = graph.getOffsets();
+      targets = graph.getTargets();
+      sets = new ConcurrentDisjointSet(n);
+    }
+
+    /**
+     * Links the edges of the graph into the sets and points every vertex to its
+     * root.
+     */
+    void link() {
+      for (round = 0; round < ROUNDS; round++)
+        sweep(Step.SAMPLE);
+
+      // Only an undirected graph has the edges leaving the largest component
+      // from their other end too
+      if (!graph.isDirected())
+        giant = largest();
+
+      sweep(Step.FINISH);
+      sweep(Step.COMPRESS);
+    }
+
+    /**
+     * Numbers the roots of the linked sets and labels every vertex with the
+     * number of its root.
+     */
+    int label(int[] component) {
+      this.component = component;
+      fill(component, 0, n, -1);
+      sweep(Step.ROOTS);
+      sweep(Step.LABEL);
+      return count.get();
+    }
+
+    /**
+     * Returns the most frequent root of a fixed sample of random vertices, or
+     * {@code -1} if the graph has no vertices.
+     */
+    private int largest() {
+      SplittableRandom random = new SplittableRandom(n);
+      int[] roots = new int[SAMPLES];
+      int size = 0, best = -1, most = 0;
+
+      for (int i = 0, v; i < SAMPLES && n > 0; i++)
+        if (graph.hasVertex(v = random.nextInt(n)))
+          roots[size++] = sets.find(v);
+
+      sort(roots, 0, size);
+
+      for (int i = 0, j; i < size; i = j) {
+        for (j = i + 1; j < size && roots[j] == roots[i]; j++)
+          ;
+
+        if (j - i > most) {
+          most = j - i;
+          best = roots[i];
+        }
+      }
+
+      return best;
+    }
+
+    private void sweep(int step) {
+      if (n <= GRAIN)
+        new Step(this, step, 0, n).compute();
+      else
+        pool.invoke(new Step(this, step, 0, n));
+    }
+
+    void visit(int step, int u) {
+      int e;
+
+      switch (step) {
+      case Step.SAMPLE:
+        if ((e = offsets[u] + round) < offsets[u + 1])
+          sets.union(u, targets[e]);
+        break;
+
+      case Step.FINISH:
+        if (giant != -1 && sets.find(u) == giant)
+          break;
+
+        for (e = offsets[u] + ROUNDS; e < offsets[u + 1]; e++)
+          sets.union(u, targets[e]);
+        break;
+
+      case Step.COMPRESS:
+        sets.find(u);
+        break;
+
+      case Step.ROOTS:
+        if (graph.hasVertex(u) && sets.find(u) == u)
+          component[u] = count.getAndIncrement();
+        break;
+
+      case Step.LABEL:
+        // The roots were all numbered by the last sweep
+        if (graph.hasVertex(u))
+          component[u] = component[sets.find(u)];
+        break;
+      }
+    }
+  }
+
+  /**
+   * A task that runs a step on a range of vertices, halving it until it is
+   * small enough to run in one thread.
+   */
+  private static final class Step extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SAMPLE = 0, FINISH = 1, COMPRESS = 2, ROOTS = 3, LABEL = 4;
+
+    private final Engine E;
+    private final int step, lo, hi;
+
+    Step(Engine E, int step, int lo, int hi) {
+      this.E = E;
+      this.step = step;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        for (int u = lo; u < hi; u++)
+          E.visit(step, u);
+        return;
+      }
+
+      int mid = (lo + hi) >>> 1;
+
+      invokeAll(new Step(E, step, lo, mid), new Step(E, step, mid, hi));
+    }
+  }
+}
@@ -0,0 +1,662 @@
+package data_structures.graphs.graphTheory;
+
+import static java.util.Arrays.fill;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import data_structures.graphs.SparseGraph;
+
+/**
+ * Parallel-SCC(G)
+ * 1   repeat
+ * 2       remove each vertex with no edges in or no edges out as its own SCC
+ * 3   until no vertex is removed
+ * 4   p = the vertex with the largest u.in * u.out
+ * 5   output the vertices both reachable from p and reaching p as an SCC
+ * 6   while vertices remain
+ * 7       u.color = u for each remaining vertex u
+ * 8       u.color = max {v.color : v = u or (v, u) of E} until no color changes
+ * 9       for each u with u.color == u
+ * 10          output the vertices of color u reaching u as an SCC
+ */
+
+/**
+ * <h3>Parallel Strongly Connected Components {@code O(V + E)} work per step</h3>
+ *
+ * <p>
+ * Labels the strongly connected components of a {@link SparseGraph} with
+ * several threads, in the style of the Multistep method of Slota, Rajamanickam
+ * and Madduri. Every step is a parallel sweep over the vertices or a
+ * level-synchronous breadth-first search whose levels are expanded on a
+ * {@link ForkJoinPool}, and the vertices of the next level are claimed with a
+ * compare-and-set, so no step depends on the depth of a DFS.
+ * </p>
+ *
+ * <p>
+ * <i>Trim</i> removes the vertices with no edges in or no edges out, which can
+ * only be components by themselves, and keeps removing the vertices that lose
+ * their last edge in or out that way. On real graphs this takes most of the
+ * vertices. <i>Forward-backward</i> then takes a pivot that is likely to be in
+ * the largest component, the vertex with the most edges in times edges out:
+ * the vertices that it reaches and that reach it are exactly its component.
+ * </p>
+ *
+ * <p>
+ * <i>Coloring</i> handles what is left, which is usually many small
+ * components. Each vertex starts with its own index as its color and the
+ * largest colors are pushed forward along the edges until nothing changes, so
+ * the color of a vertex is the largest vertex that reaches it. Every vertex
+ * whose color is its own index is then the root of a component: the vertices
+ * of its color that reach it, found by a search backwards from all the roots at
+ * once. The components found are removed and the rest is colored again. Once a
+ * coloring finds too few components to be worth another, for example on a long
+ * chain of components, or only a few vertices are left, they are labelled by
+ * {@link Tarjan} in the calling thread.
+ * </p>
+ *
+ * <p>
+ * The components are numbered from {@code 0}, in no particular order. The run
+ * packs the edges entering each vertex like the graph's own, with a parallel
+ * counting sort that needs no atomic updates but briefly takes two more arrays
+ * of the number of edges, and a few {@code int} arrays of the graph length.
+ * </p>
+ */
+public final class ParallelSCC {
+  /**
+   * Atomic and volatile access to the elements of the {@code int} arrays.
+   */
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  /**
+   * The number of vertices a task sweeps or expands sequentially.
+   */
+  private static final int GRAIN = 256;
+
+  /**
+   * The largest number of ranges of vertices the edges are bucketed by while
+   * the edges entering each vertex are packed.
+   */
+  private static final int BUCKETS = 1024;
+
+  /**
+   * The number of vertices a task queues for the next level at a time.
+   */
+  private static final int BATCH = 64;
+
+  /**
+   * The number of vertices left below which they are labelled sequentially.
+   */
+  private static final int SERIAL = 1 << 14;
+
+  /**
+   * The number of times a coloring may queue each vertex, on average, before
+   * the rest is left to {@link Tarjan}.
+   */
+  private static final int SWEEPS = 8;
+
+  /**
+   * The component of a vertex being claimed, and of an index that is not a
+   * vertex of the graph, while the run is going.
+   */
+  private static final int CLAIMED = -2, NONE = -3;
+
+  /**
+   * The marks of the vertices reached forwards and backwards from the pivot.
+   */
+  private static final int FROM_PIVOT = 1, TO_PIVOT = 2;
+
+  // Prevent this algorithm from being instantiated
+  public ParallelSCC() {
+    throw new NoClassDefFoundError("Cannot instantiate this class.");
+  }
+
+  /**
+   * Labels the strongly connected components of the {@link SparseGraph} into
+   * {@code component} on the common fork-join pool, with {@code -1} for the
+   * indices that are not vertices of the graph, and returns the number of
+   * components.
+   *
+   * @param graph     the graph to find the components of
+   * @param component the array to hold the component of each vertex, of at
+   *                  least the graph length
+   * @return the number of components
+   *
+   * @throws NullPointerException if the graph or array is {@code null}
+   */
+  public static int components(SparseGraph graph, int[] component) {
+    return components(graph, component, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Labels the strongly connected components of the {@link SparseGraph} into
+   * {@code component} with the specified number of threads, with {@code -1} for
+   * the indices that are not vertices of the graph, and returns the number of
+   * components. The threads are started for this run and stopped when it ends.
+   *
+   * @param graph       the graph to find the components of
+   * @param component   the array to hold the component of each vertex, of at
+   *                    least the graph length
+   * @param parallelism the number of threads
+   * @return the number of components
+   *
+   * @throws NullPointerException     if the graph or array is {@code null}
+   * @throws IllegalArgumentException if the parallelism is less than {@code 1}
+   */
+  public static int components(SparseGraph graph, int[] component, int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      return components(graph, component, pool);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static int components(SparseGraph graph, int[] component, ForkJoinPool pool) {
+    if (graph == null || component == null)
+      throw new NullPointerException("Graph and component array cannot be null.");
+
+    return new Engine(graph, component, pool).run();
+  }
+
+  /**
+   * The shared state of a run: the graph and its transpose, the component,
+   * degrees, marks and colors of the vertices, and the levels of the searches.
+   */
+  private static final class Engine {
+    private final SparseGraph graph;
+    private final ForkJoinPool pool;
+    private final int n;
+    private final int[] offsets, targets;
+
+    /**
+     * The edges entering each vertex, from the vertices in {@code sources}.
+     */
+    private final int[] inOffsets, sources;
+
+    /**
+     * While the edges entering each vertex are packed: the number of ranges
+     * of leaving and of entering vertices and the shift from a vertex to its
+     * range, the next slot of each pair of ranges, the start of each entering
+     * range, and the edges grouped by entering range.
+     */
+    private int chunks, buckets, shift;
+    private int[] slots, starts, tails, heads;
+
+    /**
+     * The component of each vertex, {@code -1} while it has none.
+     */
+    private final int[] component;
+
+    /**
+     * The number of edges entering and leaving each vertex from the vertices
+     * that are not trimmed, without loops.
+     */
+    private final int[] in, out;
+
+    /**
+     * The forward and backward marks of each vertex, its color, and the last
+     * coloring level it was queued for.
+     */
+    private final int[] mark, color, queued;
+
+    /**
+     * The vertices of the level being expanded and of the next one, which is
+     * filled by claiming slots with {@code found}.
+     */
+    private int[] level, frontier;
+    private final AtomicInteger found = new AtomicInteger();
+
+    /**
+     * The number of components claimed so far, each the next number.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * The component of the pivot, and the current coloring level.
+     */
+    private int pivot, stamp;
+
+    Engine(SparseGraph graph, int[] component, ForkJoinPool pool) {
+      this.graph = graph;
+      this.component = component;
+      this.pool = pool;
+      n = graph.getRows();
+      offsets = graph.getOffsets();
+      targets = graph.getTargets();
+      inOffsets = new int[n + 1];
+      sources = new int[targets.length];
+      in = new int[n];
+      out = new int[n];
+      mark = new int[n];
+      color = new int[n];
+      queued = new int[n];
+      level = new int[n];
+      frontier = new int[n];
+
+      fill(component, 0, n, -1);
+    }
+
+    int run() {
+      int size, left;
+
+      if (n == 0)
+        return 0;
+
+      transpose();
+
+      // Trim the vertices with no edges in or out, level by level
+      size = sweep(Step.DEGREES);
+
+      while (size > 0)
+        size = expand(Step.TRIM, size);
+
+      // The component of the vertex most likely to be in the largest one
+      int p = -1;
+      long best = -1;
+
+      for (int v = 0; v < n; v++) {
+        if (component[v] == -1 && (long) in[v] * out[v] > best) {
+          best = (long) in[v] * out[v];
+          p = v;
+        }
+      }
+
+      if (p == -1)
+        return finish();
+
+      pivot = count.getAndIncrement();
+      mark[p] = FROM_PIVOT;
+      level[0] = p;
+
+      for (size = 1; size > 0;)
+        size = expand(Step.FORWARD, size);
+
+      mark[p] |= TO_PIVOT;
+      level[0] = p;
+
+      for (size = 1; size > 0;)
+        size = expand(Step.BACKWARD, size);
+
+      sweep(Step.PIVOT);
+
+      // Color the rest until it is too small or too slow to be worth it
+      for (left = n;;) {
+        size = sweep(Step.SEED);
+
+        if (size <= SERIAL || (left - size) * 4L < left && left != n)
+          return serial();
+
+        long work = 0, limit = (long) SWEEPS * size;
+
+        for (left = size; size > 0;) {
+          // The colors travel one edge per level, so a long path of
+          // components takes as many levels
+          if ((work += size) > limit)
+            return serial();
+
+          stamp++;
+          size = expand(Step.COLOR, size);
+        }
+
+        size = sweep(Step.ROOTS);
+
+        while (size > 0)
+          size = expand(Step.CLAIM, size);
+      }
+    }
+
+    /**
+     * Packs the edges entering each vertex without atomic updates, in two
+     * passes of a counting sort. The leaving vertices are split into chunks,
+     * one per task, and the entering vertices into at most {@link #BUCKETS}
+     * ranges: each chunk counts and then moves its edges into its own slots of
+     * each range, so the edges of a range end up together and in order of their
+     * leaving vertex, and each range is then sorted by entering vertex on its
+     * own.
+     */
+    private void transpose() {
+      int b, c, pos = 0, m = targets.length;
+
+      chunks = Math.min(n, 4 * pool.getParallelism());
+
+      for (shift = 0; (n - 1) >>> shift >= BUCKETS; shift++)
+        ;
+
+      buckets = ((n - 1) >>> shift) + 1;
+      slots = new int[chunks * buckets];
+      starts = new int[buckets + 1];
+      tails = new int[m];
+      heads = new int[m];
+
+      spread(Step.COUNT, chunks);
+
+      for (b = 0; b < buckets; b++) {
+        starts[b] = pos;
+
+        for (c = 0; c < chunks; c++) {
+          int k = slots[c * buckets + b];
+          slots[c * buckets + b] = pos;
+          pos += k;
+        }
+      }
+
+      starts[buckets] = m;
+      spread(Step.FILL, chunks);
+      spread(Step.SORT, buckets);
+      inOffsets[n] = m;
+      slots = starts = tails = heads = null;
+    }
+
+    /**
+     * Runs the step on the chunks or ranges {@code 0} to {@code items - 1}, one
+     * task each.
+     */
+    private void spread(int step, int items) {
+      pool.invoke(new Step(this, step, false, 0, items));
+    }
+
+    /**
+     * Labels the vertices left in the calling thread and finishes.
+     */
+    private int serial() {
+      count.set(Tarjan.components(graph, component, count.get()));
+      return finish();
+    }
+
+    /**
+     * Marks the indices that are not vertices as {@code -1} again and returns
+     * the number of components.
+     */
+    private int finish() {
+      for (int v = 0; v < n; v++)
+        if (component[v] == NONE)
+          component[v] = -1;
+      return count.get();
+    }
+
+    /**
+     * Runs the step on every vertex and returns the number of vertices it put
+     * in the next level, which becomes the current one.
+     */
+    private int sweep(int step) {
+      found.set(0);
+
+      if (n <= GRAIN)
+        new Step(this, step, false, 0, n).compute();
+      else
+        pool.invoke(new Step(this, step, false, 0, n));
+
+      return swap();
+    }
+
+    /**
+     * Runs the step on the {@code size} vertices of the current level and
+     * returns the size of the next one, which becomes the current one.
+     */
+    private int expand(int step, int size) {
+      found.set(0);
+
+      if (size <= GRAIN)
+        new Step(this, step, true, 0, size).compute();
+      else
+        pool.invoke(new Step(this, step, true, 0, size));
+
+      return swap();
+    }
+
+    private int swap() {
+      int[] swap = level;
+      level = frontier;
+      frontier = swap;
+      return found.get();
+    }
+
+    /**
+     * Gives the vertex the next component and queues it, if no other thread
+     * has claimed it first.
+     */
+    private void claim(Step T, int v) {
+      if (INTS.compareAndSet(component, v, -1, CLAIMED)) {
+        component[v] = count.getAndIncrement();
+        T.add(v);
+      }
+    }
+
+    /**
+     * Runs the step on the vertex, or chunk or range, {@code u}, queueing the
+     * vertices of the next level through the task {@code T}.
+     */
+    void visit(Step T, int step, int u) {
+      int e, v, c, d;
+
+      switch (step) {
+      case Step.COUNT:
+        // u is a chunk of leaving vertices
+        for (v = (int) ((long) u * n / chunks), c = (int) ((long) (u + 1) * n / chunks),
+            d = u * buckets; v < c; v++)
+          for (e = offsets[v]; e < offsets[v + 1]; e++)
+            slots[d + (targets[e] >>> shift)]++;
+        break;
+
+      case Step.FILL:
+        for (v = (int) ((long) u * n / chunks), c = (int) ((long) (u + 1) * n / chunks),
+            d = u * buckets; v < c; v++) {
+          for (e = offsets[v]; e < offsets[v + 1]; e++) {
+            int i = slots[d + (targets[e] >>> shift)]++;
+            tails[i] = v;
+            heads[i] = targets[e];
+          }
+        }
+        break;
+
+      case Step.SORT:
+        // u is a range of entering vertices, whose edges are in starts[u] to
+        // starts[u + 1] - 1
+        c = Math.min(n, (u + 1) << shift);
+
+        for (e = starts[u]; e < starts[u + 1]; e++)
+          in[heads[e]]++;
+
+        for (v = u << shift, d = starts[u]; v < c; v++) {
+          inOffsets[v] = d;
+          d += in[v];
+          in[v] = inOffsets[v];
+        }
+
+        for (e = starts[u]; e < starts[u + 1]; e++)
+          sources[in[heads[e]]++] = tails[e];
+        break;
+
+      case Step.DEGREES:
+        if (!graph.hasVertex(u)) {
+          component[u] = NONE;
+          break;
+        }
+
+        for (c = 0, e = offsets[u]; e < offsets[u + 1]; e++)
+          if (targets[e] != u)
+            c++;
+
+        for (d = 0, e = inOffsets[u]; e < inOffsets[u + 1]; e++)
+          if (sources[e] != u)
+            d++;
+
+        out[u] = c;
+        in[u] = d;
+
+        if (c == 0 || d == 0) {
+          component[u] = count.getAndIncrement();
+          T.add(u);
+        }
+        break;
+
+      case Step.TRIM:
+        // The vertices u leads to lose an edge in, and those leading to u lose
+        // an edge out
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = targets[e];
+
+          if (v != u && (int) INTS.getVolatile(component, v) == -1
+              && (int) INTS.getAndAdd(in, v, -1) == 1)
+            claim(T, v);
+        }
+
+        for (e = inOffsets[u]; e < inOffsets[u + 1]; e++) {
+          v = sources[e];
+
+          if (v != u && (int) INTS.getVolatile(component, v) == -1
+              && (int) INTS.getAndAdd(out, v, -1) == 1)
+            claim(T, v);
+        }
+        break;
+
+      case Step.FORWARD:
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = targets[e];
+
+          if (component[v] == -1 && ((int) INTS.getOpaque(mark, v) & FROM_PIVOT) == 0
+              && ((int) INTS.getAndBitwiseOr(mark, v, FROM_PIVOT) & FROM_PIVOT) == 0)
+            T.add(v);
+        }
+        break;
+
+      case Step.BACKWARD:
+        // A path back to the pivot from a vertex it reaches only passes
+        // through vertices it reaches
+        for (e = inOffsets[u]; e < inOffsets[u + 1]; e++) {
+          v = sources[e];
+
+          if (((d = (int) INTS.getOpaque(mark, v)) & FROM_PIVOT) != 0 && (d & TO_PIVOT) == 0
+              && ((int) INTS.getAndBitwiseOr(mark, v, TO_PIVOT) & TO_PIVOT) == 0)
+            T.add(v);
+        }
+        break;
+
+      case Step.PIVOT:
+        if (component[u] == -1 && mark[u] == (FROM_PIVOT | TO_PIVOT))
+          component[u] = pivot;
+        break;
+
+      case Step.SEED:
+        if (component[u] == -1) {
+          color[u] = u;
+          T.add(u);
+        }
+        break;
+
+      case Step.COLOR:
+        c = (int) INTS.getVolatile(color, u);
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = targets[e];
+
+          if (component[v] != -1)
+            continue;
+
+          // Raise the color of v to c, and queue v once for the next level
+          while ((d = (int) INTS.getVolatile(color, v)) < c) {
+            if (INTS.compareAndSet(color, v, d, c)) {
+              d = (int) INTS.getVolatile(queued, v);
+
+              if (d != stamp && INTS.compareAndSet(queued, v, d, stamp))
+                T.add(v);
+              break;
+            }
+          }
+        }
+        break;
+
+      case Step.ROOTS:
+        if (component[u] == -1 && color[u] == u) {
+          component[u] = count.getAndIncrement();
+          T.add(u);
+        }
+        break;
+
+      case Step.CLAIM:
+        c = color[u];
+        d = component[u];
+
+        for (e = inOffsets[u]; e < inOffsets[u + 1]; e++) {
+          v = sources[e];
+
+          if (color[v] == c && (int) INTS.getVolatile(component, v) == -1
+              && INTS.compareAndSet(component, v, -1, d))
+            T.add(v);
+        }
+        break;
+      }
+    }
+  }
+
+  /**
+   * Runs one step for the vertices {@code lo} to {@code hi - 1}, or those of
+   * the current level, recursively halving the range across the fork-join pool.
+   */
+  private static final class Step extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private static final int COUNT = 0, FILL = 1, SORT = 2, DEGREES = 3, TRIM = 4, FORWARD = 5,
+        BACKWARD = 6, PIVOT = 7, SEED = 8, COLOR = 9, ROOTS = 10, CLAIM = 11;
+
+    private final Engine E;
+    private final int step, lo, hi;
+    private final boolean leveled;
+
+    /**
+     * The vertices this task found for the next level, which are moved to the
+     * frontier a batch at a time so that the threads rarely contend for its
+     * slots.
+     */
+    private int[] batch;
+    private int size;
+
+    Step(Engine E, int step, boolean leveled, int lo, int hi) {
+      this.E = E;
+      this.step = step;
+      this.leveled = leveled;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      // The steps of the packing run on whole chunks or ranges
+      if (hi - lo <= (step <= SORT ? 1 : GRAIN)) {
+        for (int i = lo; i < hi; i++)
+          E.visit(this, step, leveled ? E.level[i] : i);
+
+        flush();
+        return;
+      }
+
+      int mid = (lo + hi) >>> 1;
+
+      invokeAll(new Step(E, step, leveled, lo, mid), new Step(E, step, leveled, mid, hi));
+    }
+
+    void add(int v) {
+      if (batch == null)
+        batch = new int[BATCH];
+      else if (size == BATCH)
+        flush();
+
+      batch[size++] = v;
+    }
+
+    private void flush() {
+      if (size > 0) {
+        System.arraycopy(batch, 0, E.frontier, E.found.getAndAdd(size), size);
+        size = 0;
+      }
+    }
+  }
+}
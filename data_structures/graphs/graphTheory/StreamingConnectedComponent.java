@@ -0,0 +1,231 @@
+package data_structures.graphs.graphTheory;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import data_structures.graphs.Graph;
+import data_structures.sets.ConcurrentDisjointSet;
+
+/**
+ * <h3>Streaming Connected Components {@code O(E α(V))}</h3>
+ *
+ * <p>
+ * The connected components of a graph whose edges arrive one at a time and are
+ * never stored, for edge lists far larger than memory. This is the
+ * semi-external model: the vertices fit in memory but the edges do not, so the
+ * only state is a {@link ConcurrentDisjointSet} of one {@code int} per vertex,
+ * and each edge is read once, united into it and forgotten. No adjacency is
+ * ever built, so a billion edges over ten million vertices take the same
+ * {@code 40 MB} as ten edges over them.
+ * </p>
+ *
+ * <p>
+ * Edges can be added from a file, from an iterator, or one at a time, and the
+ * components can be queried at any point in between: {@link #connected} tells
+ * whether two vertices are joined by the edges seen so far, {@link #count} how
+ * many components there are, and {@link #components(int[])} labels them all.
+ * The edges of a directed graph give its weakly connected components. Every
+ * index below the number of vertices is a vertex, and a vertex without edges is
+ * a component by itself.
+ * </p>
+ *
+ * <p>
+ * An edge file is a sequence of pairs of {@code int}s, the two vertices of each
+ * edge, in the native byte order, as written by a {@link ByteBuffer} in
+ * {@link ByteOrder#nativeOrder()}. It is read through a fixed buffer, so
+ * reading it costs no memory beyond the buffer whatever its size.
+ * </p>
+ *
+ * <p>
+ * The edges and queries may come from several threads at once, for example
+ * one per file of a split edge list, and the components are the same as if
+ * the edges had come in any one order.
+ * </p>
+ */
+public final class StreamingConnectedComponent {
+  /**
+   * The size in bytes of the buffer edge files are read through.
+   */
+  private static final int BUFFER = 1 << 16;
+
+  /**
+   * The number of vertices.
+   */
+  private final int n;
+
+  /**
+   * The components of the edges seen so far.
+   */
+  private final ConcurrentDisjointSet sets;
+
+  /**
+   * Creates the components of a graph with the specified number of vertices
+   * and no edges yet, where every vertex is its own component.
+   *
+   * @param vertices the number of vertices
+   *
+   * @throws IllegalArgumentException if the number of vertices is negative
+   */
+  public StreamingConnectedComponent(int vertices) {
+    if (vertices < 0)
+      throw new IllegalArgumentException("Number of vertices cannot be negative.");
+
+    n = vertices;
+    sets = new ConcurrentDisjointSet(vertices);
+  }
+
+  /**
+   * Returns the number of vertices.
+   *
+   * @return the number of vertices
+   */
+  public int getNumVertices() {
+    return n;
+  }
+
+  /**
+   * Adds an edge between the two vertices, joining their components.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return whether the edge joined two different components
+   *
+   * @throws IllegalArgumentException if either vertex is negative or not less
+   *                                  than the number of vertices
+   */
+  public boolean addEdge(int u, int v) {
+    Graph.checkVertex(n, u);
+    Graph.checkVertex(n, v);
+    return sets.union(u, v);
+  }
+
+  /**
+   * Adds every edge of the iterator, each an array of its two vertices, and
+   * returns the number of edges added.
+   *
+   * @param edges the edges to add
+   * @return the number of edges added
+   *
+   * @throws NullPointerException     if the iterator or an edge is {@code null}
+   * @throws IllegalArgumentException if an edge does not have two vertices or
+   *                                  either vertex is negative or not less than
+   *                                  the number of vertices
+   */
+  public long addEdges(Iterator<int[]> edges) {
+    if (edges == null)
+      throw new NullPointerException("Edges cannot be null.");
+
+    long count = 0;
+
+    while (edges.hasNext()) {
+      int[] edge = edges.next();
+
+      if (edge == null)
+        throw new NullPointerException("Edge cannot be null.");
+      if (edge.length != 2)
+        throw new IllegalArgumentException("Edge must have two vertices.");
+
+      addEdge(edge[0], edge[1]);
+      count++;
+    }
+
+    return count;
+  }
+
+  /**
+   * Reads every edge of the file, a sequence of pairs of {@code int}s in the
+   * native byte order, in one pass, and returns the number of edges added. The
+   * edges before an invalid one stay added.
+   *
+   * @param file the edge file
+   * @return the number of edges added
+   *
+   * @throws IOException              if the file cannot be read
+   * @throws NullPointerException     if the file is {@code null}
+   * @throws IllegalArgumentException if the file ends in the middle of an edge
+   *                                  or either vertex of an edge is negative or
+   *                                  not less than the number of vertices
+   */
+  public long addEdges(Path file) throws IOException {
+    if (file == null)
+      throw new NullPointerException("File cannot be null.");
+
+    ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER).order(ByteOrder.nativeOrder());
+    long count = 0;
+
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+
+        for (; buffer.remaining() >= 2 * Integer.BYTES; count++)
+          addEdge(buffer.getInt(), buffer.getInt());
+
+        // Keep a partly read edge for the next read
+        buffer.compact();
+      }
+    }
+
+    if (buffer.position() > 0)
+      throw new IllegalArgumentException("File ends in the middle of an edge.");
+    return count;
+  }
+
+  /**
+   * Returns whether the two vertices are in the same component of the edges
+   * added so far.
+   *
+   * @param u the first vertex
+   * @param v the second vertex
+   * @return whether a path of the added edges joins the vertices
+   *
+   * @throws IllegalArgumentException if either vertex is negative or not less
+   *                                  than the number of vertices
+   */
+  public boolean connected(int u, int v) {
+    Graph.checkVertex(n, u);
+    Graph.checkVertex(n, v);
+    return sets.sameSet(u, v);
+  }
+
+  /**
+   * Returns the number of components of the edges added so far.
+   *
+   * @return the number of components
+   */
+  public int count() {
+    return sets.count();
+  }
+
+  /**
+   * Labels the components of the edges added so far into {@code component}, in
+   * order of their smallest vertex from {@code 0}, and returns the number of
+   * components. The roots of the sets are their smallest members, so one pass
+   * in order of the vertices finds the root of every vertex already labelled.
+   *
+   * @param component the array to hold the component of each vertex, of at
+   *                  least the number of vertices
+   * @return the number of components
+   *
+   * @throws NullPointerException     if the array is {@code null}
+   * @throws IllegalArgumentException if the array is shorter than the number of
+   *                                  vertices
+   */
+  public int components(int[] component) {
+    if (component == null)
+      throw new NullPointerException("Component array cannot be null.");
+    if (component.length < n)
+      throw new IllegalArgumentException("Component array cannot be shorter than the number of vertices.");
+
+    int count = 0;
+
+    for (int v = 0, r; v < n; v++)
+      component[v] = (r = sets.find(v)) == v ? count++ : component[r];
+    return count;
+  }
+}
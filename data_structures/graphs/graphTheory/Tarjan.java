@@ -1,6 +1,9 @@
 package data_structures.graphs.graphTheory;
 
+import static java.util.Arrays.fill;
+
 import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
 import data_structures.linkedLists.LinkedList;
 import data_structures.stacks.Stack;
 
@@ -135,4 +138,103 @@ public final class Tarjan {
       SCC.insert(L.toArray());
     }
   }
+
+  /**
+   * Labels the strongly connected components of the {@link SparseGraph} into
+   * {@code component}, with {@code -1} for the indices that are not vertices of
+   * the graph, and returns the number of components.
+   *
+   * <p>
+   * This is the same algorithm as {@link #compute(Graph)} but with the recursion
+   * replaced by an explicit call stack, so it cannot overflow the thread stack
+   * on long paths, and with the node attributes held in primitive arrays.
+   * {@code edge[u]} is the next edge of {@code u} to scan, which is where the
+   * search resumes after returning from a successor.
+   * </p>
+   *
+   * <p>
+   * A component is numbered when its root is popped, and a root is only popped
+   * after every component reachable from it, so the components are numbered in
+   * reverse topological order of the condensation: every edge {@code (u, v)}
+   * between components has {@code component[u] > component[v]}.
+   * </p>
+   *
+   * @param graph     the graph to find the components of
+   * @param component the array to hold the component of each vertex, of at
+   *                  least the graph length
+   * @return the number of components
+   */
+  public static int components(SparseGraph graph, int[] component) {
+    fill(component, 0, graph.getRows(), -1);
+    return components(graph, component, 0);
+  }
+
+  /**
+   * Labels the strongly connected components of the vertices whose
+   * {@code component} is still {@code -1}, numbering them from {@code count},
+   * and returns the new number of components. The vertices that already have a
+   * component are left as they are and their edges are ignored, which is only
+   * correct if they hold whole components.
+   */
+  static int components(SparseGraph graph, int[] component, int count) {
+    int n = graph.getRows();
+    int[] offsets = graph.getOffsets(), targets = graph.getTargets();
+    int[] index = new int[n], lowLink = new int[n], edge = new int[n];
+    int[] S = new int[n], call = new int[n];
+    boolean[] onStack = new boolean[n];
+    int time = 0, top = 0, depth, s, u, v;
+
+    fill(index, -1);
+
+    for (s = 0; s < n; s++) {
+      if (index[s] != -1 || component[s] != -1 || !graph.hasVertex(s))
+        continue;
+
+      index[s] = lowLink[s] = time++;
+      edge[s] = offsets[s];
+      S[top++] = s;
+      onStack[s] = true;
+      call[0] = s;
+      depth = 1;
+
+      while (depth > 0) {
+        u = call[depth - 1];
+
+        // Consider the next successor of u
+        if (edge[u] < offsets[u + 1]) {
+          v = targets[edge[u]++];
+
+          if (index[v] == -1 && component[v] == -1) {
+            index[v] = lowLink[v] = time++;
+            edge[v] = offsets[v];
+            S[top++] = v;
+            onStack[v] = true;
+            call[depth++] = v;
+          }
+          else if (onStack[v])
+            lowLink[u] = Math.min(lowLink[u], index[v]);
+          continue;
+        }
+
+        // All successors are done, so return to the caller
+        depth--;
+
+        if (depth > 0)
+          lowLink[call[depth - 1]] = Math.min(lowLink[call[depth - 1]], lowLink[u]);
+
+        // If u is a root node, generate the SCC
+        if (lowLink[u] == index[u]) {
+          do {
+            v = S[--top];
+            onStack[v] = false;
+            component[v] = count;
+          } while (v != u);
+
+          count++;
+        }
+      }
+    }
+
+    return count;
+  }
 }
@@ -2,13 +2,17 @@ package data_structures.graphs.graphTheory.__tests__;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.*;
 
 import data_structures.graphs.Graph;
 import data_structures.graphs.graphTheory.ConnectedComponent;
+import data_structures.graphs.graphTheory.StreamingConnectedComponent;
 import data_structures.sets.DisjointSet;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -100,4 +104,17 @@ public class ConnectedComponent_Test {
     assertTrue(ConnectedComponent.sameComponent(CC_disjoint[0], CC_disjoint[8]));
     assertFalse(ConnectedComponent.sameComponent(CC_disjoint[0], CC_disjoint[10]));
   }
+
+  @Test
+  void CC_streaming() {
+    int[] component = new int[23];
+    StreamingConnectedComponent C = ConnectedComponent.computeStreaming(23,
+        Arrays.stream(G.getEdges()).map(Graph.Edge::getVertices).iterator());
+
+    assertEquals(4, C.components(component));
+
+    for (int i = 0; i < CC.length; i++)
+      for (Integer v : CC[i])
+        assertEquals(i, component[v]);
+  }
 }
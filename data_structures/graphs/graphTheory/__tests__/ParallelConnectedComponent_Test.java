@@ -0,0 +1,139 @@
+package data_structures.graphs.graphTheory.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.graphTheory.ParallelConnectedComponent;
+import data_structures.sets.ConcurrentDisjointSet;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ParallelConnectedComponent_Test {
+  Graph G = new Graph(23);
+  int[][] CC = {
+    { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+    { 10, 11, 13, 12 },
+    { 14, 15, 17, 18, 19, 20, 21, 22 },
+    { 16 }
+  };
+
+  @BeforeEach
+  void setup() {
+    for (int[] C : CC)
+      for (int i = 1; i < C.length; i++)
+        G.addEdge(C[i - 1], C[i]);
+
+    G.addVertex(16);
+  }
+
+  @Test
+  void no_instantiation() {
+    assertThrows(NoClassDefFoundError.class, () -> new ParallelConnectedComponent());
+  }
+
+  @Test
+  void components() {
+    int[] component = new int[23];
+
+    assertEquals(4, ParallelConnectedComponent.components(new SparseGraph(G), component));
+
+    for (int[] C : CC)
+      for (int v : C)
+        assertEquals(component[C[0]], component[v]);
+
+    assertEquals(4, Arrays.stream(component).distinct().count());
+  }
+
+  @Test
+  void forest() {
+    ConcurrentDisjointSet S = ParallelConnectedComponent.forest(new SparseGraph(G), 2);
+
+    assertTrue(S.sameSet(0, 9));
+    assertTrue(S.sameSet(14, 22));
+    assertFalse(S.sameSet(13, 14));
+    assertFalse(S.sameSet(16, 15));
+    assertEquals(10, S.find(12));
+  }
+
+  @Test
+  void components_of_directed_graphs_are_weak() {
+    Graph D = new Graph(6, true);
+    int[] component = new int[6];
+
+    D.addEdge(0, 1);
+    D.addEdge(2, 1);
+    D.addEdge(4, 3);
+    D.addEdge(4, 5);
+
+    assertEquals(2, ParallelConnectedComponent.components(new SparseGraph(D), component));
+    assertEquals(component[0], component[2]);
+    assertEquals(component[3], component[5]);
+    assertFalse(component[0] == component[3]);
+  }
+
+  @Test
+  void components_skip_missing_vertices() {
+    Graph D = new Graph(5, true);
+    int[] component = new int[5];
+
+    D.addEdge(0, 1);
+    D.addEdge(3, 3);
+
+    assertEquals(2, ParallelConnectedComponent.components(new SparseGraph(D), component));
+    assertEquals(-1, component[2]);
+    assertEquals(-1, component[4]);
+  }
+
+  @Test
+  void components_of_large_graphs() {
+    Random random = new Random(1);
+    int n = 50000, m = n / 2 + n / 4;
+    int[] tails = new int[m], heads = new int[m];
+
+    for (int e = 0; e < m; e++) {
+      tails[e] = random.nextInt(n);
+      heads[e] = random.nextInt(n);
+    }
+
+    for (boolean directed : new boolean[] { false, true }) {
+      SparseGraph S = new SparseGraph(n, directed, tails, heads);
+      ConcurrentDisjointSet expected = new ConcurrentDisjointSet(n);
+      int[] component = new int[n], map = new int[n];
+
+      for (int e = 0; e < m; e++)
+        expected.union(tails[e], heads[e]);
+
+      assertEquals(expected.count(), ParallelConnectedComponent.components(S, component, 2));
+
+      // Each component matches exactly one set
+      Arrays.fill(map, -1);
+
+      for (int v = 0; v < n; v++) {
+        int root = expected.find(v);
+
+        if (map[root] == -1)
+          map[root] = component[v];
+        assertEquals(map[root], component[v]);
+      }
+    }
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    SparseGraph S = new SparseGraph(G);
+
+    assertThrows(NullPointerException.class, () -> ParallelConnectedComponent.components(null, new int[23]));
+    assertThrows(NullPointerException.class, () -> ParallelConnectedComponent.components(S, null));
+    assertThrows(NullPointerException.class, () -> ParallelConnectedComponent.forest(null));
+    assertThrows(IllegalArgumentException.class, () -> ParallelConnectedComponent.components(S, new int[23], 0));
+    assertThrows(IllegalArgumentException.class, () -> ParallelConnectedComponent.forest(S, 0));
+  }
+}
@@ -0,0 +1,118 @@
+package data_structures.graphs.graphTheory.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.graphTheory.ParallelSCC;
+import data_structures.graphs.graphTheory.Tarjan;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ParallelSCC_Test {
+  Graph G = new Graph(10, true);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1);
+    G.addEdge(1, 2);
+    G.addEdge(1, 5);
+    G.addEdge(1, 4);
+    G.addEdge(2, 3);
+    G.addEdge(2, 6);
+    G.addEdge(3, 2);
+    G.addEdge(3, 7);
+    G.addEdge(4, 0);
+    G.addEdge(4, 5);
+    G.addEdge(5, 6);
+    G.addEdge(6, 5);
+    G.addEdge(6, 7);
+  }
+
+  /**
+   * Checks that both labellings put the same vertices together, whatever the
+   * numbers of the components.
+   */
+  void assertSamePartition(int[] expected, int[] actual, int count) {
+    int[] map = new int[count], back = new int[count];
+
+    Arrays.fill(map, -1);
+    Arrays.fill(back, -1);
+
+    for (int v = 0; v < expected.length; v++) {
+      if (expected[v] == -1) {
+        assertEquals(-1, actual[v]);
+        continue;
+      }
+
+      if (map[expected[v]] == -1)
+        map[expected[v]] = actual[v];
+      if (back[actual[v]] == -1)
+        back[actual[v]] = expected[v];
+
+      assertEquals(map[expected[v]], actual[v]);
+      assertEquals(back[actual[v]], expected[v]);
+    }
+  }
+
+  @Test
+  void no_instantiation() {
+    assertThrows(NoClassDefFoundError.class, () -> new ParallelSCC());
+  }
+
+  @Test
+  void components() {
+    SparseGraph S = new SparseGraph(G);
+    int[] component = new int[10], expected = new int[10];
+
+    assertEquals(4, ParallelSCC.components(S, component));
+    Tarjan.components(S, expected);
+    assertSamePartition(expected, component, 4);
+  }
+
+  @Test
+  void components_of_large_graphs() {
+    Random random = new Random(1);
+    int n = 50000, m = 2 * n;
+    int[] tails = new int[m], heads = new int[m];
+
+    for (int e = 0; e < m; e++) {
+      tails[e] = random.nextInt(n);
+      heads[e] = random.nextInt(n);
+    }
+
+    // A chain of two-cycles, 1 -> 0 -> 1 <- 2 -> 3 -> 2 ..., too long to color
+    int[] chainTails = new int[m], chainHeads = new int[m];
+
+    for (int v = 0; v < n; v++) {
+      chainTails[2 * v] = v + 1 < n ? v + 1 : v;
+      chainHeads[2 * v] = v;
+      chainTails[2 * v + 1] = v;
+      chainHeads[2 * v + 1] = v % 2 == 0 && v + 1 < n ? v + 1 : v;
+    }
+
+    for (SparseGraph S : new SparseGraph[] {
+      new SparseGraph(n, true, tails, heads),
+      new SparseGraph(n, true, chainTails, chainHeads)
+    }) {
+      int[] component = new int[n], expected = new int[n];
+      int count = Tarjan.components(S, expected);
+
+      assertEquals(count, ParallelSCC.components(S, component, 2));
+      assertSamePartition(expected, component, count);
+    }
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    SparseGraph S = new SparseGraph(G);
+
+    assertThrows(NullPointerException.class, () -> ParallelSCC.components(null, new int[10]));
+    assertThrows(IllegalArgumentException.class, () -> ParallelSCC.components(S, new int[10], 0));
+  }
+}
@@ -0,0 +1,204 @@
+package data_structures.graphs.graphTheory.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.graphTheory.ConnectedComponent;
+import data_structures.graphs.graphTheory.StreamingConnectedComponent;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class StreamingConnectedComponent_Test {
+  StreamingConnectedComponent C = new StreamingConnectedComponent(8);
+
+  @TempDir
+  Path dir;
+
+  /**
+   * Writes the edges to a file as pairs of {@code int}s in the native byte
+   * order.
+   */
+  Path write(String name, int[] tails, int[] heads) throws IOException {
+    Path file = dir.resolve(name);
+    ByteBuffer buffer = ByteBuffer.allocate(8 * tails.length).order(ByteOrder.nativeOrder());
+
+    for (int e = 0; e < tails.length; e++)
+      buffer.putInt(tails[e]).putInt(heads[e]);
+
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining())
+        channel.write(buffer);
+    }
+
+    return file;
+  }
+
+  /**
+   * Labels the components of the edges by a breadth-first search from each
+   * vertex in order, so in order of their smallest vertex.
+   */
+  int[] search(int n, int[] tails, int[] heads) {
+    SparseGraph S = new SparseGraph(n, false, tails, heads);
+    int[] offsets = S.getOffsets(), targets = S.getTargets(), component = new int[n], queue = new int[n];
+    int count = 0;
+
+    Arrays.fill(component, -1);
+
+    for (int s = 0; s < n; s++) {
+      if (component[s] != -1)
+        continue;
+
+      int front = 0, back = 0;
+
+      component[s] = count;
+      queue[back++] = s;
+
+      while (front < back) {
+        int u = queue[front++];
+
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+          if (component[targets[e]] == -1) {
+            component[targets[e]] = count;
+            queue[back++] = targets[e];
+          }
+        }
+      }
+
+      count++;
+    }
+
+    return component;
+  }
+
+  @Test
+  void incremental_edges_and_queries() {
+    int[] component = new int[8];
+
+    assertEquals(8, C.getNumVertices());
+    assertEquals(8, C.count());
+    assertFalse(C.connected(0, 3));
+
+    assertTrue(C.addEdge(3, 2));
+    assertTrue(C.addEdge(0, 2));
+    assertFalse(C.addEdge(3, 0));
+    assertTrue(C.connected(0, 3));
+    assertEquals(6, C.count());
+
+    assertEquals(2, C.addEdges(List.of(new int[] { 7, 5 }, new int[] { 5, 6 }).iterator()));
+    assertTrue(C.connected(6, 7));
+    assertFalse(C.connected(6, 4));
+
+    // Numbered in order of the smallest vertex of each component
+    assertEquals(4, C.components(component));
+    assertArrayEquals(new int[] { 0, 1, 0, 0, 2, 3, 3, 3 }, component);
+  }
+
+  @Test
+  void edge_files_larger_than_the_buffer() throws IOException {
+    Random random = new Random(1);
+    int n = 100000, m = 3 * n / 4;
+    int[] tails = new int[m], heads = new int[m];
+
+    for (int e = 0; e < m; e++) {
+      tails[e] = random.nextInt(n);
+      heads[e] = random.nextInt(n);
+    }
+
+    StreamingConnectedComponent S = ConnectedComponent.computeStreaming(n, write("edges", tails, heads));
+    int[] component = new int[n], expected = search(n, tails, heads);
+    int count = Arrays.stream(expected).max().getAsInt() + 1;
+
+    assertEquals(count, S.count());
+    assertEquals(count, S.components(component));
+    assertArrayEquals(expected, component);
+
+    // The same file again adds nothing
+    assertEquals(m, S.addEdges(dir.resolve("edges")));
+    assertEquals(count, S.count());
+  }
+
+  @Test
+  void edge_files_read_by_several_threads() throws Exception {
+    int n = 2000, m = 1500, parts = 4;
+
+    for (int round = 0; round < 50; round++) {
+      Random random = new Random(round);
+      int[] tails = new int[m], heads = new int[m], component = new int[n], expected;
+      Path[] files = new Path[parts];
+      Thread[] threads = new Thread[parts];
+      StreamingConnectedComponent S = new StreamingConnectedComponent(n);
+
+      for (int e = 0; e < m; e++) {
+        tails[e] = random.nextInt(n);
+        heads[e] = random.nextInt(n);
+      }
+
+      expected = search(n, tails, heads);
+
+      // One file per thread, like a split edge list
+      for (int k = 0; k < parts; k++) {
+        int from = k * m / parts, to = (k + 1) * m / parts;
+        Path file = files[k] = write(round + "-" + k, Arrays.copyOfRange(tails, from, to),
+            Arrays.copyOfRange(heads, from, to));
+
+        threads[k] = new Thread(() -> {
+          try {
+            S.addEdges(file);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+        threads[k].start();
+      }
+
+      for (Thread thread : threads)
+        thread.join();
+
+      assertEquals(Arrays.stream(expected).max().getAsInt() + 1, S.count());
+      S.components(component);
+      assertArrayEquals(expected, component);
+    }
+  }
+
+  @Test
+  void throws_on_invalid_edges() throws IOException {
+    Path file = write("truncated", new int[] { 0, 1 }, new int[] { 1, 2 });
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(12);
+    }
+
+    assertThrows(IllegalArgumentException.class, () -> new StreamingConnectedComponent(-1));
+    assertThrows(IllegalArgumentException.class, () -> C.addEdge(0, 8));
+    assertThrows(IllegalArgumentException.class, () -> C.connected(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> C.addEdges(file));
+    assertThrows(IllegalArgumentException.class, () -> C.addEdges(write("out", new int[] { 0 }, new int[] { 9 })));
+    assertThrows(IllegalArgumentException.class, () -> C.addEdges(List.of(new int[] { 0 }).iterator()));
+    assertThrows(IllegalArgumentException.class, () -> C.components(new int[7]));
+    assertThrows(NullPointerException.class, () -> C.addEdges((Path) null));
+    assertThrows(NullPointerException.class, () -> C.components(null));
+    assertThrows(java.nio.file.NoSuchFileException.class, () -> C.addEdges(dir.resolve("missing")));
+
+    // The edge before the truncated one was added
+    assertTrue(C.connected(0, 1));
+  }
+}
@@ -2,10 +2,12 @@ package data_structures.graphs.graphTheory.__tests__;
 
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.*;
 
 import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
 import data_structures.graphs.graphTheory.Tarjan;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -45,4 +47,14 @@ public class Tarjan_Test {
     assertArrayEquals(SCC, Tarjan.compute(G));
   }
 
-}
\ No newline at end of file
+  @Test
+  void components() {
+    int[] component = new int[10];
+    // Numbered in reverse topological order, with -1 for non-vertices
+    int[] expected = { 3, 3, 2, 2, 3, 1, 1, 0, -1, -1 };
+
+    assertEquals(4, Tarjan.components(new SparseGraph(G), component));
+    assertArrayEquals(expected, component);
+  }
+
+}
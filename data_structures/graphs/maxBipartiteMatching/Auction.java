@@ -0,0 +1,567 @@
+package data_structures.graphs.maxBipartiteMatching;
+
+import static java.util.Arrays.fill;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import data_structures.graphs.Graph;
+
+/**
+ * Auction(A, eps)
+ * 1   for each object j
+ * 2       j.price = 0
+ * 3   repeat
+ * 4       every person and object is unassigned
+ * 5       while some person i is unassigned
+ * 6           j = the object with the largest value A[i][j] - j.price
+ * 7           w = the second largest value, or -Infinity if there is none
+ * 8           j.price = j.price + (A[i][j] - j.price) - w + eps
+ * 9           assign j to i, unassigning its previous owner
+ * 10      eps = eps / THETA
+ * 11  until eps < 1 after the phase with eps == 1
+ */
+
+/**
+ * <h3>Auction Algorithm</h3>
+ *
+ * <p>
+ * Bertsekas' auction algorithm finds an assignment of minimum total cost in a
+ * sparse weighted {@link BipartiteGraph}, the same pairs as the
+ * {@link Hungarian} algorithm but without its {@code n x m} matrix. The left
+ * vertices are persons and the right vertices are objects with prices: each
+ * unassigned person bids for the object of largest value, its benefit minus
+ * its price, raising the price by the margin over the second best object plus
+ * {@code eps}, and takes it from its previous owner. Every assignment then
+ * stays within {@code eps} of the best for its person.
+ * </p>
+ *
+ * <p>
+ * The benefits are the negated weights scaled by {@code n + 1}, so that once a
+ * phase with {@code eps == 1} ends, the assignment is within {@code n / (n + 1)}
+ * of the optimum in the original weights, which are integers, and so optimal.
+ * The phases start with a large {@code eps} that is divided by {@link #THETA}
+ * after each one, keeping the prices of the last, which makes the number of
+ * bids depend on {@code lg(n C)} rather than on the weights {@code C}.
+ * </p>
+ *
+ * <p>
+ * The auction needs every person to be assigned. When the left vertices cannot
+ * all be matched, each left vertex gets a private object that costs more than
+ * any difference an extra edge could make, and each right vertex a private
+ * person that can take the object of any left vertex next to it, so the result
+ * is a maximum matching with the least cost among them, as in
+ * {@link Hungarian#matches(Graph)}.
+ * </p>
+ *
+ * <p>
+ * Run in the calling thread, the persons bid one at a time (Gauss-Seidel).
+ * With a parallelism, all the unassigned persons bid at once on a
+ * {@link ForkJoinPool} (Jacobi): the highest bid for each object is kept with
+ * a compare-and-set, then each object goes to its highest bidder, and the
+ * outbid persons bid again in the next round.
+ * </p>
+ */
+public final class Auction extends BipartiteMatchingAlgorithm {
+  /**
+   * The factor {@code eps} is divided by after each phase.
+   */
+  private static final int THETA = 8;
+
+  /**
+   * The number of persons a task bids for before splitting its range.
+   */
+  private static final int GRAIN = 256;
+
+  /**
+   * The largest price, leaving room for the values and bids around it.
+   */
+  private static final long LIMIT = Long.MAX_VALUE / 4;
+
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+  private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  // Prevent this class from being instantiated
+  public Auction() {
+    super();
+  }
+
+  /**
+   * Runs the auction algorithm on the specified directed, weighted graph and
+   * finds a maximum matching of least total weight. The array indices represent
+   * the vertices and the value is the matched vertex.
+   *
+   * @param graph the directed, weighted graph
+   * @return the array of matches
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted,
+   *                                  or its weights are too large to scale
+   */
+  public static int[] matches(Graph graph) {
+    checkGraph(graph);
+    return matches(new BipartiteGraph(graph));
+  }
+
+  /**
+   * Returns the total weight of a maximum matching of least total weight in the
+   * specified directed, weighted graph.
+   *
+   * @param graph the directed, weighted graph
+   * @return the total weight of the matched edges
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted,
+   *                                  or its weights are too large to scale
+   */
+  public static long minCost(Graph graph) {
+    checkGraph(graph);
+    return minCost(new BipartiteGraph(graph));
+  }
+
+  /**
+   * Runs the auction algorithm on the weighted graph and returns a string of the
+   * matches of least total weight.
+   *
+   * @param graph the directed, weighted graph
+   * @return the string of matches
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted,
+   *                                  or its weights are too large to scale
+   */
+  public static String printMatches(Graph graph) {
+    return printMatches(matches(graph));
+  }
+
+  /**
+   * Runs the auction algorithm on the weighted bipartite graph in the calling
+   * thread and returns the right vertex matched to each left vertex, or
+   * {@link Graph#NIL} if it is unmatched, in a maximum matching of least total
+   * weight.
+   *
+   * @param graph the weighted bipartite graph
+   * @return the array of matches of the left vertices
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the graph is not weighted or its
+   *                                  weights are too large to scale
+   */
+  public static int[] matches(BipartiteGraph graph) {
+    return new Engine(graph, null).run().matches();
+  }
+
+  /**
+   * Runs the auction algorithm on the weighted bipartite graph with the
+   * specified number of threads and returns the right vertex matched to each
+   * left vertex, or {@link Graph#NIL} if it is unmatched, in a maximum matching
+   * of least total weight. The threads are started for this run and stopped
+   * when it ends.
+   *
+   * @param graph       the weighted bipartite graph
+   * @param parallelism the number of threads
+   * @return the array of matches of the left vertices
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the graph is not weighted, its weights
+   *                                  are too large to scale or the parallelism
+   *                                  is less than {@code 1}
+   */
+  public static int[] matches(BipartiteGraph graph, int parallelism) {
+    return run(graph, parallelism).matches();
+  }
+
+  /**
+   * Returns the total weight of a maximum matching of least total weight in the
+   * weighted bipartite graph, running in the calling thread.
+   *
+   * @param graph the weighted bipartite graph
+   * @return the total weight of the matched edges
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the graph is not weighted or its
+   *                                  weights are too large to scale
+   */
+  public static long minCost(BipartiteGraph graph) {
+    return new Engine(graph, null).run().cost();
+  }
+
+  /**
+   * Returns the total weight of a maximum matching of least total weight in the
+   * weighted bipartite graph, running with the specified number of threads.
+   *
+   * @param graph       the weighted bipartite graph
+   * @param parallelism the number of threads
+   * @return the total weight of the matched edges
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the graph is not weighted, its weights
+   *                                  are too large to scale or the parallelism
+   *                                  is less than {@code 1}
+   */
+  public static long minCost(BipartiteGraph graph, int parallelism) {
+    return run(graph, parallelism).cost();
+  }
+
+  private static Engine run(BipartiteGraph graph, int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      return new Engine(graph, pool).run();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * The state of one auction over the persons and objects, which are the left
+   * and right vertices of the graph, or the graph extended with the private
+   * persons and objects when not every left vertex can be matched.
+   */
+  private static final class Engine {
+    /**
+     * The number of left and right vertices of the graph, and of persons and
+     * objects.
+     */
+    private final int left, right, n;
+
+    /**
+     * The arcs of each person, and the object and scaled benefit of each arc.
+     */
+    private final int[] offsets, objects;
+    private final long[] benefits;
+
+    /**
+     * The smallest increment of a bid, and how much a person with a single arc
+     * raises its price by, more than any margin between two arcs.
+     */
+    private long eps, span;
+
+    /**
+     * The pool the bids are made on, or {@code null} to make them in the
+     * calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The price of each object, and for each round its highest bid.
+     */
+    private final long[] prices, highest;
+
+    /**
+     * The arc assigned to each person, the person each object is assigned to,
+     * and the highest bidder for each object, or {@code -1}.
+     */
+    private final int[] assigned, owners, winners;
+
+    /**
+     * The arc and amount of each person's bid in the round.
+     */
+    private final int[] bidArcs;
+    private final long[] bids;
+
+    /**
+     * The unassigned persons bidding in the round, and the ones outbid.
+     */
+    private int[] level, frontier;
+    private final AtomicInteger found = new AtomicInteger();
+
+    Engine(BipartiteGraph graph, ForkJoinPool pool) {
+      if (graph == null)
+        throw new NullPointerException("Graph cannot be null.");
+      if (!graph.isWeighted())
+        throw new IllegalArgumentException("Bipartite graph must be weighted.");
+
+      int[] off = graph.getOffsets(), targets = graph.getTargets(), weights = graph.getWeights();
+      int l = graph.getLeft(), r = graph.getRight(), m = graph.getNumEdges(), i, j, e, k;
+      long min = 0, max = 0, scale, penalty;
+
+      for (e = 0; e < m; e++) {
+        min = Math.min(min, weights[e]);
+        max = Math.max(max, weights[e]);
+      }
+
+      this.pool = pool;
+      left = l;
+      right = r;
+      scale = l + (long) r + 1;
+
+      // Every scaled benefit and the penalty has to fit well below the limit
+      if (max - min > LIMIT / scale / Math.max(1, Math.min(l, r)))
+        throw new IllegalArgumentException("Weights are too large for the auction algorithm.");
+
+      if (l == r && HopcroftKarp.total(graph) == l) {
+        n = l;
+        scale = n + 1L;
+        penalty = 0;
+        offsets = off;
+        objects = targets;
+        benefits = new long[m];
+
+        for (e = 0; e < m; e++)
+          benefits[e] = -weights[e] * scale;
+      } else {
+        // Left i also takes object r + i, right j is also person l + j
+        int[] in = new int[r + 1];
+
+        n = l + r;
+        scale = n + 1L;
+        penalty = (Math.min(l, r) * (max - min) + Math.max(max, -min) + 1) * scale;
+        offsets = new int[n + 1];
+        objects = new int[2 * m + n];
+        benefits = new long[2 * m + n];
+
+        for (e = 0; e < m; e++)
+          in[targets[e] + 1]++;
+
+        for (j = 0; j < r; j++)
+          in[j + 1] += in[j];
+
+        for (i = 0; i < l; i++)
+          offsets[i + 1] = offsets[i] + off[i + 1] - off[i] + 1;
+
+        for (j = 0; j < r; j++)
+          offsets[l + j + 1] = offsets[l + j] + in[j + 1] - in[j] + 1;
+
+        int[] next = new int[r];
+
+        for (j = 0; j < r; j++) {
+          k = offsets[l + j];
+          objects[k] = j;
+          next[j] = k + 1;
+        }
+
+        for (i = 0; i < l; i++) {
+          for (e = off[i], k = offsets[i]; e < off[i + 1]; e++, k++) {
+            objects[k] = targets[e];
+            benefits[k] = -weights[e] * scale;
+            objects[next[targets[e]]++] = r + i;
+          }
+
+          objects[k] = r + i;
+          benefits[k] = -penalty;
+        }
+      }
+
+      span = Math.max(penalty, (max - min) * scale);
+      eps = Math.max(1, span / THETA);
+      prices = new long[n];
+      highest = new long[n];
+      assigned = new int[n];
+      owners = new int[n];
+      winners = new int[n];
+      bidArcs = new int[n];
+      bids = new long[n];
+      level = new int[n];
+      frontier = new int[n];
+    }
+
+    Engine run() {
+      fill(highest, Long.MIN_VALUE);
+      fill(winners, -1);
+
+      while (true) {
+        fill(assigned, -1);
+        fill(owners, -1);
+
+        if (pool == null)
+          sequential();
+        else
+          parallel();
+
+        if (eps == 1)
+          return this;
+        eps = Math.max(1, eps / THETA);
+      }
+    }
+
+    /**
+     * Runs a phase with the persons bidding one at a time, each taking its
+     * object at once.
+     */
+    private void sequential() {
+      int i, j, old, front = 0, count = n;
+
+      // The unassigned persons, in a circular queue
+      for (i = 0; i < n; i++)
+        level[i] = i;
+
+      while (count > 0) {
+        i = level[front];
+        front = front + 1 == n ? 0 : front + 1;
+        count--;
+
+        bid(i);
+        j = objects[bidArcs[i]];
+        old = owners[j];
+        prices[j] = bids[i];
+        owners[j] = i;
+        assigned[i] = bidArcs[i];
+
+        if (old != -1) {
+          assigned[old] = -1;
+          level[(front + count++) % n] = old;
+        }
+      }
+    }
+
+    /**
+     * Runs a phase in rounds, with all the unassigned persons bidding at once.
+     */
+    private void parallel() {
+      int count = n;
+
+      for (int i = 0; i < n; i++)
+        level[i] = i;
+
+      while (count > 0) {
+        pool.invoke(new Round(this, Round.BID, 0, count));
+        found.set(0);
+        pool.invoke(new Round(this, Round.AWARD, 0, count));
+        pool.invoke(new Round(this, Round.RESET, 0, count));
+        count = found.get();
+
+        int[] swap = level;
+        level = frontier;
+        frontier = swap;
+      }
+    }
+
+    /**
+     * Finds the arc of largest value for the person, and the price it bids for
+     * its object.
+     */
+    private void bid(int i) {
+      int e, best = -1;
+      long value, first = Long.MIN_VALUE, second = Long.MIN_VALUE;
+
+      for (e = offsets[i]; e < offsets[i + 1]; e++) {
+        value = benefits[e] - prices[objects[e]];
+
+        if (value > first) {
+          second = first;
+          first = value;
+          best = e;
+        } else if (value > second)
+          second = value;
+      }
+
+      bidArcs[i] = best;
+      bids[i] = prices[objects[best]] + (second == Long.MIN_VALUE ? span : first - second) + eps;
+
+      if (bids[i] > LIMIT)
+        throw new IllegalArgumentException("Weights are too large for the auction algorithm.");
+    }
+
+    /**
+     * Makes the person's bid for the round and keeps it if it is the highest
+     * for the object so far.
+     */
+    void bidInRound(int i) {
+      bid(i);
+
+      int j = objects[bidArcs[i]];
+      long high;
+
+      while (bids[i] > (high = (long) LONGS.getVolatile(highest, j)))
+        if (LONGS.compareAndSet(highest, j, high, bids[i]))
+          break;
+    }
+
+    /**
+     * Gives the object to the person if its bid is the highest, or puts the
+     * person back in the next round, along with the owner it outbids.
+     */
+    void award(int i) {
+      int j = objects[bidArcs[i]], old;
+
+      if (highest[j] == bids[i] && INTS.compareAndSet(winners, j, -1, i)) {
+        old = owners[j];
+        prices[j] = bids[i];
+        owners[j] = i;
+        assigned[i] = bidArcs[i];
+
+        if (old == -1)
+          return;
+
+        assigned[old] = -1;
+        i = old;
+      }
+
+      frontier[found.getAndIncrement()] = i;
+    }
+
+    /**
+     * Clears the highest bid for the person's object for the next round.
+     */
+    void reset(int i) {
+      int j = objects[bidArcs[i]];
+
+      highest[j] = Long.MIN_VALUE;
+      winners[j] = -1;
+    }
+
+    int[] matches() {
+      int[] matches = new int[left];
+
+      for (int i = 0; i < left; i++) {
+        int j = objects[assigned[i]];
+        matches[i] = j < right ? j : Graph.NIL;
+      }
+
+      return matches;
+    }
+
+    long cost() {
+      long total = 0, scale = n + 1L;
+
+      for (int i = 0; i < left; i++)
+        if (objects[assigned[i]] < right)
+          total -= benefits[assigned[i]] / scale;
+      return total;
+    }
+  }
+
+  /**
+   * Runs one step of a round for the persons {@code level[lo]} to
+   * {@code level[hi - 1]}, recursively halving the range across the fork-join
+   * pool.
+   */
+  private static final class Round extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private static final int BID = 0, AWARD = 1, RESET = 2;
+
+    private final Engine E;
+    private final int step, lo, hi;
+
+    Round(Engine E, int step, int lo, int hi) {
+      this.E = E;
+      this.step = step;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        for (int i = lo; i < hi; i++) {
+          if (step == BID)
+            E.bidInRound(E.level[i]);
+          else if (step == AWARD)
+            E.award(E.level[i]);
+          else
+            E.reset(E.level[i]);
+        }
+        return;
+      }
+
+      int mid = (lo + hi) >>> 1;
+
+      invokeAll(new Round(E, step, lo, mid), new Round(E, step, mid, hi));
+    }
+  }
+}
@@ -0,0 +1,259 @@
+package data_structures.graphs.maxBipartiteMatching;
+
+import data_structures.graphs.Graph;
+
+/**
+ * A read-only bipartite graph with its edges packed in compressed sparse row
+ * format, from the left vertices {@code 0} to {@code left - 1} to the right
+ * vertices {@code 0} to {@code right - 1}:
+ *
+ * <ul>
+ * <li>{@code offsets[u]} to {@code offsets[u + 1]} is the range of the edges
+ * leaving the left vertex {@code u}</li>
+ * <li>{@code targets[e]} is the right vertex of edge {@code e}</li>
+ * <li>{@code weights[e]} is the weight of edge {@code e}, if the graph is
+ * weighted</li>
+ * </ul>
+ *
+ * <p>
+ * Both sides are numbered from {@code 0}, so a graph with millions of edges
+ * takes two {@code int} arrays instead of a {@code V x V} matrix, and scanning
+ * the neighbours of a vertex takes {@code O(deg(u))} time. Because the graph is
+ * never modified, it can be shared by any number of threads running matchings
+ * on it.
+ * </p>
+ */
+public final class BipartiteGraph {
+  /**
+   * The number of left and right vertices.
+   */
+  private final int left, right;
+
+  /**
+   * The start of each left vertex's edges in {@code targets}, with
+   * {@code offsets[left]} holding the number of edges.
+   */
+  private final int[] offsets;
+
+  /**
+   * The right vertex of each edge.
+   */
+  private final int[] targets;
+
+  /**
+   * The weight of each edge, or {@code null} if the graph is not weighted.
+   */
+  private final int[] weights;
+
+  /**
+   * Creates the bipartite graph with the specified edges, where edge {@code i}
+   * joins the left vertex {@code tails[i]} to the right vertex {@code heads[i]}.
+   * The edges of each left vertex keep the order they are given in.
+   *
+   * @param left  the number of left vertices
+   * @param right the number of right vertices
+   * @param tails the left vertex of each edge
+   * @param heads the right vertex of each edge
+   *
+   * @throws NullPointerException     if an edge array is {@code null}
+   * @throws IllegalArgumentException if a number of vertices is negative, the
+   *                                  edge arrays have different lengths or a
+   *                                  vertex is invalid
+   */
+  public BipartiteGraph(int left, int right, int[] tails, int[] heads) {
+    this(left, right, tails, heads, null, false);
+  }
+
+  /**
+   * Creates the weighted bipartite graph with the specified edges, where edge
+   * {@code i} joins the left vertex {@code tails[i]} to the right vertex
+   * {@code heads[i]} with the weight {@code weights[i]}. The edges of each left
+   * vertex keep the order they are given in.
+   *
+   * @param left    the number of left vertices
+   * @param right   the number of right vertices
+   * @param tails   the left vertex of each edge
+   * @param heads   the right vertex of each edge
+   * @param weights the weight of each edge
+   *
+   * @throws NullPointerException     if an edge array is {@code null}
+   * @throws IllegalArgumentException if a number of vertices is negative, the
+   *                                  edge arrays have different lengths or a
+   *                                  vertex is invalid
+   */
+  public BipartiteGraph(int left, int right, int[] tails, int[] heads, int[] weights) {
+    this(left, right, tails, heads, weights, true);
+  }
+
+  private BipartiteGraph(int left, int right, int[] tails, int[] heads, int[] weights, boolean weighted) {
+    if (tails == null || heads == null || (weighted && weights == null))
+      throw new NullPointerException("Edges cannot be null.");
+    if (left < 0 || right < 0)
+      throw new IllegalArgumentException("Number of vertices cannot be negative.");
+    if (tails.length != heads.length || (weighted && weights.length != tails.length))
+      throw new IllegalArgumentException("Edge arrays must have the same length.");
+
+    int i, m = tails.length;
+
+    this.left = left;
+    this.right = right;
+    offsets = new int[left + 1];
+    targets = new int[m];
+    this.weights = weighted ? new int[m] : null;
+
+    for (i = 0; i < m; i++) {
+      checkVertex(left, tails[i]);
+      checkVertex(right, heads[i]);
+      offsets[tails[i] + 1]++;
+    }
+
+    for (i = 0; i < left; i++)
+      offsets[i + 1] += offsets[i];
+
+    // Place each edge after the ones before it from the same vertex
+    int[] next = new int[left];
+
+    System.arraycopy(offsets, 0, next, 0, left);
+
+    for (i = 0; i < m; i++) {
+      if (weighted)
+        this.weights[next[tails[i]]] = weights[i];
+      targets[next[tails[i]]++] = heads[i];
+    }
+  }
+
+  /**
+   * Creates the bipartite graph of the edges of a directed {@link Graph}, where
+   * every row is both a left and a right vertex and edge {@code (u, v)} joins
+   * the left {@code u} to the right {@code v} with its weight, {@code 1} if the
+   * graph is not weighted. Later changes to the graph are not reflected.
+   *
+   * @param graph the directed graph
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the graph is not directed
+   */
+  public BipartiteGraph(Graph graph) {
+    if (graph == null)
+      throw new NullPointerException("Graph cannot be null.");
+    if (!graph.isDirected())
+      throw new IllegalArgumentException("The graph must be directed.");
+
+    int[][] G = graph.getAdjacencyMatrix();
+    int u, v, e = 0, n = graph.getRows();
+
+    left = n;
+    right = n;
+    offsets = new int[n + 1];
+
+    for (u = 0; u < n; u++) {
+      offsets[u] = e;
+
+      if (G[u] != null)
+        for (v = 0; v < n; v++)
+          if (G[u][v] != Graph.NIL)
+            e++;
+    }
+
+    offsets[n] = e;
+    targets = new int[e];
+    weights = new int[e];
+
+    for (u = 0, e = 0; u < n; u++) {
+      if (G[u] == null)
+        continue;
+
+      for (v = 0; v < n; v++) {
+        if (G[u][v] != Graph.NIL) {
+          targets[e] = v;
+          weights[e++] = G[u][v];
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of left vertices.
+   *
+   * @return the number of left vertices
+   */
+  public int getLeft() {
+    return left;
+  }
+
+  /**
+   * Returns the number of right vertices.
+   *
+   * @return the number of right vertices
+   */
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Returns the number of edges.
+   *
+   * @return the number of edges
+   */
+  public int getNumEdges() {
+    return targets.length;
+  }
+
+  /**
+   * Returns the number of edges of the left vertex.
+   *
+   * @param u the left vertex
+   * @return the degree of the vertex
+   *
+   * @throws IllegalArgumentException if the vertex is invalid
+   */
+  public int degree(int u) {
+    checkVertex(left, u);
+    return offsets[u + 1] - offsets[u];
+  }
+
+  /**
+   * Returns the edge offsets array, where the edges of the left vertex
+   * {@code u} are {@code [offsets[u], offsets[u + 1])}. The array is shared and
+   * must not be modified.
+   *
+   * @return the edge offsets
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * Returns the edge targets array. The array is shared and must not be
+   * modified.
+   *
+   * @return the right vertex of each edge
+   */
+  public int[] getTargets() {
+    return targets;
+  }
+
+  /**
+   * Returns whether the edges have weights.
+   *
+   * @return if the graph is weighted
+   */
+  public boolean isWeighted() {
+    return weights != null;
+  }
+
+  /**
+   * Returns the edge weights array, or {@code null} if the graph is not
+   * weighted. The array is shared and must not be modified.
+   *
+   * @return the weight of each edge
+   */
+  public int[] getWeights() {
+    return weights;
+  }
+
+  private static void checkVertex(int n, int v) {
+    if (v < 0 || v >= n)
+      throw new IllegalArgumentException("Vertex " + v + " does not exist in bipartite graph.");
+  }
+}
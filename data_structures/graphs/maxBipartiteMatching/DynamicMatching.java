@@ -0,0 +1,498 @@
+package data_structures.graphs.maxBipartiteMatching;
+
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.fill;
+
+import data_structures.graphs.Graph;
+
+/**
+ * Insert(u, v)
+ * 1   add (u, v) to E
+ * 2   if u and v are both unmatched
+ * 3       M = M + {(u, v)}
+ * 4   else if only u is unmatched
+ * 5       augment M along an alternating path from u, if there is one
+ * 6   else if only v is unmatched
+ * 7       augment M along an alternating path to v, if there is one
+ * 8   else if there are alternating paths from an unmatched left vertex to
+ *             u.pair and from v.pair to an unmatched right vertex
+ * 9       augment M along the path through (u, v)
+ *
+ * Delete(u, v)
+ * 1   remove (u, v) from E
+ * 2   if (u, v) is in M
+ * 3       M = M - {(u, v)}
+ * 4       augment M along an alternating path from u or to v, if there is one
+ */
+
+/**
+ * <h3>Dynamic Bipartite Matching</h3>
+ *
+ * <p>
+ * Keeps a maximum matching of a bipartite graph whose edges are inserted and
+ * deleted over time, repairing it after each change instead of running
+ * {@link HopcroftKarp} again on the whole graph. The left vertices are
+ * {@code 0} to {@code left - 1} and the right vertices {@code 0} to
+ * {@code right - 1}, as in a {@link BipartiteGraph}.
+ * </p>
+ *
+ * <p>
+ * A change moves the size of a maximum matching by at most one, and since the
+ * matching was maximum before it, any augmenting path afterwards has to go
+ * through the changed edge or its vertices. An insertion searches at most two
+ * alternating paths, from the pair of {@code u} back to an unmatched left vertex
+ * and from the pair of {@code v} on to an unmatched right vertex, which cannot
+ * share a vertex, or the matching would not have been maximum. A deletion of a
+ * matched edge searches at most two, from {@code u} and to {@code v}. Each
+ * search is a breadth-first search of {@code O(V + E)} time in the worst case,
+ * but usually stops after a few vertices, and nothing else is scanned, so an
+ * update never costs more than two searches. The size of the matching is kept
+ * as it changes.
+ * </p>
+ *
+ * <p>
+ * The edges of each vertex are kept in a growable {@code int} array, so
+ * checking for or deleting an edge takes {@code O(deg(u) + deg(v))} time.
+ * </p>
+ */
+public final class DynamicMatching {
+  /**
+   * The pair of an unmatched vertex.
+   */
+  private static final int NIL = -1;
+
+  /**
+   * The number of left and right vertices.
+   */
+  private final int left, right;
+
+  /**
+   * The right neighbours of each left vertex and the left neighbours of each
+   * right vertex, with their numbers.
+   */
+  private final int[][] adjL, adjR;
+  private final int[] degL, degR;
+
+  /**
+   * The right vertex matched to each left vertex and the left vertex matched to
+   * each right vertex, or {@code NIL}.
+   */
+  private final int[] pairL, pairR;
+
+  /**
+   * The number of matched pairs.
+   */
+  private int size;
+
+  /**
+   * The vertex each vertex was reached from in the last search, the search
+   * that last reached it, and the queue of the search.
+   */
+  private final int[] fromL, fromR, seenL, seenR, queue;
+  private int stamp;
+
+  /**
+   * Creates a dynamic matching of a bipartite graph with the specified numbers
+   * of vertices and no edges.
+   *
+   * @param left  the number of left vertices
+   * @param right the number of right vertices
+   *
+   * @throws IllegalArgumentException if a number of vertices is negative
+   */
+  public DynamicMatching(int left, int right) {
+    if (left < 0 || right < 0)
+      throw new IllegalArgumentException("Number of vertices cannot be negative.");
+
+    this.left = left;
+    this.right = right;
+    adjL = new int[left][];
+    adjR = new int[right][];
+    degL = new int[left];
+    degR = new int[right];
+    pairL = new int[left];
+    pairR = new int[right];
+    fromL = new int[left];
+    fromR = new int[right];
+    seenL = new int[left];
+    seenR = new int[right];
+    queue = new int[Math.max(left, right)];
+
+    fill(pairL, NIL);
+    fill(pairR, NIL);
+  }
+
+  /**
+   * Creates a dynamic matching of the edges of the bipartite graph, starting
+   * from the maximum matching {@link HopcroftKarp} finds. Repeated edges are
+   * kept once.
+   *
+   * @param graph the bipartite graph
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public DynamicMatching(BipartiteGraph graph) {
+    this(graph.getLeft(), graph.getRight());
+
+    int[] offsets = graph.getOffsets(), targets = graph.getTargets(), matches = HopcroftKarp.matches(graph);
+
+    for (int u = 0; u < left; u++) {
+      stamp++;
+
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        int v = targets[e];
+
+        if (seenR[v] != stamp) {
+          seenR[v] = stamp;
+          adjL[u] = append(adjL[u], degL[u]++, v);
+          adjR[v] = append(adjR[v], degR[v]++, u);
+        }
+      }
+
+      if (matches[u] != Graph.NIL) {
+        pairL[u] = matches[u];
+        pairR[matches[u]] = u;
+        size++;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of left vertices.
+   *
+   * @return the number of left vertices
+   */
+  public int getLeft() {
+    return left;
+  }
+
+  /**
+   * Returns the number of right vertices.
+   *
+   * @return the number of right vertices
+   */
+  public int getRight() {
+    return right;
+  }
+
+  /**
+   * Returns the number of pairs of the maximum matching, in {@code O(1)} time.
+   *
+   * @return the size of the matching
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether the graph has the edge.
+   *
+   * @param u the left vertex
+   * @param v the right vertex
+   * @return {@code true} if the edge is in the graph
+   *
+   * @throws IllegalArgumentException if a vertex is invalid
+   */
+  public boolean hasEdge(int u, int v) {
+    checkVertices(u, v);
+    return indexOf(adjL[u], degL[u], v) >= 0;
+  }
+
+  /**
+   * Returns the right vertex matched to the left vertex.
+   *
+   * @param u the left vertex
+   * @return the matched right vertex, or {@link Graph#NIL} if it is unmatched
+   *
+   * @throws IllegalArgumentException if the vertex is invalid
+   */
+  public int getMatch(int u) {
+    checkVertex(left, u);
+    return pairL[u] == NIL ? Graph.NIL : pairL[u];
+  }
+
+  /**
+   * Returns the right vertex matched to each left vertex, or {@link Graph#NIL}
+   * if it is unmatched, as {@link HopcroftKarp#matches(BipartiteGraph)} does.
+   *
+   * @return a copy of the matches of the left vertices
+   */
+  public int[] matches() {
+    int[] matches = new int[left];
+
+    for (int u = 0; u < left; u++)
+      matches[u] = pairL[u] == NIL ? Graph.NIL : pairL[u];
+    return matches;
+  }
+
+  /**
+   * Inserts the edge between the left and right vertices and repairs the
+   * matching with at most two alternating path searches.
+   *
+   * @param u the left vertex
+   * @param v the right vertex
+   * @return whether the matching grew
+   *
+   * @throws IllegalArgumentException if a vertex is invalid or the edge is
+   *                                  already in the graph
+   */
+  public boolean addEdge(int u, int v) {
+    if (hasEdge(u, v))
+      throw new IllegalArgumentException("Edge (" + u + ", " + v + ") already exists.");
+
+    adjL[u] = append(adjL[u], degL[u]++, v);
+    adjR[v] = append(adjR[v], degR[v]++, u);
+    restamp();
+
+    if (pairL[u] == NIL && pairR[v] == NIL) {
+      pair(u, v);
+      size++;
+      return true;
+    }
+
+    int a, b;
+
+    // A search cannot succeed with every vertex on its far side matched
+    if (pairL[u] == NIL) {
+      if (size == right || (b = searchRight(u)) == NIL)
+        return false;
+
+      flipRight(u, b);
+    } else if (pairR[v] == NIL) {
+      if (size == left || (a = searchLeft(v)) == NIL)
+        return false;
+
+      flipLeft(v, a);
+    } else {
+      if (size == left || size == right)
+        return false;
+
+      int ru = pairL[u], lv = pairR[v];
+
+      // Find both halves before flipping either
+      seenL[u] = stamp + 1;
+      if ((a = searchLeft(ru)) == NIL)
+        return false;
+
+      seenR[v] = stamp + 1;
+      if ((b = searchRight(lv)) == NIL)
+        return false;
+
+      // The halves are disjoint, so flipping one keeps the other's marks
+      flipRight(lv, b);
+      flipLeft(ru, a);
+      pair(u, v);
+    }
+
+    size++;
+    return true;
+  }
+
+  /**
+   * Deletes the edge between the left and right vertices and, if it was
+   * matched, repairs the matching with at most two alternating path searches.
+   *
+   * @param u the left vertex
+   * @param v the right vertex
+   * @return whether the matching shrank
+   *
+   * @throws IllegalArgumentException if a vertex is invalid or the edge is not
+   *                                  in the graph
+   */
+  public boolean removeEdge(int u, int v) {
+    checkVertices(u, v);
+
+    int i = indexOf(adjL[u], degL[u], v);
+
+    if (i < 0)
+      throw new IllegalArgumentException("Edge (" + u + ", " + v + ") does not exist.");
+
+    adjL[u][i] = adjL[u][--degL[u]];
+    i = indexOf(adjR[v], degR[v], u);
+    adjR[v][i] = adjR[v][--degR[v]];
+
+    if (pairL[u] != v)
+      return false;
+
+    pairL[u] = NIL;
+    pairR[v] = NIL;
+    restamp();
+
+    int a, b;
+
+    if ((b = searchRight(u)) != NIL) {
+      flipRight(u, b);
+      return false;
+    }
+
+    if ((a = searchLeft(v)) != NIL) {
+      flipLeft(v, a);
+      return false;
+    }
+
+    size--;
+    return true;
+  }
+
+  /**
+   * Searches breadth-first from the left vertex along alternating paths for an
+   * unmatched right vertex, skipping the vertices a search marked with the
+   * next stamp beforehand.
+   *
+   * @return the unmatched right vertex, or {@code NIL} if there is none
+   */
+  private int searchRight(int s) {
+    int u, v, w, i, front = 0, back = 0;
+
+    stamp++;
+    seenL[s] = stamp;
+    queue[back++] = s;
+
+    while (front < back) {
+      u = queue[front++];
+
+      for (i = 0; i < degL[u]; i++) {
+        v = adjL[u][i];
+
+        if (seenR[v] == stamp)
+          continue;
+
+        seenR[v] = stamp;
+        fromR[v] = u;
+        w = pairR[v];
+
+        if (w == NIL)
+          return v;
+
+        if (seenL[w] != stamp) {
+          seenL[w] = stamp;
+          queue[back++] = w;
+        }
+      }
+    }
+
+    return NIL;
+  }
+
+  /**
+   * Searches breadth-first from the right vertex backwards along alternating
+   * paths for an unmatched left vertex.
+   *
+   * @return the unmatched left vertex, or {@code NIL} if there is none
+   */
+  private int searchLeft(int s) {
+    int u, v, w, i, front = 0, back = 0;
+
+    stamp++;
+    seenR[s] = stamp;
+    queue[back++] = s;
+
+    while (front < back) {
+      v = queue[front++];
+
+      for (i = 0; i < degR[v]; i++) {
+        u = adjR[v][i];
+
+        if (seenL[u] == stamp)
+          continue;
+
+        seenL[u] = stamp;
+        fromL[u] = v;
+        w = pairL[u];
+
+        if (w == NIL)
+          return u;
+
+        if (seenR[w] != stamp) {
+          seenR[w] = stamp;
+          queue[back++] = w;
+        }
+      }
+    }
+
+    return NIL;
+  }
+
+  /**
+   * Flips the path the last {@link #searchRight(int)} found from the left
+   * vertex {@code s} to the unmatched right vertex {@code b}, leaving the right
+   * vertex {@code s} was matched to unmatched.
+   */
+  private void flipRight(int s, int b) {
+    int u, next;
+
+    do {
+      u = fromR[b];
+      next = pairL[u];
+      pair(u, b);
+      b = next;
+    } while (u != s);
+
+    if (b != NIL)
+      pairR[b] = NIL;
+  }
+
+  /**
+   * Flips the path the last {@link #searchLeft(int)} found from the right
+   * vertex {@code s} back to the unmatched left vertex {@code a}, leaving the
+   * left vertex {@code s} was matched to unmatched.
+   */
+  private void flipLeft(int s, int a) {
+    int v, next;
+
+    do {
+      v = fromL[a];
+      next = pairR[v];
+      pair(a, v);
+      a = next;
+    } while (v != s);
+
+    if (a != NIL)
+      pairL[a] = NIL;
+  }
+
+  /**
+   * Clears the marks of the searches before the stamp runs out, leaving room
+   * for the searches of an update.
+   */
+  private void restamp() {
+    if (stamp < Integer.MAX_VALUE - 4)
+      return;
+
+    fill(seenL, 0);
+    fill(seenR, 0);
+    stamp = 0;
+  }
+
+  private void pair(int u, int v) {
+    pairL[u] = v;
+    pairR[v] = u;
+  }
+
+  private static int[] append(int[] list, int n, int x) {
+    if (list == null)
+      list = new int[2];
+    else if (n == list.length)
+      list = copyOf(list, 2 * n);
+
+    list[n] = x;
+    return list;
+  }
+
+  private static int indexOf(int[] list, int n, int x) {
+    for (int i = 0; i < n; i++)
+      if (list[i] == x)
+        return i;
+    return -1;
+  }
+
+  private void checkVertices(int u, int v) {
+    checkVertex(left, u);
+    checkVertex(right, v);
+  }
+
+  private static void checkVertex(int n, int v) {
+    if (v < 0 || v >= n)
+      throw new IllegalArgumentException("Vertex " + v + " does not exist in bipartite graph.");
+  }
+}
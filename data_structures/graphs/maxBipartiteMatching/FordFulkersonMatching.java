@@ -40,7 +40,9 @@ import static java.util.Arrays.fill;
  * the residual capacity will always be {@code 1}, to count the max
  * cardinality), the flow for each edge is updated and the matches are updated.
  * This repeats until there is no augmenting path that includes an unmatched
- * vertex.
+ * vertex. Since the network is copied to add the super source and sink,
+ * {@link PushRelabelMatching#totalMatches} is the better choice for large
+ * networks, as it matches on the bipartition itself.
  * </p>
  *
  * <p>
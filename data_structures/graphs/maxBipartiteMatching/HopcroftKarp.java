@@ -1,11 +1,18 @@
 package data_structures.graphs.maxBipartiteMatching;
 
+import static java.util.Arrays.fill;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import data_structures.graphs.Graph;
-import data_structures.queues.Queue;
 
 /**
  * Hopcroft-Karp(G)
- * 1   M = 0 (empty set)
+ * 1   M = a greedy maximal matching
  * 2   repeat
  * 3       let P = {P1, P2, ..., Pk} be a maximal set of vertex-disjoint
  *             shortest augmenting paths with respect to M
@@ -38,14 +45,15 @@ import data_structures.queues.Queue;
  * <p>
  * A partial matching here is when the {@code pairU} and {@code pairV} tables
  * that contain one vertex to which each vertex of {@code U} and of {@code V} is
- * matched, or {@code NIL} for unmatched vertices.
+ * matched, or {@code -1} for unmatched vertices.
  * </p>
  *
  * <p>
- * Using the {@code null} (dummy) vertex connected to all unmatched vertices in
- * {@code U} and {@code V}, so that when we run the BFS from dummy to dummy, we
- * can get the paths of minimal length that connect currently unmatched vertices
- * in {@code U} to currently unmatched vertices in {@code V}.
+ * The BFS works as if a dummy vertex were connected to all unmatched vertices
+ * in {@code U} and {@code V}, so that running it from dummy to dummy gives the
+ * paths of minimal length that connect currently unmatched vertices in
+ * {@code U} to currently unmatched vertices in {@code V}. The distance of the
+ * dummy vertex is kept as the {@code limit} of the search instead.
  * </p>
  *
  * <p>
@@ -89,22 +97,32 @@ import data_structures.queues.Queue;
  * Also observe that the DFS does not visit the same vertex multiple times due
  * to the lines: {@code dist[u] = Infinity; return false;}
  * </p>
+ *
+ * <p>
+ * The algorithm runs on a {@link BipartiteGraph}, whose edges are packed in
+ * primitive arrays, with the pairs, distances, BFS layers and DFS stack in
+ * {@code int} arrays owned by each run, so any number of matchings can run at
+ * once on the same or different graphs. It starts from a greedy matching, which
+ * on most graphs leaves few vertices for the phases to match, and the DFS is
+ * iterative with a current edge per vertex, as in Dinic's algorithm, so a phase
+ * scans each edge at most once and long augmenting paths cannot overflow the
+ * call stack. With a parallelism, each BFS layer is expanded in parallel on a
+ * {@link ForkJoinPool}, claiming the vertices of the next layer with a
+ * compare-and-set on their distance.
+ * </p>
  */
 public final class HopcroftKarp extends BipartiteMatchingAlgorithm {
-  // Dummy vertex
-  private static int NIL;
-
-  private static class Node {
-    private int pairU;
-    private int pairV;
-    private int distance;
-
-    private Node(int vertex) {
-      pairU = NIL;
-      pairV = NIL;
-      distance = 0;
-    }
-  }
+  /**
+   * The distance of the vertices not reached by the BFS.
+   */
+  private static final int INF = Integer.MAX_VALUE;
+
+  /**
+   * The number of BFS vertices a task expands before splitting its range.
+   */
+  private static final int GRAIN = 256;
+
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
 
   // Prevent this class from being instantiated
   public HopcroftKarp() {
@@ -121,9 +139,7 @@ public final class HopcroftKarp extends BipartiteMatchingAlgorithm {
    * @throws IllegalArgumentException if the specified graph is not directed
    */
   public static int total(Graph graph) {
-    if (!graph.isDirected())
-      throw new IllegalArgumentException("The graph must be directed.");
-    return run(TOTAL, graph);
+    return total(new BipartiteGraph(graph));
   }
 
   /**
@@ -138,16 +154,7 @@ public final class HopcroftKarp extends BipartiteMatchingAlgorithm {
    * @throws IllegalArgumentException if the specified graph is not directed
    */
   public static int[] matches(Graph graph) {
-    if (!graph.isDirected())
-      throw new IllegalArgumentException("The graph must be directed.");
-
-    int n = graph.getRows(), NIL = n;
-    Node[] VTS = run(MATCHES, graph);
-    int[] matches = new int[n];
-
-    for (int i = 0; i < n; i++)
-      matches[i] = VTS[i] != null && VTS[i].pairU != NIL ? VTS[i].pairU : Graph.NIL;
-    return matches;
+    return matches(new BipartiteGraph(graph));
   }
 
   /**
@@ -164,119 +171,355 @@ public final class HopcroftKarp extends BipartiteMatchingAlgorithm {
     return printMatches(matches(graph));
   }
 
-  @SuppressWarnings("unchecked")
-  private static <T> T run(boolean type, Graph G) {
-    int[] V = G.getVertices();
-    int n = G.getRows();
-    // Set the dummy vertex to the next possible vertex that doesn't exist in G
-    NIL = n;
-    Node[] VTS = new Node[n+1];
-    Integer maxMatches = 0;
-
-    // Initialize all pairs to the dummy vertex
-    for (int u : V)
-      VTS[u] = new Node(u);
-
-    // Initialize dummy vertex
-    VTS[n] = new Node(NIL);
-
-    // While there is an augmenting path
-    while (HP_BFS(G, VTS)) {
-      for (int u : V) {
-        if (VTS[u].pairU == NIL && HP_DFS(G, VTS, u))
-          maxMatches++;
-      }
-    }
-    return type == TOTAL ? (T) maxMatches : (T) VTS;
+  /**
+   * Runs the Hopcroft-Karp algorithm on the bipartite graph in the calling
+   * thread and finds the maximum cardinality of matches.
+   *
+   * @param graph the bipartite graph
+   * @return the maximum cardinality of matches
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public static int total(BipartiteGraph graph) {
+    return new Engine(graph, null).run();
+  }
+
+  /**
+   * Runs the Hopcroft-Karp algorithm on the bipartite graph with the specified
+   * number of threads and finds the maximum cardinality of matches. The threads
+   * are started for this run and stopped when it ends.
+   *
+   * @param graph       the bipartite graph
+   * @param parallelism the number of threads
+   * @return the maximum cardinality of matches
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the parallelism is less than {@code 1}
+   */
+  public static int total(BipartiteGraph graph, int parallelism) {
+    return run(graph, parallelism).total;
   }
 
   /**
-   * Performs a Breadth-first search on the initial layer of vertices, only
-   * traversed edges that haven't been matched.
+   * Runs the Hopcroft-Karp algorithm on the bipartite graph in the calling
+   * thread and returns the right vertex matched to each left vertex, or
+   * {@link Graph#NIL} if it is unmatched.
    *
-   * @param G   the graph
-   * @param VTS the array of vertices with their pairs and distances
-   * @return whether there is an augmenting path available
+   * @param graph the bipartite graph
+   * @return the array of matches of the left vertices
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public static int[] matches(BipartiteGraph graph) {
+    Engine E = new Engine(graph, null);
+
+    E.run();
+    return E.matches();
+  }
+
+  /**
+   * Runs the Hopcroft-Karp algorithm on the bipartite graph with the specified
+   * number of threads and returns the right vertex matched to each left vertex,
+   * or {@link Graph#NIL} if it is unmatched. The threads are started for this
+   * run and stopped when it ends.
+   *
+   * @param graph       the bipartite graph
+   * @param parallelism the number of threads
+   * @return the array of matches of the left vertices
+   *
+   * @throws NullPointerException     if the graph is {@code null}
+   * @throws IllegalArgumentException if the parallelism is less than {@code 1}
    */
-  private static boolean HP_BFS(Graph G, Node[] VTS) {
-    Queue<Integer> Q = new Queue<>(G.getRows());
-
-    // Left side vertices - first layer (set distance as 0)
-    for (int u : G.getVertices()) {
-      // If u is not matched (paired with dummy vertex)
-      if (VTS[u].pairU == NIL) {
-        // Set distance of u to 0 and add to queue
-        VTS[u].distance = 0;
-        Q.enqueue(u);
+  public static int[] matches(BipartiteGraph graph, int parallelism) {
+    return run(graph, parallelism).matches();
+  }
+
+  private static Engine run(BipartiteGraph graph, int parallelism) {
+    if (parallelism < 1)
+      throw new IllegalArgumentException("Parallelism must be at least 1.");
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+    try {
+      Engine E = new Engine(graph, pool);
+
+      E.run();
+      return E;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * The state of one run, so that runs never share anything but the graph.
+   */
+  private static final class Engine {
+    private final int[] offsets, targets;
+    private final int n;
+
+    /**
+     * The pool the BFS layers are expanded on, or {@code null} to expand them
+     * in the calling thread.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The right vertex matched to each left vertex and the left vertex matched
+     * to each right vertex, or {@code -1}.
+     */
+    private final int[] pairU, pairV;
+
+    /**
+     * The BFS layer of each left vertex, and the current edge and DFS stack.
+     */
+    private final int[] dist, current, stack;
+
+    /**
+     * The left vertices of the layer being expanded and of the next one.
+     */
+    private int[] level, frontier;
+
+    /**
+     * The number of vertices in the next layer, and whether the layer being
+     * expanded reaches an unmatched right vertex.
+     */
+    private final AtomicInteger found = new AtomicInteger();
+    private volatile boolean reached;
+
+    /**
+     * The layer of the dummy vertex, one past the last layer of the shortest
+     * augmenting paths.
+     */
+    private int limit;
+
+    /**
+     * The number of matches.
+     */
+    private int total;
+
+    Engine(BipartiteGraph graph, ForkJoinPool pool) {
+      if (graph == null)
+        throw new NullPointerException("Graph cannot be null.");
+
+      offsets = graph.getOffsets();
+      targets = graph.getTargets();
+      n = graph.getLeft();
+      this.pool = pool;
+      pairU = new int[n];
+      pairV = new int[graph.getRight()];
+      dist = new int[n];
+      current = new int[n];
+      stack = new int[n];
+      level = new int[n];
+      frontier = new int[n];
+
+      fill(pairU, -1);
+      fill(pairV, -1);
+    }
+
+    int run() {
+      greedy();
+
+      while (bfs()) {
+        System.arraycopy(offsets, 0, current, 0, n);
+
+        for (int u = 0; u < n; u++)
+          if (pairU[u] == -1 && dfs(u))
+            total++;
+      }
+
+      return total;
+    }
+
+    /**
+     * Matches each left vertex to its first unmatched neighbour, if any.
+     */
+    private void greedy() {
+      for (int u = 0; u < n; u++) {
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+          int v = targets[e];
+
+          if (pairV[v] == -1) {
+            pairU[u] = v;
+            pairV[v] = u;
+            total++;
+            break;
+          }
+        }
+      }
+    }
+
+    /**
+     * Layers the left vertices by their distance from the unmatched ones along
+     * alternating paths, one layer at a time, stopping at the first layer that
+     * reaches an unmatched right vertex.
+     *
+     * @return whether there is an augmenting path
+     */
+    private boolean bfs() {
+      int u, d, count = 0;
+
+      for (u = 0; u < n; u++) {
+        if (pairU[u] == -1) {
+          dist[u] = 0;
+          level[count++] = u;
+        } else
+          dist[u] = INF;
+      }
+
+      reached = false;
+
+      for (d = 0; count > 0 && !reached; d++) {
+        if (pool == null || count <= GRAIN)
+          count = expandLayer(count, d);
+        else {
+          found.set(0);
+          pool.invoke(new Expand(this, d, 0, count));
+          count = found.get();
+        }
+
+        int[] swap = level;
+        level = frontier;
+        frontier = swap;
+      }
+
+      limit = d;
+      return reached;
+    }
+
+    /**
+     * Expands the first {@code count} vertices of the layer {@code d} in the
+     * calling thread and returns the size of the next layer.
+     */
+    private int expandLayer(int count, int d) {
+      int u, v, w, e, next = 0;
+      boolean free = false;
+
+      for (int i = 0; i < count; i++) {
+        u = level[i];
+
+        for (e = offsets[u]; e < offsets[u + 1]; e++) {
+          v = targets[e];
+          w = pairV[v];
+
+          if (w == -1)
+            free = true;
+          else if (dist[w] == INF) {
+            dist[w] = d + 1;
+            frontier[next++] = w;
+          }
+        }
+      }
+
+      reached = free;
+      return next;
+    }
+
+    /**
+     * Expands the left vertex {@code u} of the layer {@code d}, claiming its
+     * unvisited neighbours' pairs for the next layer with a compare-and-set.
+     */
+    void expand(int u, int d) {
+      int v, w;
+
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        v = targets[e];
+        w = pairV[v];
+
+        if (w == -1) {
+          if (!reached)
+            reached = true;
+        } else if ((int) INTS.getOpaque(dist, w) == INF && INTS.compareAndSet(dist, w, INF, d + 1))
+          frontier[found.getAndIncrement()] = w;
       }
-      // Otherwise, set distance as infinite so that the vertex is considered next time
-      else
-        VTS[u].distance = Integer.MAX_VALUE;
     }
 
-    // Initialize distance to dummy vertex as infinite
-    VTS[NIL].distance = Integer.MAX_VALUE;
-
-    while (!Q.isEmpty()) {
-      int u = Q.dequeue();
-      // If this node is not NIL and can provide a shorter path to dummy vertex
-      if (VTS[u].distance < VTS[NIL].distance) {
-        for (int v : G.getAdjacentVertices(u)) {
-          // If v is not considered so far; (v, pairV[v]) is not an explored edge
-          if (VTS[VTS[v].pairV].distance == Integer.MAX_VALUE) {
-            // Consider pair and add to queue
-            VTS[VTS[v].pairV].distance = VTS[u].distance + 1;
-            Q.enqueue(VTS[v].pairV);
+    /**
+     * Looks for an augmenting path from the unmatched left vertex {@code root}
+     * along the BFS layers with an explicit stack, and flips the edges on it.
+     * A vertex with no path left is taken out of the layers.
+     *
+     * @return whether the path was found
+     */
+    private boolean dfs(int root) {
+      int u, v, w, top = 0;
+
+      stack[0] = root;
+
+      while (top >= 0) {
+        u = stack[top];
+
+        if (current[u] == offsets[u + 1]) {
+          dist[u] = INF;
+
+          if (--top >= 0)
+            current[stack[top]]++;
+          continue;
+        }
+
+        v = targets[current[u]];
+        w = pairV[v];
+
+        if (w == -1 ? dist[u] + 1 == limit : dist[u] + 1 < limit && dist[w] == dist[u] + 1) {
+          if (w != -1) {
+            stack[++top] = w;
+            continue;
           }
+
+          // Each vertex on the stack takes the right vertex of its current edge
+          for (; top >= 0; top--) {
+            u = stack[top];
+            v = targets[current[u]];
+            pairU[u] = v;
+            pairV[v] = u;
+          }
+
+          return true;
         }
+
+        current[u]++;
       }
+
+      return false;
+    }
+
+    int[] matches() {
+      int[] matches = new int[n];
+
+      for (int u = 0; u < n; u++)
+        matches[u] = pairU[u] == -1 ? Graph.NIL : pairU[u];
+      return matches;
     }
-    // If we can come back to NIL using an alternating path of distinct
-    // vertices, then there is an augmenting path
-    return VTS[NIL].distance != Integer.MAX_VALUE;
   }
 
   /**
-   * The Depth-first search part of the Hopcroft-Karp algorithm where once we find
-   * a vertex that doesn't have a pair in the {@code U} set (pairU[u] == dummy
-   * vertex).
-   *
-   * <p>
-   * The operation first checks each adjacent vertex {@code v} of the edges of the
-   * specified vertex {@code u}. It makes a check whether if {@code pairV[v]} has
-   * a distance that is equal to the distance of vertex {@code u + 1} AND performs
-   * a recursive DFS operation on the vertex {@code pairV[v]}. The DFS operation
-   * ultimately checks if the specified vertex is the dummy vertex {@code NIL}
-   * which means the initial vertex being checked doesn't have a pair and can be
-   * matched, or, if the checked vertex can be matched to a different vertex.
-   * Otherwise, the vertex {@code u} cannot be matched or is already matched.
-   * </p>
-   *
-   * @param G   the graph containing the edges for matches
-   * @param VTS the array of all the vertices with their pairs and distances
-   * @param u   the vertex being checked for a potential pair
-   * @return whether the vertex {@code u} is {@code NIL} and can be paired with
-   *         {@code pairV[v]} from a recursive call or the vertex {@code u} can't
-   *         be matched
+   * Expands the vertices {@code level[lo]} to {@code level[hi - 1]} of the BFS
+   * layer {@code d}, recursively halving the range across the fork-join pool.
    */
-  private static boolean HP_DFS(Graph G, Node[] VTS, int u) {
-    // If vertex, u, being checked doesn't have a pair (paired to dummy), found a match
-    if (u == NIL)
-      return true;
-
-    for (int v : G.getAdjacentVertices(u)) {
-      // If pairV[v] has a shorter distance than the current pair for u
-      // and doesn't already have a pair that is shorter
-      if (VTS[VTS[v].pairV].distance == VTS[u].distance + 1 && HP_DFS(G, VTS, VTS[v].pairV)) {
-        VTS[v].pairV = u;
-        VTS[u].pairU = v;
-        return true;
-      }
+  private static final class Expand extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Engine E;
+    private final int d, lo, hi;
+
+    Expand(Engine E, int d, int lo, int hi) {
+      this.E = E;
+      this.d = d;
+      this.lo = lo;
+      this.hi = hi;
     }
 
-    // A pair couldn't be made so we set the distance of u to infinity to
-    // indicate there is no match
-    VTS[u].distance = Integer.MAX_VALUE;
-    return false;
+    @Override
+    protected void compute() {
+      if (hi - lo <= GRAIN) {
+        for (int i = lo; i < hi; i++)
+          E.expand(E.level[i], d);
+        return;
+      }
+
+      int mid = (lo + hi) >>> 1;
+
+      invokeAll(new Expand(E, d, lo, mid), new Expand(E, d, mid, hi));
+    }
   }
 }
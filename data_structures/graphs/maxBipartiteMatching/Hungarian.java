@@ -0,0 +1,288 @@
+package data_structures.graphs.maxBipartiteMatching;
+
+import static java.util.Arrays.fill;
+
+import data_structures.graphs.Graph;
+
+/**
+ * Hungarian(C)
+ * 1   for each row i and column j
+ * 2       i.u = 0, j.v = 0, j.p = NIL
+ * 3   for each row i
+ * 4       grow a tree of alternating paths from i, always adding the column j
+ *             with the smallest reduced cost C[r][j] - r.u - j.v from a row r
+ *             in the tree, until j.p == NIL
+ * 5       after adding each column, raise the u of the rows in the tree and
+ *             lower the v of the columns in it by that reduced cost
+ * 6       flip the matched and unmatched edges on the path from i to j
+ * 7   return the pairs (j.p, j)
+ */
+
+/**
+ * <h3>Hungarian Algorithm {@code O(n^2 m)}</h3>
+ *
+ * <p>
+ * Finds an assignment of minimum total cost in a weighted bipartite graph,
+ * given as an {@code n x m} matrix of costs: every row is paired with its own
+ * column, when {@code n <= m}, so that the sum of the costs of the pairs is as
+ * small as possible. It is the weighted counterpart of {@link HopcroftKarp},
+ * for when the pairs have costs, such as the distance between a driver and a
+ * pickup.
+ * </p>
+ *
+ * <p>
+ * This is the shortest augmenting path form of Kuhn and Munkres' algorithm.
+ * Each row and column keeps a potential, {@code u} and {@code v}, with
+ * {@code C[i][j] - u[i] - v[j] >= 0} for every pair and {@code 0} on the matched
+ * ones. Each row is added in turn by growing a Dijkstra-like tree over the
+ * reduced costs until it reaches an unmatched column, updating the potentials
+ * so the new path has reduced cost {@code 0}, which takes {@code O(n m)} time
+ * per row and no more than primitive arrays of length {@code m}.
+ * </p>
+ *
+ * <p>
+ * On a weighted {@link Graph} the left vertices are the ones with edges leaving
+ * them and the right vertices the ones with edges entering them. A pair with
+ * no edge is given a cost larger than any assignment of real edges, so the
+ * result is a maximum matching with the least cost among them, and the pairs
+ * without an edge are left out.
+ * </p>
+ */
+public final class Hungarian extends BipartiteMatchingAlgorithm {
+  // Prevent this class from being instantiated
+  public Hungarian() {
+    super();
+  }
+
+  /**
+   * Finds an assignment of minimum total cost of the rows of the cost matrix to
+   * its columns. Every row is assigned if there are at least as many columns,
+   * otherwise every column is.
+   *
+   * @param costs the matrix of costs, {@code costs[i][j]} the cost of pairing
+   *              row {@code i} with column {@code j}
+   * @return the column assigned to each row, or {@link Graph#NIL} if it has none
+   *
+   * @throws NullPointerException     if the matrix or a row is {@code null}
+   * @throws IllegalArgumentException if the rows have different lengths
+   */
+  public static int[] assignment(int[][] costs) {
+    int n = costs.length, m = n == 0 ? 0 : costs[0].length, i, j;
+
+    for (int[] row : costs)
+      if (row.length != m)
+        throw new IllegalArgumentException("Cost matrix rows must have the same length.");
+
+    // Every entry is a real cost, even one that happens to equal Graph.NIL
+    if (n <= m)
+      return solve(costs, n, m, Graph.NIL);
+
+    // Assign the columns to the rows instead
+    int[][] transposed = new int[m][n];
+    int[] columns, assigned = new int[n];
+
+    for (i = 0; i < n; i++)
+      for (j = 0; j < m; j++)
+        transposed[j][i] = costs[i][j];
+
+    columns = solve(transposed, m, n, Graph.NIL);
+    fill(assigned, Graph.NIL);
+
+    for (j = 0; j < m; j++)
+      assigned[columns[j]] = j;
+    return assigned;
+  }
+
+  /**
+   * Returns the total cost of an assignment of minimum total cost of the rows
+   * of the cost matrix to its columns.
+   *
+   * @param costs the matrix of costs
+   * @return the minimum total cost
+   *
+   * @throws NullPointerException     if the matrix or a row is {@code null}
+   * @throws IllegalArgumentException if the rows have different lengths
+   */
+  public static long minCost(int[][] costs) {
+    int[] assigned = assignment(costs);
+    long total = 0;
+
+    for (int i = 0; i < assigned.length; i++)
+      if (assigned[i] != Graph.NIL)
+        total += costs[i][assigned[i]];
+    return total;
+  }
+
+  /**
+   * Finds a maximum matching of least total weight in the specified directed,
+   * weighted graph, where edge {@code (u, v)} pairs {@code u} with {@code v} at
+   * the cost of its weight. The array indices represent the vertices and the
+   * value is the matched vertex.
+   *
+   * @param graph the directed, weighted graph
+   * @return the array of matches
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted
+   */
+  public static int[] matches(Graph graph) {
+    checkGraph(graph);
+
+    int[][] G = graph.getAdjacencyMatrix();
+    int n = graph.getRows(), k = 0, l = 0, u, v, min = 0, max = 0;
+    int[] lefts = new int[n], rights = new int[n], matches = new int[n];
+    boolean[] entered = new boolean[n];
+
+    for (u = 0; u < n; u++) {
+      if (G[u] == null)
+        continue;
+
+      boolean leaves = false;
+
+      for (v = 0; v < n; v++) {
+        if (G[u][v] != Graph.NIL) {
+          leaves = entered[v] = true;
+          min = Math.min(min, G[u][v]);
+          max = Math.max(max, G[u][v]);
+        }
+      }
+
+      if (leaves)
+        lefts[k++] = u;
+    }
+
+    for (v = 0; v < n; v++)
+      if (entered[v])
+        rights[l++] = v;
+
+    // Pair the smaller side with the larger one
+    boolean swap = k > l;
+    int rows = Math.min(k, l), columns = Math.max(k, l);
+    int[] R = swap ? rights : lefts, C = swap ? lefts : rights;
+    int[][] costs = new int[rows][columns];
+
+    for (int i = 0; i < rows; i++)
+      for (int j = 0; j < columns; j++)
+        costs[i][j] = swap ? G[C[j]][R[i]] : G[R[i]][C[j]];
+
+    // A missing edge costs more than any difference an extra edge could make
+    long missing = rows * ((long) max - min) + Math.max(max, -(long) min) + 1;
+    int[] assigned = solve(costs, rows, columns, missing);
+
+    fill(matches, Graph.NIL);
+
+    for (int i = 0; i < rows; i++) {
+      if (costs[i][assigned[i]] == Graph.NIL)
+        continue;
+
+      if (swap)
+        matches[C[assigned[i]]] = R[i];
+      else
+        matches[R[i]] = C[assigned[i]];
+    }
+
+    return matches;
+  }
+
+  /**
+   * Returns the total weight of a maximum matching of least total weight in the
+   * specified directed, weighted graph.
+   *
+   * @param graph the directed, weighted graph
+   * @return the total weight of the matched edges
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted
+   */
+  public static long minCost(Graph graph) {
+    int[][] G = graph.getAdjacencyMatrix();
+    int[] matches = matches(graph);
+    long total = 0;
+
+    for (int u = 0; u < matches.length; u++)
+      if (matches[u] != Graph.NIL)
+        total += G[u][matches[u]];
+    return total;
+  }
+
+  /**
+   * Runs the Hungarian algorithm on the weighted graph and returns a string of
+   * the matches of least total weight.
+   *
+   * @param graph the directed, weighted graph
+   * @return the string of matches
+   *
+   * @throws IllegalArgumentException if the graph is not directed and weighted
+   */
+  public static String printMatches(Graph graph) {
+    return printMatches(matches(graph));
+  }
+
+  /**
+   * Assigns each of the {@code n} rows of the matrix a distinct column of the
+   * {@code m}, with {@code n <= m}, at the least total cost, where an entry of
+   * {@link Graph#NIL} costs {@code missing}. The rows and columns are numbered
+   * from {@code 1}, leaving {@code 0} for the row being added.
+   */
+  private static int[] solve(int[][] costs, int n, int m, long missing) {
+    long[] u = new long[n + 1], v = new long[m + 1], minv = new long[m + 1];
+    int[] p = new int[m + 1], way = new int[m + 1], assigned = new int[n];
+    boolean[] used = new boolean[m + 1];
+    int i, j, i0, j0, j1, entry;
+    long c, delta;
+
+    for (i = 1; i <= n; i++) {
+      p[0] = i;
+      j0 = 0;
+      fill(minv, Long.MAX_VALUE);
+      fill(used, false);
+
+      // Grow the tree from row i until it reaches an unmatched column j0
+      do {
+        used[j0] = true;
+        i0 = p[j0];
+        delta = Long.MAX_VALUE;
+        j1 = 0;
+        int[] row = costs[i0 - 1];
+
+        for (j = 1; j <= m; j++) {
+          if (used[j])
+            continue;
+
+          entry = row[j - 1];
+          c = (entry == Graph.NIL ? missing : entry) - u[i0] - v[j];
+
+          if (c < minv[j]) {
+            minv[j] = c;
+            way[j] = j0;
+          }
+
+          if (minv[j] < delta) {
+            delta = minv[j];
+            j1 = j;
+          }
+        }
+
+        for (j = 0; j <= m; j++) {
+          if (used[j]) {
+            u[p[j]] += delta;
+            v[j] -= delta;
+          } else
+            minv[j] -= delta;
+        }
+
+        j0 = j1;
+      } while (p[j0] != 0);
+
+      // Flip the path back to row i
+      do {
+        j1 = way[j0];
+        p[j0] = p[j1];
+        j0 = j1;
+      } while (j0 != 0);
+    }
+
+    for (j = 1; j <= m; j++)
+      if (p[j] != 0)
+        assigned[p[j] - 1] = j - 1;
+    return assigned;
+  }
+}
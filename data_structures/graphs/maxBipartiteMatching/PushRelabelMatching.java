@@ -0,0 +1,433 @@
+package data_structures.graphs.maxBipartiteMatching;
+
+import static java.util.Arrays.fill;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+
+/**
+ * Push-Relabel-Matching(G)
+ * 1   M = a greedy maximal matching
+ * 2   label each right vertex v with the length of the shortest alternating
+ *         path from v to an unmatched right vertex
+ * 3   Q = the unmatched left vertices
+ * 4   while Q != 0 (empty set)
+ * 5       u = Dequeue(Q)
+ * 6       let v and v' be the neighbours of u with the smallest and second
+ *             smallest labels
+ * 7       if v.label < n
+ * 8           v.label = v'.label + 2
+ * 9           if v.pair != NIL
+ * 10              v.pair.pair = NIL
+ * 11              Enqueue(Q, v.pair)
+ * 12          u.pair = v
+ * 13          v.pair = u
+ * 14  return M
+ */
+
+/**
+ * <h3>Push-Relabel Max Bipartite Matching {@code O(VE)}</h3>
+ *
+ * <p>
+ * Finds a maximum matching by running the push-relabel method directly on the
+ * bipartition, instead of on a flow network with a super source and sink. The
+ * unmatched left vertices are the ones with excess flow, the unmatched right
+ * vertices are the ones with an edge to the sink, and every edge has a capacity
+ * of {@code 1}, so the network never has to be built: the matching itself is
+ * the flow and the residual edges are the unmatched edges from left to right
+ * and the matched edges from right to left.
+ * </p>
+ *
+ * <p>
+ * Only the right vertices keep a label, a lower bound on the length of an
+ * alternating path to an unmatched right vertex. The label of a left vertex is
+ * always one more than the smallest label of its neighbours, so it is computed
+ * when the vertex is relabelled, by scanning all its edges, and kept with a
+ * current edge as in the generic push-relabel method until then: since the
+ * labels never go down, a push only has to look past the current edge for a
+ * neighbour still at that smallest label. The <i>double push</i> pushes the
+ * excess of {@code u} to the neighbour {@code v} with the smallest label and,
+ * if {@code v} was matched, straight on to its old pair, which is unmatched and
+ * queued in turn. The label of {@code v} is then raised by {@code 2}, or on a
+ * relabel to two more than the second smallest label of the neighbours of
+ * {@code u}, since {@code u} can now only reach the sink through them.
+ * </p>
+ *
+ * <p>
+ * Every so often a <i>global relabel</i> sets the labels to the exact
+ * distances with a BFS backwards from the unmatched right vertices, which keeps
+ * the pushes heading along shortest paths and labels the right vertices that
+ * cannot reach one as {@code n}. A left vertex whose neighbours are all
+ * labelled {@code n} cannot be matched, so it is dropped from the queue. Unlike
+ * the augmenting path methods, the work is spread over many short local
+ * operations, which pays off when the greedy matching leaves many vertices
+ * whose augmenting paths in {@link HopcroftKarp} would overlap. The edges
+ * entering each right vertex are packed for the global relabels, so when the
+ * greedy matching is already close to perfect {@link HopcroftKarp} is cheaper.
+ * </p>
+ */
+public final class PushRelabelMatching extends BipartiteMatchingAlgorithm {
+  // Prevent this class from being instantiated
+  public PushRelabelMatching() {
+    super();
+  }
+
+  /**
+   * Runs the push-relabel algorithm on the specified directed graph where the
+   * edges are possible pairs and finds the maximum cardinality of possible pairs.
+   *
+   * @param graph the directed graph to run the algorithm on
+   * @return the maximum cardinality of matches
+   *
+   * @throws IllegalArgumentException if the specified graph is not directed
+   */
+  public static int total(Graph graph) {
+    return total(new BipartiteGraph(graph));
+  }
+
+  /**
+   * Runs the push-relabel algorithm on the specified directed graph where the
+   * edges are possible pairs and returns an array of the matches, where the
+   * array indices represent the vertices and the value is the matched vertex.
+   *
+   * @param graph the directed graph to run the algorithm on
+   * @return the array of matches
+   *
+   * @throws IllegalArgumentException if the specified graph is not directed
+   */
+  public static int[] matches(Graph graph) {
+    return matches(new BipartiteGraph(graph));
+  }
+
+  /**
+   * Runs the push-relabel algorithm on the specified directed graph where the
+   * edges are possible pairs and returns a string representing the pairs.
+   *
+   * @param graph the directed graph to run the algorithm on
+   * @return the string of matches
+   *
+   * @throws IllegalArgumentException if the specified graph is not directed
+   */
+  public static String printMatches(Graph graph) {
+    return printMatches(matches(graph));
+  }
+
+  /**
+   * Finds the maximum cardinality of matches between the sets {@code L} and
+   * {@code R} of the flow network, split by a lower and upper range as in
+   * {@link FordFulkersonMatching#totalMatches}: {@code L} is the vertices from
+   * {@code 0} to {@code lower} and {@code R} is {@code lower + 1} to
+   * {@code upper}. The edges with a positive capacity from {@code L} to
+   * {@code R} are read once and the network is left untouched.
+   *
+   * @param network the flow network to find the maximum matchings of
+   * @param lower   the last vertex for set {@code L}
+   * @param upper   the last vertex for set {@code R}
+   * @return the cardinality of maximum matches
+   *
+   * @throws IllegalArgumentException if the specified lower or upper vertex range
+   *                                  is negative or greater than the network
+   *                                  length
+   */
+  public static int totalMatches(FlowNetwork network, int lower, int upper) {
+    network.checkVertex(lower);
+    network.checkVertex(upper);
+
+    if (lower >= upper)
+      return 0;
+
+    FlowNetwork.Edge[][] G = network.getAdjacencyMatrix();
+    int u, v, e = 0, m = 0;
+
+    for (u = 0; u <= lower; u++)
+      if (G[u] != null)
+        for (v = lower + 1; v <= upper; v++)
+          if (G[u][v] != null && G[u][v].getCapacity() > 0)
+            m++;
+
+    int[] tails = new int[m], heads = new int[m];
+
+    for (u = 0; u <= lower; u++) {
+      if (G[u] == null)
+        continue;
+
+      for (v = lower + 1; v <= upper; v++) {
+        if (G[u][v] != null && G[u][v].getCapacity() > 0) {
+          tails[e] = u;
+          heads[e++] = v - lower - 1;
+        }
+      }
+    }
+
+    return total(new BipartiteGraph(lower + 1, upper - lower, tails, heads));
+  }
+
+  /**
+   * Runs the push-relabel algorithm on the bipartite graph and finds the
+   * maximum cardinality of matches.
+   *
+   * @param graph the bipartite graph
+   * @return the maximum cardinality of matches
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public static int total(BipartiteGraph graph) {
+    return new Engine(graph).run();
+  }
+
+  /**
+   * Runs the push-relabel algorithm on the bipartite graph and returns the
+   * right vertex matched to each left vertex, or {@link Graph#NIL} if it is
+   * unmatched.
+   *
+   * @param graph the bipartite graph
+   * @return the array of matches of the left vertices
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public static int[] matches(BipartiteGraph graph) {
+    Engine E = new Engine(graph);
+
+    E.run();
+    return E.matches();
+  }
+
+  /**
+   * The state of one run, so that runs never share anything but the graph.
+   */
+  private static final class Engine {
+    private final int[] offsets, targets;
+    private final int left, right;
+
+    /**
+     * The edges entering each right vertex, in compressed sparse row format,
+     * for the global relabels. They are only built if the greedy matching
+     * leaves something to do.
+     */
+    private int[] sourceOffsets, sources;
+
+    /**
+     * The right vertex matched to each left vertex and the left vertex matched
+     * to each right vertex, or {@code -1}.
+     */
+    private final int[] pairU, pairV;
+
+    /**
+     * The label of each right vertex, at most {@code n}, and the smallest label
+     * of the neighbours of each left vertex when it was last relabelled.
+     */
+    private final int[] label, low;
+
+    /**
+     * The edge of each left vertex its next push starts looking from.
+     */
+    private final int[] current;
+
+    /**
+     * The circular queue of unmatched left vertices, and the BFS queue of the
+     * global relabels.
+     */
+    private final int[] queue, bfs;
+
+    /**
+     * The label of the right vertices that cannot reach an unmatched one,
+     * larger than the length of any alternating path.
+     */
+    private final int n;
+
+    /**
+     * The number of double pushes between global relabels.
+     */
+    private final int frequency;
+
+    /**
+     * The number of matches.
+     */
+    private int total;
+
+    Engine(BipartiteGraph graph) {
+      if (graph == null)
+        throw new NullPointerException("Graph cannot be null.");
+
+      offsets = graph.getOffsets();
+      targets = graph.getTargets();
+      left = graph.getLeft();
+      right = graph.getRight();
+      n = left + right;
+      frequency = Math.max(n, 1);
+      pairU = new int[left];
+      pairV = new int[right];
+      label = new int[right];
+      low = new int[left];
+      current = new int[left];
+      queue = new int[left];
+      bfs = new int[right];
+
+      fill(pairU, -1);
+      fill(pairV, -1);
+    }
+
+    int run() {
+      int u, v, w, e, d, first, second, head = 0, count = 0, pushes = 0;
+
+      greedy();
+
+      // Nothing is left to match once a side is full
+      if (total == left || total == right)
+        return total;
+
+      transpose();
+      globalRelabel();
+
+      for (u = 0; u < left; u++) {
+        current[u] = offsets[u + 1];
+
+        if (pairU[u] == -1)
+          queue[count++] = u;
+      }
+
+      while (count > 0) {
+        u = queue[head];
+        head = head + 1 == left ? 0 : head + 1;
+        count--;
+
+        if (pushes == frequency) {
+          globalRelabel();
+          pushes = 0;
+        }
+
+        // The labels never go down, so the edges before the current one are
+        // still above the smallest label of the neighbours of u
+        for (e = current[u]; e < offsets[u + 1] && label[targets[e]] != low[u]; e++)
+          ;
+
+        if (e < offsets[u + 1]) {
+          v = targets[e];
+          label[v] = Math.min(low[u] + 2, n);
+        } else {
+          // Relabel u: find its smallest and second smallest neighbour
+          first = -1;
+          second = n;
+
+          for (e = offsets[u]; e < offsets[u + 1]; e++) {
+            d = label[targets[e]];
+
+            if (first == -1 || d < label[targets[first]]) {
+              if (first != -1)
+                second = label[targets[first]];
+              first = e;
+            } else if (d < second)
+              second = d;
+          }
+
+          // No alternating path leaves u, so it stays unmatched
+          if (first == -1 || label[targets[first]] >= n)
+            continue;
+
+          e = first;
+          v = targets[e];
+          low[u] = label[v];
+          label[v] = Math.min(second + 2, n);
+        }
+
+        current[u] = e;
+        w = pairV[v];
+        pairU[u] = v;
+        pairV[v] = u;
+        pushes++;
+
+        if (w == -1) {
+          if (++total == right)
+            break;
+        } else {
+          pairU[w] = -1;
+          queue[(head + count++) % left] = w;
+        }
+      }
+
+      return total;
+    }
+
+    /**
+     * Matches each left vertex to its first unmatched neighbour, if any.
+     */
+    private void greedy() {
+      for (int u = 0; u < left; u++) {
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+          int v = targets[e];
+
+          if (pairV[v] == -1) {
+            pairU[u] = v;
+            pairV[v] = u;
+            total++;
+            break;
+          }
+        }
+      }
+    }
+
+    /**
+     * Packs the edges entering each right vertex.
+     */
+    private void transpose() {
+      int u, e;
+      int[] next = new int[right];
+
+      sourceOffsets = new int[right + 1];
+      sources = new int[targets.length];
+
+      for (e = 0; e < targets.length; e++)
+        sourceOffsets[targets[e] + 1]++;
+
+      for (e = 0; e < right; e++)
+        sourceOffsets[e + 1] += sourceOffsets[e];
+
+      System.arraycopy(sourceOffsets, 0, next, 0, right);
+
+      for (u = 0; u < left; u++)
+        for (e = offsets[u]; e < offsets[u + 1]; e++)
+          sources[next[targets[e]]++] = u;
+    }
+
+    /**
+     * Sets the label of each right vertex to the length of the shortest
+     * alternating path from it to an unmatched right vertex, or {@code n} if
+     * there is none, with a BFS backwards along the residual edges.
+     */
+    private void globalRelabel() {
+      int v, x, c, e, head = 0, tail = 0;
+
+      for (v = 0; v < right; v++) {
+        if (pairV[v] == -1) {
+          label[v] = 0;
+          bfs[tail++] = v;
+        } else
+          label[v] = n;
+      }
+
+      while (head < tail) {
+        v = bfs[head++];
+
+        // An unmatched edge (x, v) reaches v from x, and the matched edge of x
+        // reaches x from its pair
+        for (e = sourceOffsets[v]; e < sourceOffsets[v + 1]; e++) {
+          x = sources[e];
+          c = pairU[x];
+
+          if (c != -1 && c != v && label[c] == n) {
+            label[c] = label[v] + 2;
+            bfs[tail++] = c;
+          }
+        }
+      }
+    }
+
+    int[] matches() {
+      int[] matches = new int[left];
+
+      for (int u = 0; u < left; u++)
+        matches[u] = pairU[u] == -1 ? Graph.NIL : pairU[u];
+      return matches;
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package data_structures.graphs.maxBipartiteMatching.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.maxBipartiteMatching.Auction;
+import data_structures.graphs.maxBipartiteMatching.BipartiteGraph;
+import data_structures.graphs.maxBipartiteMatching.Hungarian;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class Auction_Test {
+  Graph G = new Graph(6, true, true);
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 3, 5);
+    G.addEdge(0, 4, 1);
+    G.addEdge(1, 4, 2);
+    G.addEdge(2, 4, 9);
+    G.addEdge(2, 5, 4);
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new Auction());
+  }
+
+  @Test
+  void matches_of_least_weight() {
+    int[] matches = Auction.matches(G);
+
+    assertEquals(3, matches[0]);
+    assertEquals(4, matches[1]);
+    assertEquals(5, matches[2]);
+    assertEquals(11, Auction.minCost(G));
+  }
+
+  @Test
+  void prefers_more_matches_over_lower_weight() {
+    G.setEdge(0, 3, 100);
+
+    assertEquals(106, Auction.minCost(G));
+  }
+
+  @Test
+  void perfect_assignment() {
+    // The square matrix { 4, 1, 3 }, { 2, 0, 5 }, { 3, 2, 2 } as edges
+    BipartiteGraph B = new BipartiteGraph(3, 3,
+      new int[] { 0, 0, 0, 1, 1, 1, 2, 2, 2 },
+      new int[] { 0, 1, 2, 0, 1, 2, 0, 1, 2 },
+      new int[] { 4, 1, 3, 2, 0, 5, 3, 2, 2 });
+
+    assertArrayEquals(new int[] { 1, 0, 2 }, Auction.matches(B));
+    assertEquals(5, Auction.minCost(B, 2));
+  }
+
+  @Test
+  void same_cost_as_hungarian() {
+    Random random = new Random(4);
+    int n = 600, m = 4 * n;
+    int[] tails = new int[m], heads = new int[m], weights = new int[m];
+    int[][] costs = new int[n][n];
+
+    // The edges missing from the sparse graph cost too much to be chosen
+    for (int[] row : costs)
+      Arrays.fill(row, 1_000_000);
+
+    for (int e = 0; e < m; e++) {
+      tails[e] = e / 4;
+      heads[e] = e % 4 == 0 ? e / 4 : random.nextInt(n);
+      weights[e] = random.nextInt(1000);
+      costs[tails[e]][heads[e]] = Math.min(costs[tails[e]][heads[e]], weights[e]);
+    }
+
+    BipartiteGraph B = new BipartiteGraph(n, n, tails, heads, weights);
+    long expected = Hungarian.minCost(costs);
+
+    assertEquals(expected, Auction.minCost(B));
+    assertEquals(expected, Auction.minCost(B, 2));
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    BipartiteGraph B = new BipartiteGraph(1, 1, new int[] { 0 }, new int[] { 0 });
+
+    assertThrows(IllegalArgumentException.class, () -> Auction.matches(B));
+    assertThrows(IllegalArgumentException.class, () -> Auction.matches(new Graph(2, true, false)));
+    assertThrows(NullPointerException.class, () -> Auction.minCost((BipartiteGraph) null));
+  }
+}
@@ -0,0 +1,79 @@
+package data_structures.graphs.maxBipartiteMatching.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.maxBipartiteMatching.BipartiteGraph;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class BipartiteGraph_Test {
+  BipartiteGraph B = new BipartiteGraph(3, 4, new int[] { 2, 0, 2, 0 }, new int[] { 3, 1, 0, 2 });
+
+  @Test
+  void sizes() {
+    assertEquals(3, B.getLeft());
+    assertEquals(4, B.getRight());
+    assertEquals(4, B.getNumEdges());
+  }
+
+  @Test
+  void edges_grouped_by_left_vertex_in_order() {
+    assertArrayEquals(new int[] { 0, 2, 2, 4 }, B.getOffsets());
+    assertArrayEquals(new int[] { 1, 2, 3, 0 }, B.getTargets());
+    assertEquals(2, B.degree(0));
+    assertEquals(0, B.degree(1));
+  }
+
+  @Test
+  void weights_follow_their_edges() {
+    BipartiteGraph W = new BipartiteGraph(2, 2, new int[] { 1, 0, 1 }, new int[] { 0, 1, 1 }, new int[] { 5, 6, 7 });
+
+    assertFalse(B.isWeighted());
+    assertTrue(W.isWeighted());
+    assertArrayEquals(new int[] { 1, 0, 1 }, W.getTargets());
+    assertArrayEquals(new int[] { 6, 5, 7 }, W.getWeights());
+  }
+
+  @Test
+  void throws_on_invalid_edges() {
+    assertThrows(NullPointerException.class, () -> new BipartiteGraph(1, 1, null, new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(-1, 1, new int[0], new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(1, 1, new int[1], new int[0]));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(1, 1, new int[] { 1 }, new int[] { 0 }));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(1, 1, new int[] { 0 }, new int[] { 1 }));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(1, 1, new int[1], new int[1], new int[2]));
+    assertThrows(IllegalArgumentException.class, () -> B.degree(3));
+  }
+
+  @Test
+  void from_directed_graph() {
+    Graph G = new Graph(4, true, true);
+    G.addEdge(0, 3, 1);
+    G.addEdge(0, 1, 1);
+    G.addEdge(2, 1, 1);
+
+    BipartiteGraph C = new BipartiteGraph(G);
+    int[] offsets = C.getOffsets();
+
+    assertEquals(4, C.getLeft());
+    assertEquals(4, C.getRight());
+    assertEquals(3, C.getNumEdges());
+    assertArrayEquals(new int[] { 1, 1, 1 }, C.getWeights());
+    assertArrayEquals(new int[] { 1, 3 }, Arrays.copyOfRange(C.getTargets(), offsets[0], offsets[1]));
+    assertArrayEquals(new int[] { 1 }, Arrays.copyOfRange(C.getTargets(), offsets[2], offsets[3]));
+  }
+
+  @Test
+  void throws_on_undirected_graph() {
+    assertThrows(NullPointerException.class, () -> new BipartiteGraph(null));
+    assertThrows(IllegalArgumentException.class, () -> new BipartiteGraph(new Graph(2, false, true)));
+  }
+}
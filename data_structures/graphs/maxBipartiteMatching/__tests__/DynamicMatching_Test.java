@@ -0,0 +1,160 @@
+package data_structures.graphs.maxBipartiteMatching.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.maxBipartiteMatching.BipartiteGraph;
+import data_structures.graphs.maxBipartiteMatching.DynamicMatching;
+import data_structures.graphs.maxBipartiteMatching.HopcroftKarp;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class DynamicMatching_Test {
+  DynamicMatching M = new DynamicMatching(3, 3);
+
+  @Test
+  void empty() {
+    assertEquals(0, M.size());
+    assertArrayEquals(new int[] { Graph.NIL, Graph.NIL, Graph.NIL }, M.matches());
+  }
+
+  @Test
+  void insert_between_unmatched_vertices() {
+    assertTrue(M.addEdge(0, 1));
+    assertEquals(1, M.size());
+    assertEquals(1, M.getMatch(0));
+  }
+
+  @Test
+  void insert_augments_from_unmatched_left_vertex() {
+    M.addEdge(0, 0);
+    M.addEdge(0, 1);
+
+    assertTrue(M.addEdge(1, 0));
+    assertEquals(2, M.size());
+    assertEquals(1, M.getMatch(0));
+    assertEquals(0, M.getMatch(1));
+  }
+
+  @Test
+  void insert_augments_through_two_matched_vertices() {
+    M.addEdge(0, 0);
+    M.addEdge(1, 1);
+    M.addEdge(2, 0);
+    M.addEdge(1, 2);
+    assertEquals(2, M.size());
+
+    // The path 2 - 0 = 0 - 1 = 1 - 2 goes through the new edge (0, 1)
+    assertTrue(M.addEdge(0, 1));
+    assertEquals(3, M.size());
+    assertArrayEquals(new int[] { 1, 2, 0 }, M.matches());
+  }
+
+  @Test
+  void insert_that_cannot_grow_the_matching() {
+    M.addEdge(0, 0);
+    assertFalse(M.addEdge(1, 0));
+    assertEquals(1, M.size());
+  }
+
+  @Test
+  void delete_repairs_from_left_vertex() {
+    M.addEdge(0, 0);
+    M.addEdge(0, 1);
+
+    assertFalse(M.removeEdge(0, 0));
+    assertEquals(1, M.size());
+    assertEquals(1, M.getMatch(0));
+  }
+
+  @Test
+  void delete_repairs_to_right_vertex() {
+    M.addEdge(0, 0);
+    M.addEdge(1, 0);
+
+    assertFalse(M.removeEdge(0, 0));
+    assertEquals(1, M.size());
+    assertEquals(0, M.getMatch(1));
+    assertFalse(M.hasEdge(0, 0));
+  }
+
+  @Test
+  void delete_shrinks_the_matching() {
+    M.addEdge(0, 0);
+    M.addEdge(1, 1);
+
+    assertTrue(M.removeEdge(0, 0));
+    assertEquals(1, M.size());
+    assertEquals(Graph.NIL, M.getMatch(0));
+  }
+
+  @Test
+  void starts_from_graph() {
+    BipartiteGraph B = new BipartiteGraph(3, 3, new int[] { 0, 0, 1, 2, 2 }, new int[] { 0, 0, 0, 1, 2 });
+    DynamicMatching D = new DynamicMatching(B);
+
+    assertEquals(2, D.size());
+    D.removeEdge(0, 0);
+    assertFalse(D.hasEdge(0, 0));
+  }
+
+  @Test
+  void stays_maximum_under_churn() {
+    Random random = new Random(6);
+    int n = 40;
+    DynamicMatching D = new DynamicMatching(n, n);
+    boolean[][] edges = new boolean[n][n];
+
+    for (int step = 0; step < 2000; step++) {
+      int u = random.nextInt(n), v = random.nextInt(n);
+
+      if (edges[u][v])
+        D.removeEdge(u, v);
+      else
+        D.addEdge(u, v);
+      edges[u][v] = !edges[u][v];
+
+      if (step % 50 == 0)
+        assertEquals(HopcroftKarp.total(graph(edges)), D.size());
+    }
+  }
+
+  @Test
+  void throws_on_invalid_edges() {
+    M.addEdge(0, 0);
+
+    assertThrows(IllegalArgumentException.class, () -> M.addEdge(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> M.removeEdge(1, 1));
+    assertThrows(IllegalArgumentException.class, () -> M.addEdge(3, 0));
+    assertThrows(IllegalArgumentException.class, () -> new DynamicMatching(-1, 0));
+  }
+
+  private static BipartiteGraph graph(boolean[][] edges) {
+    int n = edges.length, m = 0, k = 0;
+
+    for (boolean[] row : edges)
+      for (boolean e : row)
+        if (e)
+          m++;
+
+    int[] tails = new int[m], heads = new int[m];
+
+    for (int u = 0; u < n; u++) {
+      for (int v = 0; v < n; v++) {
+        if (edges[u][v]) {
+          tails[k] = u;
+          heads[k++] = v;
+        }
+      }
+    }
+
+    return new BipartiteGraph(n, n, tails, heads);
+  }
+}
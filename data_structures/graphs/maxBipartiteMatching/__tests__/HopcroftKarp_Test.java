@@ -1,11 +1,16 @@
 package data_structures.graphs.maxBipartiteMatching.__tests__;
 
 import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Random;
 
 import org.junit.jupiter.api.*;
 
 import data_structures.graphs.Graph;
+import data_structures.graphs.maxBipartiteMatching.BipartiteGraph;
 import data_structures.graphs.maxBipartiteMatching.HopcroftKarp;
 
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -65,4 +70,68 @@ public class HopcroftKarp_Test {
       + "\s\s3 -> 7\n"
       + "}", HopcroftKarp.printMatches(matches));
   }
+
+  @Test
+  void sparse_graph_matches() {
+    // Greedy takes 0 -> 0 and 1 -> 1, so 2 needs the path 2 - 0 = 0 - 1 = 1 - 2
+    BipartiteGraph B = new BipartiteGraph(4, 3,
+      new int[] { 0, 0, 1, 1, 2, 3 },
+      new int[] { 0, 1, 1, 2, 0, 0 });
+
+    assertEquals(3, HopcroftKarp.total(B));
+    assertArrayEquals(new int[] { 1, 2, 0, Graph.NIL }, HopcroftKarp.matches(B));
+  }
+
+  @Test
+  void parallel_matches_same_total() {
+    int n = 5000;
+    int[] tails = new int[2 * n], heads = new int[2 * n];
+    Random random = new Random(1);
+
+    for (int e = 0; e < tails.length; e++) {
+      tails[e] = e / 2;
+      heads[e] = random.nextInt(n);
+    }
+
+    BipartiteGraph B = new BipartiteGraph(n, n, tails, heads);
+    int total = HopcroftKarp.total(B), matched = 0;
+    boolean[] used = new boolean[n];
+
+    for (int v : HopcroftKarp.matches(B, 2)) {
+      if (v != Graph.NIL) {
+        assertFalse(used[v]);
+        used[v] = true;
+        matched++;
+      }
+    }
+
+    assertEquals(total, matched);
+    assertEquals(total, HopcroftKarp.total(B, 2));
+  }
+
+  @Test
+  void concurrent_runs_are_independent() throws InterruptedException {
+    int[] totals = new int[4];
+    Thread[] threads = new Thread[totals.length];
+
+    for (int i = 0; i < threads.length; i++) {
+      int k = i;
+      threads[i] = new Thread(() -> totals[k] = HopcroftKarp.total(G));
+      threads[i].start();
+    }
+
+    for (Thread t : threads)
+      t.join();
+
+    assertArrayEquals(new int[] { 3, 3, 3, 3 }, totals);
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    BipartiteGraph B = new BipartiteGraph(1, 1, new int[0], new int[0]);
+
+    assertThrows(NullPointerException.class, () -> HopcroftKarp.total((BipartiteGraph) null));
+    assertThrows(IllegalArgumentException.class, () -> HopcroftKarp.total(B, 0));
+    assertThrows(IllegalArgumentException.class, () -> HopcroftKarp.total(new Graph(2, false, true)));
+  }
 }
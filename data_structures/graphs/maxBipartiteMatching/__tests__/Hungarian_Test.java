@@ -0,0 +1,104 @@
+package data_structures.graphs.maxBipartiteMatching.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.maxBipartiteMatching.Hungarian;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class Hungarian_Test {
+  int[][] costs = {
+    { 4, 1, 3 },
+    { 2, 0, 5 },
+    { 3, 2, 2 }
+  };
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new Hungarian());
+  }
+
+  @Test
+  void assignment_of_square_matrix() {
+    assertArrayEquals(new int[] { 1, 0, 2 }, Hungarian.assignment(costs));
+    assertEquals(5, Hungarian.minCost(costs));
+  }
+
+  @Test
+  void assignment_of_wide_matrix() {
+    int[][] wide = { { 7, 3, 9, 1 }, { 2, 8, 6, 1 } };
+
+    assertArrayEquals(new int[] { 3, 0 }, Hungarian.assignment(wide));
+    assertEquals(3, Hungarian.minCost(wide));
+  }
+
+  @Test
+  void assignment_of_tall_matrix() {
+    int[][] tall = { { 7, 2 }, { 3, 8 }, { 1, 1 } };
+
+    assertArrayEquals(new int[] { 1, Graph.NIL, 0 }, Hungarian.assignment(tall));
+    assertEquals(3, Hungarian.minCost(tall));
+  }
+
+  @Test
+  void empty_matrix() {
+    assertArrayEquals(new int[0], Hungarian.assignment(new int[0][0]));
+  }
+
+  @Test
+  void throws_on_ragged_matrix() {
+    assertThrows(IllegalArgumentException.class, () -> Hungarian.assignment(new int[][] { { 1, 2 }, { 3 } }));
+  }
+
+  @Nested
+  class Graphs {
+    Graph G = new Graph(6, true, true);
+
+    @BeforeEach
+    void setup() {
+      G.addEdge(0, 3, 5);
+      G.addEdge(0, 4, 1);
+      G.addEdge(1, 4, 2);
+      G.addEdge(2, 4, 9);
+      G.addEdge(2, 5, 4);
+    }
+
+    @Test
+    void matches_of_least_weight() {
+      int[] matches = Hungarian.matches(G);
+
+      assertEquals(3, matches[0]);
+      assertEquals(4, matches[1]);
+      assertEquals(5, matches[2]);
+      assertEquals(11, Hungarian.minCost(G));
+    }
+
+    @Test
+    void prefers_more_matches_over_lower_weight() {
+      // Leaving 1 unmatched would save weight, but lose a match
+      G.setEdge(0, 3, 100);
+
+      assertEquals(106, Hungarian.minCost(G));
+    }
+
+    @Test
+    void leaves_out_pairs_without_an_edge() {
+      Graph H = new Graph(4, true, true);
+      H.addEdge(0, 2, 3);
+      H.addEdge(1, 2, 1);
+
+      assertEquals("{\n"
+        + "\s\s1 -> 2\n"
+        + "}", Hungarian.printMatches(H));
+    }
+
+    @Test
+    void throws_on_unweighted_graph() {
+      assertThrows(IllegalArgumentException.class, () -> Hungarian.matches(new Graph(2, true, false)));
+    }
+  }
+}
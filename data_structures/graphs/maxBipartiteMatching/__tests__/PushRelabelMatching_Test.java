@@ -0,0 +1,120 @@
+package data_structures.graphs.maxBipartiteMatching.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.flowNetworks.FlowNetwork;
+import data_structures.graphs.maxBipartiteMatching.BipartiteGraph;
+import data_structures.graphs.maxBipartiteMatching.HopcroftKarp;
+import data_structures.graphs.maxBipartiteMatching.PushRelabelMatching;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class PushRelabelMatching_Test {
+  Graph G = new Graph(10, true, true);
+  FlowNetwork N = new FlowNetwork(10);
+
+  @BeforeEach
+  void setup() {
+    int[][] edges = { { 1, 6 }, { 2, 6 }, { 2, 8 }, { 3, 7 }, { 3, 8 }, { 3, 9 }, { 4, 8 }, { 5, 8 } };
+
+    for (int[] edge : edges) {
+      G.addEdge(edge[0], edge[1], 1);
+      N.addEdge(edge[0], edge[1], 1);
+    }
+  }
+
+  @Test
+  void throws_when_instantiated() {
+    assertThrows(NoClassDefFoundError.class, () -> new PushRelabelMatching());
+  }
+
+  @Test
+  void total() {
+    assertEquals(3, PushRelabelMatching.total(G));
+  }
+
+  @Test
+  void printMatches() {
+    assertEquals("{\n"
+      + "\s\s1 -> 6\n"
+      + "\s\s2 -> 8\n"
+      + "\s\s3 -> 7\n"
+      + "}", PushRelabelMatching.printMatches(G));
+  }
+
+  @Test
+  void totalMatches_of_flow_network() {
+    assertEquals(3, PushRelabelMatching.totalMatches(N, 5, 9));
+    assertEquals(0, PushRelabelMatching.totalMatches(N, 5, 5));
+    // The network is not changed
+    assertEquals(8, N.getNumEdges());
+    assertEquals(10, N.getRows());
+    assertEquals(0, N.getEdgeFlow(2, 8));
+  }
+
+  @Test
+  void sparse_graph_matches() {
+    // Greedy takes 0 -> 0 and 1 -> 1, so 2 is pushed to 0, which pushes 0 to 1
+    // and 1 to 2
+    BipartiteGraph B = new BipartiteGraph(4, 3,
+      new int[] { 0, 0, 1, 1, 2, 3 },
+      new int[] { 0, 1, 1, 2, 0, 0 });
+
+    assertEquals(3, PushRelabelMatching.total(B));
+    assertArrayEquals(new int[] { 1, 2, 0, Graph.NIL }, PushRelabelMatching.matches(B));
+  }
+
+  @Test
+  void unmatchable_vertices_are_dropped() {
+    // 1, 2 and 3 all only see right 0
+    BipartiteGraph B = new BipartiteGraph(4, 3,
+      new int[] { 0, 0, 1, 2, 3 },
+      new int[] { 0, 1, 0, 0, 0 });
+
+    assertEquals(2, PushRelabelMatching.total(B));
+    assertEquals(0, PushRelabelMatching.total(new BipartiteGraph(3, 0, new int[0], new int[0])));
+  }
+
+  @Test
+  void matches_same_total_as_hopcroft_karp() {
+    Random random = new Random(1);
+
+    for (int k = 0; k < 20; k++) {
+      int left = 1 + random.nextInt(3000), right = 1 + random.nextInt(3000), m = 3 * left;
+      int[] tails = new int[m], heads = new int[m];
+
+      for (int e = 0; e < m; e++) {
+        tails[e] = random.nextInt(left);
+        heads[e] = random.nextInt(right);
+      }
+
+      BipartiteGraph B = new BipartiteGraph(left, right, tails, heads);
+      int matched = 0;
+      boolean[] used = new boolean[right];
+
+      for (int v : PushRelabelMatching.matches(B)) {
+        if (v != Graph.NIL) {
+          assertFalse(used[v]);
+          used[v] = true;
+          matched++;
+        }
+      }
+
+      assertEquals(HopcroftKarp.total(B), matched);
+    }
+  }
+
+  @Test
+  void throws_on_invalid_arguments() {
+    assertThrows(NullPointerException.class, () -> PushRelabelMatching.total((BipartiteGraph) null));
+    assertThrows(IllegalArgumentException.class, () -> PushRelabelMatching.total(new Graph(2, false, true)));
+    assertThrows(IllegalArgumentException.class, () -> PushRelabelMatching.totalMatches(N, 5, 10));
+  }
+}
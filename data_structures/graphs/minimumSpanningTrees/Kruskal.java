@@ -59,6 +59,7 @@ import static data_structures.sets.DisjointSet.union;
  */
 public final class Kruskal {
   private static BiFunction<Edge, Edge, Boolean> compare = (Edge x, Edge y) -> x.getWeight() < y.getWeight();
+  private static BiFunction<Edge, Edge, Boolean> reverse = (Edge x, Edge y) -> x.getWeight() > y.getWeight();
 
   // Prevent this class from being instantiated
   public Kruskal() {
@@ -97,11 +98,30 @@ public final class Kruskal {
   public static Edge[] run(Graph graph) {
     if (!graph.isWeighted())
       throw new IllegalArgumentException("Graph must be weighted.");
-    return _run(graph);
+    return _run(graph, compare);
+  }
+
+  /**
+   * Runs the Kruskal algorithm on the given graph with the edges taken in
+   * nonincreasing order by weight, which finds a maximum spanning tree (or
+   * forest) instead. The path between two vertices in the tree maximizes the
+   * minimum edge weight along it, which makes it the basis of the maximin
+   * (widest path) problem, just as the MST is for the minimax problem.
+   *
+   * @param graph the graph to find the maximum spanning tree of
+   * @return the array of {@link Graph.Edge} for the maximum spanning tree
+   *
+   * @throws IllegalArgumentException if the specified {@code Graph} is not
+   *                                  weighted
+   */
+  public static Edge[] maximum(Graph graph) {
+    if (!graph.isWeighted())
+      throw new IllegalArgumentException("Graph must be weighted.");
+    return _run(graph, reverse);
   }
 
   @SuppressWarnings("unchecked")
-  private static Edge[] _run(Graph G) {
+  private static Edge[] _run(Graph G, BiFunction<Edge, Edge, Boolean> compare) {
     DisjointSet<Integer>[] S = (DisjointSet<Integer>[]) new DisjointSet<?>[G.getRows()];
     Edge[] E = G.getEdges(), A = new Edge[E.length];
     int i, j;
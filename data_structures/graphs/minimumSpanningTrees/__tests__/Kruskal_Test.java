@@ -1,6 +1,7 @@
 package data_structures.graphs.minimumSpanningTrees.__tests__;
 
 import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import org.junit.jupiter.api.*;
 
@@ -31,6 +32,22 @@ public class Kruskal_Test {
     Kruskal.run(G);
   }
 
+  @Test
+  void maximum_spanning_tree() {
+    G.addEdge(0, 1, 4);
+    G.addEdge(1, 2, 8);
+    G.addEdge(0, 2, 6);
+    G.addEdge(3, 4, 1);
+
+    int weight = 0;
+
+    for (Graph.Edge e : Kruskal.maximum(G))
+      weight += e.getWeight();
+
+    assertEquals(3, Kruskal.maximum(G).length);
+    assertEquals(15, weight);
+  }
+
   @Test
   void no_instantiation() {
     assertThrows(NoClassDefFoundError.class, () -> new Kruskal());
@@ -0,0 +1,190 @@
+package data_structures.graphs.singleSourceShortestPaths;
+
+import static java.util.Arrays.fill;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+
+/**
+ * A reusable Dijkstra search over a {@link SparseGraph} that works entirely on
+ * primitive arrays. Where {@link Dijkstra#run(Graph, int)} allocates a
+ * {@link SSSP.Node} per vertex, a {@code FibonacciHeap} and a
+ * {@link Graph.Edge} per scanned edge on every call, a search owns its heap
+ * buffers and writes the distances into an array supplied by the caller, so
+ * running it from many sources allocates nothing after construction.
+ *
+ * <p>
+ * The min-priority queue is an indexed binary min-heap: {@code heap} holds the
+ * queued vertices and {@code pos[v]} the index of {@code v} in {@code heap}, or
+ * {@code -1} if it isn't queued, so Decrease-Key is a sift-up from
+ * {@code pos[v]}. With {@code O(lg V)} Extract-Min and Decrease-Key, a search
+ * runs in {@code O((V + E) lg V)} time.
+ * </p>
+ *
+ * <p>
+ * A search can also apply Johnson's reweighting on the fly with a potential
+ * function {@code h}, relaxing each edge with
+ * {@code w'(u, v) = w(u, v) + h(u) - h(v)}, so the graph itself never has to
+ * be rewritten.
+ * </p>
+ *
+ * <p>
+ * A search is not thread-safe, since it owns its buffers. Concurrent searches
+ * over the same {@code SparseGraph} each use their own instance.
+ * </p>
+ */
+public final class DijkstraSearch {
+  /**
+   * The graph being searched.
+   */
+  private final SparseGraph G;
+
+  /**
+   * The indexed binary min-heap of queued vertices, keyed by distance.
+   */
+  private final int[] heap;
+
+  /**
+   * The index of each vertex in {@code heap}, or {@code -1} if not queued.
+   */
+  private final int[] pos;
+
+  /**
+   * The number of vertices in the heap.
+   */
+  private int size;
+
+  /**
+   * The distances of the current search, set on each run.
+   */
+  private int[] dist;
+
+  /**
+   * Creates a search over the specified graph, allocating its heap buffers.
+   *
+   * @param graph the graph to search
+   *
+   * @throws NullPointerException if the graph is {@code null}
+   */
+  public DijkstraSearch(SparseGraph graph) {
+    if (graph == null)
+      throw new NullPointerException("Graph cannot be null.");
+
+    G = graph;
+    heap = new int[graph.getRows()];
+    pos = new int[graph.getRows()];
+  }
+
+  /**
+   * Runs Dijkstra's algorithm from the source vertex, writing the shortest-path
+   * weight of every vertex into {@code dist}, or {@link Graph#NIL} if it is not
+   * reachable. If {@code pred} is not {@code null}, the predecessor of every
+   * vertex is written into it as well, or {@code -1} if it has none.
+   *
+   * <p>
+   * If {@code h} is not {@code null}, the edges are reweighted with
+   * {@code w'(u, v) = w(u, v) + h(u) - h(v)}, and {@code dist} holds the
+   * reweighted distances {@code S'(s, v)}. The weights, reweighted or not, must
+   * be nonnegative.
+   * </p>
+   *
+   * @param source the source vertex
+   * @param h      the vertex potentials, or {@code null}
+   * @param dist   the array to hold the distances, of at least the graph length
+   * @param pred   the array to hold the predecessors, or {@code null}
+   *
+   * @throws IllegalArgumentException if the source vertex is invalid
+   */
+  public void run(int source, int[] h, int[] dist, int[] pred) {
+    Graph.checkVertex(G.getRows(), source);
+
+    int[] offsets = G.getOffsets(), targets = G.getTargets(), weights = G.getWeights();
+    int u, v, w, d, e, end;
+
+    this.dist = dist;
+    fill(dist, 0, G.getRows(), Graph.NIL);
+    fill(pos, -1);
+
+    if (pred != null)
+      fill(pred, 0, G.getRows(), -1);
+
+    size = 0;
+    dist[source] = 0;
+    push(source);
+
+    while (size > 0) {
+      u = pop();
+      d = dist[u];
+
+      for (e = offsets[u], end = offsets[u + 1]; e < end; e++) {
+        v = targets[e];
+        w = h == null ? weights[e] : weights[e] + h[u] - h[v];
+
+        // Relax(u, v, w)
+        if (d + w < dist[v]) {
+          dist[v] = d + w;
+
+          if (pred != null)
+            pred[v] = u;
+
+          if (pos[v] == -1)
+            push(v);
+          else
+            siftUp(pos[v]);
+        }
+      }
+    }
+
+    this.dist = null;
+  }
+
+  private void push(int v) {
+    heap[size] = v;
+    pos[v] = size;
+    siftUp(size++);
+  }
+
+  private int pop() {
+    int u = heap[0];
+    pos[u] = -1;
+
+    if (--size > 0) {
+      heap[0] = heap[size];
+      pos[heap[0]] = 0;
+      siftDown(0);
+    }
+
+    return u;
+  }
+
+  private void siftUp(int i) {
+    int v = heap[i], p;
+
+    while (i > 0 && dist[heap[p = (i - 1) >>> 1]] > dist[v]) {
+      heap[i] = heap[p];
+      pos[heap[i]] = i;
+      i = p;
+    }
+
+    heap[i] = v;
+    pos[v] = i;
+  }
+
+  private void siftDown(int i) {
+    int v = heap[i], c;
+
+    while ((c = 2 * i + 1) < size) {
+      if (c + 1 < size && dist[heap[c + 1]] < dist[heap[c]])
+        c++;
+      if (dist[heap[c]] >= dist[v])
+        break;
+
+      heap[i] = heap[c];
+      pos[heap[i]] = i;
+      i = c;
+    }
+
+    heap[i] = v;
+    pos[v] = i;
+  }
+}
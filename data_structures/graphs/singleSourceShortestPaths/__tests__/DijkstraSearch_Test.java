@@ -0,0 +1,78 @@
+package data_structures.graphs.singleSourceShortestPaths.__tests__;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.graphs.Graph;
+import data_structures.graphs.SparseGraph;
+import data_structures.graphs.singleSourceShortestPaths.DijkstraSearch;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class DijkstraSearch_Test {
+  Graph G = new Graph(9, true, true);
+  DijkstraSearch search;
+  int[] dist = new int[9];
+  int[] pred = new int[9];
+
+  @BeforeEach
+  void setup() {
+    G.addEdge(0, 1, 10);
+    G.addEdge(0, 2, 5);
+    G.addEdge(1, 3, 1);
+    G.addEdge(1, 2, 2);
+    G.addEdge(3, 4, 4);
+    G.addEdge(2, 1, 3);
+    G.addEdge(2, 3, 9);
+    G.addEdge(2, 4, 2);
+    G.addEdge(4, 3, 6);
+    G.addEdge(4, 0, 7);
+    G.addEdge(5, 6, 7);
+    G.addEdge(7, 8, 7);
+    search = new DijkstraSearch(new SparseGraph(G));
+  }
+
+  @Test
+  void throws_on_null() {
+    assertThrows(NullPointerException.class, () -> new DijkstraSearch(null));
+  }
+
+  @Test
+  void distances() {
+    int[] expected = { 0, 8, 5, 9, 7, Graph.NIL, Graph.NIL, Graph.NIL, Graph.NIL };
+    search.run(0, null, dist, null);
+    assertArrayEquals(expected, dist);
+  }
+
+  @Test
+  void predecessors() {
+    int[] expected = { -1, 2, 0, 1, 2, -1, -1, -1, -1 };
+    search.run(0, null, dist, pred);
+    assertArrayEquals(expected, pred);
+  }
+
+  @Test
+  void reuses_buffers_across_sources() {
+    search.run(0, null, dist, null);
+    search.run(5, null, dist, null);
+    assertEquals(7, dist[6]);
+    assertEquals(Graph.NIL, dist[0]);
+  }
+
+  @Test
+  void reweighted_with_potentials() {
+    int[] h = new int[9];
+    h[1] = 3;
+    search.run(0, h, dist, null);
+    // Every path to 1 is shifted by h(0) - h(1)
+    assertEquals(5, dist[1]);
+    assertEquals(5, dist[2]);
+  }
+
+  @Test
+  void throws_on_invalid_source() {
+    assertThrows(IllegalArgumentException.class, () -> search.run(9, null, dist, null));
+  }
+}
@@ -0,0 +1,197 @@
+package data_structures.sets;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent DisjointSet Forest: disjoint sets of the integers {@code 0} to
+ * {@code n - 1}, kept as a forest in a single {@code int} array of parents
+ * instead of one {@link DisjointSet} object per member, so that any number of
+ * threads can find and union at once without locks.
+ *
+ * <p>
+ * Each member points only to its parent, and the root of each tree is its own
+ * parent and the representative of the set. The operations are the same as
+ * the object forest's:
+ * </p>
+ * <ul>
+ * <li>Find-Set:
+ * <p>
+ * Follows the parents until the root, then makes each member on the path point
+ * directly to it (path compression).
+ * </p>
+ * </li>
+ * <li>Union:
+ * <p>
+ * Finds the two roots and makes the larger one point to the smaller one with a
+ * compare-and-set, which only succeeds if the larger one is still a root, and
+ * otherwise tries again from the new roots.
+ * </p>
+ * </li>
+ * </ul>
+ *
+ * <p>
+ * Linking by index rather than by rank needs no second array and keeps every
+ * parent smaller than its child, so the threads can never link a cycle. The
+ * compression of a find only rewrites the members larger than the root it
+ * found, which are below it, and only to point to that root, so a member that
+ * is not a root can only have its parent moved up its own tree. The writes then
+ * need no compare-and-set: whichever write lands, the member still points to
+ * one of its ancestors, and every parent stays smaller than its child. Once the
+ * unions are done, a find of every member leaves each pointing to its root,
+ * after which any find is two reads.
+ * </p>
+ */
+public final class ConcurrentDisjointSet {
+  /**
+   * Atomic and volatile access to the parents.
+   */
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  /**
+   * The parent of each member, itself if it is a root.
+   */
+  private final int[] parent;
+
+  /**
+   * The number of successful unions, each of which merges two sets.
+   */
+  private final LongAdder unions = new LongAdder();
+
+  /**
+   * Creates the {@code n} sets of a single member, {@code 0} to {@code n - 1}.
+   *
+   * @param n the number of members
+   *
+   * @throws IllegalArgumentException if the number of members is negative
+   */
+  public ConcurrentDisjointSet(int n) {
+    if (n < 0)
+      throw new IllegalArgumentException("Number of members cannot be negative.");
+
+    parent = new int[n];
+
+    for (int x = 0; x < n; x++)
+      parent[x] = x;
+  }
+
+  /**
+   * Returns the number of members.
+   *
+   * @return the number of members
+   */
+  public int size() {
+    return parent.length;
+  }
+
+  /**
+   * Returns the number of disjoint sets, which is only exact while no union is
+   * running.
+   *
+   * @return the number of sets
+   */
+  public int count() {
+    return parent.length - unions.intValue();
+  }
+
+  /**
+   * Finds the root of the set of the member, the representative of the set,
+   * and compresses the path to it.
+   *
+   * @param x the member
+   * @return the root of its set
+   *
+   * @throws IllegalArgumentException if the member is negative or not less than
+   *                                  the number of members
+   */
+  public int find(int x) {
+    checkMember(x);
+    return root(x);
+  }
+
+  /**
+   * Unites the sets of the two members, unless they are already the same set.
+   *
+   * @param x the first member
+   * @param y the second member
+   * @return whether two sets were merged
+   *
+   * @throws IllegalArgumentException if either member is negative or not less
+   *                                  than the number of members
+   */
+  public boolean union(int x, int y) {
+    checkMember(x);
+    checkMember(y);
+
+    for (;;) {
+      x = root(x);
+      y = root(y);
+
+      if (x == y)
+        return false;
+
+      // Link the larger root below the smaller, if it still is a root
+      if (x < y) {
+        int swap = x;
+        x = y;
+        y = swap;
+      }
+
+      if (INTS.compareAndSet(parent, x, x, y)) {
+        unions.increment();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns whether the two members are in the same set. While unions are
+   * running, the answer is true for some moment during the call.
+   *
+   * @param x the first member
+   * @param y the second member
+   * @return whether the members are in the same set
+   *
+   * @throws IllegalArgumentException if either member is negative or not less
+   *                                  than the number of members
+   */
+  public boolean sameSet(int x, int y) {
+    checkMember(x);
+    checkMember(y);
+
+    for (;;) {
+      x = root(x);
+      y = root(y);
+
+      if (x == y)
+        return true;
+      // Different roots only mean different sets if the first is still a root
+      if ((int) INTS.getVolatile(parent, x) == x)
+        return false;
+    }
+  }
+
+  private int root(int x) {
+    int r = x, p;
+
+    while ((p = (int) INTS.getAcquire(parent, r)) != r)
+      r = p;
+
+    // Only the members below r, which are larger than it, point up to it: the
+    // path may already lead past r to a newer root, whose members are smaller
+    while (x > r && (p = (int) INTS.getAcquire(parent, x)) != r) {
+      INTS.setRelease(parent, x, r);
+      x = p;
+    }
+
+    return r;
+  }
+
+  private void checkMember(int x) {
+    if (x < 0)
+      throw new IllegalArgumentException("Member cannot be negative.");
+    if (x >= parent.length)
+      throw new IllegalArgumentException("Member cannot be greater than the number of members.");
+  }
+}
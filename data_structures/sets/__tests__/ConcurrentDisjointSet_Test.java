@@ -0,0 +1,106 @@
+package data_structures.sets.__tests__;
+
+import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.*;
+
+import data_structures.sets.ConcurrentDisjointSet;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ConcurrentDisjointSet_Test {
+  ConcurrentDisjointSet S = new ConcurrentDisjointSet(8);
+
+  @Test
+  void initial_sets() {
+    assertEquals(8, S.size());
+    assertEquals(8, S.count());
+
+    for (int x = 0; x < 8; x++)
+      assertEquals(x, S.find(x));
+  }
+
+  @Test
+  void union_and_find() {
+    assertTrue(S.union(0, 1));
+    assertTrue(S.union(3, 2));
+    assertTrue(S.union(1, 3));
+    assertFalse(S.union(2, 0));
+    assertTrue(S.union(6, 7));
+
+    assertEquals(4, S.count());
+    // The smallest member is the root
+    assertEquals(0, S.find(3));
+    assertEquals(6, S.find(7));
+    assertTrue(S.sameSet(2, 1));
+    assertFalse(S.sameSet(2, 7));
+    assertFalse(S.sameSet(4, 5));
+  }
+
+  @Test
+  void concurrent_unions() {
+    int n = 100000;
+    ConcurrentDisjointSet T = new ConcurrentDisjointSet(n);
+
+    // Join the even and the odd members, in parallel and in any order
+    IntStream.range(0, n - 2).parallel().forEach(x -> T.union(x, x + 2));
+
+    assertEquals(2, T.count());
+    assertEquals(0, T.find(n - 2));
+    assertEquals(1, T.find(n - 1));
+    assertTrue(T.sameSet(n / 2, 0));
+    assertFalse(T.sameSet(n / 2, 1));
+  }
+
+  @Test
+  void concurrent_unions_match_sequential_unions() throws InterruptedException {
+    // Finds racing unions once compressed a member above a newer root, making
+    // a union of the same set succeed and the count too low
+    for (int round = 0; round < 1000; round++) {
+      Random random = new Random(round);
+      int n = 2000, m = 6000;
+      int[] x = new int[m], y = new int[m];
+      ConcurrentDisjointSet T = new ConcurrentDisjointSet(n), expected = new ConcurrentDisjointSet(n);
+      Thread[] threads = new Thread[4];
+
+      for (int i = 0; i < m; i++) {
+        x[i] = random.nextInt(n);
+        y[i] = random.nextInt(n);
+        expected.union(x[i], y[i]);
+      }
+
+      for (int k = 0; k < threads.length; k++) {
+        int first = k;
+
+        threads[k] = new Thread(() -> {
+          for (int i = first; i < m; i += threads.length) {
+            T.union(x[i], y[i]);
+            T.find(y[i * 7 % m]);
+          }
+        });
+        threads[k].start();
+      }
+
+      for (Thread thread : threads)
+        thread.join();
+
+      assertEquals(expected.count(), T.count(), "round " + round);
+
+      for (int v = 0; v < n; v++)
+        assertEquals(expected.find(v), T.find(v));
+    }
+  }
+
+  @Test
+  void throws_on_invalid_members() {
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentDisjointSet(-1));
+    assertThrows(IllegalArgumentException.class, () -> S.find(-1));
+    assertThrows(IllegalArgumentException.class, () -> S.union(0, 8));
+    assertThrows(IllegalArgumentException.class, () -> S.sameSet(8, 0));
+  }
+}